@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import org.evosuite.Properties;
+import org.evosuite.testcase.execution.ExecutionTracer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the {@link ExecutionTracer} callbacks that the instrumented code of the SUT calls
+ * on every executed line, branch and method.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutionTracerBenchmark {
+
+    private static final String CLASS_NAME = "mosalisa.temp.Stack";
+
+    private static final String METHOD_NAME = "push(Ljava/lang/Object;)V";
+
+    /**
+     * org.objectweb.asm.Opcodes.IFEQ, the ASM classes are relocated in the EvoSuite jars
+     */
+    private static final int IFEQ = 153;
+
+    /**
+     * Number of distinct branches and lines passed, a power of 2
+     */
+    @Param({"16", "1024"})
+    public int numberOfBranches;
+
+    private int mask;
+
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUpTracer() {
+        Properties.getInstance().resetToDefaults();
+        mask = numberOfBranches - 1;
+        ExecutionTracer.enable();
+        ExecutionTracer.setThread(Thread.currentThread());
+    }
+
+    @Setup(Level.Iteration)
+    public void clearTrace() {
+        // as done before each test execution
+        ExecutionTracer.getExecutionTracer().clear();
+        counter = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTracer() {
+        ExecutionTracer.getExecutionTracer().clear();
+        ExecutionTracer.disable();
+    }
+
+    @Benchmark
+    public void passedBranch() {
+        int i = counter++;
+        ExecutionTracer.passedBranch(i & 7, IFEQ, (i & mask) + 1, i & mask);
+    }
+
+    @Benchmark
+    public void passedLine() {
+        ExecutionTracer.passedLine(CLASS_NAME, METHOD_NAME, (counter++ & mask) + 1);
+    }
+
+    @Benchmark
+    public void enteredAndLeftMethod() {
+        ExecutionTracer.enteredMethod(CLASS_NAME, METHOD_NAME, this);
+        ExecutionTracer.leftMethod(CLASS_NAME, METHOD_NAME);
+    }
+}
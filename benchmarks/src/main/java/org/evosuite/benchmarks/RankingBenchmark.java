@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import org.evosuite.Properties;
+import org.evosuite.coverage.method.MethodCoverageTestFitness;
+import org.evosuite.ga.comparators.DominanceComparator;
+import org.evosuite.ga.operators.ranking.FastNonDominatedSorting;
+import org.evosuite.ga.operators.ranking.RankBasedPreferenceSorting;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to rank the union of parents and offspring of one generation, as done by NSGA-II and MOSA.
+ * {@link #dominanceComparator()} is the pairwise {@link DominanceComparator} loop the sorting
+ * algorithms ran before dominance was computed on a fitness matrix. The incremental variants
+ * alternate between two unions sharing the same parents, as consecutive generations do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RankingBenchmark {
+
+    private static final long SEED = 42;
+
+    /**
+     * Size of the union of parents and offspring
+     */
+    @Param({"100", "400"})
+    public int unionSize;
+
+    @Param({"100", "2000"})
+    public int numberOfGoals;
+
+    private Set<TestFitnessFunction> goals;
+
+    private final List<List<TestChromosome>> unions = new ArrayList<>();
+
+    private int generation;
+
+    private FastNonDominatedSorting<TestChromosome> fastNonDominatedSorting;
+
+    private RankBasedPreferenceSorting<TestChromosome> preferenceSorting;
+
+    @Setup(Level.Trial)
+    public void setUpPopulation() {
+        Properties.getInstance().resetToDefaults();
+        Properties.POPULATION = unionSize / 2;
+
+        Random random = new Random(SEED);
+        goals = new LinkedHashSet<>();
+        for (int i = 0; i < numberOfGoals; i++) {
+            goals.add(new MethodCoverageTestFitness("Foo", "bar" + i + "()V"));
+        }
+
+        List<TestChromosome> parents = createIndividuals(unionSize / 2, random);
+        for (int i = 0; i < 2; i++) {
+            List<TestChromosome> union = new ArrayList<>(parents);
+            union.addAll(createIndividuals(unionSize - parents.size(), random));
+            unions.add(union);
+        }
+
+        fastNonDominatedSorting = new FastNonDominatedSorting<>();
+        preferenceSorting = new RankBasedPreferenceSorting<>();
+    }
+
+    private List<TestChromosome> createIndividuals(int n, Random random) {
+        List<TestChromosome> individuals = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            TestChromosome individual = new TestChromosome();
+            for (TestFitnessFunction goal : goals) {
+                // few distinct values, as for branch distances of uncovered goals
+                individual.setFitness(goal, random.nextInt(8));
+            }
+            individuals.add(individual);
+        }
+        return individuals;
+    }
+
+    private List<TestChromosome> nextUnion() {
+        return unions.get(generation++ & 1);
+    }
+
+    @Benchmark
+    public int dominanceComparator() {
+        List<TestChromosome> union = unions.get(0);
+        DominanceComparator<TestChromosome> comparator = new DominanceComparator<>(goals);
+        int dominated = 0;
+        for (int p = 0; p < union.size() - 1; p++) {
+            for (int q = p + 1; q < union.size(); q++) {
+                if (comparator.compare(union.get(p), union.get(q)) != 0) {
+                    dominated++;
+                }
+            }
+        }
+        return dominated;
+    }
+
+    @Benchmark
+    public int fastNonDominatedSorting() {
+        FastNonDominatedSorting<TestChromosome> sorting = new FastNonDominatedSorting<>();
+        sorting.computeRankingAssignment(unions.get(0), goals);
+        return sorting.getNumberOfSubfronts();
+    }
+
+    @Benchmark
+    public int fastNonDominatedSortingIncremental() {
+        fastNonDominatedSorting.computeRankingAssignment(nextUnion(), goals);
+        return fastNonDominatedSorting.getNumberOfSubfronts();
+    }
+
+    @Benchmark
+    public int preferenceSortingIncremental() {
+        preferenceSorting.computeRankingAssignment(nextUnion(), goals);
+        return preferenceSorting.getNumberOfSubfronts();
+    }
+}
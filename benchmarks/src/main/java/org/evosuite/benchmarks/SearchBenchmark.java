@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.Algorithm;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.coverage.FitnessFunctionsUtils;
+import org.evosuite.coverage.TestFitnessFactory;
+import org.evosuite.ga.FitnessFunction;
+import org.evosuite.ga.TestSuiteChromosomeFactoryMock;
+import org.evosuite.ga.TestSuiteFitnessFunctionMock;
+import org.evosuite.ga.archive.Archive;
+import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
+import org.evosuite.ga.stoppingconditions.MaxGenerationStoppingCondition;
+import org.evosuite.runtime.instrumentation.RuntimeInstrumentation;
+import org.evosuite.setup.DependencyAnalysis;
+import org.evosuite.strategy.PropertiesSuiteGAFactory;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.ExecutionTracer;
+import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.testcase.factories.RandomLengthTestFactory;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.evosuite.utils.Randomness;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search throughput, in generations per second, of the many-objective algorithms on the example
+ * classes. The class under test is analysed once per trial, and the initial population of every
+ * invocation is created with a fixed seed outside of the measurement, so that only the evolution
+ * of the population is timed. The GPT features of MOSAllisa are disabled (their default), so that
+ * only the search itself is measured. The search still stops before the last generation if all
+ * goals are covered, which overestimates the throughput on classes that are easy to cover.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 20)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+public class SearchBenchmark {
+
+    private static final long SEED = 42;
+
+    private static final int GENERATIONS = 50;
+
+    @Param({"DYNAMOSA", "MOSALLISA"})
+    public Algorithm algorithm;
+
+    @Param({"mosalisa.temp.Stack", "mosalisa.RecursiveParser"})
+    public String targetClass;
+
+    private final List<FitnessFunction<TestSuiteChromosome>> fitnessFunctions = new ArrayList<>();
+
+    private GeneticAlgorithm<TestSuiteChromosome> search;
+
+    @Setup(Level.Trial)
+    public void analyzeClass() throws ClassNotFoundException {
+        Properties.getInstance().resetToDefaults();
+        RuntimeInstrumentation.setAvoidInstrumentingShadedClasses(true);
+
+        Properties.IS_RUNNING_A_SYSTEM_TEST = true;
+        Properties.CLIENT_ON_THREAD = true;
+        Properties.SANDBOX = false;
+        Properties.SHOW_PROGRESS = false;
+        Properties.SERIALIZE_RESULT = false;
+        Properties.JUNIT_TESTS = false;
+        Properties.PLOT = false;
+        Properties.MINIMIZE = false;
+        Properties.ASSERTIONS = false;
+
+        Properties.TARGET_CLASS = targetClass;
+        Properties.ALGORITHM = algorithm;
+        Properties.RANDOM_SEED = SEED;
+        Randomness.setSeed(SEED);
+
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        String cp = ClassPathHandler.getInstance().getTargetProjectClasspath();
+        DependencyAnalysis.analyzeClass(targetClass, Arrays.asList(cp.split(File.pathSeparator)));
+        TestCaseExecutor.initExecutor();
+        ExecutionTracer.enableTraceCalls();
+
+        for (TestFitnessFactory<? extends TestFitnessFunction> factory
+                : FitnessFunctionsUtils.getFitnessFactories(Properties.CRITERION)) {
+            for (TestFitnessFunction goal : factory.getCoverageGoals()) {
+                fitnessFunctions.add(new TestSuiteFitnessFunctionMock(goal));
+            }
+        }
+    }
+
+    /**
+     * Creates the algorithm as {@link org.evosuite.strategy.MOSuiteStrategy} does, and runs it for
+     * one generation, which only creates and evaluates the initial population
+     */
+    @Setup(Level.Invocation)
+    public void initializePopulation() {
+        Archive.getArchiveInstance().reset();
+        Randomness.setSeed(SEED);
+
+        search = new PropertiesSuiteGAFactory().getSearchAlgorithm();
+        search.setChromosomeFactory(new TestSuiteChromosomeFactoryMock(new RandomLengthTestFactory()));
+        search.addFitnessFunctions(fitnessFunctions);
+
+        MaxGenerationStoppingCondition<TestSuiteChromosome> initialization = new MaxGenerationStoppingCondition<>();
+        initialization.setLimit(1);
+        search.setStoppingCondition(initialization);
+        search.generateSolution();
+
+        // The search resumes from the initial population, which is not empty any more
+        search.setStoppingConditionLimit(GENERATIONS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        search = null;
+        fitnessFunctions.clear();
+        Archive.getArchiveInstance().reset();
+        TestCaseExecutor.pullDown();
+        TestGenerationContext.getInstance().resetContext();
+        Properties.getInstance().resetToDefaults();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GENERATIONS)
+    public TestSuiteChromosome evolve() {
+        search.generateSolution();
+        return search.getBestIndividual();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.setup.DependencyAnalysis;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.testcase.factories.RandomLengthTestFactory;
+import org.evosuite.utils.Randomness;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@link TestCaseExecutor#execute(TestCase)} on random tests of the example classes.
+ * The tests are generated once with a fixed seed, and then executed in turn.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TestCaseExecutorBenchmark {
+
+    private static final long SEED = 42;
+
+    private static final int NUMBER_OF_TESTS = 100;
+
+    @Param({"mosalisa.temp.Stack", "mosalisa.IncorrectOperations", "mosalisa.RecursiveParser"})
+    public String targetClass;
+
+    private final List<TestCase> tests = new ArrayList<>();
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void generateTests() throws ClassNotFoundException {
+        Properties.getInstance().resetToDefaults();
+        Properties.TARGET_CLASS = targetClass;
+        Properties.CLIENT_ON_THREAD = true;
+        Properties.SANDBOX = false;
+        Randomness.setSeed(SEED);
+
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        String cp = ClassPathHandler.getInstance().getTargetProjectClasspath();
+        DependencyAnalysis.analyzeClass(targetClass, Arrays.asList(cp.split(File.pathSeparator)));
+        TestCaseExecutor.initExecutor();
+
+        RandomLengthTestFactory factory = new RandomLengthTestFactory();
+        for (int i = 0; i < NUMBER_OF_TESTS; i++) {
+            tests.add(factory.getChromosome().getTestCase());
+        }
+        next = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tests.clear();
+        TestCaseExecutor.pullDown();
+        TestGenerationContext.getInstance().resetContext();
+        Properties.getInstance().resetToDefaults();
+    }
+
+    @Benchmark
+    public ExecutionResult execute() {
+        TestCase test = tests.get(next);
+        next = (next + 1) % tests.size();
+        return TestCaseExecutor.getInstance().execute(test);
+    }
+}
@@ -32,6 +32,7 @@ import org.evosuite.runtime.instrumentation.MethodCallReplacementCache;
 import org.evosuite.runtime.mock.MockFramework;
 import org.evosuite.runtime.sandbox.MSecurityManager;
 import org.evosuite.runtime.sandbox.Sandbox;
+import org.evosuite.symbolic.solver.SmtSolverSession;
 import org.evosuite.utils.LoggingUtils;
 import org.evosuite.utils.Randomness;
 import org.evosuite.utils.SpawnProcessKeepAliveChecker;
@@ -188,6 +189,8 @@ public class ClientProcess {
             ClientProcess process = new ClientProcess();
             TimeController.resetSingleton();
             process.run();
+            // solver processes would otherwise outlive a client running on a thread
+            SmtSolverSession.closeAll();
             if (!onThread) {
                 /*
                  * If we we are in debug mode in which we run client on separated thread,
@@ -199,6 +202,7 @@ public class ClientProcess {
             logger.error(getPrettyPrintIdentifier() + "Error when generating tests for: " + Properties.TARGET_CLASS
                     + " with seed " + Randomness.getSeed() + ". Configuration id : " + Properties.CONFIGURATION_ID, t);
             t.printStackTrace();
+            SmtSolverSession.closeAll();
 
             //sleep 1 sec to be more sure that the above log is recorded
             try {
@@ -307,6 +307,12 @@ public class Properties {
     @Parameter(key = "migrants_communication_rate", group = "Test Creation", description = "Determines amount of migrants per communication step")
     public static int MIGRANTS_COMMUNICATION_RATE = 3;
 
+    @Parameter(key = "num_islands", group = "Test Creation", description = "Number of islands evolved in parallel within one client, one search algorithm per thread. Islands exchange migrants through in-memory queues with the same frequency and rate as parallel clients, and share the archive. Test executions of different islands only overlap if tests can be isolated (same conditions as test_execution_threads); otherwise islands take turns")
+    public static int NUM_ISLANDS = 1;
+
+    @Parameter(key = "in_process_islands", group = "Test Creation", description = "If num_parallel_clients > 1, run that many islands in a single client (num_islands) instead of starting separate client processes that migrate through the master")
+    public static boolean IN_PROCESS_ISLANDS = true;
+
     // ---------------------------------------------------------------
     // Search algorithm
     public enum Algorithm {
@@ -502,6 +508,21 @@ public class Properties {
     @Parameter(key = "cvc4_path", group = "DSE", description = "Indicates the path to the CVC4 solver")
     public static String CVC4_PATH = null;
 
+    @Parameter(key = "dse_solver_incremental", group = "DSE", description = "Keep the external solver running between queries, and only give it the constraints that changed since the previous query")
+    public static boolean DSE_SOLVER_INCREMENTAL = true;
+
+    @Parameter(key = "dse_solver_portfolio", group = "DSE", description = "Run the EvoSuite solver in parallel with the external solver set by dse_solver, and use the first SAT or UNSAT answer")
+    public static boolean DSE_SOLVER_PORTFOLIO = false;
+
+    @Parameter(key = "dse_solver_threads", group = "DSE", description = "Number of threads solving in parallel the negated branch conditions of a concolic execution. 1 solves them one at a time")
+    public static int DSE_SOLVER_THREADS = 1;
+
+    @Parameter(key = "dse_solver_cache_size", group = "DSE", description = "Maximum estimated size in MB of the solver results kept in memory. Least recently used results are evicted first")
+    public static int DSE_SOLVER_CACHE_SIZE = 64;
+
+    @Parameter(key = "dse_solver_cache_dir", group = "DSE", description = "Directory where solver results are persisted, to be reused by the next runs on the same class under test. If not set, results are not persisted")
+    public static String DSE_SOLVER_CACHE_DIR = null;
+
     public enum DSEStoppingConditionCriterion {
         TARGETCOVERAGE,
         MAXTIME,
@@ -1018,6 +1039,9 @@ public class Properties {
     @Parameter(key = "junit_check", group = "Output", description = "Compile and run resulting JUnit test suite (if any was created)")
     public static JUnitCheckValues JUNIT_CHECK = JUnitCheckValues.TRUE;
 
+    @Parameter(key = "junit_check_in_memory", group = "Output", description = "Compile the JUnit tests in memory when checking them: the whole suite is compiled at once, and only the tests with compilation errors are compiled on their own")
+    public static boolean JUNIT_CHECK_IN_MEMORY = true;
+
     @Parameter(key = "junit_check_on_separate_process", group = "Output", description = "Compile and run resulting JUnit test suite on a separate process")
     @Deprecated
     //this gives quite a few issues. and hopefully the problems it was aimed to fix are no longer
@@ -1160,7 +1184,7 @@ public class Properties {
     @Parameter(key = "filter_assertions", group = "Output", description = "Filter flaky assertions")
     public static boolean FILTER_ASSERTIONS = false;
 
-    @Parameter(key = "max_mutants_per_test", group = "Output", description = "How many mutants to use when trying to find assertions for a test")
+    @Parameter(key = "max_mutants_per_test", group = "Output", description = "How many mutants to use when trying to find assertions for a test. Only mutants the test infects and that are not killed yet are executed, most likely to be killed first, one at a time: the active mutant is a static field read by the instrumented code, so two mutants cannot be executed concurrently")
     public static int MAX_MUTANTS_PER_TEST = 100;
 
     @Parameter(key = "max_mutants_per_method", group = "Output", description = "How many mutants can be inserted into a single method")
@@ -1325,6 +1349,9 @@ public class Properties {
     @Parameter(key = "instrumentation_skip_debug", description = "Skip debug information in bytecode instrumentation (needed for compatibility with classes transformed by Emma code instrumentation due to an ASM bug)")
     public static boolean INSTRUMENTATION_SKIP_DEBUG = false;
 
+    @Parameter(key = "instrumentation_cache_dir", description = "Directory where the instrumented bytecode of classes that are not under test is cached, to be shared by client processes and runs. If not set, bytecode is not cached")
+    public static String INSTRUMENTATION_CACHE_DIR = null;
+
     @Parameter(key = "instrument_parent", description = "Also count coverage goals in superclasses")
     public static boolean INSTRUMENT_PARENT = false;
 
@@ -1461,6 +1488,9 @@ public class Properties {
     @Parameter(key = "shutdown_timeout", group = "Test Execution", description = "Milliseconds grace time to shut down test cleanly")
     public static int SHUTDOWN_TIMEOUT = 1000;
 
+    @Parameter(key = "test_execution_threads", group = "Test Execution", description = "Number of threads executing the tests of a population concurrently. The tests share the class loader and the runtime, so they are executed sequentially, with a warning, if any execution observer is registered or if any of reset_static_fields, virtual_fs, virtual_net, replace_calls, replace_system_in, replace_gui is enabled or max_loop_iterations is not negative. All of these are on by default, so they must be turned off for this setting to have an effect")
+    public static int TEST_EXECUTION_THREADS = 1;
+
     @Parameter(key = "mutation_timeouts", group = "Test Execution", description = "Number of timeouts before we consider a mutant killed")
     public static int MUTATION_TIMEOUTS = 3;
 
@@ -1698,6 +1728,45 @@ public class Properties {
     @Parameter(key = "use_gpt_non_regression", description = "Disable/Enable the usage of the gpt for generating non-regression mode testing MOSALLISA")
     public static boolean USE_GPT_NON_REGRESSION = false;
 
+    @Parameter(key = "gpt_endpoint", description = "URL of the chat completions endpoint GPT requests are sent to")
+    public static String GPT_ENDPOINT = "https://api.openai.com/v1/chat/completions";
+
+    @Parameter(key = "gpt_replay_log", description = "GPT_LOG.txt file from a previous run. If set, GPT requests are answered offline by a local stand-in server replaying its responses")
+    public static String GPT_REPLAY_LOG = null;
+
+    @Parameter(key = "gpt_replay_latency", description = "Milliseconds the local stand-in server waits before answering each replayed GPT request")
+    public static long GPT_REPLAY_LATENCY = 0;
+
+    @Parameter(key = "gpt_async_requests", description = "Do not wait for the answers to CODAMOSA and GPT crossover requests: they are carved or applied at a later generation boundary, so the search keeps evolving while waiting for GPT")
+    public static boolean GPT_ASYNC_REQUESTS = true;
+
+    @Parameter(key = "gpt_worker_threads", description = "Number of worker threads used to send asynchronous GPT requests")
+    public static int GPT_WORKER_THREADS = 2;
+
+    @Parameter(key = "gpt_request_queue_size", description = "Maximum number of asynchronous GPT requests waiting for a free worker. Further requests are dropped")
+    public static int GPT_REQUEST_QUEUE_SIZE = 4;
+
+    @Parameter(key = "gpt_cache", description = "Cache GPT responses on disk, keyed by model and prompt, so that identical prompts are not sent again")
+    public static boolean GPT_CACHE = true;
+
+    @Parameter(key = "gpt_cache_dir", description = "Directory of the GPT response cache. If not set, a 'gpt-cache' folder in mosallisa_reports_dir is used")
+    public static String GPT_CACHE_DIR = null;
+
+    @Parameter(key = "gpt_cache_size", description = "Maximum size in MB of the GPT response cache on disk. Least recently used responses are evicted first")
+    public static int GPT_CACHE_SIZE = 256;
+
+    @Parameter(key = "gpt_cache_memory_entries", description = "Maximum number of GPT responses kept in memory in front of the disk cache")
+    public static int GPT_CACHE_MEMORY_ENTRIES = 128;
+
+    @Parameter(key = "gpt_stream_responses", description = "Stream GPT responses and compile and carve each test of the answer on its own as soon as it is received, so that a test that does not compile does not discard the others")
+    public static boolean GPT_STREAM_RESPONSES = true;
+
+    @Parameter(key = "gpt_batch_goals", description = "Group the uncovered goals by method and ask GPT for tests for several methods in a single request")
+    public static boolean GPT_BATCH_GOALS = false;
+
+    @Parameter(key = "gpt_batch_methods", description = "Maximum number of methods whose goals are batched into a single GPT request")
+    public static int GPT_BATCH_METHODS = 5;
+
     @Parameter(key = "path_to_cut", description = "Path to class under test Java file")
     public static String PATH_TO_CUT = null;
 
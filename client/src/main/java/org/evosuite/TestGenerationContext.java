@@ -26,11 +26,13 @@ import org.evosuite.contracts.ContractChecker;
 import org.evosuite.contracts.FailingTestSet;
 import org.evosuite.coverage.branch.BranchPool;
 import org.evosuite.coverage.dataflow.DefUsePool;
+import org.evosuite.coverage.mutation.MutantExecutionScheduler;
 import org.evosuite.coverage.mutation.MutationPool;
 import org.evosuite.coverage.mutation.MutationTimeoutStoppingCondition;
 import org.evosuite.ga.archive.Archive;
 import org.evosuite.ga.stoppingconditions.GlobalTimeStoppingCondition;
 import org.evosuite.ga.stoppingconditions.MaxStatementsStoppingCondition;
+import org.evosuite.gpt.GPTResponseCache;
 import org.evosuite.graphs.GraphPool;
 import org.evosuite.graphs.cfg.BytecodeInstructionPool;
 import org.evosuite.graphs.cfg.CFGMethodAdapter;
@@ -180,6 +182,7 @@ public class TestGenerationContext {
         MaxStatementsStoppingCondition.setNumExecutedStatements(0);
         GlobalTimeStoppingCondition.forceReset();
         MutationTimeoutStoppingCondition.resetStatic();
+        MutantExecutionScheduler.getInstance().reset();
 
         // Forget the old SUT
         Properties.resetTargetClass();
@@ -188,6 +191,9 @@ public class TestGenerationContext {
 
         Archive.getArchiveInstance().reset();
 
+        // Responses are kept on disk, only the in-memory state is per search
+        GPTResponseCache.reset();
+
         // Constant pool
         ConstantPoolManager.getInstance().reset();
         ObjectPoolManager.getInstance().reset();
@@ -55,6 +55,7 @@ import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.statistics.StatisticsSender;
 import org.evosuite.strategy.TestGenerationStrategy;
 import org.evosuite.symbolic.dse.DSEStatistics;
+import org.evosuite.symbolic.solver.SolverCache;
 import org.evosuite.testcase.*;
 import org.evosuite.testcase.execution.*;
 import org.evosuite.testcase.execution.reset.ClassReInitializer;
@@ -609,6 +610,7 @@ public class TestSuiteGenerator {
             DefUseCoverageSuiteFitness.printCoverage();
 
         DSEStatistics.getInstance().trackStatistics();
+        SolverCache.getInstance().save();
 
         if (Properties.isDSEEnabledInLocalSearch() || Properties.isDSEStrategySelected()) {
             DSEStatistics.getInstance().logStatistics();
@@ -21,6 +21,7 @@ package org.evosuite.assertion;
 
 import org.evosuite.Properties;
 import org.evosuite.TimeController;
+import org.evosuite.coverage.mutation.MutantExecutionScheduler;
 import org.evosuite.coverage.mutation.Mutation;
 import org.evosuite.coverage.mutation.MutationTimeoutStoppingCondition;
 import org.evosuite.rmi.ClientServices;
@@ -145,8 +146,19 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
         Randomness.shuffle(executedMutants);
         logger.debug("Executed mutants: " + origResult.getTrace().getTouchedMutants());
 
+        // Mutants the test does not infect behave like the original and are not run
+        List<Mutation> scheduledMutants = MutantExecutionScheduler.getInstance()
+                .schedule(executedMutants, origResult.getTrace(), killed);
+
         int numExecutedMutants = 0;
-        for (Mutation m : executedMutants) {
+        for (Mutation m : scheduledMutants) {
+
+            // Killed mutants are scheduled last, so all the remaining ones are killed already
+            if (killed.contains(m.getId())) {
+                logger.debug("Skipping the remaining {} mutants, as they are already killed",
+                        scheduledMutants.size() - numExecutedMutants);
+                break;
+            }
 
             numExecutedMutants++;
             if (!TimeController.getInstance().isThereStillTimeInThisPhase()) {
@@ -177,13 +189,6 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
                     && numExecutedMutants > Properties.MAX_MUTANTS_PER_TEST)
                 break;
 
-			/*
-			if (killed.contains(m.getId())) {
-				logger.info("Skipping dead mutant");
-				continue;
-			}
-			*/
-
             logger.debug("Running test on mutation {}", m.getMutationName());
             ExecutionResult mutantResult = runTest(test, m);
 
@@ -220,9 +225,13 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
                 MutationTimeoutStoppingCondition.raisedException(m);
             }
 
-            if (numKilled > 0
+            boolean isKilled = numKilled > 0
                     || mutantResult.hasTimeout()
-                    || (!mutantResult.noThrownExceptions() && origResult.noThrownExceptions())) {
+                    || (!mutantResult.noThrownExceptions() && origResult.noThrownExceptions());
+            MutantExecutionScheduler.getInstance().recordOutcome(m, isKilled);
+            // Only the output traces of the mutant are kept
+            mutantResult.releaseTrace();
+            if (isKilled) {
                 killed.add(m.getId());
             }
         }
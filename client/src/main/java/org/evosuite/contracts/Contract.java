@@ -149,7 +149,7 @@ public abstract class Contract {
         TestCaseExecutor executor = TestCaseExecutor.getInstance();
         SingleContractChecker checker = new SingleContractChecker(this);
         executor.addObserver(checker);
-        TestCaseExecutor.runTest(test);
+        TestCaseExecutor.runTest(test).releaseTrace();
         executor.removeObserver(checker);
         //ContractChecker.setActive(true);
         return !checker.isValid();
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.mutation;
+
+import org.evosuite.testcase.execution.ExecutionTrace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides which mutants a test is executed against, and in which order.
+ *
+ * <p>A test can only kill a mutant whose mutated instruction it reached with an
+ * infection distance of 0; on any other mutant the execution is identical to the
+ * original one, so such mutants are not scheduled at all. The remaining mutants are
+ * ordered by their predicted likelihood of being killed: mutants not yet killed come
+ * before already killed ones, then mutants are ranked by their kill rate observed in
+ * previous executions. This way, the mutants most worth executing are run first when
+ * the execution budget (time or {@link org.evosuite.Properties#MAX_MUTANTS_PER_TEST})
+ * runs out, and callers can stop at the first mutant that is already killed.
+ *
+ * <p>The scheduled mutants are executed one at a time: the instrumented code reads the
+ * active mutant from the static {@link MutationObserver#activeMutation}, which is shared by
+ * all the test executions of the client.
+ */
+public class MutantExecutionScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(MutantExecutionScheduler.class);
+
+    private static MutantExecutionScheduler instance = null;
+
+    /**
+     * Mutant id to the number of executions of a test against that mutant
+     */
+    private final Map<Integer, Integer> executions = new HashMap<>();
+
+    /**
+     * Mutant id to the number of those executions that killed the mutant
+     */
+    private final Map<Integer, Integer> kills = new HashMap<>();
+
+    private MutantExecutionScheduler() {
+    }
+
+    public static synchronized MutantExecutionScheduler getInstance() {
+        if (instance == null) {
+            instance = new MutantExecutionScheduler();
+        }
+        return instance;
+    }
+
+    /**
+     * Order the mutants a test should be executed against
+     *
+     * @param mutants the mutants touched by the test
+     * @param trace   the trace of the test on the original unit
+     * @param killed  ids of the mutants that are already known to be killed
+     * @return the infected mutants, most likely to be killed first
+     */
+    public synchronized List<Mutation> schedule(Collection<Mutation> mutants, ExecutionTrace trace,
+                                                Set<Integer> killed) {
+        Map<Integer, Double> distances = trace.getMutationDistances();
+        List<Mutation> scheduled = new ArrayList<>(mutants.size());
+        for (Mutation m : mutants) {
+            Double distance = distances.get(m.getId());
+            if (distance != null && distance == 0.0) {
+                scheduled.add(m);
+            }
+        }
+        logger.debug("Scheduling {} out of {} touched mutants", scheduled.size(), mutants.size());
+
+        // Stable sort: ties keep the order of the input
+        scheduled.sort((m1, m2) -> {
+            boolean k1 = killed.contains(m1.getId());
+            boolean k2 = killed.contains(m2.getId());
+            if (k1 != k2) {
+                return k1 ? 1 : -1;
+            }
+            return Double.compare(getKillRate(m2.getId()), getKillRate(m1.getId()));
+        });
+        return scheduled;
+    }
+
+    /**
+     * Record the outcome of executing a test against a mutant
+     *
+     * @param mutant the mutant the test was executed against
+     * @param killed whether the test killed the mutant
+     */
+    public synchronized void recordOutcome(Mutation mutant, boolean killed) {
+        executions.merge(mutant.getId(), 1, Integer::sum);
+        if (killed) {
+            kills.merge(mutant.getId(), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Estimated probability that the next execution kills the mutant. Mutants that
+     * have never been executed get 1/2.
+     *
+     * @param mutantId
+     * @return a value in (0, 1)
+     */
+    public synchronized double getKillRate(int mutantId) {
+        int n = executions.getOrDefault(mutantId, 0);
+        int k = kills.getOrDefault(mutantId, 0);
+        return (k + 1.0) / (n + 2.0);
+    }
+
+    public synchronized void reset() {
+        executions.clear();
+        kills.clear();
+    }
+}
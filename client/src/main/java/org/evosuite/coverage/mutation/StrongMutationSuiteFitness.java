@@ -146,12 +146,8 @@ public class StrongMutationSuiteFitness extends MutationSuiteFitness {
                 continue;
             }
 
-            for (final Entry<Integer, MutationTestFitness> entry : this.mutantMap.entrySet()) {
-                int mutantID = entry.getKey();
-                if (newKilled.contains(mutantID)) {
-                    continue;
-                }
-                MutationTestFitness goal = entry.getValue();
+            for (MutationTestFitness goal : scheduleMutants(trace, newKilled)) {
+                int mutantID = goal.getMutation().getId();
 
                 if (MutationTimeoutStoppingCondition.isDisabled(goal.getMutation())) {
                     logger.debug("Skipping timed out mutation " + goal.getMutation().getId());
@@ -178,6 +174,11 @@ public class StrongMutationSuiteFitness extends MutationSuiteFitness {
                     mutantInfectionDistance = goal.getFitness(test, result); // archive is updated by the TestFitnessFunction class
                 }
 
+                if (hasBeenTouched && touchedMutantsDistances.get(mutantID) == 0.0) {
+                    MutantExecutionScheduler.getInstance().recordOutcome(goal.getMutation(),
+                            mutantInfectionDistance == 0.0);
+                }
+
                 if (mutantInfectionDistance == 0.0) {
                     numKilled++;
                     newKilled.add(mutantID);
@@ -208,4 +209,37 @@ public class StrongMutationSuiteFitness extends MutationSuiteFitness {
         return fitness;
     }
 
+    /**
+     * Orders the mutants a test is evaluated against, leaving out the ones already killed by
+     * another test of the suite. The infected mutants, which are executed, come first in the
+     * order of the {@link MutantExecutionScheduler}, followed by the others, whose fitness is
+     * known without executing them.
+     *
+     * @param trace     the trace of the test on the original unit
+     * @param newKilled ids of the mutants killed during this evaluation
+     * @return the goals of the mutants, in the order they should be evaluated
+     */
+    private List<MutationTestFitness> scheduleMutants(ExecutionTrace trace, Set<Integer> newKilled) {
+        Map<Integer, Double> distances = trace.getMutationDistances();
+        List<Mutation> infected = new ArrayList<>();
+        List<MutationTestFitness> others = new ArrayList<>();
+        for (Entry<Integer, MutationTestFitness> entry : this.mutantMap.entrySet()) {
+            if (newKilled.contains(entry.getKey())) {
+                continue;
+            }
+            Double distance = distances.get(entry.getKey());
+            if (distance != null && distance == 0.0) {
+                infected.add(entry.getValue().getMutation());
+            } else {
+                others.add(entry.getValue());
+            }
+        }
+
+        List<MutationTestFitness> scheduled = new ArrayList<>(infected.size() + others.size());
+        for (Mutation mutant : MutantExecutionScheduler.getInstance().schedule(infected, trace, newKilled)) {
+            scheduled.add(this.mutantMap.get(mutant.getId()));
+        }
+        scheduled.addAll(others);
+        return scheduled;
+    }
 }
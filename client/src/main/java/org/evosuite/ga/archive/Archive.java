@@ -72,7 +72,7 @@ public abstract class Archive implements Serializable {
      *
      * @param target the target to register
      */
-    public void addTarget(TestFitnessFunction target) {
+    public synchronized void addTarget(TestFitnessFunction target) {
         assert target != null;
 
         if (!ArchiveUtils.isCriterionEnabled(target)) {
@@ -86,7 +86,7 @@ public abstract class Archive implements Serializable {
      *
      * @param targets the targets to register
      */
-    public void addTargets(Collection<TestFitnessFunction> targets) {
+    public synchronized void addTargets(Collection<TestFitnessFunction> targets) {
         targets.forEach(this::addTarget);
     }
 
@@ -132,7 +132,7 @@ public abstract class Archive implements Serializable {
      * @param solution     the solution covering the target
      * @param fitnessValue
      */
-    public void updateArchive(TestFitnessFunction target,
+    public synchronized void updateArchive(TestFitnessFunction target,
                               TestChromosome solution,
                               double fitnessValue) {
         assert target != null;
@@ -335,7 +335,7 @@ public abstract class Archive implements Serializable {
      * @return a {@link org.evosuite.testsuite.TestSuiteChromosome} object.
      */
     @SuppressWarnings("unchecked")
-    public <C extends Chromosome<C>> C mergeArchiveAndSolution(C solution) {
+    public synchronized <C extends Chromosome<C>> C mergeArchiveAndSolution(C solution) {
         if (solution instanceof TestChromosome) {
             return (C) this.createMergedSolution((TestChromosome) solution);
         } else if (solution instanceof TestSuiteChromosome) {
@@ -488,7 +488,7 @@ public abstract class Archive implements Serializable {
      * @param methodFullName
      * @return
      */
-    public int getNumOfRemainingTargets(String methodFullName) {
+    public synchronized int getNumOfRemainingTargets(String methodFullName) {
         if (!this.nonCoveredTargetsOfEachMethod.containsKey(methodFullName)) {
             return 0;
         }
@@ -503,7 +503,7 @@ public abstract class Archive implements Serializable {
     /**
      * Reset any field.
      */
-    public void reset() {
+    public synchronized void reset() {
         this.nonCoveredTargetsOfEachMethod.clear();
     }
 
@@ -512,7 +512,7 @@ public abstract class Archive implements Serializable {
      *
      * @return
      */
-    public boolean hasBeenUpdated() {
+    public synchronized boolean hasBeenUpdated() {
         return this.hasBeenUpdated;
     }
 
@@ -521,7 +521,7 @@ public abstract class Archive implements Serializable {
      *
      * @param b
      */
-    public void setHasBeenUpdated(boolean b) {
+    public synchronized void setHasBeenUpdated(boolean b) {
         this.hasBeenUpdated = b;
     }
 
@@ -64,7 +64,7 @@ public class CoverageArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public void addTarget(TestFitnessFunction target) {
+    public synchronized void addTarget(TestFitnessFunction target) {
         super.addTarget(target);
 
         if (!this.uncovered.contains(target)) {
@@ -79,7 +79,7 @@ public class CoverageArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public void updateArchive(TestFitnessFunction target, TestChromosome solution, double fitnessValue) {
+    public synchronized void updateArchive(TestFitnessFunction target, TestChromosome solution, double fitnessValue) {
         super.updateArchive(target, solution, fitnessValue);
         assert this.covered.containsKey(target) || this.uncovered.contains(target) : "Unknown goal: " + target;
 
@@ -126,7 +126,7 @@ public class CoverageArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public boolean isArchiveEmpty() {
+    public synchronized boolean isArchiveEmpty() {
         return this.covered.isEmpty();
     }
 
@@ -134,7 +134,7 @@ public class CoverageArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public int getNumberOfTargets() {
+    public synchronized int getNumberOfTargets() {
         return this.covered.keySet().size() + this.uncovered.size();
     }
 
@@ -142,7 +142,7 @@ public class CoverageArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public int getNumberOfCoveredTargets() {
+    public synchronized int getNumberOfCoveredTargets() {
         return this.covered.size();
     }
 
@@ -150,7 +150,7 @@ public class CoverageArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public int getNumberOfCoveredTargets(Class<?> targetClass) {
+    public synchronized int getNumberOfCoveredTargets(Class<?> targetClass) {
         return (int) this.covered.keySet().stream().filter(target -> target.getClass() == targetClass)
                 .count();
     }
@@ -159,15 +159,15 @@ public class CoverageArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public Set<TestFitnessFunction> getCoveredTargets() {
-        return this.covered.keySet();
+    public synchronized Set<TestFitnessFunction> getCoveredTargets() {
+        return new LinkedHashSet<>(this.covered.keySet());
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public int getNumberOfUncoveredTargets() {
+    public synchronized int getNumberOfUncoveredTargets() {
         return this.uncovered.size();
     }
 
@@ -175,7 +175,7 @@ public class CoverageArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public int getNumberOfUncoveredTargets(Class<?> targetClass) {
+    public synchronized int getNumberOfUncoveredTargets(Class<?> targetClass) {
         return (int) this.uncovered.stream().filter(target -> target.getClass() == targetClass).count();
     }
 
@@ -183,8 +183,8 @@ public class CoverageArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public Set<TestFitnessFunction> getUncoveredTargets() {
-        return this.uncovered;
+    public synchronized Set<TestFitnessFunction> getUncoveredTargets() {
+        return new LinkedHashSet<>(this.uncovered);
     }
 
     private Set<TestFitnessFunction> getTargets() {
@@ -198,7 +198,7 @@ public class CoverageArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public boolean hasTarget(TestFitnessFunction target) {
+    public synchronized boolean hasTarget(TestFitnessFunction target) {
         assert target != null;
         return this.covered.containsKey(target) || this.uncovered.contains(target);
     }
@@ -207,7 +207,7 @@ public class CoverageArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public int getNumberOfSolutions() {
+    public synchronized int getNumberOfSolutions() {
         return this.covered.size();
     }
 
@@ -215,7 +215,7 @@ public class CoverageArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public Set<TestChromosome> getSolutions() {
+    public synchronized Set<TestChromosome> getSolutions() {
         return new LinkedHashSet<>(this.covered.values());
     }
 
@@ -223,7 +223,7 @@ public class CoverageArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public TestChromosome getSolution() {
+    public synchronized TestChromosome getSolution() {
         return this.getRandomSolution();
     }
 
@@ -231,7 +231,7 @@ public class CoverageArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public TestChromosome getSolution(TestFitnessFunction target) {
+    public synchronized TestChromosome getSolution(TestFitnessFunction target) {
         assert target != null;
         assert this.covered.containsKey(target);
         return this.covered.get(target);
@@ -241,7 +241,7 @@ public class CoverageArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public boolean hasSolution(TestFitnessFunction target) {
+    public synchronized boolean hasSolution(TestFitnessFunction target) {
         assert target != null;
         return this.covered.containsKey(target);
     }
@@ -250,7 +250,7 @@ public class CoverageArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public TestChromosome getRandomSolution() {
+    public synchronized TestChromosome getRandomSolution() {
         // TODO this gives higher probability to tests that cover more targets. Maybe it is not the best
         // way, but likely the quickest to compute. A proper way to do it would be to first call
         // 'getSolutions' and only then select one at random.
@@ -322,7 +322,7 @@ public class CoverageArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public void shrinkSolutions(int size) {
+    public synchronized void shrinkSolutions(int size) {
         // NO-OP
     }
 
@@ -330,7 +330,7 @@ public class CoverageArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public String toString() {
+    public synchronized String toString() {
         return "NumTargets: " + this.getNumberOfTargets() + ", NumCoveredTargets: "
                 + this.getNumberOfCoveredTargets() + ", NumSolutions: " + this.getNumberOfSolutions();
     }
@@ -339,7 +339,7 @@ public class CoverageArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public void reset() {
+    public synchronized void reset() {
         super.reset();
         this.covered.clear();
         this.uncovered.clear();
@@ -60,7 +60,7 @@ public class MIOArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public void addTarget(TestFitnessFunction target) {
+    public synchronized void addTarget(TestFitnessFunction target) {
         super.addTarget(target);
 
         if (!this.archive.containsKey(target)) {
@@ -75,7 +75,7 @@ public class MIOArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public void updateArchive(TestFitnessFunction target, TestChromosome solution, double fitnessValue) {
+    public synchronized void updateArchive(TestFitnessFunction target, TestChromosome solution, double fitnessValue) {
         super.updateArchive(target, solution, fitnessValue);
         assert this.archive.containsKey(target);
 
@@ -97,7 +97,7 @@ public class MIOArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public boolean isArchiveEmpty() {
+    public synchronized boolean isArchiveEmpty() {
         return this.getNumberOfSolutions() == 0;
     }
 
@@ -105,7 +105,7 @@ public class MIOArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public int getNumberOfTargets() {
+    public synchronized int getNumberOfTargets() {
         return this.archive.keySet().size();
     }
 
@@ -113,7 +113,7 @@ public class MIOArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public int getNumberOfCoveredTargets() {
+    public synchronized int getNumberOfCoveredTargets() {
         return this.getCoveredTargets().size();
     }
 
@@ -121,7 +121,7 @@ public class MIOArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public int getNumberOfCoveredTargets(Class<?> targetClass) {
+    public synchronized int getNumberOfCoveredTargets(Class<?> targetClass) {
         return (int) this.getCoveredTargets().stream()
                 .filter(target -> target.getClass() == targetClass).count();
     }
@@ -130,7 +130,7 @@ public class MIOArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public Set<TestFitnessFunction> getCoveredTargets() {
+    public synchronized Set<TestFitnessFunction> getCoveredTargets() {
         return this.archive.keySet().stream()
                 .filter(target -> this.archive.get(target).isCovered())
                 .collect(toSet());
@@ -140,7 +140,7 @@ public class MIOArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public int getNumberOfUncoveredTargets() {
+    public synchronized int getNumberOfUncoveredTargets() {
         return this.getUncoveredTargets().size();
     }
 
@@ -148,7 +148,7 @@ public class MIOArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public int getNumberOfUncoveredTargets(Class<?> targetClass) {
+    public synchronized int getNumberOfUncoveredTargets(Class<?> targetClass) {
         return (int) this.getUncoveredTargets().stream()
                 .filter(target -> target.getClass() == targetClass)
                 .count();
@@ -158,7 +158,7 @@ public class MIOArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public Set<TestFitnessFunction> getUncoveredTargets() {
+    public synchronized Set<TestFitnessFunction> getUncoveredTargets() {
         return this.archive.keySet().stream()
                 .filter(target -> !this.archive.get(target).isCovered())
                 .collect(toSet());
@@ -168,7 +168,7 @@ public class MIOArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public boolean hasTarget(TestFitnessFunction target) {
+    public synchronized boolean hasTarget(TestFitnessFunction target) {
         assert target != null;
         return this.archive.containsKey(target);
     }
@@ -177,7 +177,7 @@ public class MIOArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public int getNumberOfSolutions() {
+    public synchronized int getNumberOfSolutions() {
         return this.getSolutions().size();
     }
 
@@ -187,7 +187,7 @@ public class MIOArchive extends Archive {
      * @return
      */
     @Override
-    public Set<TestChromosome> getSolutions() {
+    public synchronized Set<TestChromosome> getSolutions() {
         return this.archive.values().stream()
                 .map(Population::getBestSolutionIfAny)
                 .filter(Objects::nonNull)
@@ -198,7 +198,7 @@ public class MIOArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public TestChromosome getSolution() {
+    public synchronized TestChromosome getSolution() {
 
         // Choose one target at random that has not been covered but contains some solutions. In case
         // there is not any non-covered target with at least one solution, either because all targets
@@ -242,7 +242,7 @@ public class MIOArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public TestChromosome getSolution(TestFitnessFunction target) {
+    public synchronized TestChromosome getSolution(TestFitnessFunction target) {
         assert target != null;
         assert this.archive.containsKey(target);
         return this.archive.get(target).getBestSolutionIfAny();
@@ -252,7 +252,7 @@ public class MIOArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public boolean hasSolution(TestFitnessFunction target) {
+    public synchronized boolean hasSolution(TestFitnessFunction target) {
         assert target != null;
         assert this.archive.containsKey(target);
         return this.archive.get(target).isCovered();
@@ -262,7 +262,7 @@ public class MIOArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public TestChromosome getRandomSolution() {
+    public synchronized TestChromosome getRandomSolution() {
         return Randomness.choice(this.getSolutions());
     }
 
@@ -315,7 +315,7 @@ public class MIOArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public void shrinkSolutions(int newPopulationSize) {
+    public synchronized void shrinkSolutions(int newPopulationSize) {
         assert newPopulationSize > 0;
         for (TestFitnessFunction target : this.archive.keySet()) {
             this.archive.get(target).shrinkPopulation(newPopulationSize);
@@ -326,7 +326,7 @@ public class MIOArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public String toString() {
+    public synchronized String toString() {
         return "NumTargets: " + this.getNumberOfTargets() + ", NumCoveredTargets: "
                 + this.getNumberOfCoveredTargets() + ", NumSolutions: " + this.getNumberOfSolutions();
     }
@@ -335,7 +335,7 @@ public class MIOArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public void reset() {
+    public synchronized void reset() {
         super.reset();
         this.archive.clear();
     }
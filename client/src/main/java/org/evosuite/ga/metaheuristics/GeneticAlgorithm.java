@@ -40,7 +40,10 @@ import org.evosuite.ga.populationlimit.PopulationLimit;
 import org.evosuite.ga.stoppingconditions.MaxGenerationStoppingCondition;
 import org.evosuite.ga.stoppingconditions.StoppingCondition;
 import org.evosuite.symbolic.dse.DSEStatistics;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.execution.ExecutionTracer;
+import org.evosuite.testcase.execution.TestCaseExecutor;
 import org.evosuite.testsuite.TestSuiteChromosome;
 import org.evosuite.utils.ArrayUtil;
 import org.evosuite.utils.LoggingUtils;
@@ -566,7 +569,19 @@ public abstract class GeneticAlgorithm<T extends Chromosome<T>> implements Searc
     protected void calculateFitness() {
         logger.debug("Calculating fitness for " + population.size() + " individuals");
 
-        for (T c : this.population) {
+        this.calculateFitness(this.population);
+    }
+
+    /**
+     * Calculate fitness for the given individuals, executing their tests concurrently first if
+     * parallel test execution is enabled
+     *
+     * @param individuals
+     */
+    protected void calculateFitness(List<T> individuals) {
+        this.executeTests(individuals);
+
+        for (T c : individuals) {
             if (isFinished()) {
                 break;
             } else {
@@ -575,6 +590,38 @@ public abstract class GeneticAlgorithm<T extends Chromosome<T>> implements Searc
         }
     }
 
+    /**
+     * Execute the changed test chromosomes among the given individuals with
+     * {@link TestCaseExecutor#runTests(List)}, and store the results in the chromosomes so that
+     * the fitness functions do not execute them again. Does nothing unless parallel test execution
+     * is enabled.
+     *
+     * @param individuals
+     */
+    protected void executeTests(List<T> individuals) {
+        if (!TestCaseExecutor.isParallelExecutionEnabled()) {
+            return;
+        }
+        List<TestChromosome> changed = new ArrayList<>();
+        for (T c : individuals) {
+            if (c instanceof TestChromosome) {
+                TestChromosome tc = (TestChromosome) c;
+                if (tc.isChanged() || tc.getLastExecutionResult() == null) {
+                    changed.add(tc);
+                }
+            }
+        }
+        if (changed.size() < 2) {
+            return;
+        }
+        List<ExecutionResult> results = TestCaseExecutor.runTests(
+                changed.stream().map(TestChromosome::getTestCase).collect(toList()));
+        for (int i = 0; i < changed.size(); i++) {
+            changed.get(i).setLastExecutionResult(results.get(i));
+            changed.get(i).setChanged(false);
+        }
+    }
+
     /**
      * Calculate fitness for an individual
      *
@@ -849,6 +896,27 @@ public abstract class GeneticAlgorithm<T extends Chromosome<T>> implements Searc
         }
     }
 
+    /**
+     * Replaces the last individuals of the population, which are the worst ones once the
+     * population is sorted, by the given immigrants. Used by the {@link IslandModel}.
+     *
+     * @param immigrants individuals evaluated by another island
+     */
+    void acceptImmigrants(List<T> immigrants) {
+        int replaced = Math.min(immigrants.size(), population.size());
+        for (int i = 0; i < replaced; i++) {
+            population.set(population.size() - 1 - i, immigrants.get(i));
+        }
+    }
+
+    /**
+     * @return the algorithm that evolves the population, which differs from this one for
+     * adapters
+     */
+    GeneticAlgorithm<?> getEvolvingAlgorithm() {
+        return this;
+    }
+
     /**
      * Generates a view of the population List.
      *
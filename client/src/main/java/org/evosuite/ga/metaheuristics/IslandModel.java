@@ -0,0 +1,322 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.metaheuristics;
+
+import org.evosuite.Properties;
+import org.evosuite.ga.Chromosome;
+import org.evosuite.ga.operators.selection.BestKSelection;
+import org.evosuite.ga.operators.selection.RandomKSelection;
+import org.evosuite.ga.operators.selection.RankSelection;
+import org.evosuite.ga.operators.selection.SelectionFunction;
+import org.evosuite.ga.stoppingconditions.StoppingConditionImpl;
+import org.evosuite.runtime.sandbox.Sandbox;
+import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.utils.Randomness;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Evolves several islands, i.e. instances of the same search algorithm, each one on its own
+ * thread. The islands form a ring: every {@link Properties#MIGRANTS_ITERATION_FREQUENCY}
+ * iterations, an island sends clones of {@link Properties#MIGRANTS_COMMUNICATION_RATE} of its
+ * individuals to the next island through a lock-free queue, and takes in the individuals the
+ * previous island sent. Migrants keep their fitness values and are not evaluated again. All
+ * islands share the archive, and the search stops as soon as one of the islands stops.
+ *
+ * <p>
+ * The search algorithms, the archive and the test cluster are not designed to be used by several
+ * threads. The islands therefore hold a shared permit while they search, and only release it while
+ * the SUT executes their tests, which is where most of the time goes. This requires each island to
+ * execute its tests with its own executor and tracer, see
+ * {@link TestCaseExecutor#canExecuteIslandsConcurrently()}. Otherwise the islands keep the permit
+ * and take turns.
+ * </p>
+ *
+ * @param <T> the type of individuals of the islands
+ */
+public class IslandModel<T extends Chromosome<T>> {
+
+    private static final Logger logger = LoggerFactory.getLogger(IslandModel.class);
+
+    /**
+     * Name of the threads evolving the islands
+     */
+    public static final String ISLAND_THREAD = "ISLAND_THREAD";
+
+    private final List<GeneticAlgorithm<T>> islands;
+
+    private final Semaphore searchPermit = new Semaphore(1, true);
+
+    /**
+     * Set once the first island is done, which makes the others stop
+     */
+    private volatile boolean finished = false;
+
+    /**
+     * @param islands instances of the same search algorithm, set up with the same fitness
+     *                functions. The first one is the primary island, which e.g. reports the
+     *                progress of the search.
+     */
+    public IslandModel(List<GeneticAlgorithm<T>> islands) {
+        if (islands.isEmpty()) {
+            throw new IllegalArgumentException("An island model needs at least one island");
+        }
+        this.islands = new ArrayList<>(islands);
+
+        List<Queue<List<?>>> inboxes = new ArrayList<>(islands.size());
+        for (int i = 0; i < islands.size(); i++) {
+            inboxes.add(new ConcurrentLinkedQueue<>());
+        }
+        for (int i = 0; i < islands.size(); i++) {
+            connect(islands.get(i).getEvolvingAlgorithm(), inboxes.get(i),
+                    inboxes.get((i + 1) % islands.size()));
+        }
+    }
+
+    private <X extends Chromosome<X>> void connect(GeneticAlgorithm<X> island, Queue<List<?>> inbox,
+                                                   Queue<List<?>> outbox) {
+        island.addListener(new Migration<>(inbox, outbox));
+        island.addStoppingCondition(new IslandStoppingCondition<>(this));
+    }
+
+    /**
+     * Evolves all islands until one of them is finished, and waits for the others to stop
+     */
+    public void generateSolution() {
+        finished = false;
+        boolean concurrent = TestCaseExecutor.canExecuteIslandsConcurrently();
+        logger.info("Evolving {} islands", islands.size());
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>(islands.size());
+        for (int i = 0; i < islands.size(); i++) {
+            GeneticAlgorithm<T> island = islands.get(i);
+            // split in the order of the islands, so that each island draws the same numbers in every run
+            Random stream = Randomness.split();
+            ThreadGroup group = new ThreadGroup(ISLAND_THREAD + "_" + i);
+            Thread thread = new Thread(group, () -> evolve(island, stream, concurrent, failure),
+                    ISLAND_THREAD + "_" + i);
+            thread.setDaemon(true);
+            thread.setContextClassLoader(Thread.currentThread().getContextClassLoader());
+            // the islands do what the search thread would do, which the sandbox must allow
+            Sandbox.addPrivilegedThread(thread);
+            threads.add(thread);
+        }
+        threads.forEach(Thread::start);
+
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                logger.info("Interrupted while waiting for the islands, stopping them");
+                finished = true;
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        Throwable t = failure.get();
+        if (t instanceof Error) {
+            throw (Error) t;
+        } else if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        } else if (t != null) {
+            throw new IllegalStateException("Island failed", t);
+        }
+    }
+
+    private void evolve(GeneticAlgorithm<T> island, Random stream, boolean concurrent,
+                        AtomicReference<Throwable> failure) {
+        searchPermit.acquireUninterruptibly();
+        try {
+            if (concurrent) {
+                TestCaseExecutor.bindIslandExecutor(searchPermit);
+            }
+            try {
+                Randomness.runWith(stream, island::generateSolution);
+            } finally {
+                if (concurrent) {
+                    TestCaseExecutor.unbindIslandExecutor();
+                }
+            }
+        } catch (Throwable t) {
+            logger.error("Island {} failed", Thread.currentThread().getName(), t);
+            failure.compareAndSet(null, t);
+        } finally {
+            finished = true;
+            searchPermit.release();
+        }
+    }
+
+    /**
+     * Resets the stopping conditions of all islands
+     */
+    public void resetStoppingConditions() {
+        islands.forEach(GeneticAlgorithm::resetStoppingConditions);
+    }
+
+    /**
+     * @return the best individual of all islands. Adapters build it from the archive, which
+     * already holds the best tests of all islands.
+     */
+    public T getBestIndividual() {
+        GeneticAlgorithm<T> primary = islands.get(0);
+        T best = primary.getBestIndividual();
+        if (primary.getEvolvingAlgorithm() != primary) {
+            return best;
+        }
+        for (GeneticAlgorithm<T> island : islands.subList(1, islands.size())) {
+            T candidate = island.getBestIndividual();
+            if (!primary.isBetterOrEqual(best, candidate)) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return the number of iterations of the island that evolved the most
+     */
+    public int getAge() {
+        return islands.stream().mapToInt(GeneticAlgorithm::getAge).max().getAsInt();
+    }
+
+    /**
+     * Sends and receives the migrants of an island after each of its iterations
+     */
+    private static class Migration<X extends Chromosome<X>> implements SearchListener<X> {
+
+        private static final long serialVersionUID = -3716580234577452046L;
+
+        private final Queue<List<?>> inbox;
+
+        private final Queue<List<?>> outbox;
+
+        private final SelectionFunction<X> emigrantSelection;
+
+        private int iterations = 0;
+
+        private Migration(Queue<List<?>> inbox, Queue<List<?>> outbox) {
+            this.inbox = inbox;
+            this.outbox = outbox;
+            switch (Properties.EMIGRANT_SELECTION_FUNCTION) {
+                case RANK:
+                    this.emigrantSelection = new RankSelection<>();
+                    break;
+                case RANDOMK:
+                    this.emigrantSelection = new RandomKSelection<>();
+                    break;
+                default:
+                    this.emigrantSelection = new BestKSelection<>();
+            }
+        }
+
+        @Override
+        public void searchStarted(GeneticAlgorithm<X> algorithm) {
+            iterations = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void iteration(GeneticAlgorithm<X> algorithm) {
+            iterations++;
+            List<X> population = algorithm.getPopulation();
+            if (Properties.MIGRANTS_ITERATION_FREQUENCY > 0
+                    && iterations % Properties.MIGRANTS_ITERATION_FREQUENCY == 0 && !population.isEmpty()) {
+                List<X> emigrants = new ArrayList<>();
+                for (X individual : emigrantSelection.select(population, Properties.MIGRANTS_COMMUNICATION_RATE)) {
+                    emigrants.add(individual.clone());
+                }
+                outbox.offer(emigrants);
+            }
+
+            // all islands evolve the same type of individuals
+            for (List<?> immigrants = inbox.poll(); immigrants != null; immigrants = inbox.poll()) {
+                algorithm.acceptImmigrants((List<X>) immigrants);
+            }
+        }
+
+        @Override
+        public void searchFinished(GeneticAlgorithm<X> algorithm) {
+        }
+
+        @Override
+        public void fitnessEvaluation(X individual) {
+        }
+
+        @Override
+        public void modification(X individual) {
+        }
+    }
+
+    /**
+     * Stops an island once another island is done
+     */
+    private static class IslandStoppingCondition<X extends Chromosome<X>> extends StoppingConditionImpl<X> {
+
+        private static final long serialVersionUID = 5290851237018547093L;
+
+        private final IslandModel<?> model;
+
+        private IslandStoppingCondition(IslandModel<?> model) {
+            this.model = model;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return model.finished;
+        }
+
+        @Override
+        public void reset() {
+        }
+
+        @Override
+        public void setLimit(long limit) {
+        }
+
+        @Override
+        public long getLimit() {
+            return 0;
+        }
+
+        @Override
+        public long getCurrentValue() {
+            return 0;
+        }
+
+        @Override
+        public void forceCurrentValue(long value) {
+        }
+
+        @Override
+        public StoppingConditionImpl<X> clone() {
+            return new IslandStoppingCondition<>(model);
+        }
+    }
+}
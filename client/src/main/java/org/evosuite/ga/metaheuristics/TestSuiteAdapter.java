@@ -115,6 +115,11 @@ public abstract class TestSuiteAdapter<A extends GeneticAlgorithm<TestChromosome
         return algorithm;
     }
 
+    @Override
+    GeneticAlgorithm<?> getEvolvingAlgorithm() {
+        return algorithm;
+    }
+
     @Override
     public abstract TestSuiteChromosome getBestIndividual();
 
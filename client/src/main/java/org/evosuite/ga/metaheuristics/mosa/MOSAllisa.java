@@ -30,12 +30,14 @@ import org.evosuite.ga.operators.crossover.GPTCrossOver;
 import org.evosuite.ga.operators.ranking.CrowdingDistance;
 import org.evosuite.ga.stoppingconditions.GlobalTimeStoppingCondition;
 import org.evosuite.gpt.CompileGentests;
+import org.evosuite.rmi.ClientServices;
 import org.evosuite.statistics.OutputVariable;
 import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.strategy.TestGenerationStrategy;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.TestCaseExecutor;
 import org.evosuite.testcase.statements.*;
 import org.evosuite.testcase.variable.VariableReference;
 import org.evosuite.utils.LoggingUtils;
@@ -51,6 +53,13 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 import org.evosuite.gpt.*;
 
@@ -97,6 +106,20 @@ public class MOSAllisa extends AbstractMOSA {
             "- **IMPORTANT:** Additionally, import any other required java classes.\n" +
             "\nClass under test:\n```\n%s\n```\nlinesToCover:\n%s";
 
+    static String batched_test_gen_prompt = "Given the Java class under test (note that the class may be cut off) and " +
+            "the test goals that have not been met, grouped by the method of the class they belong to:\n" +
+            "- Generate stand-alone JUnit 4 tests that can cover these goals.\n" +
+            "- Write at least one separate test method for every method listed.\n" +
+            "- The tests should be self-contained, meaning no @Before methods should be used.\n" +
+            "- Name the test class 'ClassTest'.\n" +
+            "- **IMPORTANT:** Do NOT include any references to private methods or fields in the tests unless they " +
+            "can be accessed through public methods.\n" +
+            "- Only public and protected methods and fields may be used in the tests.\n" +
+            "- Do not use Mockito." +
+            "- **IMPORTANT:** Import the necessary classes from this classpath, %s, including the class under test: %s.\n" +
+            "- **IMPORTANT:** Additionally, import any other required java classes.\n" +
+            "\nClass under test:\n```\n%s\n```\nGoals to cover by method:\n%s";
+
     static String initial_test_gen_prompt = "Given the Java class under test (note that the class may be cut off) and the " +
             "coverage criterion:\n" +
             "- Generate %d stand-alone JUnit 4 tests that can cover these goals.\n" +
@@ -111,11 +134,64 @@ public class MOSAllisa extends AbstractMOSA {
             "- **IMPORTANT:** Ensure that the resulting test suite will be compilable as-is. All imports must be accounted for.\n" +
             "\nClass under test:\n```\n%s\n```\nCriterion:\n%s";
 
+    /**
+     * Maximum number of times the answer to a prompt is carved before giving up on that prompt
+     */
+    private static final int MAX_CARVING_ATTEMPTS = 3;
+
+    /**
+     * Maximum number of calls to GPT for a single prompt, and the delay between them
+     */
+    private static final int MAX_GPT_ATTEMPTS = 3;
+    private static final long GPT_RETRY_DELAY = 30000;
+
+    /**
+     * Milliseconds between two checks for streamed tests while waiting for a GPT answer
+     */
+    private static final long STREAM_POLL_INTERVAL = 100;
+
     /**
      * Manager to determine the test goals to consider at each generation
      */
     protected MultiCriteriaManager goalsManager = null;
 
+    /**
+     * CODAMOSA requests sent through the {@link GPTRequestPool} whose answers have not been carved yet
+     */
+    private final List<PendingGPTRequest> pendingGPTRequests = new ArrayList<>();
+
+    /**
+     * A CODAMOSA request in flight, with the number of carving attempts already spent on its prompt
+     */
+    private static class PendingGPTRequest {
+
+        private final String prompt;
+
+        private final int carvingAttempt;
+
+        private final Future<GPTRequestPool.Response> response;
+
+        /**
+         * Tests of the answer that were completely streamed, but not carved yet. Filled by the worker thread
+         * while the answer is read. Tests streamed by an attempt that fails later on are kept, as each of
+         * them is complete on its own
+         */
+        private final Queue<String> streamedTests;
+
+        /**
+         * Whether any of the streamed tests could be carved
+         */
+        private boolean carvedStreamedTests = false;
+
+        PendingGPTRequest(String prompt, int carvingAttempt, Future<GPTRequestPool.Response> response,
+                          Queue<String> streamedTests) {
+            this.prompt = prompt;
+            this.carvingAttempt = carvingAttempt;
+            this.response = response;
+            this.streamedTests = streamedTests;
+        }
+    }
+
     protected CrowdingDistance<TestChromosome> distance = new CrowdingDistance<>();
 
     /**
@@ -241,6 +317,20 @@ public class MOSAllisa extends AbstractMOSA {
     protected List<TestChromosome> breedNextGeneration() {
         List<TestChromosome> offspringPopulation = new ArrayList<>(Properties.POPULATION);
         int totalStalls = 0;
+        // with parallel test execution, the offspring are evaluated together once they are all bred
+        final boolean parallel = TestCaseExecutor.isParallelExecutionEnabled();
+        List<TestChromosome> offspring = new ArrayList<>();
+        List<TestChromosome> parents = new ArrayList<>();
+
+        // Tests carved from the GPT answers that arrived during the previous generation
+        if (Properties.USE_CODAMOSA && Properties.GPT_ASYNC_REQUESTS) {
+            this.injectCompletedGPTTests(offspringPopulation);
+        }
+        // Offspring of the GPT crossovers answered during the previous generation
+        if (this.crossoverFunction instanceof GPTCrossOver && Properties.GPT_ASYNC_REQUESTS) {
+            this.injectCompletedGPTCrossovers(offspringPopulation);
+        }
+
         // we apply only Properties.POPULATION/2 iterations since in each generation
         // we generate two offsprings
         for (int i = 0; i < Properties.POPULATION / 2 && !this.isFinished(); i++) {
@@ -276,10 +366,10 @@ public class MOSAllisa extends AbstractMOSA {
             if (offspring1.isChanged()) {
                 this.clearCachedResults(offspring1);
                 offspring1.updateAge(this.currentIteration);
-                this.calculateFitness(offspring1);
-                offspringPopulation.add(offspring1);
-                if (offspring1.getFitness() <= parent1.getFitness()){
-                    totalStalls += 1;
+                offspring.add(offspring1);
+                parents.add(parent1);
+                if (!parallel) {
+                    totalStalls += this.evaluateOffspring(offspring, parents, offspringPopulation);
                 }
             }
 
@@ -288,38 +378,22 @@ public class MOSAllisa extends AbstractMOSA {
             if (offspring2.isChanged()) {
                 this.clearCachedResults(offspring2);
                 offspring2.updateAge(this.currentIteration);
-                this.calculateFitness(offspring2);
-                offspringPopulation.add(offspring2);
-                if (offspring2.getFitness() <= parent2.getFitness()){
-                    totalStalls += 1;
+                offspring.add(offspring2);
+                parents.add(parent2);
+                if (!parallel) {
+                    totalStalls += this.evaluateOffspring(offspring, parents, offspringPopulation);
                 }
             }
 
-            if (Properties.USE_CODAMOSA) {
-                if (totalStalls >= 30) {
-                    Set<TestFitnessFunction> rankedGoals;
-                    rankedGoals = this.goalsManager.getLowFitnessBranches(this.population);
-                    if (!rankedGoals.isEmpty()) {
-                        codamosaCalls++;
-                        List<TestCase> gptTestCases = invokeGPT(rankedGoals, false);
-                        if (gptTestCases != null) {
-                            if (!gptTestCases.isEmpty()) {
-                                successfulCODAMOSACarvingCalls++;
-                                for (TestCase tc : gptTestCases) {
-                                    gptTestsAddedToOffSpringPop++;
-                                    TestChromosome testChromosome = new TestChromosome();
-                                    testChromosome.setTestCase(tc);
-                                    testChromosome.set_gpt_status(true);
-                                    this.calculateFitness(testChromosome);
-                                    offspringPopulation.add(testChromosome);
-                                }
-                            }
-                        }
-                    }
-                    totalStalls = 0;
-                }
+            if (!parallel) {
+                totalStalls = this.requestGPTTestsIfStalled(totalStalls, offspringPopulation);
             }
         }
+        if (parallel) {
+            totalStalls += this.evaluateOffspring(offspring, parents, offspringPopulation);
+            this.requestGPTTestsIfStalled(totalStalls, offspringPopulation);
+        }
+        final int numberOfBredOffspring = offspringPopulation.size();
         // Add new randomly generate tests
         for (int i = 0; i < Properties.POPULATION * Properties.P_TEST_INSERTION; i++) {
             final TestChromosome tch;
@@ -333,22 +407,203 @@ public class MOSAllisa extends AbstractMOSA {
             }
             if (tch.isChanged()) {
                 tch.updateAge(this.currentIteration);
-                this.calculateFitness(tch);
+                if (!parallel) {
+                    this.calculateFitness(tch);
+                }
                 offspringPopulation.add(tch);
             }
         }
+        if (parallel) {
+            this.calculateFitness(offspringPopulation.subList(numberOfBredOffspring, offspringPopulation.size()));
+        }
         logger.trace("Number of offsprings = {}", offspringPopulation.size());
         return offspringPopulation;
     }
 
+    /**
+     * Evaluate the offspring of the GPT crossovers answered so far and add them to the offspring
+     * population.
+     */
+    @SuppressWarnings("unchecked")
+    private void injectCompletedGPTCrossovers(List<TestChromosome> offspringPopulation) {
+        List<TestChromosome> offspring =
+                ((GPTCrossOver<TestChromosome>) this.crossoverFunction).getCompletedCrossovers();
+        if (offspring.isEmpty()) {
+            return;
+        }
+        for (TestChromosome tch : offspring) {
+            this.removeUnusedVariables(tch);
+            this.clearCachedResults(tch);
+            tch.updateAge(this.currentIteration);
+        }
+        this.calculateFitness(offspring);
+        offspringPopulation.addAll(offspring);
+    }
+
+    /**
+     * Evaluate the bred offspring and add them to the offspring population. The given offspring
+     * and parents lists are cleared.
+     *
+     * @return the number of offspring that are not fitter than their parent
+     */
+    private int evaluateOffspring(List<TestChromosome> offspring, List<TestChromosome> parents,
+                                  List<TestChromosome> offspringPopulation) {
+        if (offspring.size() == 1) {
+            this.calculateFitness(offspring.get(0));
+        } else {
+            this.calculateFitness(offspring);
+        }
+        int stalls = 0;
+        for (int i = 0; i < offspring.size(); i++) {
+            offspringPopulation.add(offspring.get(i));
+            if (offspring.get(i).getFitness() <= parents.get(i).getFitness()) {
+                stalls++;
+            }
+        }
+        offspring.clear();
+        parents.clear();
+        return stalls;
+    }
+
+    /**
+     * Once 30 offspring stalled, CODAMOSA asks GPT for tests covering the goals with the lowest
+     * fitness. With parallel test execution, the stalls are only checked once per generation, so
+     * at most one GPT request is made per generation.
+     *
+     * @return the number of stalls, reset to 0 if GPT was asked for tests
+     */
+    private int requestGPTTestsIfStalled(int totalStalls, List<TestChromosome> offspringPopulation) {
+        if (!Properties.USE_CODAMOSA || totalStalls < 30) {
+            return totalStalls;
+        }
+        Set<TestFitnessFunction> rankedGoals;
+        rankedGoals = this.goalsManager.getLowFitnessBranches(this.population);
+        if (!rankedGoals.isEmpty()) {
+            if (Properties.GPT_ASYNC_REQUESTS) {
+                String gptString = buildGPTPrompt(rankedGoals, false);
+                if (gptString != null && this.submitGPTRequest(gptString, 0)) {
+                    codamosaCalls++;
+                }
+            } else {
+                codamosaCalls++;
+                List<TestCase> gptTestCases = invokeGPT(rankedGoals, false);
+                if (gptTestCases != null) {
+                    if (!gptTestCases.isEmpty()) {
+                        successfulCODAMOSACarvingCalls++;
+                        this.addGPTTests(gptTestCases, offspringPopulation);
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
     private String extractClassName(String targetClass) {
         int dotIndex = targetClass.lastIndexOf(".");
         return targetClass.substring(dotIndex + 1);
     }
 
+    /**
+     * Ask GPT for tests and wait for them. The calls go through the {@link GPTRequestPool}, so
+     * that failed calls are retried after {@link #GPT_RETRY_DELAY} without the search thread
+     * sleeping, and the tests streamed in the meantime are carved while the answer is read.
+     *
+     * @return the carved tests, empty if no answer could be carved
+     */
     private List<TestCase> invokeGPT(Set<TestFitnessFunction> goals, Boolean isForInitialPop) {
         List<TestCase> carvedTestCases = new ArrayList<>();
 
+        String gptString = buildGPTPrompt(goals, isForInitialPop);
+        if (gptString == null) {
+            return carvedTestCases;
+        }
+        int carving_attempt_count = 0;
+        while (carving_attempt_count < MAX_CARVING_ATTEMPTS) {
+            if (!isForInitialPop) {
+                totalCODAMOSACarvingCalls++;
+            }
+            Queue<String> streamedTests = new ConcurrentLinkedQueue<>();
+            Consumer<String> testListener = Properties.GPT_STREAM_RESPONSES ? streamedTests::add : null;
+            Future<GPTRequestPool.Response> future = GPTRequestPool.getInstance()
+                    .submit(gptString, GPTRequest.GPT_4O, MAX_GPT_ATTEMPTS, GPT_RETRY_DELAY, testListener);
+            if (future == null) {
+                writeToGPTLogFile("GPT REQUEST QUEUE FULL, DROPPING REQUEST\n");
+                return carvedTestCases;
+            }
+            // Tests carved while the answer is streamed
+            List<TestCase> streamedTestCases = new ArrayList<>();
+            GPTRequestPool.Response response = this.awaitGPTResponse(future, streamedTests, streamedTestCases);
+            if (response == null) {
+                return carvedTestCases;
+            }
+            totalGPTCarvingCalls += response.getAttempts();
+            if (response.isFailure()) {
+                writeToGPTLogFile("EXCEEDED GPT REQUEST ATTEMPTS\n");
+                return carvedTestCases;
+            }
+            successfulGPTCarvingCalls++;
+            if (!streamedTestCases.isEmpty()) {
+                carvedTestCases = streamedTestCases;
+            } else {
+                carvedTestCases = carveGPTResponse(response.getContent());
+            }
+            if (carvedTestCases != null && !carvedTestCases.isEmpty()) {
+                writeToGPTLogFile("CARVING: SUCCESS\n");
+                break;
+            }
+            carving_attempt_count++;
+            writeToGPTLogFile("CARVING: FAILED + " + carving_attempt_count + "\n");
+            this.discardGPTResponse(gptString);
+        }
+        writeToGPTLogFile("\n");
+        return  carvedTestCases;
+    }
+
+    /**
+     * Wait for the answer of a GPT request, carving the tests it streams as they arrive.
+     *
+     * @param streamedTests     tests streamed by the request, not carved yet
+     * @param streamedTestCases the carved tests are added to this list
+     * @return the answer, or null if the request was cancelled or interrupted
+     */
+    private GPTRequestPool.Response awaitGPTResponse(Future<GPTRequestPool.Response> future,
+                                                     Queue<String> streamedTests,
+                                                     List<TestCase> streamedTestCases) {
+        while (true) {
+            // Checked before draining, so that no test streamed before completion is missed
+            boolean done = future.isDone();
+            String source;
+            while ((source = streamedTests.poll()) != null) {
+                List<TestCase> carved = carveStreamedTest(source);
+                if (carved != null) {
+                    streamedTestCases.addAll(carved);
+                }
+            }
+            try {
+                if (done) {
+                    return future.get();
+                }
+                // Once answered, the tests streamed since the last poll are carved first
+                future.get(STREAM_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // More tests may have been streamed in the meantime
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                return null;
+            } catch (ExecutionException | CancellationException e) {
+                writeToGPTLogFile("GPT REQUEST FAILED: " + e + "\n");
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Build the prompt asking GPT for tests, either for the initial population or for the given goals.
+     *
+     * @return the prompt, or null if the source of the class under test could not be read
+     */
+    private String buildGPTPrompt(Set<TestFitnessFunction> goals, boolean isForInitialPop) {
         // Get the class as a string
         String classAsString;
         try {
@@ -361,90 +616,221 @@ public class MOSAllisa extends AbstractMOSA {
         } catch (IOException e) {
             System.out.println("IO ERROR");
             writeToGPTLogFile("FAILED TO GET CLASS AS STRING\n");
-            return carvedTestCases;
+            return null;
         }
 
         // Prepare the request for ChatGPT
         StringBuilder sb = new StringBuilder();
-        String gptString;
         if (isForInitialPop) {
             for (Properties.Criterion crit : Properties.CRITERION) {
                 sb.append(crit + "\n");
             }
-            gptString = String.format(initial_test_gen_prompt, Properties.POPULATION, Properties.CP, Properties.TARGET_CLASS, classAsString, sb);
+            return String.format(initial_test_gen_prompt, Properties.POPULATION, Properties.CP, Properties.TARGET_CLASS, classAsString, sb);
+        }
+        if (Properties.GPT_BATCH_GOALS) {
+            for (Map.Entry<String, Set<TestFitnessFunction>> entry : groupGoalsByMethod(goals).entrySet()) {
+                sb.append("Method ").append(entry.getKey()).append(":\n");
+                for (TestFitnessFunction test_func : entry.getValue()) {
+                    sb.append("  ").append(test_func).append("\n");
+                }
+            }
         } else {
             for (TestFitnessFunction test_func : goals) {
                 sb.append(test_func + "\n");
             }
-            String fitnessFuncs = sb.toString();
-            // Trim fitness functions if it is too large
-            if (fitnessFuncs.length() > 5000) {
-                fitnessFuncs = fitnessFuncs.substring(0, 5000);
-            }
-            writeToGPTLogFile("FITNESS FUNC LENGTH: " + fitnessFuncs.length() + "\n");
-            gptString = String.format(algo_test_gen_prompt, Properties.CP, Properties.TARGET_CLASS,classAsString, fitnessFuncs);
         }
-        int carving_attempt_count = 0;
-        while (carving_attempt_count < 3) {
-            if (!isForInitialPop) {
-                totalCODAMOSACarvingCalls++;
-            }
-            int gpt_fail_counter = 0;
-            int delay = 30000;
-            String initialGPTResponse = "";
-            // Make 3 attempts at calling GPT
-            while (gpt_fail_counter < 3) {
-                // Make call to GPT
-                initialGPTResponse = GPTRequest.chatGPT(gptString, GPTRequest.GPT_4O);
-                totalGPTCarvingCalls++;
-                if (!initialGPTResponse.equals("FAIL")){
-                    break;
-                }
-                gpt_fail_counter++;
-                try {
-                    Thread.sleep(delay);
-                } catch (Exception ignored) {
+        String fitnessFuncs = sb.toString();
+        // Trim fitness functions if it is too large
+        if (fitnessFuncs.length() > 5000) {
+            fitnessFuncs = fitnessFuncs.substring(0, 5000);
+        }
+        writeToGPTLogFile("FITNESS FUNC LENGTH: " + fitnessFuncs.length() + "\n");
+        String prompt = Properties.GPT_BATCH_GOALS ? batched_test_gen_prompt : algo_test_gen_prompt;
+        return String.format(prompt, Properties.CP, Properties.TARGET_CLASS, classAsString, fitnessFuncs);
+    }
+
+    /**
+     * Group the given goals by the method they belong to, adding the other uncovered goals of those
+     * methods. Further methods with uncovered goals are added until {@link Properties#GPT_BATCH_METHODS}
+     * methods are in the batch.
+     *
+     * @param rankedGoals the goals to include first
+     * @return goals grouped by method, in the order the methods were first seen
+     */
+    private Map<String, Set<TestFitnessFunction>> groupGoalsByMethod(Set<TestFitnessFunction> rankedGoals) {
+        Map<String, Set<TestFitnessFunction>> goalsByMethod = new LinkedHashMap<>();
+        List<TestFitnessFunction> candidates = new ArrayList<>(rankedGoals);
+        candidates.addAll(this.goalsManager.getUncoveredGoals());
+        for (TestFitnessFunction goal : candidates) {
+            String method = goal.getTargetMethod();
+            Set<TestFitnessFunction> methodGoals = goalsByMethod.get(method);
+            if (methodGoals == null) {
+                if (goalsByMethod.size() >= Properties.GPT_BATCH_METHODS) {
+                    continue;
                 }
+                methodGoals = new LinkedHashSet<>();
+                goalsByMethod.put(method, methodGoals);
             }
-            if (initialGPTResponse.equals("FAIL")) {
-                writeToGPTLogFile("EXCEEDED GPT REQUEST ATTEMPTS\n");
-                return carvedTestCases;
-            }
-            successfulGPTCarvingCalls++;
-            String formattedResponse = GPTRequest.get_code_only(initialGPTResponse);
+            methodGoals.add(goal);
+        }
+        return goalsByMethod;
+    }
+
+    /**
+     * Compile and carve a single test that was extracted from a streamed GPT answer.
+     *
+     * @return the carved tests, or null if the test could not be compiled or carved
+     */
+    private List<TestCase> carveStreamedTest(String source) {
+        try {
+            return CompileGentests.compileAndCarveTests(source);
+        } catch (Exception ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Extract the test class from a GPT answer, then compile it and carve its tests.
+     *
+     * @return the carved tests, or null if the answer could not be compiled or carved
+     */
+    private List<TestCase> carveGPTResponse(String gptResponse) {
+        try {
+            String formattedResponse = GPTRequest.get_code_only(gptResponse);
             formattedResponse = GPTRequest.cleanResponse(formattedResponse);
             // TODO DETERMINE IF THIS IS SUFFICIENT
     //        formattedResponse = "import " + Properties.TARGET_CLASS + ";\n" + formattedResponse;
-            GPTRequest.writeGPTtoFile(formattedResponse, "ClassTest.java");
+            // Carve the testcases from the gpt response
+            return CompileGentests.compileAndCarveTests(formattedResponse);
+        } catch (Exception ignored) {
+            return null;
+        }
+    }
 
-            try {
-                // Carve the testcases from the gpt response
-                carvedTestCases = CompileGentests.compileAndCarveTests();
-                if (carvedTestCases != null) {
-                    if (!carvedTestCases.isEmpty()) {
-                        writeToGPTLogFile("CARVING: SUCCESS\n");
-                        break;
-                    } else {
-                        carving_attempt_count++;
-                        writeToGPTLogFile("CARVING: FAILED + " + carving_attempt_count + "\n");
-                        Thread.sleep(5000);
-                    }
-                } else {
-                    carving_attempt_count++;
-                    writeToGPTLogFile("CARVING: FAILED + " + carving_attempt_count + "\n");
-                    Thread.sleep(5000);
+    /**
+     * Wrap GPT generated tests into chromosomes, evaluate them and add them to the given population.
+     */
+    private void addGPTTests(List<TestCase> gptTestCases, List<TestChromosome> population) {
+        for (TestCase tc : gptTestCases) {
+            gptTestsAddedToOffSpringPop++;
+            TestChromosome testChromosome = new TestChromosome();
+            testChromosome.setTestCase(tc);
+            testChromosome.set_gpt_status(true);
+            this.calculateFitness(testChromosome);
+            population.add(testChromosome);
+        }
+    }
+
+    /**
+     * Queue a CODAMOSA prompt on the {@link GPTRequestPool}. The answer is carved at a later
+     * generation boundary by {@link #injectCompletedGPTTests(List)}.
+     *
+     * @param gptString      the prompt to send
+     * @param carvingAttempt number of carving attempts already spent on this prompt
+     * @return false if the request was dropped because the request queue is full
+     */
+    private boolean submitGPTRequest(String gptString, int carvingAttempt) {
+        Queue<String> streamedTests = new ConcurrentLinkedQueue<>();
+        Consumer<String> testListener = Properties.GPT_STREAM_RESPONSES ? streamedTests::add : null;
+        Future<GPTRequestPool.Response> response = GPTRequestPool.getInstance()
+                .submit(gptString, GPTRequest.GPT_4O, MAX_GPT_ATTEMPTS, GPT_RETRY_DELAY, testListener);
+        if (response == null) {
+            writeToGPTLogFile("GPT REQUEST QUEUE FULL, DROPPING REQUEST\n");
+            return false;
+        }
+        totalCODAMOSACarvingCalls++;
+        this.pendingGPTRequests.add(new PendingGPTRequest(gptString, carvingAttempt, response, streamedTests));
+        return true;
+    }
+
+    /**
+     * Carve the answers of all the asynchronous GPT requests that have completed so far, as well as
+     * the tests already streamed for requests still in flight, and add the resulting tests to the
+     * offspring population. Prompts whose answer could not be carved are sent again, up to
+     * {@link #MAX_CARVING_ATTEMPTS} times.
+     *
+     * @param offspringPopulation the population the carved tests are added to
+     */
+    private void injectCompletedGPTTests(List<TestChromosome> offspringPopulation) {
+        List<PendingGPTRequest> toResend = new ArrayList<>();
+        Iterator<PendingGPTRequest> iterator = this.pendingGPTRequests.iterator();
+        while (iterator.hasNext()) {
+            PendingGPTRequest request = iterator.next();
+            // Checked before draining, so that no test streamed before completion is missed
+            boolean done = request.response.isDone();
+            String source;
+            while ((source = request.streamedTests.poll()) != null) {
+                List<TestCase> streamedTestCases = carveStreamedTest(source);
+                if (streamedTestCases != null && !streamedTestCases.isEmpty()) {
+                    writeToGPTLogFile("CARVING STREAMED TEST: SUCCESS\n");
+                    request.carvedStreamedTests = true;
+                    this.addGPTTests(streamedTestCases, offspringPopulation);
                 }
-            } catch (Exception ignored) {
-                carving_attempt_count++;
-                writeToGPTLogFile("CARVING: FAILED + " + carving_attempt_count + "\n");
-                try {
-                    Thread.sleep(5000);
-                } catch (InterruptedException ignored1) {
+            }
+            if (!done) {
+                continue;
+            }
+            iterator.remove();
+
+            GPTRequestPool.Response response;
+            try {
+                response = request.response.get();
+            } catch (InterruptedException | ExecutionException | CancellationException e) {
+                writeToGPTLogFile("ASYNC GPT REQUEST FAILED: " + e + "\n");
+                continue;
+            }
+            totalGPTCarvingCalls += response.getAttempts();
+            if (response.isFailure()) {
+                writeToGPTLogFile("EXCEEDED GPT REQUEST ATTEMPTS\n");
+                continue;
+            }
+            successfulGPTCarvingCalls++;
+
+            int carvingAttempt = request.carvingAttempt + 1;
+            if (request.carvedStreamedTests) {
+                writeToGPTLogFile("CARVING: SUCCESS\n");
+                successfulCODAMOSACarvingCalls++;
+                continue;
+            }
+            List<TestCase> carvedTestCases = carveGPTResponse(response.getContent());
+            if (carvedTestCases != null && !carvedTestCases.isEmpty()) {
+                writeToGPTLogFile("CARVING: SUCCESS\n");
+                successfulCODAMOSACarvingCalls++;
+                this.addGPTTests(carvedTestCases, offspringPopulation);
+            } else {
+                writeToGPTLogFile("CARVING: FAILED + " + carvingAttempt + "\n");
+                this.discardGPTResponse(request.prompt);
+                if (carvingAttempt < MAX_CARVING_ATTEMPTS) {
+                    toResend.add(request);
                 }
             }
         }
-        writeToGPTLogFile("\n");
-        return  carvedTestCases;
+        for (PendingGPTRequest request : toResend) {
+            this.submitGPTRequest(request.prompt, request.carvingAttempt + 1);
+        }
+    }
+
+    /**
+     * Remove the cached response to a prompt whose answer could not be carved, so that sending the
+     * prompt again gets a fresh answer from GPT.
+     */
+    private void discardGPTResponse(String gptString) {
+        if (GPTRequest.isCacheEnabled()) {
+            GPTResponseCache.getInstance().invalidate(gptString, GPTRequest.GPT_4O);
+        }
+    }
+
+    /**
+     * Cancel the asynchronous GPT requests still in flight, and stop the worker pool and the
+     * replay server.
+     */
+    private void cancelPendingGPTRequests() {
+        for (PendingGPTRequest request : this.pendingGPTRequests) {
+            request.response.cancel(true);
+        }
+        this.pendingGPTRequests.clear();
+        GPTRequestPool.shutdown();
+        GPTStandInServer.stopReplayServer();
     }
 
     private static void writeToGPTLogFile(String msg) {
@@ -662,6 +1048,7 @@ public class MOSAllisa extends AbstractMOSA {
             this.evolve();
             this.notifyIteration();
         }
+        this.cancelPendingGPTRequests();
 
         if (Properties.USE_CODAMOSA || Properties.USE_GPT_MUTATION || Properties.USE_GPT_CROSSOVER ||
                 Properties.USE_GPT_INITIAL_POPULATION || Properties.USE_GPT_NON_REGRESSION) {
@@ -682,7 +1069,12 @@ public class MOSAllisa extends AbstractMOSA {
             try (FileWriter fileWriter = new FileWriter(filepath1.toString(), true)) {
                 fileWriter.write("#### MOSALLISA STATS ####\n\n");
                 fileWriter.write("Iterations: " + currentIteration + "\n");
-                fileWriter.write("Successful GPT Requests (Carving Related): " + successfulGPTCarvingCalls + "/" + totalGPTCarvingCalls + "\n\n");
+                fileWriter.write("Successful GPT Requests (Carving Related): " + successfulGPTCarvingCalls + "/" + totalGPTCarvingCalls + "\n");
+                if (GPTRequest.isCacheEnabled()) {
+                    fileWriter.write("GPT Cache Hits/Misses: " + GPTResponseCache.getInstance().getHits() + "/" +
+                            GPTResponseCache.getInstance().getMisses() + "\n");
+                }
+                fileWriter.write("\n");
                 if (Properties.USE_CODAMOSA) {
                     fileWriter.write("- CODAMOSA\n");
                     fileWriter.write("  - CODAMOSA Calls: " + codamosaCalls + "\n");
@@ -757,6 +1149,8 @@ public class MOSAllisa extends AbstractMOSA {
                 data.put("mut_ins_success", ((double) TestChromosome.GPTMinsert / TestChromosome.AT_GPTMinsert));
             }
             data.put("iterations", stat_iterations);
+            data.put("cache_hits", GPTResponseCache.getInstance().getHits());
+            data.put("cache_misses", GPTResponseCache.getInstance().getMisses());
             ObjectMapper mapper = new ObjectMapper();
 //            String jsonString = mapper.writeValueAsString(data);
 //            System.out.println(jsonString);
@@ -766,6 +1160,11 @@ public class MOSAllisa extends AbstractMOSA {
             CompileGentests.writeToGPTLogFile("Failed to save mosallisa JSON stats file " + ignored);
         }
 
+        ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.GPTCarvingCalls, totalGPTCarvingCalls);
+        ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.GPTSuccessfulCarvingCalls, successfulGPTCarvingCalls);
+        ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.GPTCacheHits, GPTResponseCache.getInstance().getHits());
+        ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.GPTCacheMisses, GPTResponseCache.getInstance().getMisses());
+
         writeToGPTLogFile("#### FINISHED EVOLUTION ####\n");
         this.resetStoppingConditions();
 
@@ -21,11 +21,9 @@ package org.evosuite.ga.metaheuristics.mosa.structural;
 
 import org.evosuite.coverage.branch.BranchCoverageTestFitness;
 import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
-import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
 import org.evosuite.testcase.execution.ExecutionResult;
-import org.evosuite.testcase.execution.TestCaseExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -82,10 +80,7 @@ public class BranchesManager extends StructuralGoalManager {
 
     public void calculateFitness(TestChromosome c, GeneticAlgorithm<TestChromosome> ga) {
         // run the test
-        TestCase test = c.getTestCase();
-        ExecutionResult result = TestCaseExecutor.runTest(test);
-        c.setLastExecutionResult(result);
-        c.setChanged(false);
+        ExecutionResult result = this.runTest(c);
 
         if (result.hasTimeout() || result.hasTestException()) {
             currentGoals.forEach(f -> c.setFitness(f, Double.MAX_VALUE));
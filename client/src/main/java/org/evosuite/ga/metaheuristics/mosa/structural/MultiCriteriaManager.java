@@ -46,12 +46,10 @@ import org.evosuite.graphs.cfg.ControlDependency;
 import org.evosuite.setup.CallContext;
 import org.evosuite.setup.DependencyAnalysis;
 import org.evosuite.setup.callgraph.CallGraph;
-import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.execution.ExecutionTrace;
-import org.evosuite.testcase.execution.TestCaseExecutor;
 import org.evosuite.utils.ArrayUtil;
 import org.evosuite.utils.LoggingUtils;
 import org.slf4j.Logger;
@@ -382,10 +380,7 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
     @Override
     public void calculateFitness(TestChromosome c, GeneticAlgorithm<TestChromosome> ga) {
         // Run the test and record the execution result.
-        TestCase test = c.getTestCase();
-        ExecutionResult result = TestCaseExecutor.runTest(test);
-        c.setLastExecutionResult(result);
-        c.setChanged(false);
+        ExecutionResult result = this.runTest(c);
 
         // If the test failed to execute properly, or if the test does not cover anything,
         // it means none of the current gaols could be reached.
@@ -23,6 +23,8 @@ import org.evosuite.ga.archive.Archive;
 import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.TestCaseExecutor;
 
 import java.io.Serializable;
 import java.util.HashSet;
@@ -84,6 +86,25 @@ public abstract class StructuralGoalManager implements Serializable {
     public abstract void calculateFitness(TestChromosome c,
                                           GeneticAlgorithm<TestChromosome> ga);
 
+    /**
+     * Run the test of the given chromosome and record the execution result, unless the test was
+     * already executed together with the rest of its population, see
+     * {@link GeneticAlgorithm#executeTests(List)}.
+     *
+     * @param c a TestChromosome
+     * @return the execution result of its test
+     */
+    protected ExecutionResult runTest(TestChromosome c) {
+        if (TestCaseExecutor.isParallelExecutionEnabled() && !c.isChanged()
+                && c.getLastExecutionResult() != null) {
+            return c.getLastExecutionResult();
+        }
+        ExecutionResult result = TestCaseExecutor.runTest(c.getTestCase());
+        c.setLastExecutionResult(result);
+        c.setChanged(false);
+        return result;
+    }
+
     /**
      * Returns the set of yet uncovered goals.
      *
@@ -119,7 +140,8 @@ public abstract class StructuralGoalManager implements Serializable {
      * @return {@code true} if the archive contains a chromosome that covers the target
      */
     protected boolean isAlreadyCovered(TestFitnessFunction target) {
-        return this.archive.getCoveredTargets().contains(target);
+        // avoid copying the covered targets of the archive, which is looked up for every goal
+        return this.archive.hasTarget(target) && this.archive.hasSolution(target);
     }
 
     /**
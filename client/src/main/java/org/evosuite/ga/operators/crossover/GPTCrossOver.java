@@ -8,9 +8,13 @@ import org.evosuite.ga.ConstructionFailedException;
 import org.evosuite.ga.metaheuristics.mosa.MOSAllisa;
 import org.evosuite.gpt.CompileGentests;
 import org.evosuite.gpt.GPTRequest;
+import org.evosuite.gpt.GPTRequestPool;
 import org.evosuite.utils.Randomness;
 
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Future;
 
 public class GPTCrossOver<T extends Chromosome<T>> extends CrossOverFunction<T> {
 
@@ -25,6 +29,31 @@ public class GPTCrossOver<T extends Chromosome<T>> extends CrossOverFunction<T>
             "\nChromosome 1: ```\n%s\n```\n" +
             "\nChromosome 2: ```\n%s\n```\n";
 
+    /**
+     * Asynchronous requests for crossover positions, together with the parents they are about
+     */
+    private final List<PendingCrossover<T>> pendingCrossovers = new ArrayList<>();
+
+    private static class PendingCrossover<T> {
+
+        private final T parent1;
+
+        private final T parent2;
+
+        private final Future<GPTRequestPool.Response> response;
+
+        PendingCrossover(T parent1, T parent2, Future<GPTRequestPool.Response> response) {
+            this.parent1 = parent1;
+            this.parent2 = parent2;
+            this.response = response;
+        }
+    }
+
+    /**
+     * With asynchronous requests enabled, the GPT crossover does not wait for the answer: the
+     * parents are crossed over at a single point, and the offspring of the GPT positions are
+     * produced by {@link #getCompletedCrossovers()} once the answer arrived.
+     */
     @Override
     public void crossOver(T parent1, T parent2) throws ConstructionFailedException {
         if (parent1.size() < 2 || parent2.size() < 2) {
@@ -38,19 +67,23 @@ public class GPTCrossOver<T extends Chromosome<T>> extends CrossOverFunction<T>
             MOSAllisa.gptCrossoverAttempts++;
             CompileGentests.writeToGPTLogFile("#### GPT CROSSOVER ####\n");
             // USE GPT
-            try {
-                // Make request to GPT
-                String gptPrompt = String.format(gptCrossoverPrompt, parent1, parent2);
-                String initialGPTResponse = GPTRequest.chatGPT(gptPrompt, GPTRequest.GPT_4O);
-                // Extract lines from response
-                ArrayList<Integer> linesToDelete = GPTRequest.extractArrayFromString(initialGPTResponse);
-                pos1 = linesToDelete.get(0);
-                pos2 = linesToDelete.get(1);
-            } catch (Exception ignored) {
+            String gptPrompt = String.format(gptCrossoverPrompt, parent1, parent2);
+            if (Properties.GPT_ASYNC_REQUESTS) {
+                submitCrossover(gptPrompt, t1.clone(), t2.clone());
+            } else {
+                try {
+                    // Make request to GPT
+                    String initialGPTResponse = GPTRequest.chatGPT(gptPrompt, GPTRequest.GPT_4O);
+                    // Extract lines from response
+                    ArrayList<Integer> linesToDelete = GPTRequest.extractArrayFromString(initialGPTResponse);
+                    pos1 = linesToDelete.get(0);
+                    pos2 = linesToDelete.get(1);
+                } catch (Exception ignored) {
+                }
             }
         }
         // Use default crossover method (single point) if GPT wasn't selected, or invalid position was selected.
-        if ((pos1 == 0  && pos2 == 0) || (pos1 > t1.size() || (pos2 > t2.size()))) {
+        if (!isValid(pos1, pos2, t1, t2)) {
             float splitPoint = Randomness.nextFloat();
             pos1 = ((int) Math.floor((t1.size() - 1) * splitPoint)) + 1;
             pos2 = ((int) Math.floor((t2.size() - 1) * splitPoint)) + 1;
@@ -61,4 +94,57 @@ public class GPTCrossOver<T extends Chromosome<T>> extends CrossOverFunction<T>
         parent1.crossOver(t2, pos1, pos2);
         parent2.crossOver(t1, pos2, pos1);
     }
+
+    private static boolean isValid(int pos1, int pos2, Chromosome<?> t1, Chromosome<?> t2) {
+        return !(pos1 == 0 && pos2 == 0) && pos1 <= t1.size() && pos2 <= t2.size();
+    }
+
+    /**
+     * Ask GPT for the crossover positions of two parents, through the {@link GPTRequestPool}.
+     */
+    private void submitCrossover(String gptPrompt, T parent1, T parent2) {
+        Future<GPTRequestPool.Response> response = GPTRequestPool.getInstance()
+                .submit(gptPrompt, GPTRequest.GPT_4O, 1, 0);
+        if (response == null) {
+            CompileGentests.writeToGPTLogFile("GPT REQUEST QUEUE FULL, USING SINGLE POINT CROSSOVER\n");
+            return;
+        }
+        pendingCrossovers.add(new PendingCrossover<>(parent1, parent2, response));
+    }
+
+    /**
+     * Cross over the parents of the asynchronous requests answered so far, at the positions
+     * chosen by GPT. Meant to be called at generation boundaries.
+     *
+     * @return the offspring, two for each request answered with valid positions
+     */
+    public List<T> getCompletedCrossovers() {
+        List<T> offspring = new ArrayList<>();
+        Iterator<PendingCrossover<T>> iterator = pendingCrossovers.iterator();
+        while (iterator.hasNext()) {
+            PendingCrossover<T> crossover = iterator.next();
+            if (!crossover.response.isDone()) {
+                continue;
+            }
+            iterator.remove();
+            try {
+                ArrayList<Integer> positions = GPTRequest.extractArrayFromString(
+                        crossover.response.get().getContent());
+                int pos1 = positions.get(0);
+                int pos2 = positions.get(1);
+                if (!isValid(pos1, pos2, crossover.parent1, crossover.parent2)) {
+                    continue;
+                }
+                T offspring1 = crossover.parent1.clone();
+                T offspring2 = crossover.parent2.clone();
+                offspring1.crossOver(crossover.parent2, pos1, pos2);
+                offspring2.crossOver(crossover.parent1, pos2, pos1);
+                MOSAllisa.succesfulGPTCrossovers++;
+                offspring.add(offspring1);
+                offspring.add(offspring2);
+            } catch (Exception ignored) {
+            }
+        }
+        return offspring;
+    }
 }
@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.operators.ranking;
+
+import org.evosuite.ga.Chromosome;
+import org.evosuite.ga.FitnessFunction;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Pairwise dominance between the solutions of a population, computed on a primitive matrix of
+ * their fitness values rather than through {@link Chromosome#getFitness(FitnessFunction)} lookups.
+ * Comparisons are computed on demand and memoized. Comparisons between solutions that were
+ * already part of the previous population, with the same goals and unchanged fitness values,
+ * are carried over, so after a generation usually only pairs involving offspring are computed.
+ *
+ * @param <T> the type of the solutions
+ */
+class DominanceRelation<T extends Chromosome<T>> implements Serializable {
+
+    private static final long serialVersionUID = 2446154592316470557L;
+
+    /**
+     * Number of fitness value comparisons from which {@link #computeAll()} uses the common
+     * fork-join pool
+     */
+    static final long PARALLEL_THRESHOLD = 1L << 22;
+
+    private static final byte UNKNOWN = 2;
+
+    private transient List<FitnessFunction<T>> goals;
+
+    private transient IdentityHashMap<T, Integer> indices;
+
+    /**
+     * fitness[i][g] is the fitness of solution i for goal g
+     */
+    private transient double[][] fitness;
+
+    /**
+     * relation[i][j] is -1 if solution i dominates solution j, 1 if j dominates i, 0 if neither
+     * does, or UNKNOWN if not computed yet
+     */
+    private transient byte[][] relation;
+
+    /**
+     * Sets the population whose dominance relation is queried next
+     *
+     * @param solutions the solutions, indices refer to positions in this list
+     * @param goals     the goals dominance is computed on
+     */
+    void update(List<T> solutions, Set<? extends FitnessFunction<T>> goals) {
+        List<FitnessFunction<T>> goalList = new ArrayList<>(goals);
+        boolean sameGoals = this.indices != null && goalList.equals(this.goals);
+
+        int n = solutions.size();
+        double[][] newFitness = new double[n][];
+        byte[][] newRelation = new byte[n][n];
+        IdentityHashMap<T, Integer> newIndices = new IdentityHashMap<>(n);
+        int[] previous = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            T solution = solutions.get(i);
+            double[] row = new double[goalList.size()];
+            for (int g = 0; g < row.length; g++) {
+                row[g] = solution.getFitness(goalList.get(g));
+            }
+            newFitness[i] = row;
+            newIndices.putIfAbsent(solution, i);
+
+            Integer p = sameGoals ? this.indices.get(solution) : null;
+            previous[i] = p != null && Arrays.equals(this.fitness[p], row) ? p : -1;
+
+            Arrays.fill(newRelation[i], UNKNOWN);
+            newRelation[i][i] = 0;
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (previous[i] < 0) {
+                continue;
+            }
+            byte[] previousRow = this.relation[previous[i]];
+            for (int j = 0; j < n; j++) {
+                if (previous[j] >= 0) {
+                    newRelation[i][j] = previousRow[previous[j]];
+                }
+            }
+        }
+
+        this.goals = goalList;
+        this.indices = newIndices;
+        this.fitness = newFitness;
+        this.relation = newRelation;
+    }
+
+    /**
+     * @return the number of solutions set by the last update
+     */
+    int size() {
+        return this.fitness.length;
+    }
+
+    /**
+     * @return the fitness of the solution at index {@code solution} for the goal at index
+     * {@code goal} of the last update
+     */
+    double getFitness(int solution, int goal) {
+        return this.fitness[solution][goal];
+    }
+
+    /**
+     * Same as {@link org.evosuite.ga.comparators.DominanceComparator#compare}
+     *
+     * @return -1 if solution p dominates solution q, +1 if q dominates p, 0 otherwise
+     */
+    int compare(int p, int q) {
+        byte flag = this.relation[p][q];
+        if (flag == UNKNOWN) {
+            flag = dominance(this.fitness[p], this.fitness[q]);
+            this.relation[p][q] = flag;
+            this.relation[q][p] = (byte) -flag;
+        }
+        return flag;
+    }
+
+    /**
+     * Same as {@link #compare(int, int)} for solutions of the last update
+     */
+    int compare(T p, T q) {
+        return compare(this.indices.get(p), this.indices.get(q));
+    }
+
+    /**
+     * Computes the dominance between all pairs of solutions not known yet, in parallel for large
+     * populations
+     */
+    void computeAll() {
+        int n = size();
+        long comparisons = (long) n * n * this.goals.size() / 2;
+        IntStream rows = IntStream.range(0, n);
+        if (comparisons >= PARALLEL_THRESHOLD) {
+            rows = rows.parallel();
+        }
+        // the task for row p only writes the pairs (p, q) and (q, p) with q > p
+        rows.forEach(p -> {
+            for (int q = p + 1; q < n; q++) {
+                if (this.relation[p][q] == UNKNOWN) {
+                    byte flag = dominance(this.fitness[p], this.fitness[q]);
+                    this.relation[p][q] = flag;
+                    this.relation[q][p] = (byte) -flag;
+                }
+            }
+        });
+    }
+
+    private static byte dominance(double[] fitness1, double[] fitness2) {
+        boolean dominate1 = false;
+        boolean dominate2 = false;
+
+        for (int g = 0; g < fitness1.length; g++) {
+            int flag = Double.compare(fitness1[g], fitness2[g]);
+
+            if (flag < 0) {
+                dominate1 = true;
+
+                if (dominate2) {
+                    return 0;
+                }
+            } else if (flag > 0) {
+                dominate2 = true;
+
+                if (dominate1) {
+                    return 0;
+                }
+            }
+        }
+
+        if (dominate1 == dominate2) {
+            return 0;
+        } else if (dominate1) {
+            return -1;
+        } else {
+            return 1;
+        }
+    }
+}
@@ -37,7 +37,6 @@ package org.evosuite.ga.operators.ranking;
 
 import org.evosuite.ga.Chromosome;
 import org.evosuite.ga.FitnessFunction;
-import org.evosuite.ga.comparators.DominanceComparator;
 
 import java.util.*;
 
@@ -62,6 +61,11 @@ public class FastNonDominatedSorting<T extends Chromosome<T>> implements Ranking
      */
     private final Map<FitnessFunction<T>, T> newCoveredGoals = new LinkedHashMap<>();
 
+    /**
+     * Dominance between the solutions being sorted, kept across calls to reuse comparisons
+     */
+    private final DominanceRelation<T> relation = new DominanceRelation<>();
+
     @SuppressWarnings("unchecked")
     @Override
     public void computeRankingAssignment(List<T> solutions,
@@ -82,7 +86,8 @@ public class FastNonDominatedSorting<T extends Chromosome<T>> implements Ranking
     @SuppressWarnings("unchecked")
     private List<T>[] getNextNonDominatedFronts(List<T> solutionSet,
                                                 Set<? extends FitnessFunction<T>> uncovered_goals) {
-        DominanceComparator<T> criterion_ = new DominanceComparator<>(uncovered_goals);
+        relation.update(solutionSet, uncovered_goals);
+        relation.computeAll();
 
         // dominateMe[i] contains the number of solutions dominating i
         int[] dominateMe = new int[solutionSet.size()];
@@ -116,7 +121,7 @@ public class FastNonDominatedSorting<T extends Chromosome<T>> implements Ranking
         for (int p = 0; p < (solutionSet.size() - 1); p++) {
             // For all q individuals , calculate if p dominates q or vice versa
             for (int q = p + 1; q < solutionSet.size(); q++) {
-                flagDominate = criterion_.compare(solutionSet.get(p), solutionSet.get(q));
+                flagDominate = relation.compare(p, q);
 
                 if (flagDominate == -1) {
                     iDominate[p].add(q);
@@ -38,8 +38,6 @@ package org.evosuite.ga.operators.ranking;
 import org.evosuite.Properties;
 import org.evosuite.ga.Chromosome;
 import org.evosuite.ga.FitnessFunction;
-import org.evosuite.ga.comparators.DominanceComparator;
-import org.evosuite.ga.comparators.PreferenceSortingComparator;
 import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,6 +64,12 @@ public class RankBasedPreferenceSorting<T extends Chromosome<T>> implements Rank
      */
     private List<List<T>> fronts = null;
 
+    /**
+     * Fitness values and dominance of the solutions being ranked, kept across calls to reuse
+     * comparisons
+     */
+    private final DominanceRelation<T> relation = new DominanceRelation<>();
+
     /**
      * {@inheritDoc}
      */
@@ -78,22 +82,22 @@ public class RankBasedPreferenceSorting<T extends Chromosome<T>> implements Rank
         }
 
         this.fronts = new ArrayList<>(solutions.size());
+        this.relation.update(solutions, uncovered_goals);
 
         // first apply the "preference sorting" to the first front only
         // then compute the ranks according to the non-dominate sorting algorithm
-        List<T> zero_front = this.getZeroFront(solutions, uncovered_goals);
+        List<T> zero_front = this.getZeroFront(solutions, uncovered_goals.size());
         this.fronts.add(zero_front);
         int frontIndex = 1;
 
         if (zero_front.size() < Properties.POPULATION) {
             int rankedSolutions = zero_front.size();
-            DominanceComparator<T> comparator = new DominanceComparator<>(uncovered_goals);
 
             List<T> remaining = new ArrayList<>(solutions.size());
             remaining.addAll(solutions);
             remaining.removeAll(zero_front);
             while (rankedSolutions < Properties.POPULATION && remaining.size() > 0) {
-                List<T> new_front = this.getNonDominatedSolutions(remaining, comparator, frontIndex);
+                List<T> new_front = this.getNonDominatedSolutions(remaining, frontIndex);
                 this.fronts.add(new_front);
                 remaining.removeAll(new_front);
                 rankedSolutions += new_front.size();
@@ -116,37 +120,48 @@ public class RankBasedPreferenceSorting<T extends Chromosome<T>> implements Rank
      * Returns the first (i.e. non-dominated) sub-front.
      *
      * @param solutionSet     the solutions to rank
-     * @param uncovered_goals the goals used for ranking
+     * @param numberOfGoals   the number of goals used for ranking
      * @return the non-dominated solutions (first sub-front)
      */
-    private List<T> getZeroFront(List<T> solutionSet, Set<? extends FitnessFunction<T>> uncovered_goals) {
+    private List<T> getZeroFront(List<T> solutionSet, int numberOfGoals) {
         Set<T> zero_front = new LinkedHashSet<>(solutionSet.size());
-        for (FitnessFunction<T> f : uncovered_goals) {
-            // for each uncovered goal, peak up the best tests using the proper comparator
-            PreferenceSortingComparator<T> comp = new PreferenceSortingComparator<>(f);
-
-            T best = null;
-            for (T test : solutionSet) {
-                int flag = comp.compare(test, best);
+        for (int goal = 0; goal < numberOfGoals; goal++) {
+            // for each uncovered goal, peak up the best tests as PreferenceSortingComparator does
+            int best = -1;
+            for (int test = 0; test < solutionSet.size(); test++) {
+                int flag = best < 0 ? -1 : this.comparePreference(solutionSet, test, best, goal);
                 if (flag < 0 || (flag == 0 && Randomness.nextBoolean())) {
                     best = test;
                 }
             }
-            assert best != null;
+            assert best >= 0;
 
-            best.setRank(0);
-            zero_front.add(best);
+            T bestTest = solutionSet.get(best);
+            bestTest.setRank(0);
+            zero_front.add(bestTest);
         }
         return new ArrayList<>(zero_front);
     }
 
-    private List<T> getNonDominatedSolutions(List<T> solutions, DominanceComparator<T> comparator, int frontIndex) {
+    private int comparePreference(List<T> solutionSet, int test1, int test2, int goal) {
+        double value1 = this.relation.getFitness(test1, goal);
+        double value2 = this.relation.getFitness(test2, goal);
+        if (value1 < value2) {
+            return -1;
+        } else if (value1 > value2) {
+            return +1;
+        } else {
+            return solutionSet.get(test1).compareSecondaryObjective(solutionSet.get(test2));
+        }
+    }
+
+    private List<T> getNonDominatedSolutions(List<T> solutions, int frontIndex) {
         List<T> front = new ArrayList<>(solutions.size());
         for (T p : solutions) {
             boolean isDominated = false;
             List<T> dominatedSolutions = new ArrayList<>(solutions.size());
             for (T best : front) {
-                int flag = comparator.compare(p, best);
+                int flag = this.relation.compare(p, best);
                 if (flag < 0) {
                     dominatedSolutions.add(best);
                 }
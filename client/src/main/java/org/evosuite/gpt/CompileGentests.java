@@ -3,6 +3,7 @@ package org.evosuite.gpt;
 import org.evosuite.Properties;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.factories.JUnitTestCarvedChromosomeFactory;
+import org.evosuite.utils.InMemoryJavaFileManager;
 
 import javax.tools.*;
 import java.io.*;
@@ -11,8 +12,10 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.Files;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.nio.file.Paths;
 import java.nio.file.Path;
 
@@ -21,7 +24,54 @@ public class CompileGentests {
     public static String junit_path = "junit-4.12.jar";
     public static String hamcrest_path = "hamcrest-core-1.3.jar";
 
-    public static List<TestCase> compileAndCarveTests() {
+    /**
+     * Name of the test class GPT is asked to generate
+     */
+    public static final String GPT_TEST_CLASS = "ClassTest";
+
+    /**
+     * Compiler and file manager are created once and reused for every GPT response, as setting
+     * them up is more expensive than compiling a single test class
+     */
+    private static JavaCompiler compiler = null;
+    private static InMemoryJavaFileManager fileManager = null;
+
+    /**
+     * Bytes of the classes compiled from the GPT response currently being carved, keyed by binary
+     * class name. They are loaded from here by the {@link org.evosuite.testcarver.extraction.CarvingClassLoader}
+     */
+    private static Map<String, byte[]> compiledClasses = Collections.emptyMap();
+
+    private static synchronized JavaCompiler getCompiler() {
+        if (compiler == null) {
+            compiler = ToolProvider.getSystemJavaCompiler();
+        }
+        return compiler;
+    }
+
+    private static synchronized InMemoryJavaFileManager getFileManager() {
+        if (fileManager == null) {
+            fileManager = new InMemoryJavaFileManager(getCompiler().getStandardFileManager(null, null, null));
+        }
+        return fileManager;
+    }
+
+    /**
+     * @param className binary name of a class
+     * @return the bytes of the class if it was compiled from the GPT response being carved, null otherwise
+     */
+    public static synchronized byte[] getCompiledClass(String className) {
+        return compiledClasses.get(className);
+    }
+
+    /**
+     * Compile the test class contained in a GPT response, and carve its tests. Source and compiled
+     * classes are only held in memory.
+     *
+     * @param source the source code of the 'ClassTest' test class
+     * @return the carved tests, or null if the class could not be compiled, loaded or carved
+     */
+    public static synchronized List<TestCase> compileAndCarveTests(String source) {
         File junit_jar = new File(junit_path);
         File hamcrest_jar = new File(hamcrest_path);
         // Check if the jars are present
@@ -31,8 +81,7 @@ public class CompileGentests {
         }
 
         // Get the Java compiler
-        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-        if (compiler == null) {
+        if (getCompiler() == null) {
             writeToGPTLogFile("NO COMPILER AVAILABLE");
             return null;
         }
@@ -43,39 +92,53 @@ public class CompileGentests {
         compilerClassPath = compilerClassPath.replace(';', File.pathSeparatorChar);
 
         // Prepare the compilation task with the classpath
-        Iterable<String> options;
         writeToGPTLogFile("Compiler classpath: " + compilerClassPath + "\n");
-        writeToGPTLogFile("user.dir: " + System.getProperty("user.dir") + "\n");
-        writeToGPTLogFile("Class prefix: " + Properties.CLASS_PREFIX + "\n");
-
-        // Set output dir for compiler
-        File outputDirFile = new File(Properties.CLASS_PREFIX);
-        if (!outputDirFile.exists()) {
-            outputDirFile.mkdirs();
-        }
-        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
-        options = Arrays.asList("-classpath", compilerClassPath, "-d", Properties.CLASS_PREFIX);
+        Iterable<String> options = Arrays.asList("-classpath", compilerClassPath);
         writeToGPTLogFile("Compiler options: " + options + "\n");
 
-        // Get the compilation units (i.e., the files to compile)
-        Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromStrings(Arrays.asList("ClassTest.java"));
+        InMemoryJavaFileManager manager = getFileManager();
+        manager.clear();
+        // The compilation unit only needs a file name matching the public class it declares
+        List<JavaFileObject> compilationUnits = Collections.singletonList(
+                InMemoryJavaFileManager.createSource(GPT_TEST_CLASS, source));
         // Diagnostic listener to capture errors
         DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
         // Compile the file with the classpath
-        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, compilationUnits);
+        JavaCompiler.CompilationTask task = getCompiler().getTask(null, manager, diagnostics, options, null, compilationUnits);
         // Compile the code
         boolean success = task.call();
 
+        if (!success) {
+            // Print compiler errors
+            manager.clear();
+            writeToGPTLogFile("GPT TEST COMPILATION: FAILED\n");
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                writeToGPTLogFile("Error on line " + diagnostic.getLineNumber() + " in " +
+                        (diagnostic.getSource() == null ? GPT_TEST_CLASS : diagnostic.getSource().getName()) + "\n");
+                writeToGPTLogFile(diagnostic.getMessage(null) + "\n");
+            }
+            return null;
+        }
+
         // Carve tests if compilation was successful
-        if (success) {
-            writeToGPTLogFile("GPT TEST COMPILATION: SUCCESS\n");
-            // Load the class
-            File classesDir = new File(Properties.CLASS_PREFIX);
+        writeToGPTLogFile("GPT TEST COMPILATION: SUCCESS\n");
+        compiledClasses = manager.getCompiledClasses();
+        manager.clear();
+        try {
+            // Load the class, the test may have been given a package
+            String testClassName = null;
+            for (String className : compiledClasses.keySet()) {
+                if (className.equals(GPT_TEST_CLASS) || className.endsWith("." + GPT_TEST_CLASS)) {
+                    testClassName = className;
+                    break;
+                }
+            }
             Class<?> dynamicClass;
             try {
-                URLClassLoader classLoader = URLClassLoader.newInstance(new URL[] { classesDir.toURI().toURL() });
-                dynamicClass = Class.forName("ClassTest", true, classLoader);
-            } catch (Exception ignored) {
+                ClassLoader classLoader = new InMemoryJavaFileManager.InMemoryClassLoader(
+                        CompileGentests.class.getClassLoader(), compiledClasses);
+                dynamicClass = Class.forName(testClassName, true, classLoader);
+            } catch (Exception | LinkageError ignored) {
                 writeToGPTLogFile("FAILED TO LOAD CLASSTEST: " + ignored.getMessage() + "\n");
                 return null;
             }
@@ -92,8 +155,6 @@ public class CompileGentests {
             List<TestCase> carvedTestCases = factory.getCarvedTestCases();
             // Reset the property
             Properties.skip_fitness_calculation = false;
-            deleteFolder("." + File.separator + Properties.CLASS_PREFIX);
-            deleteFile("ClassTest.java");
             if (carvedTestCases != null) {
                 if (carvedTestCases.isEmpty()) {
                     return null;
@@ -101,16 +162,8 @@ public class CompileGentests {
                 writeToGPTLogFile("Carved TestCases: " + carvedTestCases.size() + "\n");
             }
             return carvedTestCases;
-        } else {
-            // Print compiler errors
-            deleteFolder("." + File.separator + Properties.CLASS_PREFIX);
-            deleteFile("ClassTest.java");
-            writeToGPTLogFile("GPT TEST COMPILATION: FAILED\n");
-            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
-                writeToGPTLogFile("Error on line " + diagnostic.getLineNumber() + " in " + diagnostic.getSource().getName() + "\n");
-                writeToGPTLogFile(diagnostic.getMessage(null) + "\n");
-            }
-            return null;
+        } finally {
+            compiledClasses = Collections.emptyMap();
         }
     }
 
@@ -124,7 +177,7 @@ public class CompileGentests {
         }
 
         // Get the Java compiler
-        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        JavaCompiler compiler = getCompiler();
         if (compiler == null) {
             writeToGPTLogFile("NO COMPILER AVAILABLE");
             return false;
@@ -175,7 +228,7 @@ public class CompileGentests {
         }
     }
 
-    public static void writeToGPTLogFile(String msg) {
+    public static synchronized void writeToGPTLogFile(String msg) {
         try (FileWriter fileWriter = new FileWriter(Properties.ML_REPORTS_DIR + "/GPT_LOG.txt", true)) {
             fileWriter.write(msg);
         } catch (IOException ignored) {
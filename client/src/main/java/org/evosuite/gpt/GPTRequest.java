@@ -15,20 +15,54 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class GPTRequest {
 
-    static int request_counter = 0;
+    // Requests may be issued concurrently by the workers of GPTRequestPool
+    static final AtomicInteger request_counter = new AtomicInteger(0);
     public static String GPT_4O = "gpt-4o";
     public static String GPT_4O_MINI = "gpt-4o-mini";
     public static String chatGPT(String prompt, String model) {
-        String url = "https://api.openai.com/v1/chat/completions";
+        return chatGPT(prompt, model, null);
+    }
+
+    /**
+     * Send a prompt to GPT. If a listener is given, the response is streamed, and every JUnit test
+     * method of the answer is handed to the listener, as a stand-alone test class, as soon as it is
+     * complete.
+     *
+     * @param prompt       the prompt
+     * @param model        the GPT model to query
+     * @param testListener receives the tests of the answer while it is streamed, can be null
+     * @return the response in the (non streamed) chat completion format, or "FAIL"
+     */
+    public static String chatGPT(String prompt, String model, Consumer<String> testListener) {
         String apiKey = Properties.GPT_KEY;
         //String model = "gpt-4o-mini";
-        request_counter++;
+        if (isCacheEnabled()) {
+            String cachedResponse = GPTResponseCache.getInstance().get(prompt, model);
+            if (cachedResponse != null) {
+                // Logged in full, so that the log can be replayed by the GPTStandInServer
+                writeToGPTLogFile("== CACHED RESPONSE ==\n");
+                writeToGPTLogFile(GPTStandInServer.PROMPT_HASH_PREFIX + GPTResponseCache.getKey(prompt, model) + "\n");
+                writeToGPTLogFile(GPTStandInServer.RESPONSE_PREFIX + cachedResponse + "\n");
+                if (testListener != null) {
+                    parseTests(cachedResponse, testListener);
+                }
+                return cachedResponse;
+            }
+        }
+        int requestId = request_counter.incrementAndGet();
         try {
-            writeToGPTLogFile("== REQUEST: " + request_counter + " ==\n");
+            writeToGPTLogFile("== REQUEST: " + requestId + " ==\n");
+            writeToGPTLogFile(GPTStandInServer.PROMPT_HASH_PREFIX + GPTResponseCache.getKey(prompt, model) + "\n");
+            String url = Properties.GPT_ENDPOINT;
+            if (isReplaying()) {
+                url = GPTStandInServer.getReplayEndpoint();
+            }
 //            writeToGPTLogFile("== PROMPT ==\n");
 //            writeToGPTLogFile(prompt);
 //            writeToGPTLogFile("============\n");
@@ -52,6 +86,9 @@ public class GPTRequest {
 //            jsonMap.put("model", "gpt-4");
             jsonMap.put("model", model);
             jsonMap.put("messages", new Map[]{message});
+            if (testListener != null) {
+                jsonMap.put("stream", true);
+            }
 
             String jsonInputString = objectMapper.writeValueAsString(jsonMap);
 
@@ -61,18 +98,25 @@ public class GPTRequest {
             }
 
             // Response from ChatGPT
-            BufferedReader br = new BufferedReader(new InputStreamReader(connection.getInputStream()));
+            BufferedReader br = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
             String line;
 
             StringBuffer response = new StringBuffer();
 
-            while ((line = br.readLine()) != null) {
-                response.append(line);
+            if (testListener == null) {
+                while ((line = br.readLine()) != null) {
+                    response.append(line);
+                }
+            } else {
+                response.append(readStreamedResponse(br, objectMapper, model, testListener));
             }
             br.close();
             Thread.sleep(100);
 
-            writeToGPTLogFile("RESPONSE: " + response + "\n");
+            writeToGPTLogFile(GPTStandInServer.RESPONSE_PREFIX + response + "\n");
+            if (isCacheEnabled()) {
+                GPTResponseCache.getInstance().put(prompt, model, response.toString());
+            }
             // calls the method to extract the message.
             return response.toString();
         } catch (Exception e) {
@@ -81,7 +125,77 @@ public class GPTRequest {
         }
     }
 
-    private static void writeToGPTLogFile(String msg) {
+    /**
+     * @return whether requests are answered by the in-process {@link GPTStandInServer}
+     */
+    public static boolean isReplaying() {
+        return Properties.GPT_REPLAY_LOG != null && !Properties.GPT_REPLAY_LOG.isEmpty();
+    }
+
+    /**
+     * The {@link GPTResponseCache} is not used when replaying a log, so that the answers come from
+     * the log only and the cache is not filled with replayed answers.
+     *
+     * @return whether responses are looked up in and stored to the {@link GPTResponseCache}
+     */
+    public static boolean isCacheEnabled() {
+        return Properties.GPT_CACHE && !isReplaying();
+    }
+
+    /**
+     * Read a response streamed as server-sent events, feeding the content to a {@link StreamingTestParser}
+     * as it arrives, so that each test reaches the listener as soon as its code is complete.
+     *
+     * @return the whole response, converted to the non streamed chat completion format
+     */
+    private static String readStreamedResponse(BufferedReader br, ObjectMapper objectMapper, String model,
+                                               Consumer<String> testListener) throws IOException {
+        StreamingTestParser parser = new StreamingTestParser(testListener);
+        StringBuilder content = new StringBuilder();
+        String line;
+        while ((line = br.readLine()) != null) {
+            if (!line.startsWith("data:")) {
+                continue;
+            }
+            String data = line.substring("data:".length()).trim();
+            if (data.equals("[DONE]")) {
+                break;
+            }
+            JsonNode delta = objectMapper.readTree(data).path("choices").path(0).path("delta").path("content");
+            if (delta.isTextual()) {
+                content.append(delta.asText());
+                parser.accept(delta.asText());
+            }
+        }
+        parser.finish();
+
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("role", "assistant");
+        message.put("content", content.toString());
+        Map<String, Object> choice = new LinkedHashMap<>();
+        choice.put("index", 0);
+        choice.put("message", message);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("model", model);
+        response.put("choices", new Map[]{choice});
+        return objectMapper.writeValueAsString(response);
+    }
+
+    /**
+     * Hand the tests contained in a complete response to a listener, as if it had been streamed
+     */
+    private static void parseTests(String response, Consumer<String> testListener) {
+        try {
+            JsonNode contentNode = new ObjectMapper().readTree(response).path("choices").path(0).path("message").path("content");
+            StreamingTestParser parser = new StreamingTestParser(testListener);
+            parser.accept(contentNode.asText());
+            parser.finish();
+        } catch (IOException e) {
+            writeToGPTLogFile("FAILED TO PARSE CACHED RESPONSE: " + e.getMessage() + "\n");
+        }
+    }
+
+    private static synchronized void writeToGPTLogFile(String msg) {
         try (FileWriter fileWriter = new FileWriter(Properties.ML_REPORTS_DIR + File.separator + "GPT_LOG.txt", true)) {
             fileWriter.write(msg);
         } catch (IOException ignored) {
@@ -0,0 +1,275 @@
+package org.evosuite.gpt;
+
+import org.evosuite.Properties;
+import org.evosuite.utils.Randomness;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Bounded pool of worker threads used to send requests to GPT without blocking the search thread.
+ * Requests wait in a fixed size queue, and the answers are handed back through futures that the
+ * search polls at generation boundaries.
+ *
+ * <p>
+ * Workers only perform the HTTP round-trip. Compiling and carving the answers executes tests, and
+ * so must still be done on the search thread. A failed call does not keep its worker busy while
+ * waiting to be retried: the retry is put back in the queue once the delay has passed, so that
+ * other requests (e.g., the short lived GPT crossover ones) are served in the meantime.
+ * </p>
+ *
+ * <p>
+ * Each request draws its random numbers from its own stream, split from the search thread's when
+ * the request is submitted, so that the workers do not change the draws of the search.
+ * </p>
+ */
+public class GPTRequestPool implements ThreadFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(GPTRequestPool.class);
+
+    /**
+     * Name used to define the threads spawn by this factory
+     */
+    public static final String GPT_WORKER_THREAD = "EVOSUITE_GPT_WORKER";
+
+    private static GPTRequestPool instance = null;
+
+    /**
+     * Performs a single call to GPT
+     */
+    interface Sender {
+        /**
+         * @return the answer, or "FAIL" if the call failed
+         */
+        String send(String prompt, String model, Consumer<String> testListener);
+    }
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Puts failed requests back in the queue of the executor once their retry delay has passed
+     */
+    private final ScheduledExecutorService retryScheduler;
+
+    private final Sender sender;
+
+    /**
+     * Requests that are queued, in flight or waiting for a retry
+     */
+    private final Set<Request> pending = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger threadCounter = new AtomicInteger(0);
+
+    /**
+     * Answer of an asynchronous request, together with the number of calls to GPT it took
+     */
+    public static class Response {
+
+        private final String content;
+
+        private final int attempts;
+
+        public Response(String content, int attempts) {
+            this.content = content;
+            this.attempts = attempts;
+        }
+
+        public String getContent() {
+            return content;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+
+        /**
+         * @return true if every attempt to reach GPT failed
+         */
+        public boolean isFailure() {
+            return content == null || content.equals("FAIL");
+        }
+    }
+
+    /**
+     * A request, run once per attempt by a worker
+     */
+    private class Request implements Runnable {
+
+        private final String prompt;
+
+        private final String model;
+
+        private final int maxAttempts;
+
+        private final long retryDelay;
+
+        private final Consumer<String> testListener;
+
+        private final Random random = Randomness.split();
+
+        private final CompletableFuture<Response> result = new CompletableFuture<>();
+
+        private volatile int attempts = 0;
+
+        private volatile String content = "FAIL";
+
+        Request(String prompt, String model, int maxAttempts, long retryDelay, Consumer<String> testListener) {
+            this.prompt = prompt;
+            this.model = model;
+            this.maxAttempts = maxAttempts;
+            this.retryDelay = retryDelay;
+            this.testListener = testListener;
+            result.whenComplete((response, failure) -> pending.remove(this));
+        }
+
+        @Override
+        public void run() {
+            // Cancelled, or given up by the caller, while waiting in the queue
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                Randomness.runWith(random, () -> content = sender.send(prompt, model, testListener));
+            } catch (RuntimeException e) {
+                logger.debug("GPT request failed: {}", e.getMessage());
+                content = "FAIL";
+            }
+            attempts++;
+            if (!content.equals("FAIL") || attempts >= maxAttempts) {
+                complete();
+                return;
+            }
+            try {
+                retryScheduler.schedule(this::enqueue, retryDelay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                complete();
+            }
+        }
+
+        private void enqueue() {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                logger.debug("GPT request queue is full, giving up retrying");
+                complete();
+            }
+        }
+
+        private void complete() {
+            result.complete(new Response(content, attempts));
+        }
+    }
+
+    private GPTRequestPool() {
+        this(Properties.GPT_WORKER_THREADS, Properties.GPT_REQUEST_QUEUE_SIZE, GPTRequest::chatGPT);
+    }
+
+    GPTRequestPool(int threads, int queueSize, Sender sender) {
+        this.sender = sender;
+        int numThreads = Math.max(1, threads);
+        executor = new ThreadPoolExecutor(numThreads, numThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), this, new ThreadPoolExecutor.AbortPolicy());
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(this);
+    }
+
+    public static synchronized GPTRequestPool getInstance() {
+        if (instance == null) {
+            instance = new GPTRequestPool();
+        }
+        return instance;
+    }
+
+    /**
+     * Stop all workers, interrupting the requests still in flight. A new pool is created on the
+     * next call to {@link #getInstance()}.
+     */
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance.close();
+            instance = null;
+        }
+    }
+
+    /**
+     * Stop the workers. Requests that have not been answered yet fail.
+     */
+    void close() {
+        retryScheduler.shutdownNow();
+        executor.shutdownNow();
+        for (Request request : pending) {
+            request.complete();
+        }
+    }
+
+    /**
+     * Queue a request to GPT. Failed calls are put back in the queue after {@code retryDelay}
+     * milliseconds, without keeping a worker busy in the meantime.
+     *
+     * @param prompt      the prompt to send
+     * @param model       the GPT model to query
+     * @param maxAttempts maximum number of calls to GPT
+     * @param retryDelay  milliseconds to wait after a failed call
+     * @return the pending answer, or null if the queue is full
+     */
+    public Future<Response> submit(String prompt, String model, int maxAttempts, long retryDelay) {
+        return submit(prompt, model, maxAttempts, retryDelay, null);
+    }
+
+    /**
+     * Queue a request to GPT, streaming its answer.
+     *
+     * @param testListener receives, on the worker thread, each test of the answer as soon as it is
+     *                     complete. Can be null to not stream the answer
+     * @see #submit(String, String, int, long)
+     */
+    public Future<Response> submit(String prompt, String model, int maxAttempts, long retryDelay,
+                                   Consumer<String> testListener) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Need at least one attempt, got " + maxAttempts);
+        }
+        Request request = new Request(prompt, model, maxAttempts, retryDelay, testListener);
+        pending.add(request);
+        try {
+            executor.execute(request);
+        } catch (RejectedExecutionException e) {
+            logger.debug("GPT request queue is full, dropping request");
+            pending.remove(request);
+            return null;
+        }
+        return request.result;
+    }
+
+    /**
+     * @return number of requests that are queued, in flight or waiting to be retried
+     */
+    public int getPendingRequests() {
+        return pending.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Thread newThread(Runnable r) {
+        Thread thread = new Thread(r, GPT_WORKER_THREAD + "_" + threadCounter.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
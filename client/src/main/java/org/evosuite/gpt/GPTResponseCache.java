@@ -0,0 +1,227 @@
+package org.evosuite.gpt;
+
+import org.evosuite.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Content addressed cache of GPT responses, keyed by the hash of the model and the prompt.
+ *
+ * <p>
+ * Responses are kept in a small in-memory LRU map, backed by one file per response in
+ * {@link Properties#GPT_CACHE_DIR}. The directory is bounded by {@link Properties#GPT_CACHE_SIZE},
+ * evicting the least recently used files first, and can be shared by re-runs and parallel clients.
+ * </p>
+ *
+ * <p>
+ * Side effect: this class writes to, and deletes files from, the cache directory.
+ * </p>
+ */
+public class GPTResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(GPTResponseCache.class);
+
+    private static final String CACHE_FILE_SUFFIX = ".json";
+
+    private static GPTResponseCache instance = null;
+
+    /**
+     * In-memory front cache, from prompt hash to response, in access order
+     */
+    private final Map<String, String> memoryCache;
+
+    private final File cacheDir;
+
+    private final long maxDiskBytes;
+
+    private int hits = 0;
+
+    private int misses = 0;
+
+    private GPTResponseCache() {
+        final int memoryEntries = Math.max(1, Properties.GPT_CACHE_MEMORY_ENTRIES);
+        memoryCache = new LinkedHashMap<String, String>(16, 0.75f, true) {
+            private static final long serialVersionUID = 2736414117395402353L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > memoryEntries;
+            }
+        };
+        String dir = Properties.GPT_CACHE_DIR;
+        if (dir == null || dir.isEmpty()) {
+            dir = Properties.ML_REPORTS_DIR + File.separator + "gpt-cache";
+        }
+        cacheDir = new File(dir);
+        maxDiskBytes = Properties.GPT_CACHE_SIZE * 1024L * 1024L;
+    }
+
+    public static synchronized GPTResponseCache getInstance() {
+        if (instance == null) {
+            instance = new GPTResponseCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Drop the in-memory cache and the hit/miss counters. Files on disk are kept.
+     */
+    public static synchronized void reset() {
+        instance = null;
+    }
+
+    /**
+     * Look up the response to a prompt, first in memory and then on disk
+     *
+     * @return the cached response, or null on a miss
+     */
+    public synchronized String get(String prompt, String model) {
+        String key = getKey(prompt, model);
+        String response = memoryCache.get(key);
+        if (response == null) {
+            response = readFromDisk(key);
+            if (response != null) {
+                memoryCache.put(key, response);
+            }
+        }
+        if (response == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return response;
+    }
+
+    /**
+     * Store the response to a prompt. Failed requests should not be stored.
+     */
+    public synchronized void put(String prompt, String model, String response) {
+        if (response == null) {
+            throw new IllegalArgumentException("Cannot cache a null response");
+        }
+        String key = getKey(prompt, model);
+        memoryCache.put(key, response);
+        writeToDisk(key, response);
+    }
+
+    /**
+     * Remove the response to a prompt, e.g. because it could not be used and a fresh one is needed
+     */
+    public synchronized void invalidate(String prompt, String model) {
+        String key = getKey(prompt, model);
+        memoryCache.remove(key);
+        File file = getCacheFile(key);
+        if (file.exists() && !file.delete()) {
+            logger.debug("Failed to delete cached GPT response {}", file);
+        }
+    }
+
+    public synchronized int getHits() {
+        return hits;
+    }
+
+    public synchronized int getMisses() {
+        return misses;
+    }
+
+    private String readFromDisk(String key) {
+        File file = getCacheFile(key);
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            String response = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            // Used as access time for the LRU eviction
+            file.setLastModified(System.currentTimeMillis());
+            return response;
+        } catch (IOException e) {
+            logger.debug("Failed to read cached GPT response {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, String response) {
+        if (maxDiskBytes <= 0) {
+            return;
+        }
+        if (!cacheDir.exists() && !cacheDir.mkdirs()) {
+            logger.debug("Failed to create GPT cache directory {}", cacheDir);
+            return;
+        }
+        File file = getCacheFile(key);
+        try {
+            // Write to a temporary file first, so that parallel clients never read a partial response
+            File tmp = File.createTempFile(key, ".tmp", cacheDir);
+            Files.write(tmp.toPath(), response.getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.debug("Failed to write cached GPT response {}: {}", file, e.getMessage());
+            return;
+        }
+        evictFromDisk();
+    }
+
+    /**
+     * Delete the least recently used responses until the cache directory fits in its size bound
+     */
+    private void evictFromDisk() {
+        File[] files = cacheDir.listFiles((dir, name) -> name.endsWith(CACHE_FILE_SUFFIX));
+        if (files == null) {
+            return;
+        }
+        long total = 0;
+        for (File file : files) {
+            total += file.length();
+        }
+        if (total <= maxDiskBytes) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            if (total <= maxDiskBytes) {
+                break;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                total -= length;
+            }
+        }
+    }
+
+    private File getCacheFile(String key) {
+        return new File(cacheDir, key + CACHE_FILE_SUFFIX);
+    }
+
+    /**
+     * @return the SHA-256 of model and prompt, in hexadecimal
+     */
+    static String getKey(String prompt, String model) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(prompt.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is required to be available on every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package org.evosuite.gpt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.evosuite.Properties;
+import org.evosuite.utils.LoggingUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-in for the OpenAI chat completions endpoint, answering with the responses recorded in
+ * a GPT_LOG.txt style file. It allows running and benchmarking the GPT assisted search offline and
+ * deterministically.
+ *
+ * <p>
+ * A request is answered with the recorded response of the same prompt if the log contains its
+ * "PROMPT HASH" line, and otherwise with a recorded response chosen from the hash of the prompt, so
+ * that a prompt always gets the same answer whatever the order of the requests. Each answer is
+ * delayed by a configurable latency, and streamed as server-sent events if the request asks for it.
+ * </p>
+ *
+ * <p>
+ * Set {@link Properties#GPT_REPLAY_LOG} to have {@link GPTRequest} start a server in-process, or run
+ * {@link #main(String[])} and point {@link Properties#GPT_ENDPOINT} to it.
+ * </p>
+ */
+public class GPTStandInServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(GPTStandInServer.class);
+
+    public static final String CHAT_COMPLETIONS_PATH = "/v1/chat/completions";
+
+    static final String REQUEST_PREFIX = "== ";
+    static final String PROMPT_HASH_PREFIX = "PROMPT HASH: ";
+    static final String RESPONSE_PREFIX = "RESPONSE: ";
+
+    /**
+     * Number of characters sent in each event of a streamed response
+     */
+    private static final int STREAM_CHUNK_SIZE = 16;
+
+    private static GPTStandInServer replayServer = null;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    /**
+     * Recorded responses, in log order
+     */
+    private final List<String> responses;
+
+    /**
+     * Recorded responses, keyed by the hash of the model and prompt they answered
+     */
+    private final Map<String, String> responsesByPrompt;
+
+    private final long latency;
+
+    /**
+     * @param port    port to listen to on the loopback interface, 0 for any free port
+     * @param log     GPT_LOG.txt style file with the responses to serve
+     * @param latency milliseconds to wait before answering each request
+     */
+    public GPTStandInServer(int port, File log, long latency) throws IOException {
+        if (latency < 0) {
+            throw new IllegalArgumentException("Latency cannot be negative: " + latency);
+        }
+        this.latency = latency;
+        this.responses = new ArrayList<>();
+        this.responsesByPrompt = new LinkedHashMap<>();
+        loadLog(log);
+        if (responses.isEmpty()) {
+            logger.warn("No recorded responses in {}", log);
+        }
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(CHAT_COMPLETIONS_PATH, this::handle);
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "EVOSUITE_GPT_STAND_IN");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Get the endpoint of the in-process replay server, starting it on the first call.
+     *
+     * @return the URL to send chat completion requests to
+     * @throws IOException if {@link Properties#GPT_REPLAY_LOG} cannot be read or the server cannot be started
+     */
+    public static synchronized String getReplayEndpoint() throws IOException {
+        if (replayServer == null) {
+            GPTStandInServer server = new GPTStandInServer(0, new File(Properties.GPT_REPLAY_LOG),
+                    Properties.GPT_REPLAY_LATENCY);
+            server.start();
+            replayServer = server;
+        }
+        return replayServer.getEndpoint();
+    }
+
+    /**
+     * Stop the in-process replay server, if it was started.
+     */
+    public static synchronized void stopReplayServer() {
+        if (replayServer != null) {
+            replayServer.stop();
+            replayServer = null;
+        }
+    }
+
+    public void start() {
+        server.start();
+        logger.info("GPT stand-in server listening on {}", getEndpoint());
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public String getEndpoint() {
+        return "http://localhost:" + server.getAddress().getPort() + CHAT_COMPLETIONS_PATH;
+    }
+
+    /**
+     * @return number of recorded responses available for replay
+     */
+    public int getNumberOfResponses() {
+        return responses.size();
+    }
+
+    private void loadLog(File log) throws IOException {
+        String promptHash = null;
+        for (String line : Files.readAllLines(log.toPath(), StandardCharsets.UTF_8)) {
+            if (line.startsWith(REQUEST_PREFIX)) {
+                promptHash = null;
+            } else if (line.startsWith(PROMPT_HASH_PREFIX)) {
+                promptHash = line.substring(PROMPT_HASH_PREFIX.length()).trim();
+            } else if (line.startsWith(RESPONSE_PREFIX)) {
+                String response = line.substring(RESPONSE_PREFIX.length());
+                responses.add(response);
+                if (promptHash != null) {
+                    responsesByPrompt.put(promptHash, response);
+                }
+                promptHash = null;
+            }
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equalsIgnoreCase("POST")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            JsonNode request = objectMapper.readTree(readBody(exchange.getRequestBody()));
+            String model = request.path("model").asText();
+            String prompt = request.path("messages").path(0).path("content").asText();
+            boolean stream = request.path("stream").asBoolean(false);
+
+            String key = GPTResponseCache.getKey(prompt, model);
+            String response = responsesByPrompt.get(key);
+            if (response == null && !responses.isEmpty()) {
+                logger.debug("No recorded response for prompt {}", key);
+                response = responses.get(Math.floorMod(key.hashCode(), responses.size()));
+            }
+            if (response == null) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            if (latency > 0) {
+                Thread.sleep(latency);
+            }
+            if (stream) {
+                sendStreamed(exchange, response);
+            } else {
+                byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, bytes.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(bytes);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.sendResponseHeaders(503, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void sendStreamed(HttpExchange exchange, String response) throws IOException {
+        String content = objectMapper.readTree(response).path("choices").path(0).path("message").path("content").asText();
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream os = exchange.getResponseBody()) {
+            for (int i = 0; i < content.length(); i += STREAM_CHUNK_SIZE) {
+                String chunk = content.substring(i, Math.min(content.length(), i + STREAM_CHUNK_SIZE));
+                Map<String, Object> delta = Collections.singletonMap("content", chunk);
+                Map<String, Object> choice = new LinkedHashMap<>();
+                choice.put("index", 0);
+                choice.put("delta", delta);
+                String event = objectMapper.writeValueAsString(Collections.singletonMap("choices", new Map[]{choice}));
+                os.write(("data: " + event + "\n\n").getBytes(StandardCharsets.UTF_8));
+                os.flush();
+            }
+            os.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Run the stand-in server until the process is killed.
+     *
+     * @param args the GPT_LOG.txt style file to replay, optionally followed by the port and the
+     *             latency in milliseconds
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: GPTStandInServer <log file> [port] [latency ms]");
+        }
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        long latency = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        GPTStandInServer server = new GPTStandInServer(port, new File(args[0]), latency);
+        server.start();
+        LoggingUtils.getEvoLogger().info("* Serving {} recorded GPT responses on {}",
+                server.getNumberOfResponses(), server.getEndpoint());
+    }
+}
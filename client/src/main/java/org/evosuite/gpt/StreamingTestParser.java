@@ -0,0 +1,268 @@
+package org.evosuite.gpt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Incremental parser for a GPT response containing a JUnit test class in a ``` code block.
+ *
+ * <p>
+ * The response is fed chunk by chunk as it is streamed. As soon as a test method is complete, a
+ * class is handed to the listener, containing only that test together with the imports, the class
+ * declaration and the non-test members read so far. A test may use members declared after it: once
+ * the class is complete, a test is handed over again, with all the members, if it refers to a member
+ * declared after it was handed over, or if a set up method, rule or initializer was declared after it.
+ * </p>
+ */
+public class StreamingTestParser {
+
+    private static final String CODE_FENCE = "```";
+
+    private static final Pattern COMMENT = Pattern.compile("(?s)/\\*.*?\\*/|//[^\n]*");
+
+    private static final Pattern ANNOTATION = Pattern.compile("@[\\w.]+(\\s*\\([^)]*\\))?");
+
+    private static final Pattern SET_UP = Pattern.compile("@(Before\\w*|Rule|ClassRule)\\b|^\\s*(static\\s*)?\\{");
+
+    private static final Pattern TYPE_DECLARATION = Pattern.compile("\\b(?:class|interface|enum)\\s+(\\w+)");
+
+    private static final Pattern MEMBER_NAME = Pattern.compile("(\\w+)\\s*[(=;]");
+
+    private enum Lexical {CODE, LINE_COMMENT, BLOCK_COMMENT, STRING, CHAR}
+
+    private final Consumer<String> listener;
+
+    /**
+     * Everything received so far
+     */
+    private final StringBuilder content = new StringBuilder();
+
+    /**
+     * Imports and class declaration, up to and including the opening brace of the class
+     */
+    private final StringBuilder preamble = new StringBuilder();
+
+    /**
+     * Fields, helper methods and nested classes of the test class, in declaration order
+     */
+    private final List<String> helpers = new ArrayList<>();
+
+    /**
+     * Test methods read so far
+     */
+    private final List<String> tests = new ArrayList<>();
+
+    /**
+     * For each test, the number of helpers declared when it was handed over
+     */
+    private final List<Integer> helpersOfTests = new ArrayList<>();
+
+    /**
+     * The class member currently being read
+     */
+    private final StringBuilder member = new StringBuilder();
+
+    private int position = 0;
+
+    private boolean inCodeBlock = false;
+
+    private boolean skippingFenceLine = false;
+
+    private boolean done = false;
+
+    private int depth = 0;
+
+    private Lexical lexical = Lexical.CODE;
+
+    private boolean escaped = false;
+
+    private char lastChar = 0;
+
+    private int emittedTests = 0;
+
+    public StreamingTestParser(Consumer<String> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Feed the next chunk of the response
+     */
+    public void accept(String chunk) {
+        content.append(chunk);
+        // Keep enough characters back to recognize a code fence split between two chunks
+        parse(content.length() - (CODE_FENCE.length() - 1));
+    }
+
+    /**
+     * Signal that the whole response was received
+     */
+    public void finish() {
+        parse(content.length());
+    }
+
+    /**
+     * @return number of tests handed to the listener so far
+     */
+    public int getEmittedTests() {
+        return emittedTests;
+    }
+
+    private void parse(int limit) {
+        while (!done && position < limit) {
+            if (!inCodeBlock) {
+                int fence = content.indexOf(CODE_FENCE, position);
+                if (fence < 0 || fence >= limit) {
+                    position = Math.max(position, limit);
+                    return;
+                }
+                position = fence + CODE_FENCE.length();
+                inCodeBlock = true;
+                skippingFenceLine = true;
+                continue;
+            }
+            char c = content.charAt(position);
+            if (skippingFenceLine) {
+                // Skip the language tag following the opening fence
+                position++;
+                if (c == '\n') {
+                    skippingFenceLine = false;
+                }
+                continue;
+            }
+            if (lexical == Lexical.CODE && isCodeFenceAt(position)) {
+                done = true;
+                return;
+            }
+            position++;
+            consume(c);
+        }
+    }
+
+    private boolean isCodeFenceAt(int index) {
+        if (index + CODE_FENCE.length() > content.length()) {
+            return false;
+        }
+        for (int i = 0; i < CODE_FENCE.length(); i++) {
+            if (content.charAt(index + i) != CODE_FENCE.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void consume(char c) {
+        char previous = lastChar;
+        lastChar = c;
+        if (depth == 0) {
+            preamble.append(c);
+        } else {
+            member.append(c);
+        }
+        switch (lexical) {
+            case LINE_COMMENT:
+                if (c == '\n') {
+                    lexical = Lexical.CODE;
+                }
+                return;
+            case BLOCK_COMMENT:
+                if (c == '/' && previous == '*') {
+                    lexical = Lexical.CODE;
+                }
+                return;
+            case STRING:
+            case CHAR:
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if ((c == '"' && lexical == Lexical.STRING) || (c == '\'' && lexical == Lexical.CHAR)) {
+                    lexical = Lexical.CODE;
+                }
+                return;
+            default:
+                break;
+        }
+        if (c == '/' && previous == '/') {
+            lexical = Lexical.LINE_COMMENT;
+        } else if (c == '*' && previous == '/') {
+            lexical = Lexical.BLOCK_COMMENT;
+            // A block comment cannot be closed by its own opening star
+            lastChar = 0;
+        } else if (c == '"') {
+            lexical = Lexical.STRING;
+        } else if (c == '\'') {
+            lexical = Lexical.CHAR;
+        } else if (c == '{') {
+            depth++;
+        } else if (c == '}') {
+            depth--;
+            if (depth == 1) {
+                completeMember();
+            } else if (depth <= 0) {
+                // End of the test class
+                done = true;
+                emitTestsUsingLaterHelpers();
+            }
+        } else if (c == ';' && depth == 1) {
+            completeMember();
+        }
+    }
+
+    private void completeMember() {
+        String code = member.toString();
+        member.setLength(0);
+        if (code.contains("@Test")) {
+            tests.add(code);
+            helpersOfTests.add(helpers.size());
+            emit(code);
+        } else {
+            helpers.add(code);
+        }
+    }
+
+    private void emit(String test) {
+        emittedTests++;
+        listener.accept(preamble + String.join("", helpers) + test + "\n}\n");
+    }
+
+    /**
+     * Hand over again the tests that need a member declared after them
+     */
+    private void emitTestsUsingLaterHelpers() {
+        for (int i = 0; i < tests.size(); i++) {
+            String test = tests.get(i);
+            for (String helper : helpers.subList(helpersOfTests.get(i), helpers.size())) {
+                if (isSetUp(helper) || refersTo(test, getDeclaredName(helper))) {
+                    emit(test);
+                    break;
+                }
+            }
+        }
+    }
+
+    private static boolean isSetUp(String member) {
+        return SET_UP.matcher(COMMENT.matcher(member).replaceAll("")).find();
+    }
+
+    private static boolean refersTo(String test, String name) {
+        return name != null && Pattern.compile("\\b" + Pattern.quote(name) + "\\b")
+                .matcher(COMMENT.matcher(test).replaceAll("")).find();
+    }
+
+    /**
+     * @return the name of the field, method or nested type declared by a member, or null
+     */
+    static String getDeclaredName(String member) {
+        String declaration = ANNOTATION.matcher(COMMENT.matcher(member).replaceAll("")).replaceAll("");
+        int body = declaration.indexOf('{');
+        Matcher type = TYPE_DECLARATION.matcher(declaration);
+        if (type.find() && (body < 0 || type.start() < body)) {
+            return type.group(1);
+        }
+        Matcher name = MEMBER_NAME.matcher(declaration);
+        return name.find() ? name.group(1) : null;
+    }
+}
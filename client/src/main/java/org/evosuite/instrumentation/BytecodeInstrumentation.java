@@ -129,6 +129,24 @@ public class BytecodeInstrumentation {
         return false;
     }
 
+    /**
+     * Whether the transformed bytes of a class may be reused instead of transforming it again. This
+     * is only the case if the transformation has no side effects other than adding constants to
+     * the constant pools and registering static final fields, i.e. no CFG, branches or mutants are
+     * created for the class.
+     *
+     * @param className the name of the class, with slashes
+     */
+    public boolean isTransformationCacheable(String className) {
+        String classNameWithDots = ResourceList.getClassNameFromResourcePath(className);
+        return checkIfCanInstrument(classNameWithDots)
+                && !Properties.TEST_CARVING
+                && !Properties.PURE_INSPECTORS
+                && !DependencyAnalysis.shouldAnalyze(classNameWithDots)
+                && !shouldTransform(classNameWithDots)
+                && !(Properties.TT && classNameWithDots.startsWith(Properties.CLASS_PREFIX));
+    }
+
     private boolean isTargetClassName(String className) {
         // TODO: Need to replace this in the long term
         return TestCluster.isTargetClassName(className);
@@ -0,0 +1,339 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import org.evosuite.Properties;
+import org.evosuite.junit.writer.TestSuiteWriterUtils;
+import org.evosuite.runtime.RuntimeSettings;
+import org.evosuite.runtime.classhandling.ModifiedTargetStaticFields;
+import org.evosuite.seeding.ConstantPoolManager;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * On-disk cache of instrumented bytecode, shared by all the client processes using the same
+ * {@link Properties#INSTRUMENTATION_CACHE_DIR}. Entries are addressed by a hash of the original
+ * bytecode, of the settings that affect the instrumentation and of the EvoSuite build.
+ *
+ * <p>
+ * Only classes whose instrumentation does not create CFGs, branches or mutants are cached (see
+ * {@link BytecodeInstrumentation#isTransformationCacheable(String)}), as those cannot be restored
+ * without analyzing the class again. The constants and static final fields the instrumentation of
+ * such a class registers are stored next to its bytecode, and registered again when the cached
+ * bytecode is used.
+ * </p>
+ */
+public final class InstrumentedClassCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstrumentedClassCache.class);
+
+    private static final String CACHE_FILE_SUFFIX = ".instrumented";
+
+    private static final InstrumentedClassCache instance = new InstrumentedClassCache();
+
+    private int hits = 0;
+
+    private int misses = 0;
+
+    private InstrumentedClassCache() {
+    }
+
+    public static InstrumentedClassCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Transform a class, reusing the cached bytecode if possible
+     *
+     * @param instrumentation the instrumentation to apply
+     * @param classLoader     the class loader the class is instrumented for
+     * @param className       the name of the class, with slashes
+     * @param originalBytes   the original bytecode of the class
+     * @return the instrumented bytecode
+     */
+    public byte[] transformBytes(BytecodeInstrumentation instrumentation, ClassLoader classLoader,
+                                 String className, byte[] originalBytes) {
+        if (Properties.INSTRUMENTATION_CACHE_DIR == null || !instrumentation.isTransformationCacheable(className)) {
+            return instrumentation.transformBytes(classLoader, className, new ClassReader(originalBytes));
+        }
+
+        String key = computeKey(className, originalBytes);
+        File file = key == null ? null : new File(Properties.INSTRUMENTATION_CACHE_DIR, key + CACHE_FILE_SUFFIX);
+
+        Entry entry = file == null ? null : load(file);
+        if (entry != null) {
+            entry.register();
+            synchronized (this) {
+                hits++;
+            }
+            logger.debug("Reusing instrumented bytecode of {}", className);
+            return entry.bytes.clone();
+        }
+
+        ConstantPoolManager.getInstance().startRecording();
+        ModifiedTargetStaticFields.getInstance().startRecording();
+        byte[] bytes;
+        ConstantPoolManager.Recording constants;
+        List<String> finalFields;
+        try {
+            bytes = instrumentation.transformBytes(classLoader, className, new ClassReader(originalBytes));
+        } finally {
+            constants = ConstantPoolManager.getInstance().stopRecording();
+            finalFields = ModifiedTargetStaticFields.getInstance().stopRecording();
+        }
+        synchronized (this) {
+            misses++;
+        }
+
+        if (file != null) {
+            Entry newEntry = Entry.create(bytes, constants, finalFields);
+            if (newEntry != null) {
+                store(file, newEntry);
+            }
+        }
+        return bytes;
+    }
+
+    public synchronized int getNumberOfHits() {
+        return hits;
+    }
+
+    public synchronized int getNumberOfMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the hash of the class and of everything its instrumentation depends on, or
+     * {@code null} if it cannot be computed
+     */
+    private static String computeKey(String className, byte[] originalBytes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(getSettings().getBytes(StandardCharsets.UTF_8));
+            digest.update(className.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(originalBytes);
+
+            StringBuilder key = new StringBuilder();
+            for (byte b : digest.digest()) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException | IllegalAccessException e) {
+            logger.warn("Cannot compute the key of the instrumented bytecode: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return the EvoSuite build and the settings the instrumentation of a class that is not
+     * under test depends on
+     */
+    private static String getSettings() throws IllegalAccessException {
+        StringBuilder settings = new StringBuilder();
+        settings.append(getBuild()).append('\n');
+
+        settings.append(Properties.CP).append('\n');
+        settings.append(Properties.TARGET_CLASS).append('\n');
+        settings.append(Properties.TARGET_CLASS_PREFIX).append('\n');
+        settings.append(Properties.PROJECT_PREFIX).append('\n');
+        settings.append(Properties.CLASS_PREFIX).append('\n');
+        settings.append(Properties.INSTRUMENTATION_SKIP_DEBUG).append('\n');
+        settings.append(Properties.RESET_STATIC_FIELDS).append('\n');
+        settings.append(Properties.RESET_STATIC_FINAL_FIELDS).append('\n');
+        settings.append(Properties.MAX_LOOP_ITERATIONS).append('\n');
+        settings.append(Properties.MAKE_ACCESSIBLE).append('\n');
+        settings.append(Properties.STRING_REPLACEMENT).append('\n');
+        settings.append(Properties.TT).append('\n');
+        settings.append(Properties.TT_SCOPE).append('\n');
+        settings.append(TestSuiteWriterUtils.needToUseAgent()).append('\n');
+
+        // the mocking done by the instrumentation depends on the runtime settings
+        for (Field field : RuntimeSettings.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && !Modifier.isFinal(field.getModifiers())) {
+                field.setAccessible(true);
+                settings.append(field.getName()).append('=').append(field.get(null)).append('\n');
+            }
+        }
+        return settings.toString();
+    }
+
+    /**
+     * @return the version of EvoSuite and the time its code was last modified, so that entries are
+     * not reused by a different build
+     */
+    private static String getBuild() {
+        String version = InstrumentedClassCache.class.getPackage().getImplementationVersion();
+        long lastModified = 0;
+        CodeSource source = InstrumentedClassCache.class.getProtectionDomain().getCodeSource();
+        if (source != null && source.getLocation() != null) {
+            try {
+                lastModified = new File(source.getLocation().toURI()).lastModified();
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                logger.debug("Cannot locate the EvoSuite code: {}", e.getMessage());
+            }
+        }
+        return version + "@" + lastModified;
+    }
+
+    private static Entry load(File file) {
+        if (!file.exists()) {
+            return null;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file))) {
+            return (Entry) in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            logger.warn("Failed to load instrumented bytecode from {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void store(File file, Entry entry) {
+        File dir = file.getParentFile();
+        if (!dir.exists() && !dir.mkdirs() && !dir.exists()) {
+            logger.warn("Failed to create instrumentation cache directory {}", dir);
+            return;
+        }
+        File tmp = null;
+        try {
+            // Write to a temporary file first, so that a concurrent client never reads a partial entry
+            tmp = File.createTempFile(file.getName(), ".tmp", dir);
+            try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(tmp))) {
+                out.writeObject(entry);
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to save instrumented bytecode to {}: {}", file, e.getMessage());
+            if (tmp != null && tmp.exists() && !tmp.delete()) {
+                logger.debug("Failed to delete {}", tmp);
+            }
+        }
+    }
+
+    /**
+     * Instrumented bytecode, and the side effects of the instrumentation
+     */
+    private static final class Entry implements Serializable {
+
+        private static final long serialVersionUID = 7324615809235621493L;
+
+        private final byte[] bytes;
+
+        private final ArrayList<Serializable> sutConstants;
+
+        private final ArrayList<Serializable> nonSutConstants;
+
+        private final ArrayList<String> finalFields;
+
+        private Entry(byte[] bytes, ArrayList<Serializable> sutConstants, ArrayList<Serializable> nonSutConstants,
+                      ArrayList<String> finalFields) {
+            this.bytes = bytes;
+            this.sutConstants = sutConstants;
+            this.nonSutConstants = nonSutConstants;
+            this.finalFields = finalFields;
+        }
+
+        /**
+         * @return {@code null} if some constant cannot be stored
+         */
+        static Entry create(byte[] bytes, ConstantPoolManager.Recording constants, List<String> finalFields) {
+            ArrayList<Serializable> sutConstants = toSerializable(constants.getSUTConstants());
+            ArrayList<Serializable> nonSutConstants = toSerializable(constants.getNonSUTConstants());
+            if (sutConstants == null || nonSutConstants == null) {
+                return null;
+            }
+            return new Entry(bytes.clone(), sutConstants, nonSutConstants, new ArrayList<>(finalFields));
+        }
+
+        private static ArrayList<Serializable> toSerializable(List<Object> constants) {
+            ArrayList<Serializable> result = new ArrayList<>(constants.size());
+            for (Object constant : constants) {
+                if (constant instanceof Type) {
+                    result.add(new TypeConstant(((Type) constant).getDescriptor()));
+                } else if (constant instanceof Serializable) {
+                    result.add((Serializable) constant);
+                } else {
+                    logger.debug("Cannot store constant of type {}", constant.getClass());
+                    return null;
+                }
+            }
+            return result;
+        }
+
+        private static Object fromSerializable(Serializable constant) {
+            if (constant instanceof TypeConstant) {
+                return Type.getType(((TypeConstant) constant).descriptor);
+            }
+            return constant;
+        }
+
+        /**
+         * Register the side effects of the instrumentation, as if the class was instrumented again
+         */
+        void register() {
+            ConstantPoolManager poolManager = ConstantPoolManager.getInstance();
+            for (Serializable constant : sutConstants) {
+                poolManager.addSUTConstant(fromSerializable(constant));
+            }
+            for (Serializable constant : nonSutConstants) {
+                poolManager.addNonSUTConstant(fromSerializable(constant));
+            }
+            if (!finalFields.isEmpty()) {
+                ModifiedTargetStaticFields.getInstance().addFinalFields(finalFields);
+            }
+        }
+    }
+
+    /**
+     * An ASM type constant, which is not serializable itself
+     */
+    private static final class TypeConstant implements Serializable {
+
+        private static final long serialVersionUID = -2176481513652213904L;
+
+        private final String descriptor;
+
+        TypeConstant(String descriptor) {
+            this.descriptor = descriptor;
+        }
+    }
+}
@@ -19,14 +19,15 @@
  */
 package org.evosuite.instrumentation;
 
+import org.apache.commons.io.IOUtils;
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
 import org.evosuite.classpath.ResourceList;
 import org.evosuite.runtime.instrumentation.RuntimeInstrumentation;
-import org.objectweb.asm.ClassReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -86,15 +87,25 @@ public class InstrumentingClassLoader extends ClassLoader {
         String className = fullyQualifiedTargetClass.replace('.', '/');
 
         try (InputStream is = new FileInputStream(new File(fileName))) {
+            Class<?> result = defineTransformedClass(fullyQualifiedTargetClass, className, is);
+            logger.info("Loaded class " + fullyQualifiedTargetClass + " directly from " + fileName);
+            return result;
+        } catch (Throwable t) {
+            logger.info("Error while loading class " + fullyQualifiedTargetClass + " : " + t);
+            throw new ClassNotFoundException(t.getMessage(), t);
+        }
+    }
 
-            byte[] byteBuffer = getTransformedBytes(className, is);
-
-            createPackageDefinition(fullyQualifiedTargetClass);
-            Class<?> result = defineClass(fullyQualifiedTargetClass, byteBuffer, 0, byteBuffer.length);
+    /**
+     * Like {@link #loadClassFromFile(String, String)}, for a class compiled in memory
+     */
+    public Class<?> loadClassFromBytes(String fullyQualifiedTargetClass, byte[] bytes) throws ClassNotFoundException {
 
-            classes.put(fullyQualifiedTargetClass, result);
+        String className = fullyQualifiedTargetClass.replace('.', '/');
 
-            logger.info("Loaded class " + fullyQualifiedTargetClass + " directly from " + fileName);
+        try (InputStream is = new ByteArrayInputStream(bytes)) {
+            Class<?> result = defineTransformedClass(fullyQualifiedTargetClass, className, is);
+            logger.info("Loaded class " + fullyQualifiedTargetClass + " from memory");
             return result;
         } catch (Throwable t) {
             logger.info("Error while loading class " + fullyQualifiedTargetClass + " : " + t);
@@ -102,6 +113,17 @@ public class InstrumentingClassLoader extends ClassLoader {
         }
     }
 
+    private Class<?> defineTransformedClass(String fullyQualifiedTargetClass, String className, InputStream is)
+            throws IOException {
+        byte[] byteBuffer = getTransformedBytes(className, is);
+
+        createPackageDefinition(fullyQualifiedTargetClass);
+        Class<?> result = defineClass(fullyQualifiedTargetClass, byteBuffer, 0, byteBuffer.length);
+
+        classes.put(fullyQualifiedTargetClass, result);
+        return result;
+    }
+
     @Override
     public Class<?> loadClass(String name) throws ClassNotFoundException {
         synchronized (getClassLoadingLock(name)) {
@@ -132,7 +154,8 @@ public class InstrumentingClassLoader extends ClassLoader {
 
     //This is needed, as it is overridden in subclasses
     protected byte[] getTransformedBytes(String className, InputStream is) throws IOException {
-        return instrumentation.transformBytes(this, className, new ClassReader(is));
+        return InstrumentedClassCache.getInstance().transformBytes(instrumentation, this, className,
+                IOUtils.toByteArray(is));
     }
 
     private Class<?> instrumentClass(String fullyQualifiedTargetClass) throws ClassNotFoundException {
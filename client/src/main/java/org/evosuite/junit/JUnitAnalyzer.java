@@ -26,12 +26,14 @@ import org.evosuite.TestGenerationContext;
 import org.evosuite.TimeController;
 import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.instrumentation.NonInstrumentingClassLoader;
+import org.evosuite.junit.writer.TestSuiteSources;
 import org.evosuite.junit.writer.TestSuiteWriter;
 import org.evosuite.junit.writer.TestSuiteWriterUtils;
 import org.evosuite.runtime.classhandling.JDKClassResetter;
 import org.evosuite.runtime.sandbox.Sandbox;
 import org.evosuite.runtime.util.JarPathing;
 import org.evosuite.testcase.TestCase;
+import org.evosuite.utils.InMemoryJavaFileManager;
 import org.junit.platform.engine.TestExecutionResult;
 import org.junit.platform.engine.discovery.DiscoverySelectors;
 import org.junit.platform.launcher.*;
@@ -46,6 +48,7 @@ import javax.tools.*;
 import javax.tools.JavaCompiler.CompilationTask;
 import java.io.File;
 import java.io.IOException;
+import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
@@ -92,6 +95,11 @@ public abstract class JUnitAnalyzer {
             return;
         }
 
+        if (Properties.JUNIT_CHECK_IN_MEMORY && isJavaCompilerAvailable()) {
+            removeTestsThatDoNotCompileInMemory(tests);
+            return;
+        }
+
         Iterator<TestCase> iter = tests.iterator();
 
         while (iter.hasNext()) {
@@ -132,6 +140,62 @@ public abstract class JUnitAnalyzer {
         } // end of while
     }
 
+    /**
+     * Compile the whole suite in memory, and then compile on their own only the tests the compiler
+     * reported errors for. As javac might not report all the errors once some are found (e.g.,
+     * flow analysis is skipped after type errors), the remaining tests are compiled again until
+     * they are error free.
+     *
+     * @param tests
+     */
+    private static void removeTestsThatDoNotCompileInMemory(List<TestCase> tests) {
+
+        while (!tests.isEmpty()) {
+            if (!TimeController.getInstance().hasTimeToExecuteATestCase()) {
+                return;
+            }
+
+            CompiledTests compiled = compileTestsInMemory(tests);
+            if (compiled == null || compiled.isSuccessful()) {
+                return;
+            }
+
+            Set<TestCase> withErrors = compiled.getTestsWithErrors();
+            logger.debug("Compilation of the test suite failed, {} tests have errors", withErrors.size());
+
+            if (withErrors.isEmpty() || removeTestsThatDoNotCompileOnTheirOwn(tests, withErrors) == 0) {
+                /*
+                 * errors that cannot be traced back to a single test, eg in the imports or
+                 * in the scaffolding: check each test on its own, as done on disk
+                 */
+                removeTestsThatDoNotCompileOnTheirOwn(tests, new ArrayList<>(tests));
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the number of tests in {@code toCheck} that do not compile on their own, and that
+     * were therefore removed from {@code tests}
+     */
+    private static int removeTestsThatDoNotCompileOnTheirOwn(List<TestCase> tests, Collection<TestCase> toCheck) {
+        int removed = 0;
+        for (TestCase test : toCheck) {
+            if (!TimeController.getInstance().hasTimeToExecuteATestCase()) {
+                break;
+            }
+
+            CompiledTests compiled = compileTestsInMemory(Collections.singletonList(test));
+            if (compiled != null && !compiled.isSuccessful()) {
+                // the same test could be equal to another one, so it is removed by identity
+                tests.removeIf(t -> t == test);
+                removed++;
+                logger.error("Failed to compile test case:\n" + test.toCode());
+            }
+        }
+        return removed;
+    }
+
     /**
      * Compile and run all the test cases, and mark as "unstable" all the ones
      * that fail during execution (ie, unstable assertions).
@@ -152,35 +216,22 @@ public abstract class JUnitAnalyzer {
             return numUnstable;
         }
 
-        File dir = createNewTmpDir();
-        if (dir == null) {
-            logger.error("Failed to create tmp dir");
-            return numUnstable;
-        }
-        logger.debug("Created tmp folder: " + dir.getAbsolutePath());
-
-        try {
-            List<File> generated = compileTests(tests, dir);
-            if (generated == null) {
-                /*
-                 * Note: in theory this shouldn't really happen, as check for compilation
-                 * is done before calling this method
-                 */
-                logger.warn("Failed to compile the test cases ");
-                return numUnstable;
-            }
-
-            if (!TimeController.getInstance().hasTimeToExecuteATestCase()) {
-                logger.error("Ran out of time while checking tests");
+        // nothing is written to disk when the tests are compiled in memory
+        File dir = null;
+        if (!Properties.JUNIT_CHECK_IN_MEMORY) {
+            dir = createNewTmpDir();
+            if (dir == null) {
+                logger.error("Failed to create tmp dir");
                 return numUnstable;
             }
+            logger.debug("Created tmp folder: " + dir.getAbsolutePath());
+        }
 
-            // Create a new classloader so that each test gets freshly loaded classes
-            loader = new NonInstrumentingClassLoader();
-            Class<?>[] testClasses = loadTests(generated);
+        try {
+            Class<?>[] testClasses = dir == null ? compileAndLoadTestsInMemory(tests)
+                    : compileAndLoadTests(tests, dir);
 
             if (testClasses == null) {
-                logger.error("Found no classes for compiled tests");
                 return numUnstable;
             }
 
@@ -281,6 +332,62 @@ public abstract class JUnitAnalyzer {
         return numUnstable;
     }
 
+    /**
+     * @return the compiled test classes, or null if the tests could not be compiled or loaded
+     */
+    private static Class<?>[] compileAndLoadTests(List<TestCase> tests, File dir) {
+        List<File> generated = compileTests(tests, dir);
+        if (generated == null) {
+            /*
+             * Note: in theory this shouldn't really happen, as check for compilation
+             * is done before calling this method
+             */
+            logger.warn("Failed to compile the test cases ");
+            return null;
+        }
+
+        if (!TimeController.getInstance().hasTimeToExecuteATestCase()) {
+            logger.error("Ran out of time while checking tests");
+            return null;
+        }
+
+        // Create a new classloader so that each test gets freshly loaded classes
+        loader = new NonInstrumentingClassLoader();
+        Class<?>[] testClasses = loadTests(generated);
+
+        if (testClasses == null) {
+            logger.error("Found no classes for compiled tests");
+            return null;
+        }
+        return testClasses;
+    }
+
+    /**
+     * Same as {@link #compileAndLoadTests(List, File)}, but without writing anything to disk
+     */
+    private static Class<?>[] compileAndLoadTestsInMemory(List<TestCase> tests) {
+        CompiledTests compiled = compileTestsInMemory(tests);
+        if (compiled == null || !compiled.isSuccessful()) {
+            logger.warn("Failed to compile the test cases ");
+            return null;
+        }
+
+        if (!TimeController.getInstance().hasTimeToExecuteATestCase()) {
+            logger.error("Ran out of time while checking tests");
+            return null;
+        }
+
+        // Create a new classloader so that each test gets freshly loaded classes
+        loader = new NonInstrumentingClassLoader();
+        Class<?>[] testClasses = loadTests(compiled);
+
+        if (testClasses.length == 0) {
+            logger.error("Found no classes for compiled tests");
+            return null;
+        }
+        return testClasses;
+    }
+
     private static JUnitResult runTests(Class<?>[] testClasses, File testClassDir)
             throws JUnitExecutionException {
         return runJUnitOnCurrentProcess(testClasses);
@@ -305,15 +412,42 @@ public abstract class JUnitAnalyzer {
     // EvoSuite classloader, and thus cannot easily be re-loaded
     private static int NUM = 0;
 
+    private static String getNameOfTmpTestSuite() {
+        //to get name, remove all package before last '.'
+        int beginIndex = Properties.TARGET_CLASS.lastIndexOf(".") + 1;
+        String name = Properties.TARGET_CLASS.substring(beginIndex);
+        name += "_" + (NUM++) + "_tmp_" + Properties.JUNIT_SUFFIX; //postfix
+        return name;
+    }
+
+    private static String getClassPathForCompilation() {
+        String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
+        if (JarPathing.containsAPathingJar(evosuiteCP)) {
+            evosuiteCP = JarPathing.expandPathingJars(evosuiteCP);
+        }
+
+        String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
+        if (JarPathing.containsAPathingJar(targetProjectCP)) {
+            targetProjectCP = JarPathing.expandPathingJars(targetProjectCP);
+        }
+
+        return targetProjectCP + File.pathSeparator + evosuiteCP;
+    }
+
+    private static String getPackagePrefix() {
+        String packagePrefix = Properties.CLASS_PREFIX;
+        if (!packagePrefix.isEmpty() && !packagePrefix.endsWith(".")) {
+            packagePrefix += ".";
+        }
+        return packagePrefix;
+    }
+
     private static List<File> compileTests(List<TestCase> tests, File dir) {
 
         TestSuiteWriter suite = new TestSuiteWriter();
         suite.insertAllTests(tests);
 
-        //to get name, remove all package before last '.'
-        int beginIndex = Properties.TARGET_CLASS.lastIndexOf(".") + 1;
-        String name = Properties.TARGET_CLASS.substring(beginIndex);
-        name += "_" + (NUM++) + "_tmp_" + Properties.JUNIT_SUFFIX; //postfix
+        String name = getNameOfTmpTestSuite();
 
         try {
             //now generate the JUnit test case
@@ -342,17 +476,7 @@ public abstract class JUnitAnalyzer {
 
             Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(generated);
 
-            String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
-            if (JarPathing.containsAPathingJar(evosuiteCP)) {
-                evosuiteCP = JarPathing.expandPathingJars(evosuiteCP);
-            }
-
-            String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
-            if (JarPathing.containsAPathingJar(targetProjectCP)) {
-                targetProjectCP = JarPathing.expandPathingJars(targetProjectCP);
-            }
-
-            String classpath = targetProjectCP + File.pathSeparator + evosuiteCP;
+            String classpath = getClassPathForCompilation();
 
             List<String> optionList = new ArrayList<>(Arrays.asList("-classpath", classpath));
 
@@ -364,8 +488,6 @@ public abstract class JUnitAnalyzer {
             if (!compiled) {
                 logger.error("Compilation failed on compilation units: " + compilationUnits);
                 logger.error("Classpath: " + classpath);
-                //TODO remove
-                logger.error("evosuiteCP: " + evosuiteCP);
 
 
                 for (Diagnostic<?> diagnostic : diagnostics.getDiagnostics()) {
@@ -399,6 +521,81 @@ public abstract class JUnitAnalyzer {
         }
     }
 
+    /**
+     * Compile the given tests in memory, in a single javac run
+     *
+     * @return the result of the compilation, or null if the compiler could not be run
+     */
+    static CompiledTests compileTestsInMemory(List<TestCase> tests) {
+
+        TestSuiteWriter suite = new TestSuiteWriter();
+        suite.insertAllTests(tests);
+
+        String name = getNameOfTmpTestSuite();
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            logger.error("No Java compiler is available");
+            return null;
+        }
+
+        TestSuiteSources sources = suite.generateTestSuiteSources(name, Collections.emptyList());
+        String packagePrefix = getPackagePrefix();
+
+        // javac might wrap the compilation units, so they are matched by URI
+        Map<URI, String> classNames = new LinkedHashMap<>();
+        List<JavaFileObject> compilationUnits = new ArrayList<>();
+        for (Map.Entry<String, String> source : sources.getSources().entrySet()) {
+            JavaFileObject unit = InMemoryJavaFileManager.createSource(packagePrefix + source.getKey(),
+                    source.getValue());
+            classNames.put(unit.toUri(), source.getKey());
+            compilationUnits.add(unit);
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(diagnostics,
+                Locale.getDefault(), StandardCharsets.UTF_8);
+
+        try (InMemoryJavaFileManager fileManager = new InMemoryJavaFileManager(standardFileManager)) {
+            // all the errors are needed to find the tests that do not compile
+            List<String> optionList = Arrays.asList("-classpath", getClassPathForCompilation(),
+                    "-Xmaxerrs", Integer.toString(Integer.MAX_VALUE));
+
+            CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    optionList, null, compilationUnits);
+            boolean compiled = task.call();
+
+            CompiledTests result = new CompiledTests(compiled, fileManager.getCompiledClasses(),
+                    packagePrefix, sources.getSources().keySet());
+            if (compiled) {
+                return result;
+            }
+
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                if (diagnostic.getKind() != Diagnostic.Kind.ERROR) {
+                    continue;
+                }
+                logger.debug("Diagnostic: " + diagnostic.getMessage(null) + ": "
+                        + diagnostic.getLineNumber());
+
+                JavaFileObject source = diagnostic.getSource();
+                String className = source == null ? null : classNames.get(source.toUri());
+                if (className == null) {
+                    continue;
+                }
+                int index = sources.getTestAt(className, diagnostic.getLineNumber());
+                if (index >= 0) {
+                    result.testsWithErrors.add(tests.get(index));
+                }
+            }
+            return result;
+
+        } catch (IOException e) {
+            logger.error("" + e, e);
+            return null;
+        }
+    }
+
     protected static File createNewTmpDir() {
         File dir = null;
         String dirName = FileUtils.getTempDirectoryPath() + File.separator + "EvoSuite_"
@@ -446,6 +643,55 @@ public abstract class JUnitAnalyzer {
         return testClasses;
     }
 
+    private static Class<?>[] loadTests(CompiledTests compiled) {
+        Map<String, byte[]> classes = compiled.classes;
+        Set<String> loaded = new LinkedHashSet<>();
+
+        /*
+         * first load only the scaffolding files
+         */
+        for (String className : compiled.topLevelClasses) {
+            if (className.endsWith("_" + Properties.SCAFFOLDING_SUFFIX)) {
+                loadClass(className, classes.get(className));
+                loaded.add(className);
+            }
+        }
+
+        List<Class<?>> testClasses = new ArrayList<>();
+        for (String className : compiled.topLevelClasses) {
+            if (loaded.add(className)) {
+                Class<?> clazz = loadClass(className, classes.get(className));
+                if (clazz != null) {
+                    testClasses.add(clazz);
+                }
+            }
+        }
+
+        /*
+         * as for the files on disk, also load the anonymous classes
+         */
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+            if (loaded.add(entry.getKey())) {
+                loadClass(entry.getKey(), entry.getValue());
+            }
+        }
+
+        return testClasses.toArray(new Class<?>[0]);
+    }
+
+    private static Class<?> loadClass(String className, byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            logger.info("Loading class " + className);
+            return loader.loadClassFromBytes(className, bytes);
+        } catch (ClassNotFoundException e) {
+            logger.error("Failed to load test case " + className + " from memory, error " + e, e);
+            return null;
+        }
+    }
+
     private static List<File> listOnlyFiles(List<File> tests) throws IllegalArgumentException {
         if (tests == null || tests.isEmpty()) {
             return null;
@@ -632,10 +878,7 @@ public abstract class JUnitAnalyzer {
             return null;
         }
 
-        String packagePrefix = Properties.CLASS_PREFIX;
-        if (!packagePrefix.isEmpty() && !packagePrefix.endsWith(".")) {
-            packagePrefix += ".";
-        }
+        String packagePrefix = getPackagePrefix();
 
         String name = file.getName();
 
@@ -671,6 +914,47 @@ public abstract class JUnitAnalyzer {
         return testClass;
     }
 
+    /**
+     * Result of the in-memory compilation of a test suite
+     */
+    static class CompiledTests {
+
+        private final boolean successful;
+
+        /**
+         * Bytecode of the compiled classes, from fully qualified name
+         */
+        private final Map<String, byte[]> classes;
+
+        /**
+         * Fully qualified names of the classes written by the suite, in the order they were written
+         */
+        private final List<String> topLevelClasses = new ArrayList<>();
+
+        private final Set<TestCase> testsWithErrors = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private CompiledTests(boolean successful, Map<String, byte[]> classes, String packagePrefix,
+                              Collection<String> simpleNames) {
+            this.successful = successful;
+            this.classes = classes;
+            for (String simpleName : simpleNames) {
+                topLevelClasses.add(packagePrefix + simpleName);
+            }
+        }
+
+        boolean isSuccessful() {
+            return successful;
+        }
+
+        /**
+         * @return the tests the compiler reported errors for. If compilation failed and this is
+         * empty, the errors could not be traced back to the tests.
+         */
+        Set<TestCase> getTestsWithErrors() {
+            return testsWithErrors;
+        }
+    }
+
     /**
      * Class defining what functionality must be defined for different JUNIT versions.
      */
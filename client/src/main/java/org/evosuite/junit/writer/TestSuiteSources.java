@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit.writer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Source code of a test suite generated by {@link TestSuiteWriter}, together with the lines of
+ * each test method, so that compilation errors can be traced back to the tests.
+ */
+public class TestSuiteSources {
+
+    /**
+     * Source code of each class, from simple class name, in the order the files are written
+     */
+    private final Map<String, String> sources = new LinkedHashMap<>();
+
+    private final List<String> testClasses = new ArrayList<>();
+
+    private final List<int[]> testLines = new ArrayList<>();
+
+    void addSource(String className, String code) {
+        sources.put(className, code);
+    }
+
+    /**
+     * Register the next test, declared between the given lines (inclusive, starting from 1)
+     */
+    void addTest(String className, int firstLine, int lastLine) {
+        testClasses.add(className);
+        testLines.add(new int[]{firstLine, lastLine});
+    }
+
+    /**
+     * @return the source code of each class, keyed by simple class name
+     */
+    public Map<String, String> getSources() {
+        return Collections.unmodifiableMap(sources);
+    }
+
+    public int getNumberOfTests() {
+        return testClasses.size();
+    }
+
+    /**
+     * @return the simple name of the class declaring the test with the given index
+     */
+    public String getClassOfTest(int testIndex) {
+        return testClasses.get(testIndex);
+    }
+
+    /**
+     * @return the index of the test declared at the given line of the given class, or -1 if the
+     * line is not part of a test (e.g., imports or scaffolding)
+     */
+    public int getTestAt(String className, long line) {
+        for (int i = 0; i < testClasses.size(); i++) {
+            int[] lines = testLines.get(i);
+            if (testClasses.get(i).equals(className) && line >= lines[0] && line <= lines[1]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the number of line breaks in the given code
+     */
+    static int countLines(CharSequence code) {
+        int lines = 0;
+        for (int i = 0; i < code.length(); i++) {
+            if (code.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+}
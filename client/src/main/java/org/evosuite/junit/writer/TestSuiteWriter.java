@@ -186,6 +186,33 @@ public class TestSuiteWriter implements Opcodes {
      */
     public List<File> writeTestSuite(String name, String directory, List<ExecutionResult> cachedResults) throws IllegalArgumentException {
 
+        TestSuiteSources sources = generateTestSuiteSources(name, cachedResults);
+
+        List<File> generated = new ArrayList<>();
+        String dir = TestSuiteWriterUtils.makeDirectory(directory);
+        String content = "";
+
+        for (Map.Entry<String, String> source : sources.getSources().entrySet()) {
+            File file = new File(dir + "/" + source.getKey() + ".java"); // e.g., dir/Foo_ESTest_0.java
+            FileIOUtils.writeFile(source.getValue(), file);
+            content += source.getValue();
+            generated.add(file);
+        }
+
+        writeCoveredGoalsFile();
+
+        TestGenerationResultBuilder.getInstance().setTestSuiteCode(content);
+        return generated;
+    }
+
+    /**
+     * Create the JUnit test suite for class, without writing it to disk
+     *
+     * @param name Name of the class
+     * @return the source code of the test suite
+     */
+    public TestSuiteSources generateTestSuiteSources(String name, List<ExecutionResult> cachedResults) throws IllegalArgumentException {
+
         if (name == null || name.isEmpty()) {
             throw new IllegalArgumentException("Empty test class name");
         }
@@ -196,9 +223,7 @@ public class TestSuiteWriter implements Opcodes {
             throw new IllegalArgumentException("Test classes should have name ending with 'Test'. Invalid input name: " + name);
         }
 
-        List<File> generated = new ArrayList<>();
-        String dir = TestSuiteWriterUtils.makeDirectory(directory);
-        String content = "";
+        TestSuiteSources sources = new TestSuiteSources();
 
         // Execute all tests
         executor.newObservers();
@@ -241,36 +266,23 @@ public class TestSuiteWriter implements Opcodes {
 
 
         if (Properties.OUTPUT_GRANULARITY == OutputGranularity.MERGED || testCases.size() == 0) {
-            File file = new File(dir + "/" + name + ".java");
             //executor.newObservers();
-            content = getUnitTestsAllInSameFile(name, results);
-            FileIOUtils.writeFile(content, file);
-            generated.add(file);
+            sources.addSource(name, getUnitTestsAllInSameFile(name, results, sources));
         } else {
             for (int i = 0; i < testCases.size(); i++) {
-                File file = new File(dir + "/" + name + "_" + i + ".java"); // e.g., dir/Foo_ESTest_0.java
                 //executor.newObservers();
-                String testCode = getOneUnitTestInAFile(name, i, results);
-                FileIOUtils.writeFile(testCode, file);
-                content += testCode;
-                generated.add(file);
+                sources.addSource(name + "_" + i, getOneUnitTestInAFile(name, i, results, sources));
             }
         }
 
         if (Properties.TEST_SCAFFOLDING && !Properties.NO_RUNTIME_DEPENDENCY) {
             String scaffoldingName = Scaffolding.getFileName(name);
-            File file = new File(dir + "/" + scaffoldingName + ".java");
             String scaffoldingContent = Scaffolding.getScaffoldingFileContent(name, results,
                     TestSuiteWriterUtils.hasAnySecurityException(results));
-            FileIOUtils.writeFile(scaffoldingContent, file);
-            generated.add(file);
-            content += scaffoldingContent;
+            sources.addSource(scaffoldingName, scaffoldingContent);
         }
 
-        writeCoveredGoalsFile();
-
-        TestGenerationResultBuilder.getInstance().setTestSuiteCode(content);
-        return generated;
+        return sources;
     }
 
     /**
@@ -317,7 +329,7 @@ public class TestSuiteWriter implements Opcodes {
      * @param name Name of the class file
      * @return String representation of JUnit test file
      */
-    private String getUnitTestsAllInSameFile(String name, List<ExecutionResult> results) {
+    private String getUnitTestsAllInSameFile(String name, List<ExecutionResult> results, TestSuiteSources sources) {
 
         /*
          * if there was any security exception, then we need to scaffold the
@@ -336,8 +348,14 @@ public class TestSuiteWriter implements Opcodes {
         if (testCases.isEmpty()) {
             builder.append(getEmptyTest());
         } else {
+            int lines = TestSuiteSources.countLines(builder);
             for (int i = 0; i < testCases.size(); i++) {
-                builder.append(testToString(i, i, results.get(i)));
+                String test = testToString(i, i, results.get(i));
+                // the code of a test ends with a line break, so it takes as many lines as it has line breaks
+                int testLines = TestSuiteSources.countLines(test);
+                sources.addTest(name, lines + 1, lines + testLines);
+                lines += testLines;
+                builder.append(test);
             }
         }
         builder.append(getFooter());
@@ -352,7 +370,7 @@ public class TestSuiteWriter implements Opcodes {
      * @param testId a int.
      * @return String representation of JUnit test file
      */
-    private String getOneUnitTestInAFile(String name, int testId, List<ExecutionResult> results) {
+    private String getOneUnitTestInAFile(String name, int testId, List<ExecutionResult> results, TestSuiteSources sources) {
 
         boolean wasSecurityException = results.get(testId).hasSecurityException();
 
@@ -364,7 +382,10 @@ public class TestSuiteWriter implements Opcodes {
             builder.append(new Scaffolding().getBeforeAndAfterMethods(name + "_" + testId, wasSecurityException, results));
         }
 
-        builder.append(testToString(testId, testId, results.get(testId)));
+        String test = testToString(testId, testId, results.get(testId));
+        int lines = TestSuiteSources.countLines(builder);
+        sources.addTest(name + "_" + testId, lines + 1, lines + TestSuiteSources.countLines(test));
+        builder.append(test);
         builder.append(getFooter());
 
         return builder.toString();
@@ -34,6 +34,7 @@ import org.evosuite.runtime.sandbox.Sandbox;
 import org.evosuite.setup.DependencyAnalysis;
 import org.evosuite.setup.TestCluster;
 import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.utils.ChromosomeWireFormat;
 import org.evosuite.utils.FileIOUtils;
 import org.evosuite.utils.Listener;
 import org.evosuite.utils.LoggingUtils;
@@ -41,6 +42,7 @@ import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.rmi.RemoteException;
 import java.rmi.registry.Registry;
 import java.util.*;
@@ -197,8 +199,8 @@ public class ClientNodeImpl<T extends Chromosome<T>>
     public void emigrate(Set<T> immigrants) {
         try {
             logger.debug(ClientProcess.getPrettyPrintIdentifier() + "Sending " + immigrants.size() + " immigrants");
-            masterNode.evosuite_migrate(clientRmiIdentifier, immigrants);
-        } catch (RemoteException e) {
+            masterNode.evosuite_migrate(clientRmiIdentifier, ChromosomeWireFormat.encode(immigrants));
+        } catch (IOException e) {
             logger.error(ClientProcess.getPrettyPrintIdentifier() + "Cannot send immigrating individuals to master", e);
         }
     }
@@ -207,8 +209,8 @@ public class ClientNodeImpl<T extends Chromosome<T>>
     public void sendBestSolution(Set<T> solutions) {
         try {
             logger.debug(ClientProcess.getPrettyPrintIdentifier() + "sending best solutions to " + ClientProcess.DEFAULT_CLIENT_NAME);
-            masterNode.evosuite_collectBestSolutions(clientRmiIdentifier, solutions);
-        } catch (RemoteException e) {
+            masterNode.evosuite_collectBestSolutions(clientRmiIdentifier, ChromosomeWireFormat.encode(solutions));
+        } catch (IOException e) {
             logger.error(ClientProcess.getPrettyPrintIdentifier() + "Cannot send best solution to master", e);
         }
     }
@@ -248,8 +250,9 @@ public class ClientNodeImpl<T extends Chromosome<T>>
         logger.info("Sending current best individual to master process");
 
         try {
-            masterNode.evosuite_collectStatistics(clientRmiIdentifier, individual);
-        } catch (RemoteException e) {
+            masterNode.evosuite_collectStatistics(clientRmiIdentifier,
+                    ChromosomeWireFormat.encode(Collections.singleton(individual)));
+        } catch (IOException e) {
             logger.error("Cannot inform master of change of state", e);
             throw new IllegalStateException(e);
         }
@@ -520,16 +523,39 @@ public class ClientNodeImpl<T extends Chromosome<T>>
     }
 
     @Override
-    public void immigrate(Set<T> migrants) throws RemoteException {
+    public void immigrate(byte[] migrants) throws RemoteException {
+        Set<T> decoded = decode(migrants);
         logger.debug(ClientProcess.getPrettyPrintIdentifier() + "receiving "
-                + (migrants != null ? migrants.size() : 0) + " immigrants");
-        fireEvent(migrants);
+                + (decoded != null ? decoded.size() : 0) + " immigrants");
+        if (decoded != null) {
+            fireEvent(decoded);
+        }
     }
 
     @Override
-    public void collectBestSolutions(Set<T> solutions) throws RemoteException {
+    public void collectBestSolutions(byte[] solutions) throws RemoteException {
+        Set<T> decoded = decode(solutions);
         logger.debug(ClientProcess.getPrettyPrintIdentifier() + "added solution to set");
-        bestSolutions.add(solutions);
+        // an undecodable set still counts as received, so getBestSolutions does not wait for it
+        bestSolutions.add(decoded != null ? decoded : Collections.emptySet());
+    }
+
+    /**
+     * Decodes individuals received from the master
+     *
+     * @param bytes individuals encoded with {@link ChromosomeWireFormat}
+     * @return the individuals, or null if they cannot be decoded
+     */
+    private Set<T> decode(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            return new LinkedHashSet<>(ChromosomeWireFormat.<T>decode(bytes));
+        } catch (IOException e) {
+            logger.error(ClientProcess.getPrettyPrintIdentifier() + "Cannot decode received individuals", e);
+            return null;
+        }
     }
 
     @Override
@@ -23,7 +23,6 @@ import org.evosuite.ga.Chromosome;
 
 import java.rmi.Remote;
 import java.rmi.RemoteException;
-import java.util.Set;
 
 /**
  * Client Node view in the master process.
@@ -52,7 +51,15 @@ public interface ClientNodeRemote<T extends Chromosome<T>> extends Remote {
 
     void printClassStatistics() throws RemoteException;
 
-    void immigrate(Set<T> migrants) throws RemoteException;
+    /**
+     * @param migrants individuals encoded with {@link org.evosuite.utils.ChromosomeWireFormat}
+     * @throws RemoteException
+     */
+    void immigrate(byte[] migrants) throws RemoteException;
 
-    void collectBestSolutions(Set<T> solutions) throws RemoteException;
+    /**
+     * @param solutions individuals encoded with {@link org.evosuite.utils.ChromosomeWireFormat}
+     * @throws RemoteException
+     */
+    void collectBestSolutions(byte[] solutions) throws RemoteException;
 }
@@ -20,14 +20,12 @@
 package org.evosuite.rmi.service;
 
 import org.evosuite.Properties.NoSuchParameterException;
-import org.evosuite.ga.Chromosome;
 import org.evosuite.result.TestGenerationResult;
 import org.evosuite.statistics.RuntimeVariable;
 
 import java.rmi.Remote;
 import java.rmi.RemoteException;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Master Node view in the client process.
@@ -47,7 +45,12 @@ public interface MasterNodeRemote extends Remote {
 
     void evosuite_informChangeOfStateInClient(String clientRmiIdentifier, ClientState state, ClientStateInformation information) throws RemoteException;
 
-    void evosuite_collectStatistics(String clientRmiIdentifier, Chromosome<?> individual) throws RemoteException;
+    /*
+     * Chromosomes are passed encoded with ChromosomeWireFormat, so that migrants and solutions
+     * can be forwarded to other clients without decoding them
+     */
+
+    void evosuite_collectStatistics(String clientRmiIdentifier, byte[] individual) throws RemoteException;
 
     void evosuite_collectStatistics(String clientRmiIdentifier, RuntimeVariable variable, Object value) throws RemoteException;
 
@@ -57,7 +60,7 @@ public interface MasterNodeRemote extends Remote {
 
     void evosuite_updateProperty(String clientRmiIdentifier, String propertyName, Object value) throws RemoteException, IllegalArgumentException, IllegalAccessException, NoSuchParameterException;
 
-    void evosuite_migrate(String clientRmiIdentifier, Set<? extends Chromosome<?>> migrants) throws RemoteException;
+    void evosuite_migrate(String clientRmiIdentifier, byte[] migrants) throws RemoteException;
 
-    void evosuite_collectBestSolutions(String clientRmiIdentifier, Set<? extends Chromosome<?>> solutions) throws RemoteException;
+    void evosuite_collectBestSolutions(String clientRmiIdentifier, byte[] solutions) throws RemoteException;
 }
@@ -23,6 +23,10 @@ package org.evosuite.seeding;
 import org.evosuite.Properties;
 import org.evosuite.utils.Randomness;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * @author Gordon Fraser
  */
@@ -39,6 +43,11 @@ public class ConstantPoolManager {
      */
     private static final int DYNAMIC_POOL_INDEX = 2;
 
+    /**
+     * Static constants added by the current thread since {@link #startRecording()}, if it is recording
+     */
+    private final ThreadLocal<Recording> recording = new ThreadLocal<>();
+
     private ConstantPoolManager() {
         init();
     }
@@ -89,10 +98,18 @@ public class ConstantPoolManager {
 
     public void addSUTConstant(Object value) {
         pools[0].add(value);
+        Recording current = recording.get();
+        if (current != null) {
+            current.sutConstants.add(value);
+        }
     }
 
     public void addNonSUTConstant(Object value) {
         pools[1].add(value);
+        Recording current = recording.get();
+        if (current != null) {
+            current.nonSutConstants.add(value);
+        }
     }
 
     public void addDynamicConstant(Object value) {
@@ -121,4 +138,54 @@ public class ConstantPoolManager {
     public void reset() {
         init();
     }
+
+    /**
+     * Start recording the static constants added by the current thread, e.g. to be able to add
+     * them again without analyzing the same class again. Recordings can be nested, constants are
+     * only recorded by the innermost one
+     */
+    public void startRecording() {
+        recording.set(new Recording(recording.get()));
+    }
+
+    /**
+     * @return the static constants added by the current thread since the matching
+     * {@link #startRecording()}
+     */
+    public Recording stopRecording() {
+        Recording current = recording.get();
+        if (current == null) {
+            throw new IllegalStateException("Constants are not being recorded");
+        }
+        if (current.outer == null) {
+            recording.remove();
+        } else {
+            recording.set(current.outer);
+        }
+        return current;
+    }
+
+    /**
+     * Static constants added while recording, in the order they were added
+     */
+    public static final class Recording {
+
+        private final Recording outer;
+
+        private final List<Object> sutConstants = new ArrayList<>();
+
+        private final List<Object> nonSutConstants = new ArrayList<>();
+
+        private Recording(Recording outer) {
+            this.outer = outer;
+        }
+
+        public List<Object> getSUTConstants() {
+            return Collections.unmodifiableList(sutConstants);
+        }
+
+        public List<Object> getNonSUTConstants() {
+            return Collections.unmodifiableList(nonSutConstants);
+        }
+    }
 }
@@ -25,6 +25,9 @@ import org.evosuite.utils.RandomAccessQueue;
 import org.objectweb.asm.Type;
 
 /**
+ * Pool of the constants observed while the SUT executes. Constants are added from the test
+ * threads, which may run concurrently, hence all accesses are synchronized.
+ *
  * @author Gordon Fraser
  */
 public class DynamicConstantPool implements ConstantPool {
@@ -61,12 +64,12 @@ public class DynamicConstantPool implements ConstantPool {
      * @see org.evosuite.primitives.ConstantPool#getRandomString()
      */
     @Override
-    public String getRandomString() {
+    public synchronized String getRandomString() {
         return stringPool.getRandomValue();
     }
 
     @Override
-    public Type getRandomType() {
+    public synchronized Type getRandomType() {
         return typePool.getRandomValue();
     }
 
@@ -74,7 +77,7 @@ public class DynamicConstantPool implements ConstantPool {
      * @see org.evosuite.primitives.ConstantPool#getRandomInt()
      */
     @Override
-    public int getRandomInt() {
+    public synchronized int getRandomInt() {
         return intPool.getRandomValue();
     }
 
@@ -82,7 +85,7 @@ public class DynamicConstantPool implements ConstantPool {
      * @see org.evosuite.primitives.ConstantPool#getRandomFloat()
      */
     @Override
-    public float getRandomFloat() {
+    public synchronized float getRandomFloat() {
         return floatPool.getRandomValue();
     }
 
@@ -90,7 +93,7 @@ public class DynamicConstantPool implements ConstantPool {
      * @see org.evosuite.primitives.ConstantPool#getRandomDouble()
      */
     @Override
-    public double getRandomDouble() {
+    public synchronized double getRandomDouble() {
         return doublePool.getRandomValue();
     }
 
@@ -98,7 +101,7 @@ public class DynamicConstantPool implements ConstantPool {
      * @see org.evosuite.primitives.ConstantPool#getRandomLong()
      */
     @Override
-    public long getRandomLong() {
+    public synchronized long getRandomLong() {
         return longPool.getRandomValue();
     }
 
@@ -106,7 +109,7 @@ public class DynamicConstantPool implements ConstantPool {
      * @see org.evosuite.primitives.ConstantPool#add(java.lang.Object)
      */
     @Override
-    public void add(Object object) {
+    public synchronized void add(Object object) {
         // We don't add null because this is explicitly handled in the TestFactory
         if (object == null)
             return;
@@ -162,7 +165,7 @@ public class DynamicConstantPool implements ConstantPool {
     }
 
     @Override
-    public String toString() {
+    public synchronized String toString() {
         String res = "DynamicConstantPool:{";
         res += "stringPool=" + stringPool + " ; ";
         res += "typePool=" + typePool + " ; ";
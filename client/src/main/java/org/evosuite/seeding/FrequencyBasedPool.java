@@ -21,61 +21,66 @@ package org.evosuite.seeding;
 
 import org.evosuite.utils.Randomness;
 
-import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
+ * Multiset of constants, where each constant is chosen with a probability proportional to the
+ * number of times it was added. Every occurrence is an element of a list, so a constant is
+ * chosen in constant time by picking a random occurrence.
+ * <p>
  * Created by gordon on 06/01/2017.
  */
 public class FrequencyBasedPool<T> {
 
-    private final Map<T, Integer> constants = Collections.synchronizedMap(new LinkedHashMap<>());
+    /**
+     * One entry per added occurrence of a constant
+     */
+    private final List<T> occurrences = new ArrayList<>();
 
-    private int numConstants = 0;
+    /**
+     * Indices in occurrences of each constant
+     */
+    private final Map<T, List<Integer>> positions = new HashMap<>();
 
-    public void addConstant(T value) {
-        numConstants++;
-        if (!constants.containsKey(value))
-            constants.put(value, 1);
-        else
-            constants.put(value, constants.get(value) + 1);
+    public synchronized void addConstant(T value) {
+        positions.computeIfAbsent(value, v -> new ArrayList<>()).add(occurrences.size());
+        occurrences.add(value);
     }
 
-    public void removeConstant(T value) {
-        if (constants.containsKey(value)) {
-            int num = constants.get(value);
-            if (num <= 1)
-                constants.remove(value);
-            else
-                constants.put(value, num - 1);
+    public synchronized void removeConstant(T value) {
+        List<Integer> valuePositions = positions.get(value);
+        if (valuePositions == null) {
+            return;
+        }
+        int position = valuePositions.remove(valuePositions.size() - 1);
+        if (valuePositions.isEmpty()) {
+            positions.remove(value);
         }
-    }
 
-    public boolean hasConstant(T value) {
-        return constants.containsKey(value);
+        // move the last occurrence into the freed slot
+        int last = occurrences.size() - 1;
+        T moved = occurrences.remove(last);
+        if (position != last) {
+            occurrences.set(position, moved);
+            List<Integer> movedPositions = positions.get(moved);
+            movedPositions.set(movedPositions.lastIndexOf(last), position);
+        }
     }
 
+    public synchronized boolean hasConstant(T value) {
+        return positions.containsKey(value);
+    }
 
-    public T getRandomConstant() {
+    public synchronized T getRandomConstant() {
         //special case
-        if (numConstants == 0) {
+        if (occurrences.isEmpty()) {
             throw new IllegalArgumentException("Cannot select from empty pool");
         }
 
-        double rnd = Randomness.nextDouble() * numConstants;
-
-        for (Map.Entry<T, Integer> entry : constants.entrySet()) {
-            int num = entry.getValue();
-            if (num > rnd) {
-                return entry.getKey();
-            } else {
-                rnd = rnd - num;
-            }
-        }
-
-        // Shouldn't happen
-        return Randomness.choice(constants.keySet());
+        return occurrences.get(Randomness.nextInt(occurrences.size()));
     }
 
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.seeding;
+
+import org.evosuite.utils.Randomness;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Append-only set of constants that is sampled uniformly in constant time, without copying the
+ * pool. Values are deduplicated on insertion and kept in insertion order.
+ * <p>
+ * Insertions are synchronized, sampling is not: the value array and the number of values are
+ * published together in an immutable snapshot, and the slots of published values are never
+ * written again.
+ *
+ * @param <T> the type of the constants
+ */
+class IndexedPool<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final class Snapshot {
+
+        private final Object[] values;
+
+        private final int size;
+
+        private Snapshot(Object[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+    }
+
+    private final Set<T> members = new HashSet<>();
+
+    private volatile Snapshot snapshot = new Snapshot(new Object[INITIAL_CAPACITY], 0);
+
+    /**
+     * Adds the value if it is not in the pool yet
+     *
+     * @param value
+     * @return true if the value was added
+     */
+    public synchronized boolean add(T value) {
+        if (!members.add(value)) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        Object[] values = current.values;
+        if (current.size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[current.size] = value;
+        snapshot = new Snapshot(values, current.size + 1);
+        return true;
+    }
+
+    public int size() {
+        return snapshot.size;
+    }
+
+    /**
+     * @return a value chosen uniformly at random, or null if the pool is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T getRandomValue() {
+        Snapshot current = snapshot;
+        if (current.size == 0) {
+            return null;
+        }
+        return (T) current.values[Randomness.nextInt(current.size)];
+    }
+}
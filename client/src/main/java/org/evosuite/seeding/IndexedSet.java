@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.seeding;
+
+import org.evosuite.utils.Randomness;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Set backed by a list, so that a random element is chosen in constant time. Elements are removed
+ * by moving the last element into their slot, so the order of the elements is not preserved.
+ *
+ * @param <T> the type of the elements
+ */
+class IndexedSet<T> extends AbstractSet<T> implements Serializable {
+
+    private static final long serialVersionUID = -3350786093473962367L;
+
+    private final List<T> elements = new ArrayList<>();
+
+    /**
+     * Position of each element in {@link #elements}
+     */
+    private final Map<T, Integer> positions = new HashMap<>();
+
+    public IndexedSet() {
+    }
+
+    public IndexedSet(Collection<? extends T> elements) {
+        addAll(elements);
+    }
+
+    @Override
+    public boolean add(T element) {
+        if (positions.containsKey(element)) {
+            return false;
+        }
+        positions.put(element, elements.size());
+        elements.add(element);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object element) {
+        Integer position = positions.remove(element);
+        if (position == null) {
+            return false;
+        }
+        removeAt(position);
+        return true;
+    }
+
+    private void removeAt(int position) {
+        T last = elements.remove(elements.size() - 1);
+        if (position < elements.size()) {
+            elements.set(position, last);
+            positions.put(last, position);
+        }
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return positions.containsKey(element);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public void clear() {
+        elements.clear();
+        positions.clear();
+    }
+
+    /**
+     * @return an element chosen uniformly at random, or null if the set is empty
+     */
+    public T getRandomElement() {
+        return Randomness.choice(elements);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+
+            private int next = 0;
+
+            private int lastReturned = -1;
+
+            @Override
+            public boolean hasNext() {
+                return next < elements.size();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                lastReturned = next++;
+                return elements.get(lastReturned);
+            }
+
+            @Override
+            public void remove() {
+                if (lastReturned < 0) {
+                    throw new IllegalStateException();
+                }
+                positions.remove(elements.get(lastReturned));
+                removeAt(lastReturned);
+                // the last element was moved into the removed slot, and is visited next
+                next = lastReturned;
+                lastReturned = -1;
+            }
+        };
+    }
+}
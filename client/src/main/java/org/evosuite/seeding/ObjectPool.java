@@ -69,7 +69,7 @@ public class ObjectPool implements Serializable {
      */
     private void addSequence(ObjectSequence sequence) {
         if (!pool.containsKey(sequence.getGeneratedClass()))
-            pool.put(sequence.getGeneratedClass(), new HashSet<>());
+            pool.put(sequence.getGeneratedClass(), new IndexedSet<>());
 
         pool.get(sequence.getGeneratedClass()).add(sequence.getSequence());
         logger.info("Added new sequence for " + sequence.getGeneratedClass());
@@ -83,8 +83,13 @@ public class ObjectPool implements Serializable {
      * @param clazz a {@link java.lang.reflect.Type} object.
      * @return a {@link org.evosuite.testcase.TestCase} object.
      */
+    @SuppressWarnings("unchecked")
     public TestCase getRandomSequence(GenericClass<?> clazz) {
-        return Randomness.choice(getSequences(clazz));
+        Set<TestCase> sequences = getSequences(clazz);
+        if (sequences instanceof IndexedSet) {
+            return ((IndexedSet<TestCase>) sequences).getRandomElement();
+        }
+        return Randomness.choice(sequences);
     }
 
     /**
@@ -97,7 +102,7 @@ public class ObjectPool implements Serializable {
         if (pool.containsKey(clazz))
             return pool.get(clazz);
 
-        Set<Set<TestCase>> candidates = new LinkedHashSet<>();
+        List<Set<TestCase>> candidates = new ArrayList<>();
         for (GenericClass<?> poolClazz : pool.keySet()) {
             if (poolClazz.isAssignableTo(clazz))
                 candidates.add(pool.get(poolClazz));
@@ -158,6 +163,13 @@ public class ObjectPool implements Serializable {
         return null;
     }
 
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // Pools written before the sequences were indexed hold plain sets
+        pool.replaceAll((clazz, sequences) ->
+                sequences instanceof IndexedSet ? sequences : new IndexedSet<>(sequences));
+    }
+
     protected void filterUnaccessibleTests() {
         for (Set<TestCase> testSet : pool.values()) {
             Iterator<TestCase> testIterator = testSet.iterator();
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.seeding;
+
+import org.evosuite.utils.Randomness;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * {@link IndexedPool} of numeric constants kept in a primitive array. Each value is stored as
+ * 64 bits: ints and longs as they are, floats and doubles as their
+ * {@link Float#floatToIntBits(float)} and {@link Double#doubleToLongBits(double)} bits, which
+ * deduplicates them as {@link Float#equals(Object)} and {@link Double#equals(Object)} do.
+ */
+class PrimitivePool {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final class Snapshot {
+
+        private final long[] values;
+
+        private final int size;
+
+        private Snapshot(long[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+    }
+
+    private final Set<Long> members = new HashSet<>();
+
+    private volatile Snapshot snapshot = new Snapshot(new long[INITIAL_CAPACITY], 0);
+
+    private synchronized void addBits(long bits) {
+        if (!members.add(bits)) {
+            return;
+        }
+        Snapshot current = snapshot;
+        long[] values = current.values;
+        if (current.size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[current.size] = bits;
+        snapshot = new Snapshot(values, current.size + 1);
+    }
+
+    private long getRandomBits() {
+        Snapshot current = snapshot;
+        if (current.size == 0) {
+            throw new IllegalStateException("Cannot select from empty pool");
+        }
+        return current.values[Randomness.nextInt(current.size)];
+    }
+
+    public void add(int value) {
+        addBits(value);
+    }
+
+    public void add(long value) {
+        addBits(value);
+    }
+
+    public void add(float value) {
+        addBits(Float.floatToIntBits(value));
+    }
+
+    public void add(double value) {
+        addBits(Double.doubleToLongBits(value));
+    }
+
+    public int size() {
+        return snapshot.size;
+    }
+
+    public int getRandomInt() {
+        return (int) getRandomBits();
+    }
+
+    public long getRandomLong() {
+        return getRandomBits();
+    }
+
+    public float getRandomFloat() {
+        return Float.intBitsToFloat((int) getRandomBits());
+    }
+
+    public double getRandomDouble() {
+        return Double.longBitsToDouble(getRandomBits());
+    }
+}
@@ -22,29 +22,24 @@ package org.evosuite.seeding;
 
 import org.evosuite.Properties;
 import org.evosuite.utils.LoggingUtils;
-import org.evosuite.utils.Randomness;
 import org.objectweb.asm.Type;
 
-import java.util.Collections;
-import java.util.LinkedHashSet;
-import java.util.Set;
-
 /**
  * @author Gordon Fraser
  */
 public class StaticConstantPool implements ConstantPool {
 
-    private final Set<String> stringPool = Collections.synchronizedSet(new LinkedHashSet<>());
+    private final IndexedPool<String> stringPool = new IndexedPool<>();
 
-    private final Set<Type> typePool = Collections.synchronizedSet(new LinkedHashSet<>());
+    private final IndexedPool<Type> typePool = new IndexedPool<>();
 
-    private final Set<Integer> intPool = Collections.synchronizedSet(new LinkedHashSet<>());
+    private final PrimitivePool intPool = new PrimitivePool();
 
-    private final Set<Double> doublePool = Collections.synchronizedSet(new LinkedHashSet<>());
+    private final PrimitivePool doublePool = new PrimitivePool();
 
-    private final Set<Long> longPool = Collections.synchronizedSet(new LinkedHashSet<>());
+    private final PrimitivePool longPool = new PrimitivePool();
 
-    private final Set<Float> floatPool = Collections.synchronizedSet(new LinkedHashSet<>());
+    private final PrimitivePool floatPool = new PrimitivePool();
 
     public StaticConstantPool() {
         /*
@@ -85,12 +80,12 @@ public class StaticConstantPool implements ConstantPool {
      */
     @Override
     public String getRandomString() {
-        return Randomness.choice(stringPool);
+        return stringPool.getRandomValue();
     }
 
     @Override
     public Type getRandomType() {
-        return Randomness.choice(typePool);
+        return typePool.getRandomValue();
     }
 
     /**
@@ -102,8 +97,7 @@ public class StaticConstantPool implements ConstantPool {
      */
     @Override
     public int getRandomInt() {
-        int r = Randomness.choice(intPool);
-        return r;
+        return intPool.getRandomInt();
     }
 
     /**
@@ -115,7 +109,7 @@ public class StaticConstantPool implements ConstantPool {
      */
     @Override
     public float getRandomFloat() {
-        return Randomness.choice(floatPool);
+        return floatPool.getRandomFloat();
     }
 
     /**
@@ -127,7 +121,7 @@ public class StaticConstantPool implements ConstantPool {
      */
     @Override
     public double getRandomDouble() {
-        return Randomness.choice(doublePool);
+        return doublePool.getRandomDouble();
     }
 
     /**
@@ -139,7 +133,7 @@ public class StaticConstantPool implements ConstantPool {
      */
     @Override
     public long getRandomLong() {
-        return Randomness.choice(longPool);
+        return longPool.getRandomLong();
     }
 
     /**
@@ -173,37 +167,37 @@ public class StaticConstantPool implements ConstantPool {
             if (Properties.RESTRICT_POOL) {
                 int val = (Integer) object;
                 if (Math.abs(val) < Properties.MAX_INT) {
-                    intPool.add((Integer) object);
+                    intPool.add((int) object);
                 }
             } else {
-                intPool.add((Integer) object);
+                intPool.add((int) object);
             }
         } else if (object instanceof Long) {
             if (Properties.RESTRICT_POOL) {
                 long val = (Long) object;
                 if (Math.abs(val) < Properties.MAX_INT) {
-                    longPool.add((Long) object);
+                    longPool.add((long) object);
                 }
             } else {
-                longPool.add((Long) object);
+                longPool.add((long) object);
             }
         } else if (object instanceof Float) {
             if (Properties.RESTRICT_POOL) {
                 float val = (Float) object;
                 if (Math.abs(val) < Properties.MAX_INT) {
-                    floatPool.add((Float) object);
+                    floatPool.add((float) object);
                 }
             } else {
-                floatPool.add((Float) object);
+                floatPool.add((float) object);
             }
         } else if (object instanceof Double) {
             if (Properties.RESTRICT_POOL) {
                 double val = (Double) object;
                 if (Math.abs(val) < Properties.MAX_INT) {
-                    doublePool.add((Double) object);
+                    doublePool.add((double) object);
                 }
             } else {
-                doublePool.add((Double) object);
+                doublePool.add((double) object);
             }
         } else {
             LoggingUtils.getEvoLogger().info("Constant of unknown type: "
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.setup;
+
+import org.evosuite.utils.Randomness;
+import org.evosuite.utils.generic.GenericAccessibleObject;
+import org.evosuite.utils.generic.GenericClass;
+
+import java.lang.reflect.Type;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable, array-backed view of the generators of one type, used to pick random generators
+ * without copying and filtering the set of generators on every call.
+ *
+ * <p>
+ * For each type of variable that must not be the owner of the chosen generator, the generators
+ * whose owner type the variable is assignable to are computed once and kept as a bit set.
+ * </p>
+ */
+final class GeneratorIndex {
+
+    private final GenericAccessibleObject<?>[] generators;
+
+    private final Set<GenericAccessibleObject<?>> generatorSet;
+
+    /**
+     * Generators that need no owner instance, i.e. constructors and static members
+     */
+    private final BitSet staticOrConstructor = new BitSet();
+
+    /**
+     * Distinct owner types, and the position of the owner type of each generator
+     */
+    private final Type[] ownerTypes;
+
+    private final int[] ownerOf;
+
+    /**
+     * Generators owned by a type that variables of the key type are assignable to
+     */
+    private final Map<GenericClass<?>, BitSet> ownedByAssignable = new ConcurrentHashMap<>();
+
+    GeneratorIndex(Collection<GenericAccessibleObject<?>> generators) {
+        this.generatorSet = Collections.unmodifiableSet(new LinkedHashSet<>(generators));
+        this.generators = generatorSet.toArray(new GenericAccessibleObject<?>[0]);
+        this.ownerOf = new int[this.generators.length];
+
+        Map<Type, Integer> owners = new LinkedHashMap<>();
+        for (int i = 0; i < this.generators.length; i++) {
+            GenericAccessibleObject<?> generator = this.generators[i];
+            if (generator.isStatic() || generator.isConstructor()) {
+                staticOrConstructor.set(i);
+            }
+            Integer owner = owners.get(generator.getOwnerType());
+            if (owner == null) {
+                owner = owners.size();
+                owners.put(generator.getOwnerType(), owner);
+            }
+            ownerOf[i] = owner;
+        }
+        this.ownerTypes = owners.keySet().toArray(new Type[0]);
+    }
+
+    public int size() {
+        return generators.length;
+    }
+
+    public boolean isEmpty() {
+        return generators.length == 0;
+    }
+
+    /**
+     * @return the generators, in insertion order
+     */
+    public Set<GenericAccessibleObject<?>> asSet() {
+        return generatorSet;
+    }
+
+    /**
+     * Randomly select one of the generators
+     *
+     * @return {@code null} if there are no generators
+     */
+    public GenericAccessibleObject<?> choice() {
+        if (generators.length == 0) {
+            return null;
+        }
+        return generators[Randomness.nextInt(generators.length)];
+    }
+
+    /**
+     * Randomly select one of the generators that are not excluded. This picks the same generator
+     * as {@link Randomness#choice(Collection)} on the filtered set of generators would.
+     *
+     * @param excluded                  generators that must not be chosen
+     * @param excludedOwner             if not {@code null}, generators whose owner a variable of this
+     *                                  type is assignable to must not be chosen
+     * @param preferStaticOrConstructor only choose among constructors and static members, if any of
+     *                                  them can be chosen
+     * @return {@code null} if no generator can be chosen
+     */
+    public GenericAccessibleObject<?> choice(Set<GenericAccessibleObject<?>> excluded,
+                                             GenericClass<?> excludedOwner, boolean preferStaticOrConstructor) {
+        BitSet blocked = excludedOwner == null ? null : getOwnedByAssignable(excludedOwner);
+
+        int candidates = 0;
+        int preferred = 0;
+        for (int i = 0; i < generators.length; i++) {
+            if (isCandidate(i, excluded, blocked)) {
+                candidates++;
+                if (staticOrConstructor.get(i)) {
+                    preferred++;
+                }
+            }
+        }
+        if (candidates == 0) {
+            return null;
+        }
+
+        boolean onlyPreferred = preferStaticOrConstructor && preferred > 0;
+        int position = Randomness.nextInt(onlyPreferred ? preferred : candidates);
+        for (int i = 0; i < generators.length; i++) {
+            if (isCandidate(i, excluded, blocked) && (!onlyPreferred || staticOrConstructor.get(i))) {
+                if (position == 0) {
+                    return generators[i];
+                }
+                position--;
+            }
+        }
+        throw new IllegalStateException("Generator index changed while choosing a generator");
+    }
+
+    private boolean isCandidate(int i, Set<GenericAccessibleObject<?>> excluded, BitSet blocked) {
+        if (blocked != null && blocked.get(i)) {
+            return false;
+        }
+        return excluded == null || excluded.isEmpty() || !excluded.contains(generators[i]);
+    }
+
+    private BitSet getOwnedByAssignable(GenericClass<?> variableClass) {
+        return ownedByAssignable.computeIfAbsent(variableClass, clazz -> {
+            BitSet assignableOwners = new BitSet(ownerTypes.length);
+            for (int owner = 0; owner < ownerTypes.length; owner++) {
+                if (clazz.isAssignableTo(ownerTypes[owner])) {
+                    assignableOwners.set(owner);
+                }
+            }
+            BitSet owned = new BitSet(generators.length);
+            for (int i = 0; i < generators.length; i++) {
+                if (assignableOwners.get(ownerOf[i])) {
+                    owned.set(i);
+                }
+            }
+            return owned;
+        });
+    }
+}
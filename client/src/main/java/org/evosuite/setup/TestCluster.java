@@ -69,6 +69,14 @@ public class TestCluster {
      */
     private final static Set<GenericAccessibleObject<?>> testMethods = new LinkedHashSet<>();
 
+    /**
+     * Cached list views of {@link #testMethods}, all of them and only those that are not
+     * constructors. {@code null} if they need to be recomputed
+     */
+    private static List<GenericAccessibleObject<?>> testMethodList = null;
+
+    private static List<GenericAccessibleObject<?>> nonConstructorTestMethodList = null;
+
     /**
      * Methods used to modify and set the environment of the UUT
      */
@@ -82,7 +90,7 @@ public class TestCluster {
     /**
      * Cached information about how to generate types
      */
-    private final static Map<GenericClass<?>, Set<GenericAccessibleObject<?>>> generatorCache = new LinkedHashMap<>();
+    private final static Map<GenericClass<?>, GeneratorIndex> generatorCache = new LinkedHashMap<>();
 
     /**
      * Static information about how to modify types
@@ -118,10 +126,13 @@ public class TestCluster {
     public static void reset() {
         analyzedClasses.clear();
         testMethods.clear();
+        testMethodList = null;
+        nonConstructorTestMethodList = null;
         generators.clear();
         generatorCache.clear();
         modifiers.clear();
         CastClassManager.getInstance().clear();
+        GenericTypeCache.getInstance().clear();
 
         instance = null;
     }
@@ -214,7 +225,7 @@ public class TestCluster {
                     continue;
                 }
 
-                for (GenericAccessibleObject<?> genOwner : generatorCache.get(owner)) {
+                for (GenericAccessibleObject<?> genOwner : generatorCache.get(owner).asSet()) {
                     if (genOwner.isStatic()) {
                         continue; //as there is no need to instantiate X, it is not an issue
                     }
@@ -360,10 +371,14 @@ public class TestCluster {
     public void addTestCall(GenericAccessibleObject<?> call) throws IllegalArgumentException {
         Inputs.checkNull(call);
         testMethods.add(call);
+        testMethodList = null;
+        nonConstructorTestMethodList = null;
     }
 
     public void removeTestCall(GenericAccessibleObject<?> call) {
         testMethods.remove(call);
+        testMethodList = null;
+        nonConstructorTestMethodList = null;
     }
 
 
@@ -502,7 +517,7 @@ public class TestCluster {
 
 
         logger.debug("]");
-        generatorCache.put(clazz, targetGenerators);
+        generatorCache.put(clazz, new GeneratorIndex(targetGenerators));
     }
 
     /**
@@ -804,7 +819,7 @@ public class TestCluster {
         if (!hasGenerator(clazz))
             throw new ConstructionFailedException("No generators of type " + clazz);
 
-        return generatorCache.get(clazz);
+        return generatorCache.get(clazz).asSet();
     }
 
     /**
@@ -827,7 +842,7 @@ public class TestCluster {
                 throw new ConstructionFailedException("No generators of type " + clazz);
             }
 
-            Set<GenericAccessibleObject<?>> all = new LinkedHashSet<>(generatorCache.get(clazz));
+            Set<GenericAccessibleObject<?>> all = new LinkedHashSet<>(generatorCache.get(clazz).asSet());
 
             for (GenericAccessibleObject<?> call : all) {
                 // TODO: Need to instantiate, or check?
@@ -855,11 +870,11 @@ public class TestCluster {
             if (!generatorCache.containsKey(clazz)) {
                 cacheGenerators(clazz);
             }
-            Set<GenericAccessibleObject<?>> all = new LinkedHashSet<>(generatorCache.get(clazz));
+            Set<GenericAccessibleObject<?>> all = new LinkedHashSet<>(generatorCache.get(clazz).asSet());
 
             if (all.isEmpty()) {
                 addNumericConstructor(clazz);
-                all.addAll(generatorCache.get(clazz));
+                all.addAll(generatorCache.get(clazz).asSet());
             }
 
             for (GenericAccessibleObject<?> call : all) {
@@ -878,7 +893,7 @@ public class TestCluster {
             // FIXXME: This is a workaround for the temporary workaround.
             if (calls.isEmpty()) {
                 addNumericConstructor(clazz);
-                return generatorCache.get(clazz);
+                return generatorCache.get(clazz).asSet();
 
             }
         }
@@ -893,8 +908,9 @@ public class TestCluster {
      * @param clazz
      */
     private void addNumericConstructor(GenericClass<?> clazz) {
-        if (!generatorCache.containsKey(clazz)) {
-            generatorCache.put(clazz, new LinkedHashSet<>());
+        Set<GenericAccessibleObject<?>> cached = new LinkedHashSet<>();
+        if (generatorCache.containsKey(clazz)) {
+            cached.addAll(generatorCache.get(clazz).asSet());
         }
         if (!generators.containsKey(clazz)) {
             generators.put(clazz, new LinkedHashSet<>());
@@ -906,11 +922,12 @@ public class TestCluster {
                 if (!parameterClass.equals(String.class)) {
                     GenericConstructor genericConstructor = new GenericConstructor(
                             constructor, clazz);
-                    generatorCache.get(clazz).add(genericConstructor);
+                    cached.add(genericConstructor);
                     generators.get(clazz).add(genericConstructor);
                 }
             }
         }
+        generatorCache.put(clazz, new GeneratorIndex(cached));
         logger.info("Constructors for class " + clazz + ": "
                 + generators.get(clazz).size());
 
@@ -993,7 +1010,7 @@ public class TestCluster {
             if (!hasGenerator(clazz))
                 throw new ConstructionFailedException("No generators of type " + clazz);
 
-            generator = Randomness.choice(generatorCache.get(clazz));
+            generator = generatorCache.get(clazz).choice();
         }
 
         if (generator == null)
@@ -1042,35 +1059,23 @@ public class TestCluster {
             }
         } else {
             cacheGenerators(clazz);
-            Set<GenericAccessibleObject<?>> candidates = new LinkedHashSet<>(generatorCache.get(clazz));
-            candidates.removeAll(excluded);
 
-            if (generatorRefToExclude != null) {
-                //if current generator could be called from excluded ref, then we cannot use it
-                candidates.removeIf(gam -> generatorRefToExclude.isAssignableTo(gam.getOwnerType()));
-            }
+			/*
+				if going long into the recursion, then do prefer direct constructors or static methods,
+				as non-static methods would require to get a caller which, if it is missing, would need
+				to be created, and that could lead to further calls if its generators need input parameters
+			 */
+            boolean preferStaticOrConstructor = recursionDepth >= Properties.MAX_RECURSION / 2;
 
-            logger.debug("Candidate generators for " + clazz + ": " + candidates.size());
+            //if current generator could be called from excluded ref, then we cannot use it
+            generator = generatorCache.get(clazz).choice(excluded,
+                    generatorRefToExclude == null ? null : generatorRefToExclude.getGenericClass(),
+                    preferStaticOrConstructor);
 
-            if (candidates.isEmpty()) {
+            if (generator == null) {
+                logger.debug("No candidate generators for " + clazz);
                 return null;
             }
-
-            if (recursionDepth >= Properties.MAX_RECURSION / 2) {
-				/*
-					if going long into the recursion, then do prefer direct constructors or static methods,
-					as non-static methods would require to get a caller which, if it is missing, would need
-					to be created, and that could lead to further calls if its generators need input parameters
-				 */
-                Set<GenericAccessibleObject<?>> set = candidates.stream()
-                        .filter(p -> p.isStatic() || p.isConstructor())
-                        .collect(toCollection(LinkedHashSet::new));
-                if (!set.isEmpty()) {
-                    candidates = set;
-                }
-            }
-
-            generator = Randomness.choice(candidates);
             logger.debug("Chosen generator: " + generator);
         }
 
@@ -1229,7 +1234,7 @@ public class TestCluster {
      */
     public GenericAccessibleObject<?> getRandomTestCall(TestCase test)
             throws ConstructionFailedException {
-        List<GenericAccessibleObject<?>> candidateTestMethods = new ArrayList<>(testMethods);
+        List<GenericAccessibleObject<?>> candidateTestMethods = getTestMethodList();
 
         if (candidateTestMethods.isEmpty()) {
             logger.debug("No more calls");
@@ -1239,10 +1244,9 @@ public class TestCluster {
 
         // If test already has a SUT call, remove all constructors
         if (doesTestHaveSUTInstance(test)) {
-            candidateTestMethods = filterConstructors(candidateTestMethods);
             // It may happen that all remaining test calls are constructors. In this case it's ok.
-            if (candidateTestMethods.isEmpty())
-                candidateTestMethods = new ArrayList<>(testMethods);
+            if (!getNonConstructorTestMethodList().isEmpty())
+                candidateTestMethods = getNonConstructorTestMethodList();
         }
 
 
@@ -1271,6 +1275,20 @@ public class TestCluster {
     }
 
 
+    private static List<GenericAccessibleObject<?>> getTestMethodList() {
+        if (testMethodList == null) {
+            testMethodList = Collections.unmodifiableList(new ArrayList<>(testMethods));
+        }
+        return testMethodList;
+    }
+
+    private List<GenericAccessibleObject<?>> getNonConstructorTestMethodList() {
+        if (nonConstructorTestMethodList == null) {
+            nonConstructorTestMethodList = Collections.unmodifiableList(filterConstructors(getTestMethodList()));
+        }
+        return nonConstructorTestMethodList;
+    }
+
     public int getNumTestCalls() {
         return testMethods.size();
     }
@@ -626,7 +626,31 @@ public enum RuntimeVariable {
      */
     QueryCacheSize,
     QueryCacheCalls,
-    QueryCacheHitRate;
+    QueryCacheHitRate,
+    /**
+     * Results of the solver found in the SolverCache
+     */
+    SolverCacheHitRate,
+    SolverCacheEvictions,
+    /**
+     * Time the solver took to compute the results that were then found in the SolverCache
+     */
+    SolverCacheSavedSolvingTime,
+
+    /* -------------------------------------------------------------------- */
+    /******* MOSAllisa related section *******/
+
+    /**
+     * Number of calls made to GPT to obtain tests to carve, and how many of them succeeded
+     */
+    GPTCarvingCalls,
+    GPTSuccessfulCarvingCalls,
+
+    /**
+     * GPT response cache statistics
+     */
+    GPTCacheHits,
+    GPTCacheMisses;
 
     /* -------------------------------------------------- */
 
@@ -28,6 +28,7 @@ import org.evosuite.ga.FitnessFunction;
 import org.evosuite.ga.TestSuiteChromosomeFactoryMock;
 import org.evosuite.ga.TestSuiteFitnessFunctionMock;
 import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
+import org.evosuite.ga.metaheuristics.IslandModel;
 import org.evosuite.ga.stoppingconditions.MaxStatementsStoppingCondition;
 import org.evosuite.result.TestGenerationResultBuilder;
 import org.evosuite.rmi.ClientServices;
@@ -87,6 +88,19 @@ public class MOSuiteStrategy extends TestGenerationStrategy {
 
         algorithm.addFitnessFunctions(fitnessFunctions);
 
+        IslandModel<TestSuiteChromosome> islands = null;
+        if (Properties.NUM_ISLANDS > 1) {
+            List<GeneticAlgorithm<TestSuiteChromosome>> algorithms = new ArrayList<>();
+            algorithms.add(algorithm);
+            for (int i = 1; i < Properties.NUM_ISLANDS; i++) {
+                GeneticAlgorithm<TestSuiteChromosome> island = algorithmFactory.getIslandAlgorithm();
+                island.setChromosomeFactory(factory);
+                island.addFitnessFunctions(fitnessFunctions);
+                algorithms.add(island);
+            }
+            islands = new IslandModel<>(algorithms);
+        }
+
         // if (Properties.SHOW_PROGRESS && !logger.isInfoEnabled())
         algorithm.addListener(progressMonitor); // FIXME progressMonitor may cause
         // client hang if EvoSuite is
@@ -115,7 +129,11 @@ public class MOSuiteStrategy extends TestGenerationStrategy {
                 ArrayUtil.contains(Properties.CRITERION, Criterion.AMBIGUITY))
             ExecutionTracer.enableTraceCalls();
 
-        algorithm.resetStoppingConditions();
+        if (islands != null) {
+            islands.resetStoppingConditions();
+        } else {
+            algorithm.resetStoppingConditions();
+        }
 
         TestSuiteChromosome testSuite = null;
 
@@ -125,9 +143,13 @@ public class MOSuiteStrategy extends TestGenerationStrategy {
             LoggingUtils.getEvoLogger().info("* " + ClientProcess.getPrettyPrintIdentifier() + "Starting evolution");
             ClientServices.getInstance().getClientNode().changeState(ClientState.SEARCH);
 
-            algorithm.generateSolution();
-
-            testSuite = algorithm.getBestIndividual();
+            if (islands != null) {
+                islands.generateSolution();
+                testSuite = islands.getBestIndividual();
+            } else {
+                algorithm.generateSolution();
+                testSuite = algorithm.getBestIndividual();
+            }
             if (testSuite.getTestChromosomes().isEmpty()) {
                 LoggingUtils.getEvoLogger().warn(ClientProcess.getPrettyPrintIdentifier() + "Could not generate any test case");
             }
@@ -152,7 +174,7 @@ public class MOSuiteStrategy extends TestGenerationStrategy {
         LoggingUtils.getEvoLogger().info("* " + ClientProcess.getPrettyPrintIdentifier() + "Search finished after "
                 + (endTime - startTime)
                 + "s and "
-                + algorithm.getAge()
+                + (islands != null ? islands.getAge() : algorithm.getAge())
                 + " generations, "
                 + MaxStatementsStoppingCondition.getNumExecutedStatements()
                 + text
@@ -294,12 +294,27 @@ public class PropertiesSuiteGAFactory
 
     @Override
     public GeneticAlgorithm<TestSuiteChromosome> getSearchAlgorithm() {
+        return getSearchAlgorithm(true);
+    }
+
+    /**
+     * Creates one more island of an {@link org.evosuite.ga.metaheuristics.IslandModel}, set up
+     * like {@link #getSearchAlgorithm()} except for what exists once per client: statistics, the
+     * dynamic search budget and the shutdown hooks are left to the first island.
+     *
+     * @return a new search algorithm
+     */
+    public GeneticAlgorithm<TestSuiteChromosome> getIslandAlgorithm() {
+        return getSearchAlgorithm(false);
+    }
+
+    private GeneticAlgorithm<TestSuiteChromosome> getSearchAlgorithm(boolean primary) {
         ChromosomeFactory<TestSuiteChromosome> factory = getChromosomeFactory();
 
         // FIXXME
         GeneticAlgorithm<TestSuiteChromosome> ga = getGeneticAlgorithm(factory);
 
-        if (Properties.NEW_STATISTICS)
+        if (Properties.NEW_STATISTICS && primary)
             ga.addListener(new StatisticsListener<>());
 
         // How to select candidates for reproduction
@@ -355,7 +370,10 @@ public class PropertiesSuiteGAFactory
         // ga.addListener(MutationStatistics.getInstance());
         // ga.addListener(BestChromosomeTracker.getInstance());
 
-        if (Properties.DYNAMIC_LIMIT) {
+        if (Properties.DYNAMIC_LIMIT && !primary) {
+            // the first island already scaled the budget
+            stopping_condition.setLimit(Properties.SEARCH_BUDGET);
+        } else if (Properties.DYNAMIC_LIMIT) {
             // max_s = GAProperties.generations * getBranches().size();
             // TODO: might want to make this dependent on the selected coverage
             // criterion
@@ -367,11 +385,11 @@ public class PropertiesSuiteGAFactory
             logger.info("Setting dynamic length limit to " + Properties.SEARCH_BUDGET);
         }
 
-        if (Properties.LOCAL_SEARCH_RESTORE_COVERAGE) {
+        if (Properties.LOCAL_SEARCH_RESTORE_COVERAGE && primary) {
             ga.addListener(BranchCoverageMap.getInstance());
         }
 
-        if (Properties.SHUTDOWN_HOOK) {
+        if (Properties.SHUTDOWN_HOOK && primary) {
             // ShutdownTestWriter writer = new
             // ShutdownTestWriter(Thread.currentThread());
             ShutdownTestWriter<TestSuiteChromosome> writer = new ShutdownTestWriter<>();
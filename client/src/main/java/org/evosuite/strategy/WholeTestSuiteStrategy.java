@@ -24,6 +24,7 @@ import org.evosuite.Properties.Criterion;
 import org.evosuite.coverage.TestFitnessFactory;
 import org.evosuite.ga.FitnessFunction;
 import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
+import org.evosuite.ga.metaheuristics.IslandModel;
 import org.evosuite.ga.stoppingconditions.MaxStatementsStoppingCondition;
 import org.evosuite.result.TestGenerationResultBuilder;
 import org.evosuite.rmi.ClientServices;
@@ -64,6 +65,18 @@ public class WholeTestSuiteStrategy extends TestGenerationStrategy {
         List<TestSuiteFitnessFunction> fitnessFunctions = getFitnessFunctions();
 
         algorithm.addFitnessFunctions(fitnessFunctions);
+
+        IslandModel<TestSuiteChromosome> islands = null;
+        if (Properties.NUM_ISLANDS > 1) {
+            List<GeneticAlgorithm<TestSuiteChromosome>> algorithms = new ArrayList<>();
+            algorithms.add(algorithm);
+            for (int i = 1; i < Properties.NUM_ISLANDS; i++) {
+                GeneticAlgorithm<TestSuiteChromosome> island = algorithmFactory.getIslandAlgorithm();
+                island.addFitnessFunctions(fitnessFunctions);
+                algorithms.add(island);
+            }
+            islands = new IslandModel<>(algorithms);
+        }
 //		for(TestSuiteFitnessFunction f : fitnessFunctions) 
 //			algorithm.addFitnessFunction(f);
 
@@ -84,7 +97,11 @@ public class WholeTestSuiteStrategy extends TestGenerationStrategy {
 
         // TODO: why it was only if "analyzing"???
         // if (analyzing)
-        algorithm.resetStoppingConditions();
+        if (islands != null) {
+            islands.resetStoppingConditions();
+        } else {
+            algorithm.resetStoppingConditions();
+        }
 
         List<TestFitnessFunction> goals = getGoals(true);
         if (!canGenerateTestsForSUT()) {
@@ -105,10 +122,15 @@ public class WholeTestSuiteStrategy extends TestGenerationStrategy {
             LoggingUtils.getEvoLogger().info("* Starting evolution");
             ClientServices.getInstance().getClientNode().changeState(ClientState.SEARCH);
 
-            algorithm.generateSolution();
-            // TODO: Refactor MOO!
-            // bestSuites = (List<TestSuiteChromosome>) ga.getBestIndividuals();
-            testSuite = algorithm.getBestIndividual();
+            if (islands != null) {
+                islands.generateSolution();
+                testSuite = islands.getBestIndividual();
+            } else {
+                algorithm.generateSolution();
+                // TODO: Refactor MOO!
+                // bestSuites = (List<TestSuiteChromosome>) ga.getBestIndividuals();
+                testSuite = algorithm.getBestIndividual();
+            }
         } else {
             zeroFitness.setFinished();
             testSuite = new TestSuiteChromosome();
@@ -130,7 +152,7 @@ public class WholeTestSuiteStrategy extends TestGenerationStrategy {
             LoggingUtils.getEvoLogger().info("* Search finished after "
                     + (endTime - startTime)
                     + "s and "
-                    + algorithm.getAge()
+                    + (islands != null ? islands.getAge() : algorithm.getAge())
                     + " generations, "
                     + MaxStatementsStoppingCondition.getNumExecutedStatements()
                     + " statements, best individual has fitness: "
@@ -633,6 +633,7 @@ public class DSEStatistics {
         trackConstraintTypes();
         trackSolverStatistics();
         trackQueryCacheStatistics();
+        trackSolverCacheStatistics();
         trackExplorationStatistics();
         trackExecutionTimeStatistics();
     }
@@ -690,6 +691,16 @@ public class DSEStatistics {
         trackOutputVariable(RuntimeVariable.QueryCacheHitRate, getQueryCacheHitRate(queryCacheHits, queryCacheCalls));
     }
 
+    /**
+     * Sets the solver cache related output variables to be saved.
+     */
+    private void trackSolverCacheStatistics() {
+        SolverCache cache = SolverCache.getInstance();
+        trackOutputVariable(RuntimeVariable.SolverCacheHitRate, cache.getHitRate());
+        trackOutputVariable(RuntimeVariable.SolverCacheEvictions, cache.getNumberOfEvictions());
+        trackOutputVariable(RuntimeVariable.SolverCacheSavedSolvingTime, cache.getSavedSolvingTimeMillis());
+    }
+
     /**
      * Sets the path exploration related output variables to be saved.
      */
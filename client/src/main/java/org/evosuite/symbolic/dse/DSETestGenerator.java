@@ -39,6 +39,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.Future;
 
 /**
  * Attempts to create a new test case by applying DSE. The algorithm
@@ -115,16 +116,10 @@ public class DSETestGenerator {
         List<Integer> conditionIndexesNotCoveredTwoWays = computeConditionIndexesNotCoveredTwoWays(test,
                 collectedPathCondition);
 
-        //
+        List<List<Constraint<?>>> queries = new ArrayList<>();
         for (int conditionIndex = 0; conditionIndex < collectedPathCondition.size(); conditionIndex++) {
             BranchCondition condition = collectedPathCondition.get(conditionIndex);
 
-            if (LocalSearchBudget.getInstance().isFinished()) {
-                logger.debug("Local search budget used up: " + Properties.LOCAL_SEARCH_BUDGET_TYPE);
-                break;
-            }
-            logger.debug("Local search budget not yet used up");
-
             if (!conditionIndexesNotCoveredTwoWays.contains(conditionIndex)) {
                 // skip branches covered two ways
                 continue;
@@ -144,55 +139,82 @@ public class DSETestGenerator {
             }
             logger.info("Is relevant for " + symbolicVariables);
 
-            List<Constraint<?>> query = SolverUtils.buildQueryNegatingIthCondition(collectedPathCondition, conditionIndex);
+            queries.add(SolverUtils.buildQueryNegatingIthCondition(collectedPathCondition, conditionIndex));
+        }
 
-            logger.info("Trying to solve: ");
-            for (Constraint<?> c : query) {
-                logger.info("  " + c);
-            }
+        // the negated conditions are independent, so they can be solved ahead of time
+        List<Future<SolverResult>> solutions = null;
+        if (Properties.DSE_SOLVER_THREADS > 1 && queries.size() > 1) {
+            solutions = SolverUtils.solveQueriesInParallel(queries);
+        }
+
+        try {
+            for (int queryIndex = 0; queryIndex < queries.size(); queryIndex++) {
+                if (LocalSearchBudget.getInstance().isFinished()) {
+                    logger.debug("Local search budget used up: " + Properties.LOCAL_SEARCH_BUDGET_TYPE);
+                    break;
+                }
+                logger.debug("Local search budget not yet used up");
+
+                List<Constraint<?>> query = queries.get(queryIndex);
 
-            DSEStatistics.getInstance().reportNewConstraints(query);
-
-            long startSolvingTime = System.currentTimeMillis();
-
-            // Get solution
-            SolverResult solverResult = SolverUtils.solveQuery(query);
-
-            long estimatedSolvingTime = System.currentTimeMillis() - startSolvingTime;
-            DSEStatistics.getInstance().reportNewSolvingTime(estimatedSolvingTime);
-
-            if (solverResult == null) {
-                logger.info("Found no result");
-
-            } else if (solverResult.isUNSAT()) {
-                logger.info("Found UNSAT result");
-                DSEStatistics.getInstance().reportNewUNSAT();
-            } else {
-                logger.info("Found SAT result");
-                DSEStatistics.getInstance().reportNewSAT();
-                Map<String, Object> model = solverResult.getModel();
-                TestCase oldTest = test.getTestCase();
-                ExecutionResult oldResult = test.getLastExecutionResult().clone();
-                TestCase newTest = TestCaseUpdater.updateTest(oldTest, model);
-                logger.info("New test: " + newTest.toCode());
-                test.setTestCase(newTest);
-                // test.clearCachedMutationResults(); // TODO Mutation
-                test.clearCachedResults();
-
-                if (objective.hasImproved(test)) {
-                    DSEStatistics.getInstance().reportNewTestUseful();
-                    logger.info("Solution improves fitness, finishing DSE");
-                    /* new test was created */
-                    return test;
+                logger.info("Trying to solve: ");
+                for (Constraint<?> c : query) {
+                    logger.info("  " + c);
+                }
+
+                DSEStatistics.getInstance().reportNewConstraints(query);
+
+                // Get solution
+                SolverResult solverResult;
+                long estimatedSolvingTime;
+                if (solutions == null) {
+                    long startSolvingTime = System.currentTimeMillis();
+                    solverResult = SolverUtils.solveQuery(query);
+                    estimatedSolvingTime = System.currentTimeMillis() - startSolvingTime;
+                } else {
+                    solverResult = SolverUtils.getResult(solutions.get(queryIndex));
+                    estimatedSolvingTime = SolverUtils.getSolvingTime(solutions.get(queryIndex));
+                }
+                DSEStatistics.getInstance().reportNewSolvingTime(estimatedSolvingTime);
+
+                if (solverResult == null) {
+                    logger.info("Found no result");
+
+                } else if (solverResult.isUNSAT()) {
+                    logger.info("Found UNSAT result");
+                    DSEStatistics.getInstance().reportNewUNSAT();
                 } else {
-                    DSEStatistics.getInstance().reportNewTestUnuseful();
-                    test.setTestCase(oldTest);
-                    // FIXXME: How can this be null?
-                    if (oldResult != null)
-                        test.setLastExecutionResult(oldResult);
-                    // TODO Mutation
+                    logger.info("Found SAT result");
+                    DSEStatistics.getInstance().reportNewSAT();
+                    Map<String, Object> model = solverResult.getModel();
+                    TestCase oldTest = test.getTestCase();
+                    ExecutionResult oldResult = test.getLastExecutionResult().clone();
+                    TestCase newTest = TestCaseUpdater.updateTest(oldTest, model);
+                    logger.info("New test: " + newTest.toCode());
+                    test.setTestCase(newTest);
+                    // test.clearCachedMutationResults(); // TODO Mutation
+                    test.clearCachedResults();
+
+                    if (objective.hasImproved(test)) {
+                        DSEStatistics.getInstance().reportNewTestUseful();
+                        logger.info("Solution improves fitness, finishing DSE");
+                        /* new test was created */
+                        return test;
+                    } else {
+                        DSEStatistics.getInstance().reportNewTestUnuseful();
+                        test.setTestCase(oldTest);
+                        // FIXXME: How can this be null?
+                        if (oldResult != null)
+                            test.setLastExecutionResult(oldResult);
+                        // TODO Mutation
+                    }
                 }
             }
+        } finally {
+            if (solutions != null) {
+                SolverUtils.cancel(solutions);
+            }
         }
         /* no new test was created */
         return null;
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.utils.Randomness;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs several solvers on the same query in parallel, and returns the first SAT or UNSAT answer.
+ * The other solvers are then interrupted.
+ *
+ * <p>
+ * Solvers change the concrete values of the variables while solving (e.g. the AVM search), and
+ * the interrupted ones might still be running when the answer is returned, so each solver is given
+ * its own copy of the constraints. If the constraints cannot be copied, the solvers are run one
+ * after the other.
+ * </p>
+ */
+public final class PortfolioSolver extends Solver {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioSolver.class);
+
+    /**
+     * Threads of the portfolio solvers. A cached pool, as portfolios can be used from several
+     * threads at the same time. The threads do not own solver processes, these are borrowed from
+     * {@link SmtSolverSession} for each query, so threads can come and go.
+     */
+    private static final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "PortfolioSolver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final List<Solver> solvers;
+
+    /**
+     * @param solvers the solvers to run, the first one is the preferred one when none of them
+     *                gives a definitive answer
+     */
+    public PortfolioSolver(List<Solver> solvers) {
+        super();
+        if (solvers.isEmpty()) {
+            throw new IllegalArgumentException("A portfolio needs at least one solver");
+        }
+        this.solvers = Collections.unmodifiableList(new ArrayList<>(solvers));
+    }
+
+    @Override
+    public SolverResult executeSolver(Collection<Constraint<?>> constraints) throws SolverTimeoutException,
+            IOException, SolverParseException, SolverEmptyQueryException, SolverErrorException {
+
+        List<Collection<Constraint<?>>> queries = new ArrayList<>();
+        try {
+            for (int i = 0; i < solvers.size(); i++) {
+                queries.add(SerializationUtils.clone(new ArrayList<>(constraints)));
+            }
+        } catch (SerializationException e) {
+            logger.debug("Cannot copy the constraints, running the solvers sequentially: " + e.getMessage());
+            return executeSequentially(constraints);
+        }
+
+        CompletionService<SolverResult> completion = new ExecutorCompletionService<>(executor);
+        List<Future<SolverResult>> futures = new ArrayList<>();
+        for (int i = 0; i < solvers.size(); i++) {
+            Solver solver = solvers.get(i);
+            Collection<Constraint<?>> query = queries.get(i);
+            Random stream = Randomness.split();
+            futures.add(completion.submit(() -> Randomness.callWith(stream, () -> solver.executeSolver(query))));
+        }
+
+        SolverResult unknown = null;
+        Exception failure = null;
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                Future<SolverResult> future = completion.take();
+                try {
+                    SolverResult result = future.get();
+                    if (result != null && (result.isSAT() || result.isUNSAT())) {
+                        return result;
+                    }
+                    if (unknown == null) {
+                        unknown = result;
+                    }
+                } catch (ExecutionException e) {
+                    logger.debug("Solver of the portfolio failed: " + e.getCause());
+                    if (failure == null || e.getCause() instanceof SolverTimeoutException) {
+                        failure = asException(e.getCause());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SolverTimeoutException();
+        } finally {
+            for (Future<SolverResult> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        if (unknown != null || failure == null) {
+            return unknown;
+        }
+        throw rethrow(failure);
+    }
+
+    private SolverResult executeSequentially(Collection<Constraint<?>> constraints) throws SolverTimeoutException,
+            IOException, SolverParseException, SolverEmptyQueryException, SolverErrorException {
+        SolverResult unknown = null;
+        Exception failure = null;
+        for (Solver solver : solvers) {
+            try {
+                SolverResult result = solver.executeSolver(constraints);
+                if (result != null && (result.isSAT() || result.isUNSAT())) {
+                    return result;
+                }
+                if (unknown == null) {
+                    unknown = result;
+                }
+            } catch (SolverTimeoutException | IOException | SolverParseException | SolverEmptyQueryException
+                     | SolverErrorException e) {
+                if (failure == null || e instanceof SolverTimeoutException) {
+                    failure = e;
+                }
+            }
+        }
+        if (unknown != null || failure == null) {
+            return unknown;
+        }
+        throw rethrow(failure);
+    }
+
+    private static Exception asException(Throwable cause) {
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return (Exception) cause;
+    }
+
+    /**
+     * @return never returns normally, the return type is only there to make callers use throw
+     */
+    private static SolverErrorException rethrow(Exception e) throws SolverTimeoutException, IOException,
+            SolverParseException, SolverEmptyQueryException, SolverErrorException {
+        if (e instanceof SolverTimeoutException) {
+            throw (SolverTimeoutException) e;
+        } else if (e instanceof IOException) {
+            throw (IOException) e;
+        } else if (e instanceof SolverParseException) {
+            throw (SolverParseException) e;
+        } else if (e instanceof SolverEmptyQueryException) {
+            throw (SolverEmptyQueryException) e;
+        } else if (e instanceof SolverErrorException) {
+            throw (SolverErrorException) e;
+        } else if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        return new SolverErrorException("Solver of the portfolio failed: " + e);
+    }
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.apache.commons.exec.CommandLine;
+import org.evosuite.Properties;
+import org.evosuite.symbolic.solver.smt.SmtAssertion;
+import org.evosuite.symbolic.solver.smt.SmtConstantDeclaration;
+import org.evosuite.symbolic.solver.smt.SmtFunctionDeclaration;
+import org.evosuite.symbolic.solver.smt.SmtFunctionDefinition;
+import org.evosuite.symbolic.solver.smt.SmtOperatorCollector;
+import org.evosuite.symbolic.solver.smt.SmtOperation.Operator;
+import org.evosuite.symbolic.solver.smt.SmtQuery;
+import org.evosuite.symbolic.solver.smt.SmtQueryPrinter;
+import org.evosuite.symbolic.solver.smt.SmtVariable;
+import org.evosuite.symbolic.solver.smt.SmtVariableCollector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A solver process that is kept alive between queries, and that is given the queries
+ * incrementally.
+ *
+ * <p>
+ * The path conditions explored by DSE share long prefixes of constraints. Each assertion is
+ * pushed in its own frame, together with the declarations it introduces, so that a new query
+ * only pops the frames after the prefix it shares with the previous query, and pushes its
+ * remaining assertions. On timeouts and errors the process is killed, and a new one is launched
+ * for the next query.
+ * </p>
+ *
+ * <p>
+ * A session is used by one query at a time: it is taken with {@link #acquire(String)} and given
+ * back with {@link #release()}. Only as many idle sessions as there are threads solving queries
+ * are kept, the processes of the other ones are killed on release. The processes still alive are
+ * killed by {@link #closeAll()}, which is also called when the JVM shuts down.
+ * </p>
+ */
+public final class SmtSolverSession {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtSolverSession.class);
+
+    /**
+     * Sessions not used by any query, for each solver command
+     */
+    private static final Map<String, Deque<SmtSolverSession>> idleSessions = new HashMap<>();
+
+    /**
+     * Processes of all the sessions, whether they are in use or not
+     */
+    private static final Set<Process> liveProcesses = ConcurrentHashMap.newKeySet();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(SmtSolverSession::closeAll,
+                "SmtSolverSession shutdown"));
+    }
+
+    /**
+     * Put in the output queue once the process has terminated
+     */
+    private static final String END_OF_OUTPUT = new String("<end of output>");
+
+    private final String solverCmd;
+
+    private Process process;
+
+    private Writer input;
+
+    private BlockingQueue<String> output;
+
+    /**
+     * Logic and options the process was launched with
+     */
+    private String preamble;
+
+    /**
+     * Commands of the frames currently pushed
+     */
+    private final List<String> frames = new ArrayList<>();
+
+    private SmtSolverSession(String solverCmd) {
+        this.solverCmd = solverCmd;
+    }
+
+    /**
+     * Take an idle session, or create one if there is none. The session must be given back with
+     * {@link #release()} once the query is solved.
+     *
+     * @param solverCmd the command launching the solver, which reads the queries on its standard input
+     * @return a session for the given command that is not used by any other query
+     */
+    public static SmtSolverSession acquire(String solverCmd) {
+        synchronized (idleSessions) {
+            Deque<SmtSolverSession> sessions = idleSessions.get(solverCmd);
+            if (sessions != null && !sessions.isEmpty()) {
+                // the most recently used session, whose frames are the most likely to be reused
+                return sessions.pollFirst();
+            }
+        }
+        return new SmtSolverSession(solverCmd);
+    }
+
+    /**
+     * Give back a session taken with {@link #acquire(String)}
+     */
+    public void release() {
+        synchronized (idleSessions) {
+            Deque<SmtSolverSession> sessions = idleSessions.computeIfAbsent(solverCmd, cmd -> new ArrayDeque<>());
+            // the queries solved ahead of time, and the one solved by the DSE thread itself
+            if (sessions.size() < Math.max(1, Properties.DSE_SOLVER_THREADS) + 1) {
+                sessions.addFirst(this);
+                return;
+            }
+        }
+        close();
+    }
+
+    /**
+     * Kill the processes of all the sessions. Sessions in use notice it as a solver error, and
+     * the ones that are used again launch a new process.
+     */
+    public static void closeAll() {
+        synchronized (idleSessions) {
+            for (Deque<SmtSolverSession> sessions : idleSessions.values()) {
+                for (SmtSolverSession session : sessions) {
+                    session.close();
+                }
+            }
+            idleSessions.clear();
+        }
+        for (Process process : liveProcesses) {
+            process.destroyForcibly();
+        }
+        liveProcesses.clear();
+    }
+
+    /**
+     * Check the satisfiability of the query
+     *
+     * @param query         the query to solve
+     * @param timeoutMillis maximum time to wait for the solver
+     * @return the output of the solver in the same format as for a whole query: "sat" followed by
+     * the model, "unsat" or "unknown"
+     */
+    public String solve(SmtQuery query, long timeoutMillis)
+            throws IOException, SolverTimeoutException, SolverErrorException {
+
+        String queryPreamble = new SmtQueryPrinter().printPreamble(query);
+        List<String> queryFrames = buildFrames(query);
+
+        if (process != null && (!process.isAlive() || !queryPreamble.equals(preamble))) {
+            close();
+        }
+        if (process == null) {
+            start(queryPreamble);
+        }
+
+        int shared = 0;
+        while (shared < frames.size() && shared < queryFrames.size()
+                && frames.get(shared).equals(queryFrames.get(shared))) {
+            shared++;
+        }
+        logger.debug("Reusing {} of {} assertions of the previous query", shared, queryFrames.size());
+
+        StringBuilder commands = new StringBuilder();
+        if (frames.size() > shared) {
+            commands.append("(pop ").append(frames.size() - shared).append(")\n");
+            frames.subList(shared, frames.size()).clear();
+        }
+        for (String frame : queryFrames.subList(shared, queryFrames.size())) {
+            commands.append("(push 1)\n").append(frame);
+            frames.add(frame);
+        }
+        commands.append("(check-sat)\n");
+
+        boolean done = false;
+        try {
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            send(commands.toString());
+            String outcome = readOutcome(deadline);
+            String result = outcome;
+            if (outcome.equals("sat")) {
+                send("(get-model)\n");
+                result = outcome + "\n" + readModel(deadline);
+            }
+            done = true;
+            return result;
+        } finally {
+            if (!done) {
+                // the state of the process is unknown
+                close();
+            }
+        }
+    }
+
+    /**
+     * Kill the process of this session, if any
+     */
+    public void close() {
+        if (process != null) {
+            process.destroyForcibly();
+            liveProcesses.remove(process);
+        }
+        process = null;
+        input = null;
+        output = null;
+        preamble = null;
+        frames.clear();
+    }
+
+    private void start(String preamble) throws IOException {
+        logger.debug("Launching solver process " + solverCmd);
+        ProcessBuilder builder = new ProcessBuilder(CommandLine.parse(solverCmd).toStrings());
+        builder.redirectErrorStream(true);
+        process = builder.start();
+        liveProcesses.add(process);
+        input = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+        output = new LinkedBlockingQueue<>();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(),
+                StandardCharsets.UTF_8));
+        BlockingQueue<String> lines = output;
+        Thread pump = new Thread(() -> {
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+            } catch (IOException e) {
+                logger.debug("Failed to read the output of the solver: " + e);
+            } finally {
+                lines.add(END_OF_OUTPUT);
+            }
+        }, "SmtSolverSession output");
+        pump.setDaemon(true);
+        pump.start();
+
+        this.preamble = preamble;
+        send(preamble);
+    }
+
+    private void send(String commands) throws IOException {
+        input.write(commands);
+        input.flush();
+    }
+
+    private String readLine(long deadline) throws SolverTimeoutException, SolverErrorException {
+        long remaining = deadline - System.currentTimeMillis();
+        String line;
+        try {
+            line = remaining > 0 ? output.poll(remaining, TimeUnit.MILLISECONDS) : output.poll();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SolverTimeoutException();
+        }
+        if (line == null) {
+            logger.debug("Solver stopped due to solver timeout");
+            throw new SolverTimeoutException();
+        }
+        if (line == END_OF_OUTPUT) {
+            String errMsg = "Solver process terminated unexpectedly";
+            logger.debug(errMsg);
+            throw new SolverErrorException(errMsg);
+        }
+        return line;
+    }
+
+    private String readOutcome(long deadline) throws SolverTimeoutException, SolverErrorException {
+        while (true) {
+            String line = readLine(deadline).trim();
+            if (line.equals("sat") || line.equals("unsat") || line.equals("unknown")) {
+                return line;
+            }
+            if (line.startsWith("(error")) {
+                logger.debug("Solver output was the following " + line);
+                throw new SolverErrorException("An error (probably an invalid input) occurred while executing the solver");
+            }
+            if (!line.isEmpty()) {
+                logger.debug("Ignoring solver output " + line);
+            }
+        }
+    }
+
+    /**
+     * Read the s-expression printed by get-model, which might span several lines
+     */
+    private String readModel(long deadline) throws SolverTimeoutException, SolverErrorException {
+        StringBuilder model = new StringBuilder();
+        int depth = 0;
+        boolean started = false;
+        boolean inString = false;
+        while (!started || depth > 0) {
+            String line = readLine(deadline);
+            if (!started && line.trim().startsWith("(error")) {
+                logger.debug("Solver output was the following " + line);
+                throw new SolverErrorException("An error occurred while getting the model from the solver");
+            }
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '"') {
+                    // quotes in string literals are escaped by doubling them
+                    inString = !inString;
+                } else if (!inString && c == '(') {
+                    depth++;
+                    started = true;
+                } else if (!inString && c == ')') {
+                    depth--;
+                }
+            }
+            model.append(line).append("\n");
+        }
+        return model.toString();
+    }
+
+    /**
+     * Split the query in one frame per assertion. Each frame declares the symbols that were not
+     * used by the previous assertions, so that frames only depend on the assertions before them.
+     */
+    static List<String> buildFrames(SmtQuery query) {
+        SmtQueryPrinter printer = new SmtQueryPrinter();
+
+        Map<String, String> declarations = new HashMap<>();
+        for (SmtConstantDeclaration declaration : query.getConstantDeclarations()) {
+            declarations.put(declaration.getConstantName(), printer.print(declaration));
+        }
+        for (SmtFunctionDeclaration declaration : query.getFunctionDeclarations()) {
+            declarations.put(declaration.getFunctionName(), printer.print(declaration));
+        }
+        for (SmtFunctionDefinition definition : query.getFunctionDefinitions()) {
+            String str = definition.getFunctionDefinition();
+            int end = str.indexOf('(');
+            String name = (end < 0 ? str : str.substring(0, end)).trim();
+            declarations.put(name, printer.print(definition));
+        }
+
+        List<String> frames = new ArrayList<>();
+        Set<String> declared = new HashSet<>();
+        for (SmtAssertion assertion : query.getAssertions()) {
+            SmtVariableCollector varCollector = new SmtVariableCollector();
+            SmtOperatorCollector opCollector = new SmtOperatorCollector();
+            assertion.getFormula().accept(varCollector, null);
+            assertion.getFormula().accept(opCollector, null);
+
+            // sorted, so that the same assertions always give the same frames
+            Set<String> symbols = new TreeSet<>();
+            for (SmtVariable variable : varCollector.getSmtVariables()) {
+                symbols.add(variable.getName());
+            }
+            for (Operator operator : opCollector.getOperators()) {
+                symbols.add(operator.toString());
+            }
+
+            StringBuilder frame = new StringBuilder();
+            for (String symbol : symbols) {
+                if (declarations.containsKey(symbol) && declared.add(symbol)) {
+                    frame.append(declarations.get(symbol)).append("\n");
+                }
+            }
+            frame.append(printer.print(assertion)).append("\n");
+            frames.add(frame.toString());
+        }
+        return frames;
+    }
+}
@@ -76,10 +76,12 @@ public abstract class Solver {
 
         SolverResult solverResult;
         try {
+            long startTimeMillis = System.currentTimeMillis();
             solverResult = executeSolver(constraints);
+            long solvingTimeMillis = System.currentTimeMillis() - startTimeMillis;
 
             if (solverResult != null && !solverResult.isUnknown()) {
-                solverCache.saveSolverResult(constraints, solverResult);
+                solverCache.saveSolverResult(constraints, solverResult, solvingTimeMillis);
             }
         } catch (IllegalArgumentException | IOException e) {
             solverResult = null;
@@ -19,25 +19,108 @@
  */
 package org.evosuite.symbolic.solver;
 
+import org.evosuite.Properties;
 import org.evosuite.symbolic.expr.Constraint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+/**
+ * Cache of the results of the solver, shared by all the solvers of the client.
+ *
+ * <p>
+ * Constraint systems are keyed by their canonical form (see {@link SolverCacheKey}), so that a
+ * result is reused for systems that only differ in variable names, constraint order or trivially
+ * true constraints. A system is also known to be UNSAT if it contains a system that was UNSAT.
+ * The cache is bounded by {@link Properties#DSE_SOLVER_CACHE_SIZE}, evicting the least recently
+ * used results first, and can be persisted in {@link Properties#DSE_SOLVER_CACHE_DIR} for the
+ * next runs on the same class under test.
+ * </p>
+ */
 public final class SolverCache {
 
-    private static final SolverCache instance = new SolverCache();
+    private static final Logger logger = LoggerFactory.getLogger(SolverCache.class);
+
+    private static final SolverCache instance = new SolverCache(-1);
     private static final String CONTRAINT_NOT_CACHED_EXCEPTION_MESSAGE = "The constraint is not cached!";
     private static final String SOLVER_RESULT_CANNOT_BE_NULL_EXCEPTION_MESSAGE = "Unable to save solver result as its null.";
+    private static final String CACHE_FILE_SUFFIX = ".solvercache";
+
+    /**
+     * A cached result, with the variables renamed to their canonical names
+     */
+    private static final class Entry implements Serializable {
+
+        private static final long serialVersionUID = 5926349180362215418L;
+
+        private final SolverResult result;
+
+        private final long solvingTimeMillis;
+
+        /**
+         * Constraints of an UNSAT system with a canonical key, to find the systems containing it
+         */
+        private final Set<String> unsatConstraints;
+
+        private final long size;
+
+        private Entry(SolverResult result, long solvingTimeMillis, Set<String> unsatConstraints, long size) {
+            this.result = result;
+            this.solvingTimeMillis = solvingTimeMillis;
+            this.unsatConstraints = unsatConstraints;
+            this.size = size;
+        }
+    }
 
     private int number_of_hits = 0;
     private int number_of_accesses = 0;
+    private int number_of_evictions = 0;
+    private long saved_solving_time_millis = 0;
     private int cached_sat_result_count = 0;
     private int cached_unsat_result_count = 0;
-    private boolean valid_cached_solution = false;
 
-    private final HashMap<Collection<Constraint<?>>, SolverResult> cached_solver_results = new HashMap<>();
-    private SolverResult cached_solution = null;
+    /**
+     * Cached results in access order, keyed by {@link SolverCacheKey#getKey()}
+     */
+    private final LinkedHashMap<Object, Entry> cached_solver_results = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * UNSAT systems, indexed by one of their constraints
+     */
+    private final Map<String, List<Entry>> unsat_systems = new HashMap<>();
+
+    private final ThreadLocal<SolverResult> cached_solution = new ThreadLocal<>();
+
+    /**
+     * Maximum estimated size of the cache in bytes, or a negative value to use the properties
+     */
+    private final long max_memory_bytes;
+
+    private long memory_bytes = 0;
+
+    /**
+     * Class under test whose persisted results were loaded
+     */
+    private String loaded_class = null;
+
+    private boolean modified = false;
 
     public int getNumberOfUNSATs() {
         return cached_unsat_result_count;
@@ -47,55 +130,91 @@ public final class SolverCache {
         return cached_sat_result_count;
     }
 
-    private SolverCache() {
-        /* empty constructor */
+    SolverCache(long maxMemoryBytes) {
+        this.max_memory_bytes = maxMemoryBytes;
     }
 
     public static SolverCache getInstance() {
         return instance;
     }
 
-    private void addUNSAT(Collection<Constraint<?>> unsat_constraints, SolverResult unsatResult) {
-        cached_solver_results.put(unsat_constraints, unsatResult);
-        cached_unsat_result_count++;
-    }
+    public synchronized boolean hasCachedResult(Collection<Constraint<?>> constraints) {
+        number_of_accesses++;
+        loadIfNeeded();
 
-    private void addSAT(Collection<Constraint<?>> sat_constraints, SolverResult satResult) {
-        cached_solver_results.put(sat_constraints, satResult);
-        cached_sat_result_count++;
+        SolverResult result = lookup(SolverCacheKey.of(constraints), constraints);
+        cached_solution.set(result);
+        if (result == null) {
+            return false;
+        }
+        number_of_hits++;
+        return true;
     }
 
-    public boolean hasCachedResult(Collection<Constraint<?>> constraints) {
-        number_of_accesses++;
+    private SolverResult lookup(SolverCacheKey key, Collection<Constraint<?>> constraints) {
+        Entry entry = cached_solver_results.get(key.getKey());
+        if (entry != null) {
+            SolverResult result = key.fromCanonical(entry.result);
+            // the SMT translation approximates some expressions with their concrete values
+            if (!result.isSAT() || Solver.checkSAT(constraints, result)) {
+                saved_solving_time_millis += entry.solvingTimeMillis;
+                return result;
+            }
+            return null;
+        }
 
-        if (this.cached_solver_results.containsKey(constraints)) {
-            valid_cached_solution = true;
-            cached_solution = this.cached_solver_results.get(constraints);
-            number_of_hits++;
-            return true;
-        } else {
-            valid_cached_solution = false;
-            return false;
+        if (key.isCanonical()) {
+            Set<String> system = key.getConstraints();
+            for (String constraint : system) {
+                List<Entry> candidates = unsat_systems.get(constraint);
+                if (candidates == null) {
+                    continue;
+                }
+                for (Entry candidate : candidates) {
+                    if (system.containsAll(candidate.unsatConstraints)) {
+                        saved_solving_time_millis += candidate.solvingTimeMillis;
+                        return SolverResult.newUNSAT();
+                    }
+                }
+            }
         }
+        return null;
     }
 
-    public double getHitRate() {
+    public synchronized double getHitRate() {
+        if (number_of_accesses == 0) {
+            return 0;
+        }
         return (double) this.number_of_hits / (double) this.number_of_accesses;
     }
 
+    /**
+     * @return the number of results evicted to keep the cache within its size
+     */
+    public synchronized int getNumberOfEvictions() {
+        return number_of_evictions;
+    }
+
+    /**
+     * @return the time the solver took to compute the results that were found in the cache
+     */
+    public synchronized long getSavedSolvingTimeMillis() {
+        return saved_solving_time_millis;
+    }
+
     /**
      * If not in cache returns IllegalArgumentException()
      *
-     * @return
+     * @return the result found by the last call of {@link #hasCachedResult(Collection)} on this thread
      */
     public SolverResult getCachedResult() {
-
-        if (valid_cached_solution == false) {
+        SolverResult result = cached_solution.get();
+        if (result == null) {
             throw new IllegalArgumentException(CONTRAINT_NOT_CACHED_EXCEPTION_MESSAGE);
         }
 
-        valid_cached_solution = false;
-        return this.cached_solution;
+        cached_solution.remove();
+        return result;
     }
 
     /**
@@ -105,14 +224,174 @@ public final class SolverCache {
      * @param solverResult
      */
     public void saveSolverResult(Collection<Constraint<?>> constraints, SolverResult solverResult) {
+        saveSolverResult(constraints, solverResult, 0);
+    }
+
+    /**
+     * Saves result to cache
+     *
+     * @param constraints
+     * @param solverResult
+     * @param solvingTimeMillis time the solver took to compute the result
+     */
+    public synchronized void saveSolverResult(Collection<Constraint<?>> constraints, SolverResult solverResult,
+                                              long solvingTimeMillis) {
         if (solverResult == null) {
             throw new IllegalArgumentException(SOLVER_RESULT_CANNOT_BE_NULL_EXCEPTION_MESSAGE);
         }
+        loadIfNeeded();
+
+        SolverCacheKey key = SolverCacheKey.of(constraints);
+        Set<String> unsatConstraints = solverResult.isUNSAT() && key.isCanonical() ? key.getConstraints() : null;
+        SolverResult canonicalResult = key.toCanonical(solverResult);
+        put(key.getKey(), new Entry(canonicalResult, solvingTimeMillis, unsatConstraints,
+                estimateSize(key, canonicalResult)));
 
         if (solverResult.isUNSAT()) {
-            addUNSAT(constraints, solverResult);
+            cached_unsat_result_count++;
+        } else {
+            cached_sat_result_count++;
+        }
+    }
+
+    private void put(Object key, Entry entry) {
+        Entry previous = cached_solver_results.put(key, entry);
+        if (previous != null) {
+            unindex(previous);
+        }
+        index(entry);
+        modified = true;
+
+        long maxMemory = max_memory_bytes >= 0 ? max_memory_bytes : Properties.DSE_SOLVER_CACHE_SIZE * 1024L * 1024L;
+        Iterator<Entry> leastRecentlyUsed = cached_solver_results.values().iterator();
+        while (memory_bytes > maxMemory && cached_solver_results.size() > 1) {
+            Entry evicted = leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+            unindex(evicted);
+            number_of_evictions++;
+        }
+    }
+
+    private void index(Entry entry) {
+        memory_bytes += entry.size;
+        if (entry.unsatConstraints != null && !entry.unsatConstraints.isEmpty()) {
+            String constraint = entry.unsatConstraints.iterator().next();
+            unsat_systems.computeIfAbsent(constraint, k -> new ArrayList<>()).add(entry);
+        }
+    }
+
+    private void unindex(Entry entry) {
+        memory_bytes -= entry.size;
+        if (entry.unsatConstraints != null && !entry.unsatConstraints.isEmpty()) {
+            String constraint = entry.unsatConstraints.iterator().next();
+            List<Entry> entries = unsat_systems.get(constraint);
+            if (entries != null) {
+                entries.remove(entry);
+                if (entries.isEmpty()) {
+                    unsat_systems.remove(constraint);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rough estimate of the memory used by a cached result
+     */
+    private static long estimateSize(SolverCacheKey key, SolverResult result) {
+        long size = 128;
+        Object k = key.getKey();
+        if (k instanceof String) {
+            size += 2L * ((String) k).length();
         } else {
-            addSAT(constraints, solverResult);
+            size += 256L * ((Collection<?>) k).size();
+        }
+        if (key.isCanonical() && result.isUNSAT()) {
+            for (String constraint : key.getConstraints()) {
+                size += 2L * constraint.length();
+            }
+        }
+        if (result.isSAT()) {
+            size += 64L * result.getModel().size();
+        }
+        return size;
+    }
+
+    private File getCacheFile(String className) {
+        return new File(Properties.DSE_SOLVER_CACHE_DIR, className + CACHE_FILE_SUFFIX);
+    }
+
+    /**
+     * Load the results persisted for the class under test, if not done yet. When the class under
+     * test changes, the results of the previous one are saved to its own file and dropped first.
+     */
+    @SuppressWarnings("unchecked")
+    private void loadIfNeeded() {
+        if (Properties.DSE_SOLVER_CACHE_DIR == null || Properties.TARGET_CLASS == null
+                || Properties.TARGET_CLASS.equals(loaded_class)) {
+            return;
+        }
+        if (loaded_class != null) {
+            save();
+            cached_solver_results.clear();
+            unsat_systems.clear();
+            memory_bytes = 0;
+        }
+        loaded_class = Properties.TARGET_CLASS;
+
+        File file = getCacheFile(loaded_class);
+        if (!file.exists()) {
+            return;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file))) {
+            Map<String, Entry> entries = (Map<String, Entry>) in.readObject();
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+            modified = false;
+            logger.debug("Loaded {} solver results from {}", entries.size(), file);
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            logger.warn("Failed to load solver cache from {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Persist the results with a canonical key, so that they can be reused by the next runs on the
+     * same class under test. Does nothing if {@link Properties#DSE_SOLVER_CACHE_DIR} is not set.
+     */
+    public synchronized void save() {
+        if (Properties.DSE_SOLVER_CACHE_DIR == null || loaded_class == null || !modified) {
+            return;
+        }
+        File dir = new File(Properties.DSE_SOLVER_CACHE_DIR);
+        if (!dir.exists() && !dir.mkdirs()) {
+            logger.warn("Failed to create solver cache directory {}", dir);
+            return;
+        }
+
+        LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+        for (Map.Entry<Object, Entry> entry : cached_solver_results.entrySet()) {
+            if (entry.getKey() instanceof String) {
+                entries.put((String) entry.getKey(), entry.getValue());
+            }
+        }
+
+        File file = getCacheFile(loaded_class);
+        File tmp = null;
+        try {
+            // Write to a temporary file first, so that a concurrent run never reads a partial cache
+            tmp = File.createTempFile(loaded_class, ".tmp", dir);
+            try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(tmp))) {
+                out.writeObject(entries);
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            modified = false;
+            logger.debug("Saved {} solver results to {}", entries.size(), file);
+        } catch (IOException e) {
+            logger.warn("Failed to save solver cache to {}: {}", file, e.getMessage());
+            if (tmp != null && tmp.exists() && !tmp.delete()) {
+                logger.debug("Failed to delete {}", tmp);
+            }
         }
     }
 
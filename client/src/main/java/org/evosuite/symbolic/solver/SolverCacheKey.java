@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.constraint.ConstraintEvaluator;
+import org.evosuite.symbolic.solver.smt.ExprToSmtVisitor;
+import org.evosuite.symbolic.solver.smt.SmtExpr;
+import org.evosuite.symbolic.solver.smt.SmtExprPrinter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Key of a constraint system in the {@link SolverCache}.
+ *
+ * <p>
+ * Constraints are translated to SMT-LIB, which folds the sub-expressions without symbolic
+ * variables into constants. Constraints without variables that evaluate to true are dropped, the
+ * remaining ones are sorted and deduplicated, and the variables are renamed in order of
+ * appearance. Systems that only differ in variable names, constraint order or trivially true
+ * constraints thus share the same key. Systems that cannot be translated are keyed by their
+ * constraints, as before.
+ * </p>
+ */
+final class SolverCacheKey {
+
+    private static final String CANONICAL_VARIABLE_PREFIX = "v";
+
+    /**
+     * A constraint translated to SMT-LIB
+     */
+    private static final class Translation {
+
+        private final String comparator;
+
+        private final SmtExpr left;
+
+        private final SmtExpr right;
+
+        /**
+         * The constraint printed without variable names
+         */
+        private final String shape;
+
+        /**
+         * The constraint printed with the original variable names
+         */
+        private final String original;
+
+        private Translation(String comparator, SmtExpr left, SmtExpr right) {
+            this.comparator = comparator;
+            this.left = left;
+            this.right = right;
+            this.shape = print(new SmtExprPrinter(name -> "?"));
+            this.original = print(new SmtExprPrinter());
+        }
+
+        private String print(SmtExprPrinter printer) {
+            return "(" + comparator + " " + left.accept(printer, null) + " " + right.accept(printer, null) + ")";
+        }
+    }
+
+    private final Object key;
+
+    /**
+     * Constraints printed with their original variable names, or null if the key is not canonical
+     */
+    private final Set<String> constraints;
+
+    /**
+     * From the original variable names to the canonical ones
+     */
+    private final Map<String, String> canonicalNames;
+
+    private SolverCacheKey(Object key, Set<String> constraints, Map<String, String> canonicalNames) {
+        this.key = key;
+        this.constraints = constraints;
+        this.canonicalNames = canonicalNames;
+    }
+
+    static SolverCacheKey of(Collection<Constraint<?>> constraints) {
+        List<Translation> translations = new ArrayList<>();
+        for (Constraint<?> constraint : constraints) {
+            if (isTriviallyTrue(constraint)) {
+                continue;
+            }
+            Translation translation = translate(constraint);
+            if (translation == null) {
+                return new SolverCacheKey(new ArrayList<>(constraints), null, Collections.emptyMap());
+            }
+            translations.add(translation);
+        }
+
+        // sort by shape first, so that the order depends as little as possible on the variable names
+        translations.sort(Comparator.<Translation, String>comparing(t -> t.shape).thenComparing(t -> t.original));
+
+        Map<String, String> canonicalNames = new LinkedHashMap<>();
+        SmtExprPrinter renaming = new SmtExprPrinter(
+                name -> canonicalNames.computeIfAbsent(name, k -> CANONICAL_VARIABLE_PREFIX + canonicalNames.size()));
+
+        Set<String> originals = new LinkedHashSet<>();
+        StringBuilder key = new StringBuilder();
+        for (Translation translation : translations) {
+            if (originals.add(translation.original)) {
+                key.append(translation.print(renaming)).append("\n");
+            }
+        }
+        return new SolverCacheKey(key.toString(), originals, canonicalNames);
+    }
+
+    private static boolean isTriviallyTrue(Constraint<?> constraint) {
+        if (!constraint.getVariables().isEmpty()) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(constraint.accept(new ConstraintEvaluator(), null));
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static Translation translate(Constraint<?> constraint) {
+        try {
+            ExprToSmtVisitor visitor = new ExprToSmtVisitor();
+            SmtExpr left = constraint.getLeftOperand().accept(visitor, null);
+            SmtExpr right = constraint.getRightOperand().accept(visitor, null);
+            if (left == null || right == null) {
+                return null;
+            }
+            String comparator = constraint.getClass().getSimpleName() + ":" + constraint.getComparator().name();
+            return new Translation(comparator, left, right);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the object to use as key in the cache
+     */
+    Object getKey() {
+        return key;
+    }
+
+    /**
+     * @return true if the key is in canonical form, and so can be persisted and matched against
+     * other systems
+     */
+    boolean isCanonical() {
+        return constraints != null;
+    }
+
+    /**
+     * @return the constraints printed with their original variable names, for canonical keys
+     */
+    Set<String> getConstraints() {
+        return constraints;
+    }
+
+    /**
+     * @return the result with the variables renamed to their canonical names
+     */
+    SolverResult toCanonical(SolverResult result) {
+        return rename(result, canonicalNames);
+    }
+
+    /**
+     * @return the result of a system with the same canonical key, with the variables renamed to
+     * the names of this system
+     */
+    SolverResult fromCanonical(SolverResult result) {
+        Map<String, String> originalNames = new HashMap<>();
+        for (Map.Entry<String, String> entry : canonicalNames.entrySet()) {
+            originalNames.put(entry.getValue(), entry.getKey());
+        }
+        return rename(result, originalNames);
+    }
+
+    private SolverResult rename(SolverResult result, Map<String, String> names) {
+        if (!isCanonical() || !result.isSAT()) {
+            return result;
+        }
+        Map<String, Object> model = new HashMap<>();
+        for (Map.Entry<String, Object> entry : result.getModel().entrySet()) {
+            String name = names.get(entry.getKey());
+            if (name != null) {
+                model.put(name, entry.getValue());
+            }
+        }
+        return SolverResult.newSAT(model);
+    }
+}
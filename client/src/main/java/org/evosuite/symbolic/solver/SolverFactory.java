@@ -24,6 +24,8 @@ import org.evosuite.symbolic.solver.avm.EvoSuiteSolver;
 import org.evosuite.symbolic.solver.cvc4.CVC4Solver;
 import org.evosuite.symbolic.solver.z3.Z3Solver;
 
+import java.util.Arrays;
+
 public class SolverFactory {
 
     private static final SolverFactory instance = new SolverFactory();
@@ -33,7 +35,15 @@ public class SolverFactory {
     }
 
     public Solver buildNewSolver() {
-        switch (Properties.DSE_SOLVER) {
+        Solver solver = buildNewSolver(Properties.DSE_SOLVER);
+        if (Properties.DSE_SOLVER_PORTFOLIO && Properties.DSE_SOLVER != Properties.SolverType.EVOSUITE_SOLVER) {
+            return new PortfolioSolver(Arrays.asList(solver, new EvoSuiteSolver()));
+        }
+        return solver;
+    }
+
+    private Solver buildNewSolver(Properties.SolverType solverType) {
+        switch (solverType) {
             case Z3_SOLVER:
                 return new Z3Solver(true);
             case CVC4_SOLVER: {
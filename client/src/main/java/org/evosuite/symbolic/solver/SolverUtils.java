@@ -19,6 +19,9 @@
  */
 package org.evosuite.symbolic.solver;
 
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
+import org.evosuite.Properties;
 import org.evosuite.symbolic.BranchCondition;
 import org.evosuite.symbolic.PathCondition;
 import org.evosuite.symbolic.expr.Constraint;
@@ -33,9 +36,19 @@ import org.evosuite.symbolic.expr.ref.array.ArrayVariable;
 import org.evosuite.symbolic.expr.str.StringVariable;
 import org.evosuite.symbolic.vm.ConstraintFactory;
 import org.evosuite.symbolic.vm.ExpressionFactory;
+import org.evosuite.utils.Randomness;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RunnableFuture;
 
 /**
  * Outside use of the SMT solver related utils Logic.
@@ -44,6 +57,50 @@ import java.util.*;
  */
 public abstract class SolverUtils {
 
+    private static final Logger logger = LoggerFactory.getLogger(SolverUtils.class);
+
+    private static ExecutorService solvingExecutor = null;
+
+    private static int solvingThreads = 0;
+
+    /**
+     * Solves a query on its own random stream, and measures the time spent by the solver rather
+     * than the time the caller waits for it
+     */
+    private static final class TimedQuery implements Callable<SolverResult> {
+
+        private final Random stream;
+
+        private final List<Constraint<?>> query;
+
+        private volatile long solvingTimeMillis = 0;
+
+        private TimedQuery(Random stream, List<Constraint<?>> query) {
+            this.stream = stream;
+            this.query = query;
+        }
+
+        @Override
+        public SolverResult call() throws Exception {
+            long start = System.currentTimeMillis();
+            try {
+                return Randomness.callWith(stream, () -> solveQuery(query));
+            } finally {
+                solvingTimeMillis = System.currentTimeMillis() - start;
+            }
+        }
+    }
+
+    private static final class SolvingTask extends FutureTask<SolverResult> {
+
+        private final TimedQuery query;
+
+        private SolvingTask(TimedQuery query) {
+            super(query);
+            this.query = query;
+        }
+    }
+
     /**
      * solves a given query (i.e. list of constraints).
      *
@@ -65,6 +122,95 @@ public abstract class SolverUtils {
         return solverResult;
     }
 
+    /**
+     * Starts solving the queries on {@link Properties#DSE_SOLVER_THREADS} threads. Solvers change
+     * the concrete values of the variables, so each query is solved on its own copy of the
+     * constraints. Queries that cannot be copied are only solved by {@link #getResult(Future)}.
+     *
+     * @param queries
+     * @return the pending results, in the order of the queries
+     */
+    public static List<Future<SolverResult>> solveQueriesInParallel(List<List<Constraint<?>>> queries) {
+        List<Future<SolverResult>> results = new ArrayList<>();
+        for (List<Constraint<?>> query : queries) {
+            // each query gets its own stream, so results do not depend on which thread solves it
+            Random stream = Randomness.split();
+            List<Constraint<?>> copy;
+            try {
+                copy = SerializationUtils.clone(new ArrayList<>(query));
+            } catch (SerializationException e) {
+                logger.debug("Cannot copy the query, it will be solved sequentially: " + e.getMessage());
+                results.add(new SolvingTask(new TimedQuery(stream, query)));
+                continue;
+            }
+            SolvingTask task = new SolvingTask(new TimedQuery(stream, copy));
+            getSolvingExecutor().execute(task);
+            results.add(task);
+        }
+        return results;
+    }
+
+    /**
+     * @param result a result of {@link #solveQueriesInParallel(List)}
+     * @return the milliseconds the solver spent on the query, 0 if it has not been solved
+     */
+    public static long getSolvingTime(Future<SolverResult> result) {
+        if (result instanceof SolvingTask) {
+            return ((SolvingTask) result).query.solvingTimeMillis;
+        }
+        return 0;
+    }
+
+    /**
+     * Waits for a result of {@link #solveQueriesInParallel(List)}. If no thread has started to
+     * solve the query yet, it is solved on the current thread.
+     *
+     * @param result
+     * @return the result of the query, or null if it could not be solved
+     */
+    public static SolverResult getResult(Future<SolverResult> result) {
+        if (result instanceof RunnableFuture) {
+            // does nothing if the query is already being solved
+            ((RunnableFuture<SolverResult>) result).run();
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            logger.debug("Failed to solve query: " + e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Stops solving the queries whose results are no longer needed
+     *
+     * @param results
+     */
+    public static void cancel(List<Future<SolverResult>> results) {
+        for (Future<SolverResult> result : results) {
+            result.cancel(true);
+        }
+    }
+
+    private static synchronized ExecutorService getSolvingExecutor() {
+        int threads = Math.max(1, Properties.DSE_SOLVER_THREADS);
+        if (solvingExecutor == null || solvingThreads != threads) {
+            if (solvingExecutor != null) {
+                solvingExecutor.shutdown();
+            }
+            solvingExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "DSE solver");
+                thread.setDaemon(true);
+                return thread;
+            });
+            solvingThreads = threads;
+        }
+        return solvingExecutor;
+    }
+
     /**
      * Creates boundaries for the SMT query variables.
      *
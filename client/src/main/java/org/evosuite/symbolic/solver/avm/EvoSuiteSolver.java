@@ -67,7 +67,7 @@ public final class EvoSuiteSolver extends Solver {
                 long currentTimeMillis = System.currentTimeMillis();
 
                 long elapsed_solving_time = currentTimeMillis - startTimeMillis;
-                if (elapsed_solving_time > timeout) {
+                if (elapsed_solving_time > timeout || Thread.currentThread().isInterrupted()) {
                     throw new SolverTimeoutException();
                 }
 
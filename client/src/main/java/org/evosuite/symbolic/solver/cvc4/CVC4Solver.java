@@ -105,12 +105,22 @@ public final class CVC4Solver extends SmtSolver {
         logger.debug("CVC4 Query:");
         logger.debug(smtQueryStr);
 
-        String cmd = buildCVC4cmd(cvcTimeout);
+        String cmd = buildCVC4cmd(cvcTimeout, Properties.DSE_SOLVER_INCREMENTAL);
 
-        ByteArrayOutputStream stdout = new ByteArrayOutputStream();
         try {
-            launchNewSolvingProcess(cmd, smtQueryStr, (int) cvcTimeout, stdout);
-            String output = stdout.toString("UTF-8");
+            String output;
+            if (Properties.DSE_SOLVER_INCREMENTAL) {
+                SmtSolverSession session = SmtSolverSession.acquire(cmd);
+                try {
+                    output = session.solve(query, cvcTimeout);
+                } finally {
+                    session.release();
+                }
+            } else {
+                ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+                launchNewSolvingProcess(cmd, smtQueryStr, (int) cvcTimeout, stdout);
+                output = stdout.toString("UTF-8");
+            }
 
             if (output.startsWith("unknown")) {
                 logger.debug("timeout reached when using cvc4");
@@ -240,7 +250,7 @@ public final class CVC4Solver extends SmtSolver {
 
     }
 
-    private static String buildCVC4cmd(long cvcTimeout) {
+    private static String buildCVC4cmd(long cvcTimeout, boolean incremental) {
         String cmd = Properties.CVC4_PATH;
         cmd += "  --rewrite-divk"; // rewrite-divk rewrites division (or
         // modulus) by a constant value
@@ -263,7 +273,12 @@ public final class CVC4Solver extends SmtSolver {
          * More details on both of these points can be found in Sections 5.2 - 5.4 of
          * http://homepage.cs.uiowa.edu/~ajreynol/thesis.pdf.
          */
-        cmd += " --tlimit=" + cvcTimeout; // set timeout to cvcTimeout
+        if (incremental) {
+            cmd += " --incremental"; // push and pop are used to share assertions between queries
+            cmd += " --tlimit-per=" + cvcTimeout; // set timeout of each query to cvcTimeout
+        } else {
+            cmd += " --tlimit=" + cvcTimeout; // set timeout to cvcTimeout
+        }
         return cmd;
     }
 
@@ -26,9 +26,23 @@ import java.lang.reflect.Array;
 import java.text.DecimalFormat;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.UnaryOperator;
 
 public final class SmtExprPrinter implements SmtExprVisitor<String, Void> {
 
+    private final UnaryOperator<String> variableNames;
+
+    public SmtExprPrinter() {
+        this(UnaryOperator.identity());
+    }
+
+    /**
+     * @param variableNames gives the name to print for each variable
+     */
+    public SmtExprPrinter(UnaryOperator<String> variableNames) {
+        this.variableNames = variableNames;
+    }
+
     @Override
     public String visit(SmtIntConstant n, Void arg) {
         long longValue = n.getConstantValue();
@@ -51,19 +65,19 @@ public final class SmtExprPrinter implements SmtExprVisitor<String, Void> {
 
     @Override
     public String visit(SmtIntVariable n, Void arg) {
-        String varName = n.getName();
+        String varName = variableNames.apply(n.getName());
         return varName;
     }
 
     @Override
     public String visit(SmtRealVariable n, Void arg) {
-        String varName = n.getName();
+        String varName = variableNames.apply(n.getName());
         return varName;
     }
 
     @Override
     public String visit(SmtStringVariable n, Void arg) {
-        String varName = n.getName();
+        String varName = variableNames.apply(n.getName());
         return varName;
     }
 
@@ -92,25 +106,25 @@ public final class SmtExprPrinter implements SmtExprVisitor<String, Void> {
 
     @Override
     public String visit(SmtArrayVariable.SmtIntegerArrayVariable n, Void arg) {
-        String varName = n.getName();
+        String varName = variableNames.apply(n.getName());
         return varName;
     }
 
     @Override
     public String visit(SmtArrayVariable.SmtRealArrayVariable n, Void arg) {
-        String varName = n.getName();
+        String varName = variableNames.apply(n.getName());
         return varName;
     }
 
     @Override
     public String visit(SmtArrayVariable.SmtStringArrayVariable n, Void arg) {
-        String varName = n.getName();
+        String varName = variableNames.apply(n.getName());
         return varName;
     }
 
     @Override
     public String visit(SmtArrayVariable.SmtReferenceArrayVariable n, Void arg) {
-        String varName = n.getName();
+        String varName = variableNames.apply(n.getName());
         return varName;
     }
 
@@ -31,17 +31,7 @@ public class SmtQueryPrinter {
     public String print(SmtQuery query) {
         StringBuffer buff = new StringBuffer();
         buff.append("\n");
-
-        if (query.hasLogic()) {
-            buff.append("(set-logic " + query.getLogic() + ")");
-            buff.append("\n");
-        }
-
-        for (String optionName : query.getOptions()) {
-            String optionValue = query.getOptionValue(optionName);
-            buff.append(String.format("(set-option %s %s)%n", optionName, optionValue));
-            buff.append("\n");
-        }
+        buff.append(printPreamble(query));
         buff.append("\n");
 
         for (SmtConstantDeclaration constantDeclaration : query.getConstantDeclarations()) {
@@ -81,6 +71,24 @@ public class SmtQueryPrinter {
 
     }
 
+    /**
+     * Prints the logic and the options of the query, which have to come before any declaration
+     */
+    public String printPreamble(SmtQuery query) {
+        StringBuffer buff = new StringBuffer();
+        if (query.hasLogic()) {
+            buff.append("(set-logic " + query.getLogic() + ")");
+            buff.append("\n");
+        }
+
+        for (String optionName : query.getOptions()) {
+            String optionValue = query.getOptionValue(optionName);
+            buff.append(String.format("(set-option %s %s)%n", optionName, optionValue));
+            buff.append("\n");
+        }
+        return buff.toString();
+    }
+
     public String print(SmtAssertion smtAssertion) {
         SmtExprPrinter printer = new SmtExprPrinter();
         SmtExpr expr = smtAssertion.getFormula();
@@ -19,9 +19,9 @@
  */
 package org.evosuite.testcarver.extraction;
 
-import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
 import org.evosuite.classpath.ResourceList;
+import org.evosuite.gpt.CompileGentests;
 import org.evosuite.runtime.instrumentation.JSRInlinerClassVisitor;
 import org.evosuite.runtime.instrumentation.RuntimeInstrumentation;
 import org.evosuite.testcarver.instrument.Instrumenter;
@@ -31,11 +31,9 @@ import org.objectweb.asm.tree.ClassNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.lang.reflect.Modifier;
-import java.net.URL;
-import java.net.URLClassLoader;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -90,10 +88,10 @@ public class CarvingClassLoader extends ClassLoader {
         try {
             String className = fullyQualifiedTargetClass.replace('.', '/');
             InputStream is;
-            if (fullyQualifiedTargetClass.contains("ClassTest")) {
-                File classesDir = new File(Properties.CLASS_PREFIX);
-                URLClassLoader classLoader = URLClassLoader.newInstance(new URL[] { classesDir.toURI().toURL() });
-                is = classLoader.getResourceAsStream("ClassTest.class");
+            // Tests generated by GPT are compiled in memory
+            byte[] gptTestClass = CompileGentests.getCompiledClass(fullyQualifiedTargetClass);
+            if (gptTestClass != null) {
+                is = new ByteArrayInputStream(gptTestClass);
             } else {
                 is = ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getClassAsStream(className);
             }
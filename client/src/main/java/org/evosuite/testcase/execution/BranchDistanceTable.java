@@ -0,0 +1,346 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Branch distances and branch coverage of one execution, in primitive arrays indexed by branch id.
+ *
+ * <p>
+ * {@link ExecutionTraceImpl#branchPassed} is called by the instrumented code on every executed
+ * branch, so updating the table neither boxes nor locks. Only the thread executing the test
+ * writes to the table, and it is read once the execution is over. The map views used by the
+ * fitness functions are built on demand, and dropped on the next update.
+ * </p>
+ *
+ * <p>
+ * Unlike the maps the trace used to keep, the views are read-only, and the distance sums belong
+ * to the current execution: they are reset by {@link #clear()} and copied by {@link #copy()}.
+ * Before, the sums were kept across executions but not copied by a clone.
+ * </p>
+ */
+final class BranchDistanceTable {
+
+    private static final int[] NO_BRANCHES = new int[0];
+
+    private static final double[] NO_DISTANCES = new double[0];
+
+    /**
+     * Number of times each branch was passed
+     */
+    private int[] passed = NO_BRANCHES;
+
+    /**
+     * Number of times each branch was passed while coverage was traced
+     */
+    private int[] predicateCount = NO_BRANCHES;
+
+    private int[] trueCount = NO_BRANCHES;
+
+    private int[] falseCount = NO_BRANCHES;
+
+    private double[] trueDistance = NO_DISTANCES;
+
+    private double[] falseDistance = NO_DISTANCES;
+
+    private double[] trueDistanceSum = NO_DISTANCES;
+
+    private double[] falseDistanceSum = NO_DISTANCES;
+
+    /**
+     * Ids of the passed branches, in the order they were first passed
+     */
+    private int[] passedBranches = NO_BRANCHES;
+
+    private int numPassedBranches = 0;
+
+    private boolean viewsOutdated = false;
+
+    private Map<Integer, Double> trueDistanceView = null;
+
+    private Map<Integer, Double> falseDistanceView = null;
+
+    private Map<Integer, Double> trueDistanceSumView = null;
+
+    private Map<Integer, Double> falseDistanceSumView = null;
+
+    private Map<Integer, Integer> predicateCountView = null;
+
+    /**
+     * Record that a branch was passed with the given distances
+     *
+     * @param branch        id of the branch
+     * @param trueDistance  distance to the true outcome of the branch
+     * @param falseDistance distance to the false outcome of the branch
+     * @param traceCoverage whether to count the branch as covered
+     */
+    void branchPassed(int branch, double trueDistance, double falseDistance, boolean traceCoverage) {
+        assert branch >= 0;
+        if (branch >= passed.length) {
+            ensureCapacity(Math.max(branch + 1, 2 * passed.length));
+        }
+        viewsOutdated = true;
+
+        if (passed[branch]++ == 0) {
+            if (numPassedBranches == passedBranches.length) {
+                passedBranches = Arrays.copyOf(passedBranches, Math.max(16, 2 * numPassedBranches));
+            }
+            passedBranches[numPassedBranches++] = branch;
+            this.trueDistance[branch] = trueDistance;
+            this.falseDistance[branch] = falseDistance;
+        } else {
+            this.trueDistance[branch] = Math.min(this.trueDistance[branch], trueDistance);
+            this.falseDistance[branch] = Math.min(this.falseDistance[branch], falseDistance);
+        }
+        trueDistanceSum[branch] += trueDistance;
+        falseDistanceSum[branch] += falseDistance;
+
+        if (traceCoverage) {
+            predicateCount[branch]++;
+            if (trueDistance == 0.0) {
+                trueCount[branch]++;
+            }
+            if (falseDistance == 0.0) {
+                falseCount[branch]++;
+            }
+        }
+    }
+
+    /**
+     * @return true if the arrays can hold the given branch id without growing
+     */
+    boolean hasCapacity(int branch) {
+        return branch < passed.length;
+    }
+
+    /**
+     * Grow the arrays so that they can hold the branch ids below the given capacity
+     */
+    void ensureCapacity(int capacity) {
+        if (capacity <= passed.length) {
+            return;
+        }
+        passed = Arrays.copyOf(passed, capacity);
+        predicateCount = Arrays.copyOf(predicateCount, capacity);
+        trueCount = Arrays.copyOf(trueCount, capacity);
+        falseCount = Arrays.copyOf(falseCount, capacity);
+        trueDistance = Arrays.copyOf(trueDistance, capacity);
+        falseDistance = Arrays.copyOf(falseDistance, capacity);
+        trueDistanceSum = Arrays.copyOf(trueDistanceSum, capacity);
+        falseDistanceSum = Arrays.copyOf(falseDistanceSum, capacity);
+    }
+
+    /**
+     * @return true if the branch was passed, and so has a true and a false distance
+     */
+    boolean isPassed(int branch) {
+        return branch >= 0 && branch < passed.length && passed[branch] > 0;
+    }
+
+    /**
+     * @return true if the true outcome of the branch was counted as covered
+     */
+    boolean isCoveredTrue(int branch) {
+        return isPassed(branch) && trueCount[branch] > 0;
+    }
+
+    /**
+     * @return true if the false outcome of the branch was counted as covered
+     */
+    boolean isCoveredFalse(int branch) {
+        return isPassed(branch) && falseCount[branch] > 0;
+    }
+
+    double getTrueDistance(int branch) {
+        checkPassed(branch);
+        return trueDistance[branch];
+    }
+
+    double getFalseDistance(int branch) {
+        checkPassed(branch);
+        return falseDistance[branch];
+    }
+
+    private void checkPassed(int branch) {
+        if (!isPassed(branch)) {
+            throw new IllegalArgumentException("Branch " + branch + " was not passed");
+        }
+    }
+
+    /**
+     * @return the passed branches whose true distance is 0
+     */
+    Set<Integer> getCoveredTrueBranches() {
+        Set<Integer> covered = new HashSet<>();
+        for (int i = 0; i < numPassedBranches; i++) {
+            int branch = passedBranches[i];
+            if (trueDistance[branch] == 0.0) {
+                covered.add(branch);
+            }
+        }
+        return covered;
+    }
+
+    /**
+     * @return the passed branches whose false distance is 0
+     */
+    Set<Integer> getCoveredFalseBranches() {
+        Set<Integer> covered = new HashSet<>();
+        for (int i = 0; i < numPassedBranches; i++) {
+            int branch = passedBranches[i];
+            if (falseDistance[branch] == 0.0) {
+                covered.add(branch);
+            }
+        }
+        return covered;
+    }
+
+    Map<Integer, Double> getTrueDistances() {
+        dropOutdatedViews();
+        if (trueDistanceView == null) {
+            trueDistanceView = toMap(trueDistance, passed);
+        }
+        return trueDistanceView;
+    }
+
+    Map<Integer, Double> getFalseDistances() {
+        dropOutdatedViews();
+        if (falseDistanceView == null) {
+            falseDistanceView = toMap(falseDistance, passed);
+        }
+        return falseDistanceView;
+    }
+
+    Map<Integer, Double> getTrueDistancesSum() {
+        dropOutdatedViews();
+        if (trueDistanceSumView == null) {
+            trueDistanceSumView = toMap(trueDistanceSum, passed);
+        }
+        return trueDistanceSumView;
+    }
+
+    Map<Integer, Double> getFalseDistancesSum() {
+        dropOutdatedViews();
+        if (falseDistanceSumView == null) {
+            falseDistanceSumView = toMap(falseDistanceSum, passed);
+        }
+        return falseDistanceSumView;
+    }
+
+    /**
+     * @return the number of times each branch was passed while coverage was traced
+     */
+    Map<Integer, Integer> getPredicateExecutionCount() {
+        dropOutdatedViews();
+        if (predicateCountView == null) {
+            Map<Integer, Integer> map = new HashMap<>();
+            for (int i = 0; i < numPassedBranches; i++) {
+                int branch = passedBranches[i];
+                if (predicateCount[branch] > 0) {
+                    map.put(branch, predicateCount[branch]);
+                }
+            }
+            predicateCountView = Collections.unmodifiableMap(map);
+        }
+        return predicateCountView;
+    }
+
+    private Map<Integer, Double> toMap(double[] values, int[] present) {
+        Map<Integer, Double> map = new HashMap<>();
+        for (int i = 0; i < numPassedBranches; i++) {
+            int branch = passedBranches[i];
+            if (present[branch] > 0) {
+                map.put(branch, values[branch]);
+            }
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    private void dropOutdatedViews() {
+        if (viewsOutdated) {
+            trueDistanceView = null;
+            falseDistanceView = null;
+            trueDistanceSumView = null;
+            falseDistanceSumView = null;
+            predicateCountView = null;
+            viewsOutdated = false;
+        }
+    }
+
+    /**
+     * Reset the table for a new execution. Only the entries of the passed branches are reset, and
+     * the arrays are kept.
+     */
+    void clear() {
+        for (int i = 0; i < numPassedBranches; i++) {
+            int branch = passedBranches[i];
+            passed[branch] = 0;
+            predicateCount[branch] = 0;
+            trueCount[branch] = 0;
+            falseCount[branch] = 0;
+            trueDistance[branch] = 0.0;
+            falseDistance[branch] = 0.0;
+            trueDistanceSum[branch] = 0.0;
+            falseDistanceSum[branch] = 0.0;
+        }
+        numPassedBranches = 0;
+        viewsOutdated = true;
+    }
+
+    /**
+     * @return a copy of this table, independent from further updates
+     */
+    BranchDistanceTable copy() {
+        BranchDistanceTable copy = new BranchDistanceTable();
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Replace the content of this table with the content of another table, reusing the arrays of
+     * this table where they are large enough.
+     */
+    void copyFrom(BranchDistanceTable other) {
+        clear();
+        ensureCapacity(other.passed.length);
+        if (passedBranches.length < other.numPassedBranches) {
+            passedBranches = new int[other.numPassedBranches];
+        }
+        for (int i = 0; i < other.numPassedBranches; i++) {
+            int branch = other.passedBranches[i];
+            passed[branch] = other.passed[branch];
+            predicateCount[branch] = other.predicateCount[branch];
+            trueCount[branch] = other.trueCount[branch];
+            falseCount[branch] = other.falseCount[branch];
+            trueDistance[branch] = other.trueDistance[branch];
+            falseDistance[branch] = other.falseDistance[branch];
+            trueDistanceSum[branch] = other.trueDistanceSum[branch];
+            falseDistanceSum[branch] = other.falseDistanceSum[branch];
+            passedBranches[i] = branch;
+        }
+        numPassedBranches = other.numPassedBranches;
+    }
+}
@@ -283,6 +283,17 @@ public class ExecutionResult implements Cloneable {
         this.trace = trace;
     }
 
+    /**
+     * Declare that this result will not be read again, so that the storage of
+     * its execution trace can be reused for a later execution. Only call this
+     * on results that are discarded, as results may be shared or cloned.
+     */
+    public void releaseTrace() {
+        if (trace instanceof ExecutionTraceProxy)
+            ((ExecutionTraceProxy) trace).release();
+        trace = null;
+    }
+
     /**
      * Store a new output trace
      *
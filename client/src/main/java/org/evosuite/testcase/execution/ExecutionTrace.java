@@ -93,7 +93,7 @@ public interface ExecutionTrace {
     /**
      * Retrieve execution counts for branches
      *
-     * @return a {@link java.util.Map} object.
+     * @return a read-only {@link java.util.Map} object.
      */
     Map<Integer, Integer> getPredicateExecutionCount();
 
@@ -130,14 +130,14 @@ public interface ExecutionTrace {
     /**
      * Retrieve map of all minimal true distances
      *
-     * @return a {@link java.util.Map} object.
+     * @return a read-only {@link java.util.Map} object.
      */
     Map<Integer, Double> getTrueDistances();
 
     /**
      * Retrieve map of all minimal false distances
      *
-     * @return a {@link java.util.Map} object.
+     * @return a read-only {@link java.util.Map} object.
      */
     Map<Integer, Double> getFalseDistances();
 
@@ -498,20 +498,18 @@ public interface ExecutionTrace {
     List<BranchEval> getBranchesTrace();
 
     /**
-     * <p>
-     * getFalseDistancesSum
-     * </p>
+     * Retrieve the sum of the false distances of each branch over the current execution. Like the
+     * other distances, the sums are reset by {@link #clear()} and copied with the trace.
      *
-     * @return a {@link java.util.Map} object.
+     * @return a read-only {@link java.util.Map} object.
      */
     Map<Integer, Double> getFalseDistancesSum();
 
     /**
-     * <p>
-     * getTrueDistancesSum
-     * </p>
+     * Retrieve the sum of the true distances of each branch over the current execution. Like the
+     * other distances, the sums are reset by {@link #clear()} and copied with the trace.
      *
-     * @return a {@link java.util.Map} object.
+     * @return a read-only {@link java.util.Map} object.
      */
     Map<Integer, Double> getTrueDistancesSum();
 
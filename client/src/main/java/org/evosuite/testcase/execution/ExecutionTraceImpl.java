@@ -37,6 +37,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Keep a trace of the program execution
@@ -194,15 +195,14 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
     public Map<String, Map<String, Map<Integer, Integer>>> coverage = Collections
             .synchronizedMap(new HashMap<>());
 
-    public Map<Integer, Integer> coveredFalse = Collections.synchronizedMap(new HashMap<>());
-
     public Map<String, Integer> coveredMethods = Collections.synchronizedMap(new HashMap<>());
 
     public Map<String, Integer> coveredBranchlessMethods = Collections.synchronizedMap(new HashMap<>());
 
-    public Map<Integer, Integer> coveredPredicates = Collections.synchronizedMap(new HashMap<>());
-
-    public Map<Integer, Integer> coveredTrue = Collections.synchronizedMap(new HashMap<>());
+    /**
+     * Branch distances and branch coverage, updated on every passed branch
+     */
+    private BranchDistanceTable branchDistances = new BranchDistanceTable();
 
     public Map<Integer, Integer> coveredDefs = Collections.synchronizedMap(new HashMap<>());
 
@@ -223,8 +223,6 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
     // The last explicitly thrown exception is kept here
     private Throwable explicitException = null;
 
-    public Map<Integer, Double> falseDistances = Collections.synchronizedMap(new HashMap<>());
-    private final Map<Integer, Double> falseDistancesSum = Collections.synchronizedMap(new HashMap<>());
     // finished_calls;
     public List<MethodCall> finishedCalls = Collections.synchronizedList(new ArrayList<>());
     public Map<Integer, Object> knownCallerObjects = Collections.synchronizedMap(new HashMap<>());
@@ -246,7 +244,10 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
     public Map<String, HashMap<Integer, HashMap<Integer, Object>>> passedUseObject = Collections
             .synchronizedMap(new HashMap<>());
 
-    private int proxyCount = 1;
+    /**
+     * Number of proxies sharing this trace, which may be copied on different test execution workers
+     */
+    private final AtomicInteger proxyCount = new AtomicInteger(1);
     // Data information
     public Map<String, Map<String, Map<Integer, Integer>>> returnData = Collections
             .synchronizedMap(new HashMap<>());
@@ -256,10 +257,6 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 
     public Set<Integer> touchedMutants = Collections.synchronizedSet(new HashSet<>());
 
-    public Map<Integer, Double> trueDistances = Collections.synchronizedMap(new HashMap<>());
-
-    private final Map<Integer, Double> trueDistancesSum = Collections.synchronizedMap(new HashMap<>());
-
     public static Set<Integer> gradientBranches = Collections.synchronizedSet(new HashSet<>());
 
     public static Set<Integer> gradientBranchesCoveredTrue = Collections.synchronizedSet(new HashSet<>());
@@ -290,16 +287,18 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      * </p>
      */
     public void addProxy() {
-        proxyCount++;
+        proxyCount.incrementAndGet();
     }
 
     /**
      * <p>
      * removeProxy
      * </p>
+     *
+     * @return the number of proxies still sharing this trace
      */
-    public void removeProxy() {
-        proxyCount--;
+    public int removeProxy() {
+        return proxyCount.decrementAndGet();
     }
 
     /**
@@ -320,33 +319,19 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
                 gradientBranches.add(branch);
         }
 
-        if (traceCoverage) {
-            if (!coveredPredicates.containsKey(branch))
-                coveredPredicates.put(branch, 1);
-            else
-                coveredPredicates.put(branch, coveredPredicates.get(branch) + 1);
-
-            if (true_distance == 0.0) {
-                if (!coveredTrue.containsKey(branch))
-                    coveredTrue.put(branch, 1);
-                else
-                    coveredTrue.put(branch, coveredTrue.get(branch) + 1);
-
-            }
-
-            if (false_distance == 0.0) {
-                if (!coveredFalse.containsKey(branch))
-                    coveredFalse.put(branch, 1);
-                else
-                    coveredFalse.put(branch, coveredFalse.get(branch) + 1);
-            }
+        if (!branchDistances.hasCapacity(branch)) {
+            // Size the table for all the branches known so far, rather than growing it branch by branch
+            int knownBranches = BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT())
+                    .getBranchCounter();
+            branchDistances.ensureCapacity(Math.max(branch, knownBranches) + 1);
         }
+        branchDistances.branchPassed(branch, true_distance, false_distance, traceCoverage);
 
         if (Properties.TRACK_COVERED_GRADIENT_BRANCHES) {
             if (gradientBranches.contains(branch)) {
-                if ((coveredTrue.containsKey(branch)))
+                if (branchDistances.isCoveredTrue(branch))
                     gradientBranchesCoveredTrue.add(branch);
-                if ((coveredFalse.containsKey(branch)))
+                if (branchDistances.isCoveredFalse(branch))
                     gradientBranchesCoveredFalse.add(branch);
             }
         }
@@ -359,8 +344,8 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
                     .getInstruction().getASMNode().getPrevious() != null)
                 previousOpcode = BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT())
                         .getBranch(branch).getInstruction().getASMNode().getPrevious().getOpcode();
-            boolean cTrue = coveredTrue.containsKey(branch);
-            boolean cFalse = coveredFalse.containsKey(branch);
+            boolean cTrue = branchDistances.isCoveredTrue(branch);
+            boolean cFalse = branchDistances.isCoveredFalse(branch);
             switch (previousOpcode) {
                 case Opcodes.LCMP:
                     trackBranchOpcode(bytecodeInstructionReached, RuntimeVariable.Reached_lcmp, branch);
@@ -447,26 +432,6 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
             }
         }
 
-        if (!trueDistances.containsKey(branch))
-            trueDistances.put(branch, true_distance);
-        else
-            trueDistances.put(branch, Math.min(trueDistances.get(branch), true_distance));
-
-        if (!falseDistances.containsKey(branch))
-            falseDistances.put(branch, false_distance);
-        else
-            falseDistances.put(branch, Math.min(falseDistances.get(branch), false_distance));
-
-        if (!trueDistancesSum.containsKey(branch))
-            trueDistancesSum.put(branch, true_distance);
-        else
-            trueDistancesSum.put(branch, trueDistancesSum.get(branch) + true_distance);
-
-        if (!falseDistancesSum.containsKey(branch))
-            falseDistancesSum.put(branch, false_distance);
-        else
-            falseDistancesSum.put(branch, falseDistancesSum.get(branch) + false_distance);
-
         if (!disableContext && (Properties.INSTRUMENT_CONTEXT || Properties.INSTRUMENT_METHOD_CALLS
                 || ArrayUtil.contains(Properties.CRITERION, Criterion.IBRANCH)
                 || ArrayUtil.contains(Properties.CRITERION, Criterion.CBRANCH))) {
@@ -543,15 +508,11 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
         duCounter = 0;
         objectCounter = 0;
         knownCallerObjects = new HashMap<>();
-        trueDistances = new HashMap<>();
-        falseDistances = new HashMap<>();
+        branchDistances.clear();
         mutantDistances = new HashMap<>();
         touchedMutants = new HashSet<>();
         coveredMethods = new HashMap<>();
         coveredBranchlessMethods = new HashMap<>();
-        coveredPredicates = new HashMap<>();
-        coveredTrue = new HashMap<>();
-        coveredFalse = new HashMap<>();
         coveredDefs = new HashMap<>();
         passedDefinitions = new HashMap<>();
         passedUses = new HashMap<>();
@@ -567,6 +528,45 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
         classesWithStaticWrites = new HashSet<>();
     }
 
+    /**
+     * Empty this trace in place so that its storage can be reused for a new
+     * execution. Unlike {@link #clear()}, the existing maps and lists are kept,
+     * so this must only be called once no proxy refers to the trace any more.
+     */
+    void reset() {
+        finishedCalls.clear();
+        stack.clear();
+        stack.add(new MethodCall("", "", 0, 0, 0)); // Main method
+        coverage.clear();
+        returnData.clear();
+
+        methodId = 0;
+        duCounter = 0;
+        objectCounter = 0;
+        explicitException = null;
+        knownCallerObjects.clear();
+        branchDistances.clear();
+        mutantDistances.clear();
+        touchedMutants.clear();
+        coveredMethods.clear();
+        coveredBranchlessMethods.clear();
+        coveredDefs.clear();
+        passedDefinitions.clear();
+        passedUses.clear();
+        passedDefinitionObject.clear();
+        passedUseObject.clear();
+        branchesTrace.clear();
+        coveredTrueContext.clear();
+        coveredFalseContext.clear();
+        coveredPredicateContext.clear();
+        coveredMethodContext.clear();
+
+        initializedClasses.clear();
+        classesWithStaticReads.clear();
+        classesWithStaticWrites.clear();
+        proxyCount.set(1);
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -591,13 +591,9 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
          * null && stack.peek().method_name.equals("")) { logger.info(
          * "Copying main method"); copy.finished_calls.add(stack.peek()); }
          */
-        copy.trueDistances.putAll(trueDistances);
-        copy.falseDistances.putAll(falseDistances);
+        copy.branchDistances.copyFrom(branchDistances);
         copy.coveredMethods.putAll(coveredMethods);
         copy.coveredBranchlessMethods.putAll(coveredBranchlessMethods);
-        copy.coveredPredicates.putAll(coveredPredicates);
-        copy.coveredTrue.putAll(coveredTrue);
-        copy.coveredFalse.putAll(coveredFalse);
         copy.coveredDefs.putAll(coveredDefs);
         copy.touchedMutants.addAll(touchedMutants);
         copy.mutantDistances.putAll(mutantDistances);
@@ -619,7 +615,6 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
         copy.duCounter = duCounter;
         copy.objectCounter = objectCounter;
         copy.knownCallerObjects.putAll(knownCallerObjects);
-        copy.proxyCount = 1;
         return copy;
     }
 
@@ -859,13 +854,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public Set<Integer> getCoveredFalseBranches() {
-        Set<Integer> covered = new HashSet<>();
-        for (Entry<Integer, Double> entry : falseDistances.entrySet()) {
-            if (entry.getValue() == 0.0)
-                covered.add(entry.getKey());
-        }
-
-        return covered;
+        return branchDistances.getCoveredFalseBranches();
     }
 
     /*
@@ -938,7 +927,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public Set<Integer> getCoveredPredicates() {
-        return coveredPredicates.keySet();
+        return branchDistances.getPredicateExecutionCount().keySet();
     }
 
     /*
@@ -952,13 +941,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public Set<Integer> getCoveredTrueBranches() {
-        Set<Integer> covered = new HashSet<>();
-        for (Entry<Integer, Double> entry : trueDistances.entrySet()) {
-            if (entry.getValue() == 0.0)
-                covered.add(entry.getKey());
-        }
-
-        return covered;
+        return branchDistances.getCoveredTrueBranches();
     }
 
     /*
@@ -1018,7 +1001,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public double getFalseDistance(int branchId) {
-        return falseDistances.get(branchId);
+        return branchDistances.getFalseDistance(branchId);
     }
 
     /*
@@ -1032,7 +1015,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public Map<Integer, Double> getFalseDistances() {
-        return falseDistances;
+        return branchDistances.getFalseDistances();
     }
 
     /*
@@ -1131,7 +1114,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public Map<Integer, Integer> getPredicateExecutionCount() {
-        return coveredPredicates;
+        return branchDistances.getPredicateExecutionCount();
     }
 
     /**
@@ -1142,7 +1125,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      * @return a int.
      */
     public int getProxyCount() {
-        return proxyCount;
+        return proxyCount.get();
     }
 
     /*
@@ -1319,7 +1302,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public double getTrueDistance(int branchId) {
-        return trueDistances.get(branchId);
+        return branchDistances.getTrueDistance(branchId);
     }
 
     /*
@@ -1333,7 +1316,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public Map<Integer, Double> getTrueDistances() {
-        return trueDistances;
+        return branchDistances.getTrueDistances();
     }
 
     /*
@@ -1365,7 +1348,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public boolean hasFalseDistance(int predicateId) {
-        return falseDistances.containsKey(predicateId);
+        return branchDistances.isPassed(predicateId);
     }
 
     /**
@@ -1393,7 +1376,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public boolean hasTrueDistance(int predicateId) {
-        return trueDistances.containsKey(predicateId);
+        return branchDistances.isPassed(predicateId);
     }
 
     /*
@@ -1407,8 +1390,10 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public ExecutionTrace lazyClone() {
-        // TODO Auto-generated method stub
-        return null;
+        // The proxy copies this trace on its first write; writes made directly
+        // on this object are not seen by the proxy's copy-on-write check
+        addProxy();
+        return new ExecutionTraceProxy(this);
     }
 
     private boolean stackHasMethod(String methodName) {
@@ -1657,15 +1642,15 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
             ret.append(entry.getKey() + ": " + entry.getValue() + ", ");
         }
         ret.append("\nCovered predicates: ");
-        for (Entry<Integer, Integer> entry : coveredPredicates.entrySet()) {
+        for (Entry<Integer, Integer> entry : getPredicateExecutionCount().entrySet()) {
             ret.append(entry.getKey() + ": " + entry.getValue() + ", ");
         }
         ret.append("\nTrue distances: ");
-        for (Entry<Integer, Double> entry : trueDistances.entrySet()) {
+        for (Entry<Integer, Double> entry : getTrueDistances().entrySet()) {
             ret.append(entry.getKey() + ": " + entry.getValue() + ", ");
         }
         ret.append("\nFalse distances: ");
-        for (Entry<Integer, Double> entry : falseDistances.entrySet()) {
+        for (Entry<Integer, Double> entry : getFalseDistances().entrySet()) {
             ret.append(entry.getKey() + ": " + entry.getValue() + ", ");
         }
         return ret.toString();
@@ -1757,7 +1742,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public Map<Integer, Double> getFalseDistancesSum() {
-        return falseDistancesSum;
+        return branchDistances.getFalseDistancesSum();
     }
 
     /**
@@ -1765,7 +1750,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public Map<Integer, Double> getTrueDistancesSum() {
-        return trueDistancesSum;
+        return branchDistances.getTrueDistancesSum();
     }
 
     /**
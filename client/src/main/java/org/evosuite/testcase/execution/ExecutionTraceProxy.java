@@ -40,6 +40,11 @@ public class ExecutionTraceProxy implements ExecutionTrace, Cloneable {
 
     private ExecutionTraceImpl trace;
 
+    /**
+     * Set once the owner of this proxy has discarded it, see {@link #release()}
+     */
+    private volatile boolean released = false;
+
     /**
      * <p>
      * Constructor for ExecutionTraceProxy.
@@ -104,6 +109,47 @@ public class ExecutionTraceProxy implements ExecutionTrace, Cloneable {
         }
     }
 
+    /**
+     * Declare that this trace will not be read again. Once no other proxy shares
+     * the underlying trace, the {@link ExecutionTracer} that produced it may
+     * reuse its storage for the next execution, so the caller must drop every
+     * reference to this trace and to the views obtained from it.
+     */
+    public void release() {
+        if (!released) {
+            released = true;
+            trace.removeProxy();
+        }
+    }
+
+    /**
+     * Take over the storage of a released trace that no other proxy shares
+     * any more
+     *
+     * @return an emptied trace, or null if the storage cannot be reused
+     */
+    ExecutionTraceImpl reclaim() {
+        if (!released || trace.getProxyCount() != 0)
+            return null;
+        ExecutionTraceImpl impl = trace;
+        trace = null;
+        impl.reset();
+        return impl;
+    }
+
+    /**
+     * Empty this trace for a new execution, reusing its storage unless it is
+     * shared with another proxy
+     */
+    void reset() {
+        if (trace.getProxyCount() > 1) {
+            trace.removeProxy();
+            trace = new ExecutionTraceImpl();
+        } else {
+            trace.reset();
+        }
+    }
+
     /*
      * (non-Javadoc)
      *
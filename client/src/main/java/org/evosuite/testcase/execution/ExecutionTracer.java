@@ -29,6 +29,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
@@ -42,6 +43,18 @@ public class ExecutionTracer {
 
     private static ExecutionTracer instance = null;
 
+    /**
+     * Tracers of the workers executing tests in parallel, bound to the worker threads and
+     * inherited by the threads they spawn
+     */
+    private static final InheritableThreadLocal<ExecutionTracer> workerTracer = new InheritableThreadLocal<>();
+
+    /**
+     * Number of threads with a bound worker tracer, so that the thread local is only looked up
+     * while tests are executed in parallel
+     */
+    private static final AtomicInteger boundWorkerTracers = new AtomicInteger(0);
+
     /**
      * We need to disable the execution tracer sometimes, e.g. when calling
      * equals in the branch distance function
@@ -55,7 +68,17 @@ public class ExecutionTracer {
 
     private int num_statements = 0;
 
-    private ExecutionTrace trace;
+    private ExecutionTraceProxy trace;
+
+    /**
+     * Whether {@link #trace} has been returned by {@link #getTrace()} since the last {@link #clear()}
+     */
+    private boolean traceHandedOut = false;
+
+    /**
+     * The last trace handed out, whose storage is reused once its owner releases it
+     */
+    private ExecutionTraceProxy retiredTrace = null;
 
 
     private static boolean checkCallerThread = true;
@@ -64,7 +87,7 @@ public class ExecutionTracer {
      * If a thread of a test case survives for some reason (e.g. long call to
      * external library), then we don't want its data in the current trace
      */
-    private static volatile Thread currentThread = null;
+    private volatile Thread currentThread = null;
 
     /**
      * <p>
@@ -74,7 +97,7 @@ public class ExecutionTracer {
      * @param thread a {@link java.lang.Thread} object.
      */
     public static void setThread(Thread thread) {
-        currentThread = thread;
+        getExecutionTracer().currentThread = thread;
     }
 
     /**
@@ -182,6 +205,12 @@ public class ExecutionTracer {
      * @return a {@link org.evosuite.testcase.execution.ExecutionTracer} object.
      */
     public static ExecutionTracer getExecutionTracer() {
+        if (boundWorkerTracers.get() > 0) {
+            ExecutionTracer tracer = workerTracer.get();
+            if (tracer != null) {
+                return tracer;
+            }
+        }
         if (instance == null) {
             instance = new ExecutionTracer();
         }
@@ -189,10 +218,45 @@ public class ExecutionTracer {
     }
 
     /**
-     * Reset for new execution
+     * Create a tracer for a worker executing tests in parallel with the other workers
+     */
+    static ExecutionTracer createWorkerTracer() {
+        return new ExecutionTracer();
+    }
+
+    /**
+     * Make {@link #getExecutionTracer()} return the given tracer on the current thread, and on all
+     * threads it spawns from now on
+     */
+    static void bindWorkerTracer(ExecutionTracer tracer) {
+        workerTracer.set(tracer);
+        boundWorkerTracers.incrementAndGet();
+    }
+
+    /**
+     * Undo {@link #bindWorkerTracer(ExecutionTracer)}. Once no thread is bound, the threads
+     * spawned in the meantime use the global tracer again.
+     */
+    static void unbindWorkerTracer() {
+        boundWorkerTracers.decrementAndGet();
+        workerTracer.remove();
+    }
+
+    /**
+     * Reset for new execution. If the trace handed out before the last one has
+     * been {@link ExecutionTraceProxy#release() released} in the meantime, its
+     * storage is reused instead of allocating a new trace.
      */
     public void clear() {
-        trace = new ExecutionTraceProxy();
+        if (traceHandedOut) {
+            ExecutionTraceImpl reused = retiredTrace == null ? null : retiredTrace.reclaim();
+            retiredTrace = trace;
+            trace = reused == null ? new ExecutionTraceProxy() : new ExecutionTraceProxy(reused);
+            traceHandedOut = false;
+        } else {
+            // Nobody has seen this trace yet, so it can simply be emptied
+            trace.reset();
+        }
         BooleanHelper.clearStack();
         num_statements = 0;
     }
@@ -208,7 +272,8 @@ public class ExecutionTracer {
         if (!checkCallerThread) {
             return false;
         }
-        if (currentThread == null) {
+        ExecutionTracer tracer = getExecutionTracer();
+        if (tracer.currentThread == null) {
             logger.error("CurrentThread has not been set!");
             Map<Thread, StackTraceElement[]> map = Thread.getAllStackTraces();
             for (Thread t : map.keySet()) {
@@ -218,9 +283,9 @@ public class ExecutionTracer {
                 }
                 logger.error(msg);
             }
-            currentThread = Thread.currentThread();
+            tracer.currentThread = Thread.currentThread();
         }
-        return Thread.currentThread() != currentThread;
+        return Thread.currentThread() != tracer.currentThread;
     }
 
     /**
@@ -230,6 +295,7 @@ public class ExecutionTracer {
      */
     public ExecutionTrace getTrace() {
         trace.finishCalls();
+        traceHandedOut = true;
         return trace;
 
         // ExecutionTrace copy = trace.clone();
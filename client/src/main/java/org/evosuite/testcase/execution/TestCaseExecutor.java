@@ -32,14 +32,21 @@ import org.evosuite.runtime.util.SystemInUtil;
 import org.evosuite.setup.TestCluster;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.execution.reset.ClassReInitializer;
+import org.evosuite.utils.LoggingUtils;
+import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * <p>
@@ -66,6 +73,11 @@ public class TestCaseExecutor implements ThreadFactory {
      */
     public static final String TEST_EXECUTION_THREAD = "TEST_EXECUTION_THREAD";
 
+    /**
+     * Name used for the threads driving the workers of parallel test executions
+     */
+    public static final String TEST_WORKER_THREAD = "TEST_WORKER_THREAD";
+
     private static final Logger logger = LoggerFactory.getLogger(TestCaseExecutor.class);
 
     private static final PrintStream systemOut = System.out;
@@ -73,8 +85,64 @@ public class TestCaseExecutor implements ThreadFactory {
 
     private static TestCaseExecutor instance = null;
 
+    /**
+     * Executors used by {@link #runTests(List)}, each one with its own driver thread
+     */
+    private static List<TestCaseExecutor> workers = null;
+
+    /**
+     * Guards the global state shared by concurrent test executions, e.g. the runtime, the sandbox
+     * and the test cluster
+     */
+    private static final Object globalStateLock = new Object();
+
+    /**
+     * Number of tests currently executing SUT code, the sandbox is on as long as this is positive
+     */
+    private static int activeExecutions = 0;
+
+    /**
+     * Whether the user was told that tests are executed sequentially in spite of
+     * {@link Properties#TEST_EXECUTION_THREADS}
+     */
+    private static boolean parallelExecutionRefused = false;
+
+    /**
+     * Whether the user was told that the islands take turns to execute their tests
+     */
+    private static boolean concurrentIslandsRefused = false;
+
+    /**
+     * Executors of the islands evolved in this client, bound to the threads of the islands
+     */
+    private static final ThreadLocal<TestCaseExecutor> islandExecutor = new ThreadLocal<>();
+
+    /**
+     * Number of threads with a bound island executor, so that the thread local is only looked up
+     * while islands are evolved
+     */
+    private static final AtomicInteger boundIslandExecutors = new AtomicInteger(0);
+
     private ExecutorService executor;
 
+    /**
+     * Tracer of the tests executed by a worker, null for the main executor which uses the
+     * global tracer
+     */
+    private final ExecutionTracer tracer;
+
+    /**
+     * Thread from which a worker executes its tests, null for the main executor
+     */
+    private final ExecutorService driver;
+
+    /**
+     * Permit an island needs to run anything but the SUT, null unless this is the executor of an
+     * island. It is released while the tests of the island execute, so that the other islands can
+     * search in the meantime.
+     */
+    private final Semaphore searchPermit;
+
     private Thread currentThread = null;
 
     private ThreadGroup threadGroup = null;
@@ -113,13 +181,51 @@ public class TestCaseExecutor implements ThreadFactory {
      * @return a {@link org.evosuite.testcase.execution.TestCaseExecutor}
      * object.
      */
-    public static synchronized TestCaseExecutor getInstance() {
+    public static TestCaseExecutor getInstance() {
+        if (boundIslandExecutors.get() > 0) {
+            TestCaseExecutor executor = islandExecutor.get();
+            if (executor != null) {
+                return executor;
+            }
+        }
+        return getMainInstance();
+    }
+
+    private static synchronized TestCaseExecutor getMainInstance() {
         if (instance == null)
             instance = new TestCaseExecutor();
 
         return instance;
     }
 
+    /**
+     * Make {@link #getInstance()} return a new executor with its own tracer on the current thread,
+     * which is the thread of an island. The island must hold the given permit whenever it is not
+     * executing tests: the permit is released while the SUT runs and taken back afterwards.
+     *
+     * @param searchPermit permit shared by all islands
+     */
+    public static void bindIslandExecutor(Semaphore searchPermit) {
+        TestCaseExecutor executor = new TestCaseExecutor(searchPermit);
+        islandExecutor.set(executor);
+        boundIslandExecutors.incrementAndGet();
+        ExecutionTracer.bindWorkerTracer(executor.tracer);
+    }
+
+    /**
+     * Undo {@link #bindIslandExecutor(Semaphore)} and shut down the executor of the island
+     */
+    public static void unbindIslandExecutor() {
+        TestCaseExecutor executor = islandExecutor.get();
+        if (executor == null) {
+            return;
+        }
+        ExecutionTracer.unbindWorkerTracer();
+        boundIslandExecutors.decrementAndGet();
+        islandExecutor.remove();
+        executor.executor.shutdownNow();
+    }
+
     /**
      * Execute a test case
      *
@@ -145,8 +251,190 @@ public class TestCaseExecutor implements ThreadFactory {
         return result;
     }
 
+    /**
+     * Execute several test cases, concurrently on {@link Properties#TEST_EXECUTION_THREADS}
+     * workers if {@link #isParallelExecutionEnabled()}.
+     *
+     * <p>
+     * Each worker has its own test execution thread, thread group and execution tracer, while the
+     * global state touched by an execution is updated under a lock. The workers share the class
+     * loader and the EvoSuite runtime, which is reset once before the tests rather than before each
+     * test. This is why tests are only executed concurrently if they cannot affect each other
+     * through that state, see {@link #isParallelExecutionEnabled()}. Each test draws from its own
+     * {@link Randomness#split() random stream}, split in the order of the tests, so that the draws
+     * do not depend on the interleaving of the workers.
+     * </p>
+     *
+     * @param tests the test cases to execute
+     * @return the results of the executions, in the order of the tests
+     */
+    public static List<ExecutionResult> runTests(List<TestCase> tests) {
+        List<ExecutionResult> results = new ArrayList<>(tests.size());
+        if (!isParallelExecutionEnabled() || tests.size() < 2) {
+            for (TestCase test : tests) {
+                results.add(runTest(test));
+            }
+            return results;
+        }
+
+        synchronized (globalStateLock) {
+            Runtime.getInstance().resetRuntime();
+        }
+        ExecutionResult[] executed = new ExecutionResult[tests.size()];
+        // One stream per test rather than per worker, as tests are not bound to a worker
+        Random[] streams = new Random[tests.size()];
+        for (int i = 0; i < streams.length; i++) {
+            streams[i] = Randomness.split();
+        }
+        AtomicInteger next = new AtomicInteger(0);
+        List<Future<?>> futures = new ArrayList<>();
+        for (TestCaseExecutor worker : getWorkers()) {
+            futures.add(worker.driver.submit(() -> {
+                ExecutionTracer.bindWorkerTracer(worker.tracer);
+                try {
+                    for (int i = next.getAndIncrement(); i < executed.length; i = next.getAndIncrement()) {
+                        executed[i] = worker.execute(tests.get(i), new Scope(), Properties.TIMEOUT, streams[i]);
+                    }
+                } finally {
+                    ExecutionTracer.unbindWorkerTracer();
+                }
+            }));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            logger.error("TG: Exception caught: ", e.getCause());
+            throw new Error(e.getCause());
+        } catch (InterruptedException e) {
+            logger.error("TG: Exception caught: ", e);
+            Thread.currentThread().interrupt();
+            throw new Error(e);
+        }
+
+        results.addAll(Arrays.asList(executed));
+        for (ExecutionResult result : executed) {
+            MaxStatementsStoppingCondition.statementsExecuted(result.getExecutedStatements());
+        }
+        return results;
+    }
+
+    /**
+     * Tests can only be executed in parallel if more than one thread is configured, no execution
+     * observer is registered, as observers keep the state of a single execution, and no state is
+     * reset before or after each test: static fields, the virtual file system and network, the mocks
+     * of the JVM non-determinism, System.in, the GUI inputs and the loop counters are all shared by
+     * the concurrent tests. As these are reset by default, the tests of a default configuration are
+     * executed sequentially, and the user is warned once.
+     *
+     * @return true if {@link #runTests(List)} executes tests concurrently
+     */
+    public static boolean isParallelExecutionEnabled() {
+        if (Properties.TEST_EXECUTION_THREADS <= 1 || getInstance().searchPermit != null
+                || !getInstance().observers.isEmpty()) {
+            return false;
+        }
+        if (sharesResetState()) {
+            if (!parallelExecutionRefused) {
+                parallelExecutionRefused = true;
+                LoggingUtils.getEvoLogger().warn("* Ignoring test_execution_threads=" + Properties.TEST_EXECUTION_THREADS
+                        + ", tests are executed sequentially: concurrent tests cannot be isolated while any of "
+                        + "reset_static_fields, virtual_fs, virtual_net, replace_calls, replace_system_in, "
+                        + "replace_gui is enabled or max_loop_iterations is not negative, which is the default");
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * The tests of different islands can execute at the same time under the same conditions as
+     * {@link #isParallelExecutionEnabled()}, except that each island has its own observers.
+     * Otherwise the islands take turns, and the user is warned once.
+     *
+     * @return true if islands should {@link #bindIslandExecutor(Semaphore) bind their own executor}
+     */
+    public static boolean canExecuteIslandsConcurrently() {
+        if (!getMainInstance().observers.isEmpty() || sharesResetState()) {
+            if (!concurrentIslandsRefused) {
+                concurrentIslandsRefused = true;
+                LoggingUtils.getEvoLogger().warn("* Islands are evolved in turns and do not use more than one core: "
+                        + "concurrent tests cannot be isolated while an execution observer is registered, or any of "
+                        + "reset_static_fields, virtual_fs, virtual_net, replace_calls, replace_system_in, "
+                        + "replace_gui is enabled or max_loop_iterations is not negative, which is the default");
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return true if state shared by all tests is reset before or after each test
+     */
+    private static boolean sharesResetState() {
+        return Properties.RESET_STATIC_FIELDS || Properties.VIRTUAL_FS || Properties.VIRTUAL_NET
+                || Properties.REPLACE_CALLS || Properties.REPLACE_SYSTEM_IN || Properties.REPLACE_GUI
+                || Properties.MAX_LOOP_ITERATIONS >= 0;
+    }
+
+    private static synchronized List<TestCaseExecutor> getWorkers() {
+        if (workers == null || workers.size() != Properties.TEST_EXECUTION_THREADS) {
+            pullDownWorkers();
+            workers = new ArrayList<>(Properties.TEST_EXECUTION_THREADS);
+            for (int i = 0; i < Properties.TEST_EXECUTION_THREADS; i++) {
+                workers.add(new TestCaseExecutor(i));
+            }
+        }
+        return workers;
+    }
+
+    private static synchronized void pullDownWorkers() {
+        if (workers != null) {
+            for (TestCaseExecutor worker : workers) {
+                worker.executor.shutdownNow();
+                worker.driver.shutdownNow();
+            }
+            workers = null;
+        }
+    }
+
     private TestCaseExecutor() {
         executor = Executors.newSingleThreadExecutor(this);
+        tracer = null;
+        driver = null;
+        searchPermit = null;
+        newObservers();
+    }
+
+    private TestCaseExecutor(Semaphore searchPermit) {
+        // the test threads are created by the island thread, and so end up in its thread group
+        executor = Executors.newSingleThreadExecutor(this);
+        tracer = ExecutionTracer.createWorkerTracer();
+        driver = null;
+        this.searchPermit = searchPermit;
+        newObservers();
+    }
+
+    private TestCaseExecutor(int workerId) {
+        executor = Executors.newSingleThreadExecutor(this);
+        tracer = ExecutionTracer.createWorkerTracer();
+        driver = Executors.newSingleThreadExecutor(r -> {
+            /*
+             * The test threads of the worker are created by the driver thread, and so end up in its
+             * thread group. Giving each driver its own group keeps the SUT threads of the other
+             * workers out of reach when killing the SUT threads after a test.
+             */
+            ThreadGroup group = new ThreadGroup(TEST_WORKER_THREAD + "_" + workerId);
+            Thread thread = new Thread(group, r, TEST_WORKER_THREAD + "_" + workerId);
+            thread.setDaemon(true);
+            Sandbox.addPrivilegedThread(thread);
+            return thread;
+        });
+        searchPermit = null;
         newObservers();
     }
 
@@ -175,6 +463,7 @@ public class TestCaseExecutor implements ThreadFactory {
                 instance.executor = null;
             }
         }
+        pullDownWorkers();
     }
 
     /**
@@ -266,7 +555,8 @@ public class TestCaseExecutor implements ThreadFactory {
      */
     public ExecutionResult execute(TestCase tc, int timeout) {
         Scope scope = new Scope();
-        ExecutionResult result = execute(tc, scope, timeout);
+        // islands draw from their own random stream, tests must not depend on the other islands
+        ExecutionResult result = execute(tc, scope, timeout, searchPermit == null ? null : Randomness.split());
 
         if (Properties.RESET_STATIC_FIELDS) {
             logger.debug("Resetting classes after execution");
@@ -278,19 +568,26 @@ public class TestCaseExecutor implements ThreadFactory {
     /**
      * Execute a test case on an existing scope
      *
-     * @param tc    a {@link org.evosuite.testcase.TestCase} object.
-     * @param scope a {@link org.evosuite.testcase.execution.Scope} object.
+     * @param tc     a {@link org.evosuite.testcase.TestCase} object.
+     * @param scope  a {@link org.evosuite.testcase.execution.Scope} object.
+     * @param random random stream of the thread executing the test, or null to use the shared
+     *               generator
      * @return a {@link org.evosuite.testcase.execution.ExecutionResult} object.
      */
     @SuppressWarnings("deprecation")
-    private ExecutionResult execute(TestCase tc, Scope scope, int timeout) {
+    private ExecutionResult execute(TestCase tc, Scope scope, int timeout, Random random) {
         ExecutionTracer.getExecutionTracer().clear();
 
         // TODO: Re-insert!
         resetObservers();
-        ExecutionObserver.setCurrentTest(tc);
-        MaxTestsStoppingCondition.testExecuted();
-        Runtime.getInstance().resetRuntime();
+        synchronized (globalStateLock) {
+            ExecutionObserver.setCurrentTest(tc);
+            MaxTestsStoppingCondition.testExecuted();
+            if (driver == null) {
+                // workers share the runtime, which is reset once for all their tests
+                Runtime.getInstance().resetRuntime();
+            }
+        }
 
         long startTime = System.currentTimeMillis();
 
@@ -298,6 +595,7 @@ public class TestCaseExecutor implements ThreadFactory {
 
         // #TODO steenbuck could be nicer (TestRunnable should be an interface
         TestRunnable callable = new TestRunnable(tc, scope, observers);
+        callable.setRandom(random);
         callable.storeCurrentThreads();
 
         /*
@@ -314,21 +612,23 @@ public class TestCaseExecutor implements ThreadFactory {
 
             ExecutionResult result = null;
 
-            // important to call it before setting up the sandbox
-            SystemInUtil.getInstance().initForTestCase();
-            JOptionPaneInputs.getInstance().initForTestCase();
-
-            Sandbox.goingToExecuteSUTCode();
-            TestGenerationContext.getInstance().goingToExecuteSUTCode();
+            goingToExecuteSUTCode();
+            if (searchPermit != null) {
+                searchPermit.release();
+            }
             try {
                 result = handler.execute(callable, executor, timeout, Properties.CPU_TIMEOUT);
             } finally {
-                Sandbox.doneWithExecutingSUTCode();
-                TestGenerationContext.getInstance().doneWithExecutingSUTCode();
+                if (searchPermit != null) {
+                    searchPermit.acquireUninterruptibly();
+                }
+                doneWithExecutingSUTCode();
             }
 
-            PermissionStatistics.getInstance().countThreads(threadGroup.activeCount());
-            result.setSecurityException(PermissionStatistics.getInstance().getAndResetExceptionInfo());
+            synchronized (globalStateLock) {
+                PermissionStatistics.getInstance().countThreads(threadGroup.activeCount());
+                result.setSecurityException(PermissionStatistics.getInstance().getAndResetExceptionInfo());
+            }
             /*
              * TODO: this will need proper care when we ll start to handle
              * threads in the search.
@@ -341,8 +641,10 @@ public class TestCaseExecutor implements ThreadFactory {
              */
 
             long endTime = System.currentTimeMillis();
-            timeExecuted += endTime - startTime;
-            testsExecuted++;
+            synchronized (globalStateLock) {
+                timeExecuted += endTime - startTime;
+                testsExecuted++;
+            }
             return result;
         } catch (ThreadDeath t) {
             logger.warn("Caught ThreadDeath during test execution");
@@ -464,9 +766,11 @@ public class TestCaseExecutor implements ThreadFactory {
             ExecutionTracer.disable();
 
             // TODO: If this is true, is this problematic?
-            if (Sandbox.isOnAndExecutingSUTCode()) {
-                Sandbox.doneWithExecutingSUTCode();
-                TestGenerationContext.getInstance().doneWithExecutingSUTCode();
+            synchronized (globalStateLock) {
+                if (activeExecutions == 0 && Sandbox.isOnAndExecutingSUTCode()) {
+                    Sandbox.doneWithExecutingSUTCode();
+                    TestGenerationContext.getInstance().doneWithExecutingSUTCode();
+                }
             }
 
             ExecutionResult result = new ExecutionResult(tc, null);
@@ -481,10 +785,38 @@ public class TestCaseExecutor implements ThreadFactory {
 
             return result;
         } finally {
-            if (threadGroup != null)
-                PermissionStatistics.getInstance().countThreads(threadGroup.activeCount());
-            TestCluster.getInstance().handleRuntimeAccesses(tc);
+            synchronized (globalStateLock) {
+                if (threadGroup != null)
+                    PermissionStatistics.getInstance().countThreads(threadGroup.activeCount());
+                TestCluster.getInstance().handleRuntimeAccesses(tc);
+            }
+        }
+    }
+
+    /**
+     * Set up the sandbox and the inputs of the SUT. With concurrent executions, the sandbox is
+     * turned on by the first test and off by the last one.
+     */
+    private static void goingToExecuteSUTCode() {
+        synchronized (globalStateLock) {
+            // important to call it before setting up the sandbox
+            SystemInUtil.getInstance().initForTestCase();
+            JOptionPaneInputs.getInstance().initForTestCase();
+
+            if (activeExecutions++ == 0) {
+                Sandbox.goingToExecuteSUTCode();
+            }
+        }
+        TestGenerationContext.getInstance().goingToExecuteSUTCode();
+    }
+
+    private static void doneWithExecutingSUTCode() {
+        synchronized (globalStateLock) {
+            if (--activeExecutions == 0) {
+                Sandbox.doneWithExecutingSUTCode();
+            }
         }
+        TestGenerationContext.getInstance().doneWithExecutingSUTCode();
     }
 
     private boolean isInStaticInit() {
@@ -535,6 +867,7 @@ public class TestCaseExecutor implements ThreadFactory {
         currentThread.setName(TEST_EXECUTION_THREAD + "_" + threadCounter);
         threadCounter++;
         currentThread.setContextClassLoader(TestGenerationContext.getInstance().getClassLoaderForSUT());
+        // For a worker, this runs on its driver thread: the worker tracer is bound, and inherited by the new thread
         ExecutionTracer.setThread(currentThread);
         return currentThread;
     }
@@ -29,6 +29,7 @@ import org.evosuite.runtime.thread.ThreadStopper;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.statements.Statement;
 import org.evosuite.utils.LoggingUtils;
+import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -68,6 +69,11 @@ public class TestRunnable implements InterfaceTestRunnable {
 
     protected final ThreadStopper threadStopper;
 
+    /**
+     * Random stream installed on the thread executing the test, null to use the shared generator
+     */
+    private Random random = null;
+
     /**
      * <p>
      * Constructor for TestRunnable.
@@ -155,11 +161,29 @@ public class TestRunnable implements InterfaceTestRunnable {
         }
     }
 
+    /**
+     * Execute the test with its own random stream, see {@link Randomness#split()}
+     *
+     * @param random the stream, or null to use the shared generator
+     */
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public ExecutionResult call() {
+        if (random == null) {
+            return executeTest();
+        }
+        ExecutionResult[] result = new ExecutionResult[1];
+        Randomness.runWith(random, () -> result[0] = executeTest());
+        return result[0];
+    }
+
+    private ExecutionResult executeTest() {
 
         exceptionsThrown.clear();
 
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testsuite;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fitness of every test of a suite on every goal, as used by the {@link TestSuiteMinimizer}.
+ * Goals and tests are referred to by their position in the goal list and in the suite.
+ *
+ * <p>A test is responsible for a goal if no other test of the suite reaches the best
+ * fitness value the suite has on that goal. As long as every test keeps its fitness on the
+ * goals it is responsible for, the fitness of the suite on each goal does not get worse,
+ * and in particular no covered goal gets lost.
+ */
+class GoalCoverageIndex {
+
+    private final int numGoals;
+
+    private final List<double[]> fitness = new ArrayList<>();
+
+    /**
+     * @param numGoals the number of goals
+     */
+    GoalCoverageIndex(int numGoals) {
+        if (numGoals < 0) {
+            throw new IllegalArgumentException("Negative number of goals: " + numGoals);
+        }
+        this.numGoals = numGoals;
+    }
+
+    /**
+     * Add the next test of the suite
+     *
+     * @param values the fitness of the test on each goal
+     * @return the position of the test in the index
+     */
+    int addTest(double[] values) {
+        checkLength(values);
+        fitness.add(values.clone());
+        return fitness.size() - 1;
+    }
+
+    /**
+     * Replace the fitness values of a test after it was changed
+     *
+     * @param test   position of the test
+     * @param values the fitness of the test on each goal
+     */
+    void setFitness(int test, double[] values) {
+        checkLength(values);
+        fitness.set(test, values.clone());
+    }
+
+    double getFitness(int test, int goal) {
+        return fitness.get(test)[goal];
+    }
+
+    /**
+     * Determine the goals the given test is responsible for
+     *
+     * @param test position of the test
+     * @return the positions of the goals for which no other test is as good as this one
+     */
+    List<Integer> getResponsibleGoals(int test) {
+        double[] own = fitness.get(test);
+        List<Integer> goals = new ArrayList<>();
+        for (int goal = 0; goal < numGoals; goal++) {
+            boolean responsible = true;
+            for (int other = 0; other < fitness.size() && responsible; other++) {
+                if (other != test && Double.compare(fitness.get(other)[goal], own[goal]) <= 0) {
+                    responsible = false;
+                }
+            }
+            if (responsible) {
+                goals.add(goal);
+            }
+        }
+        return goals;
+    }
+
+    private void checkLength(double[] values) {
+        if (values.length != numGoals) {
+            throw new IllegalArgumentException("Expected " + numGoals + " fitness values, got "
+                    + values.length);
+        }
+    }
+}
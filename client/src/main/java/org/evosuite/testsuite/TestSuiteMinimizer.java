@@ -276,8 +276,9 @@ public class TestSuiteMinimizer {
     }
 
     /**
-     * Minimize test suite with respect to the isCovered Method of the goals
-     * defined by the supplied TestFitnessFactory
+     * Minimize test suite by removing statements from its tests, such that the
+     * fitness of the suite on the goals defined by the supplied
+     * TestFitnessFactory does not get worse
      *
      * @param suite a {@link org.evosuite.testsuite.TestSuiteChromosome} object.
      */
@@ -292,9 +293,7 @@ public class TestSuiteMinimizer {
 
         SecondaryObjective strategy = Properties.SECONDARY_OBJECTIVE[0];
 
-        boolean size = false;
         if (strategy == SecondaryObjective.SIZE) {
-            size = true;
             // If we want to remove tests, start with shortest
             suite.tests.sort(comparingInt(TestChromosome::size));
         } else if (strategy == SecondaryObjective.MAX_LENGTH) {
@@ -303,99 +302,130 @@ public class TestSuiteMinimizer {
         }
 
         List<TestFitnessFunction> goals = new ArrayList<>();
-        List<Double> fitness = new ArrayList<>();
         for (TestFitnessFactory<?> ff : testFitnessFactories) {
             goals.addAll(ff.getCoverageGoals());
-            fitness.add(ff.getFitness(suite));
         }
 
-        boolean changed = true;
-        while (changed && !isTimeoutReached()) {
-            changed = false;
+        removeEmptyTestCases(suite);
 
-            removeEmptyTestCases(suite);
+        // Every test is executed once here, and afterwards only when it is changed
+        GoalCoverageIndex index = new GoalCoverageIndex(goals.size());
+        for (TestChromosome test : suite.tests) {
+            if (isTimeoutReached()) {
+                logger.warn("Minimization timeout. Roll back to original test suite");
+                return;
+            }
+            index.addTest(getFitnessValues(test, goals));
+        }
 
-            for (TestChromosome testChromosome : suite.tests) {
-                if (isTimeoutReached())
-                    break;
+        int numTests = suite.tests.size();
+        for (int i = 0; i < numTests && !isTimeoutReached(); i++) {
+            updateClientStatus(100 * i / numTests);
+            TestChromosome test = suite.tests.get(i);
 
-                for (int i = testChromosome.size() - 1; i >= 0; i--) {
-                    if (isTimeoutReached())
-                        break;
+            List<TestFitnessFunction> responsibleGoals = new ArrayList<>();
+            List<Double> bounds = new ArrayList<>();
+            for (int goal : index.getResponsibleGoals(i)) {
+                responsibleGoals.add(goals.get(goal));
+                bounds.add(index.getFitness(i, goal));
+            }
+            logger.debug("Test {} is responsible for {} goals", i, responsibleGoals.size());
 
-                    logger.debug("Current size: " + suite.size() + "/"
-                            + suite.totalLengthOfTestCases());
-                    logger.debug("Deleting statement "
-                            + testChromosome.getTestCase().getStatement(i).getCode()
-                            + " from test");
-                    TestChromosome originalTestChromosome = testChromosome.clone();
-
-                    boolean modified = false;
-                    try {
-                        TestFactory testFactory = TestFactory.getInstance();
-                        modified = testFactory.deleteStatementGracefully(testChromosome.getTestCase(), i);
-                    } catch (ConstructionFailedException e) {
-                        modified = false;
-                    }
+            if (minimizeTest(test, responsibleGoals, bounds)) {
+                index.setFitness(i, getFitnessValues(test, goals));
+            }
+        }
 
-                    if (!modified) {
-                        testChromosome.setChanged(false);
-                        testChromosome.setTestCase(originalTestChromosome.getTestCase());
-                        logger.debug("Deleting failed");
-                        continue;
-                    }
+        this.removeEmptyTestCases(suite);
+        this.removeRedundantTestCases(suite, goals);
+    }
 
-                    testChromosome.setChanged(true);
-                    testChromosome.getTestCase().clearCoveredGoals();
-
-                    List<Double> modifiedVerFitness = new ArrayList<>();
-                    for (TestFitnessFactory<?> ff : testFitnessFactories)
-                        modifiedVerFitness.add(ff.getFitness(suite));
-
-                    int compare_ff = 0;
-                    for (int i_fit = 0; i_fit < modifiedVerFitness.size(); i_fit++) {
-                        if (Double.compare(modifiedVerFitness.get(i_fit), fitness.get(i_fit)) < 0) {
-                            compare_ff = -1; // new value is lower than previous one
-                            break;
-                        } else if (Double.compare(modifiedVerFitness.get(i_fit), fitness.get(i_fit)) > 0) {
-                            compare_ff = 1; // new value is greater than previous one
-                            break;
-                        }
-                    }
+    private double[] getFitnessValues(TestChromosome test, List<TestFitnessFunction> goals) {
+        double[] values = new double[goals.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = goals.get(i).getFitness(test);
+        }
+        return values;
+    }
 
-                    // the value 0 if d1 (previous fitness) is numerically equal to d2 (new fitness)
-                    if (compare_ff == 0) {
-                        continue; // if we can guarantee that we have the same fitness value with less statements, better
-                    } else if (compare_ff < -1) // a value less than 0 if d1 is numerically less than d2
-                    {
-                        fitness = modifiedVerFitness;
-                        changed = true;
-                        /**
-                         * This means, that we try to delete statements equally
-                         * from each test case (If size is 'false'.) The hope is
-                         * that the median length of the test cases is shorter,
-                         * as opposed to the average length.
-                         */
-                        if (!size)
-                            break;
-                    }
-                    // and a value greater than 0 if d1 is numerically greater than d2
-                    else if (compare_ff == 1) {
-                        // Restore previous state
-                        logger.debug("Can't remove statement "
-                                + originalTestChromosome.getTestCase().getStatement(i).getCode());
-                        logger.debug("Restoring fitness from " + modifiedVerFitness
-                                + " to " + fitness);
-                        testChromosome.setTestCase(originalTestChromosome.getTestCase());
-                        testChromosome.setLastExecutionResult(originalTestChromosome.getLastExecutionResult());
-                        testChromosome.setChanged(false);
-                    }
+    /**
+     * Remove statements from a test, delta debugging style: first in large chunks,
+     * then in smaller ones down to single statements, as long as the fitness on each
+     * of the given goals stays within its bound
+     *
+     * @param test   the test to minimize
+     * @param goals  the goals the test needs to keep
+     * @param bounds the maximum fitness on each of the goals
+     * @return true if statements were removed
+     */
+    private boolean minimizeTest(TestChromosome test, List<TestFitnessFunction> goals, List<Double> bounds) {
+        boolean modified = false;
+        // Without goals to keep, the whole test can go at once
+        int chunkSize = goals.isEmpty() ? test.size() : Math.max(1, test.size() / 2);
+
+        while (test.size() > 0 && !isTimeoutReached()) {
+            logger.debug("Trying to remove chunks of {} out of {} statements", chunkSize, test.size());
+            boolean removed = false;
+            // Removing from the back keeps the positions of the earlier chunks valid
+            int end = test.size();
+            while (end > 0 && !isTimeoutReached()) {
+                int start = Math.max(0, end - chunkSize);
+                if (removeStatements(test, start, end, goals, bounds)) {
+                    removed = true;
                 }
+                end = start;
+            }
+            modified |= removed;
+
+            if (chunkSize > 1) {
+                chunkSize = Math.max(1, Math.min(chunkSize / 2, test.size() / 2));
+            } else if (!removed) {
+                break;
             }
         }
+        return modified;
+    }
 
-        this.removeEmptyTestCases(suite);
-        this.removeRedundantTestCases(suite, goals);
+    /**
+     * Remove the statements from start (inclusive) to end (exclusive) and keep the
+     * result if the test is still as good as the bounds on the given goals.
+     * Otherwise the test is restored.
+     */
+    private boolean removeStatements(TestChromosome test, int start, int end,
+                                     List<TestFitnessFunction> goals, List<Double> bounds) {
+        TestChromosome originalTestChromosome = test.clone();
+
+        boolean modified = false;
+        try {
+            TestFactory testFactory = TestFactory.getInstance();
+            for (int i = end - 1; i >= start; i--) {
+                if (i < test.size()) {
+                    modified |= testFactory.deleteStatementGracefully(test.getTestCase(), i);
+                }
+            }
+        } catch (ConstructionFailedException e) {
+            modified = false;
+        }
+
+        if (modified) {
+            test.setChanged(true);
+            test.getTestCase().clearCoveredGoals();
+
+            boolean keepsFitness = true;
+            for (int i = 0; i < goals.size() && keepsFitness; i++) {
+                // Only the first goal needs to execute the changed test
+                keepsFitness = Double.compare(goals.get(i).getFitness(test), bounds.get(i)) <= 0;
+            }
+            if (keepsFitness) {
+                return true;
+            }
+        }
+
+        logger.debug("Can't remove statements {} to {}", start, end);
+        test.setTestCase(originalTestChromosome.getTestCase());
+        test.setLastExecutionResult(originalTestChromosome.getLastExecutionResult());
+        test.setChanged(false);
+        return false;
     }
 
     private void removeEmptyTestCases(TestSuiteChromosome suite) {
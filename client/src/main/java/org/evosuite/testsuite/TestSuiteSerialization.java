@@ -23,7 +23,7 @@ import org.evosuite.TestGenerationContext;
 import org.evosuite.runtime.util.Inputs;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.statements.Statement;
-import org.evosuite.utils.DebuggingObjectOutputStream;
+import org.evosuite.utils.InterningObjectOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,7 +47,7 @@ public class TestSuiteSerialization {
             parent.mkdirs();
         }
 
-        try (ObjectOutputStream out = new DebuggingObjectOutputStream(new FileOutputStream(target))) {
+        try (ObjectOutputStream out = new InterningObjectOutputStream(new BufferedOutputStream(new FileOutputStream(target)))) {
             for (TestSuiteChromosome ts : list) {
                 for (TestChromosome tc : ts.getTestChromosomes()) {
                     out.writeObject(tc);
@@ -70,7 +70,7 @@ public class TestSuiteSerialization {
             parent.mkdirs();
         }
 
-        try (ObjectOutputStream out = new DebuggingObjectOutputStream(new FileOutputStream(target))) {
+        try (ObjectOutputStream out = new InterningObjectOutputStream(new BufferedOutputStream(new FileOutputStream(target)))) {
             for (TestChromosome tc : ts.getTestChromosomes()) {
                 out.writeObject(tc);
             }
@@ -112,7 +112,7 @@ public class TestSuiteSerialization {
 
         List<TestChromosome> list = new ArrayList<>();
 
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(target))) {
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(target)))) {
 
             try {
                 Object obj = in.readObject();
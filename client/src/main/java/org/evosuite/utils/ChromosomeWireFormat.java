@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import org.evosuite.ga.Chromosome;
+import org.evosuite.runtime.util.Inputs;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Encoding of chromosomes sent between client and master processes. A batch of chromosomes is
+ * written to a single {@link InterningObjectOutputStream}, so goals, classes and names shared by
+ * several individuals are written only once. Cached execution results are transient and never
+ * part of the encoding.
+ * <p>
+ * The master only forwards migrants and best solutions as encoded bytes, without decoding them.
+ */
+public class ChromosomeWireFormat {
+
+    private ChromosomeWireFormat() {
+    }
+
+    /**
+     * Encodes the given chromosomes
+     *
+     * @param chromosomes
+     * @return
+     * @throws IOException if a chromosome cannot be serialized
+     */
+    public static byte[] encode(Collection<? extends Chromosome<?>> chromosomes) throws IOException {
+        Inputs.checkNull(chromosomes);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new InterningObjectOutputStream(bytes)) {
+            out.writeInt(chromosomes.size());
+            for (Chromosome<?> chromosome : chromosomes) {
+                out.writeObject(chromosome);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes chromosomes encoded with {@link #encode(Collection)}, in the order they were
+     * encoded
+     *
+     * @param bytes
+     * @param <T>
+     * @return
+     * @throws IOException if the bytes are not a valid encoding
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Chromosome<?>> List<T> decode(byte[] bytes) throws IOException {
+        Inputs.checkNull(bytes);
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            int size = in.readInt();
+            List<T> chromosomes = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                chromosomes.add((T) in.readObject());
+            }
+            return chromosomes;
+        } catch (ClassNotFoundException e) {
+            throw new InvalidClassException(e.getMessage());
+        }
+    }
+}
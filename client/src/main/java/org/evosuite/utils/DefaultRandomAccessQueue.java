@@ -22,36 +22,42 @@ package org.evosuite.utils;
 
 import org.evosuite.Properties;
 
-import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.Queue;
+import java.util.List;
 import java.util.Set;
 
 /**
+ * Bounded set of the most recently added distinct values. The values are kept in a ring buffer,
+ * so that a random value is chosen in constant time.
+ *
  * @author Gordon Fraser
  */
 public class DefaultRandomAccessQueue<T> implements RandomAccessQueue<T> {
 
     private final Set<T> valueSet = new HashSet<>();
 
-    private final Queue<T> queue = new ArrayDeque<>();
+    private final List<T> values = new ArrayList<>();
+
+    /**
+     * Index in values of the oldest value, which is replaced next once the queue is full
+     */
+    private int oldest = 0;
 
     /* (non-Javadoc)
      * @see org.evosuite.primitives.RandomAccessQueue#restrictedAdd(java.lang.Object)
      */
     @Override
-    public void restrictedAdd(T value) {
-        if (!valueSet.contains(value)) {
-            queue.add(value);
-            valueSet.add(value);
-            reduceSize();
+    public synchronized void restrictedAdd(T value) {
+        if (!valueSet.add(value)) {
+            return;
         }
-    }
-
-    private void reduceSize() {
-        if (queue.size() > Properties.DYNAMIC_POOL_SIZE) {
-            T value = queue.poll();
-            valueSet.remove(value);
+        if (values.size() < Math.max(1, Properties.DYNAMIC_POOL_SIZE)) {
+            values.add(value);
+        } else {
+            T evicted = values.set(oldest, value);
+            valueSet.remove(evicted);
+            oldest = (oldest + 1) % values.size();
         }
     }
 
@@ -59,15 +65,15 @@ public class DefaultRandomAccessQueue<T> implements RandomAccessQueue<T> {
      * @see org.evosuite.primitives.RandomAccessQueue#getRandomValue()
      */
     @Override
-    public T getRandomValue() {
-        return Randomness.choice(valueSet);
+    public synchronized T getRandomValue() {
+        return Randomness.choice(values);
     }
 
     @Override
-    public String toString() {
+    public synchronized String toString() {
         String res = "[ ";
-        for (final Object element : queue) {
-            res += element + " ";
+        for (int i = 0; i < values.size(); i++) {
+            res += values.get((oldest + i) % values.size()) + " ";
         }
         res += "]";
         return res;
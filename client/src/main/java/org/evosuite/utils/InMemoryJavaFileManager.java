@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * File manager for the Java compiler that keeps the generated class files in memory instead of
+ * writing them to disk. Sources can be given as strings through {@link #createSource(String, String)}.
+ * Classes on the classpath are still looked up through the wrapped {@link StandardJavaFileManager},
+ * so the same instance can be reused for several compilation tasks.
+ */
+public class InMemoryJavaFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+    /**
+     * Generated class files, from binary class name to their output object
+     */
+    private final Map<String, ClassBytes> classes = new LinkedHashMap<>();
+
+    public InMemoryJavaFileManager(StandardJavaFileManager fileManager) {
+        super(fileManager);
+    }
+
+    /**
+     * Create a compilation unit whose content is held in memory
+     *
+     * @param className fully qualified name of the top level class declared in the source
+     * @param code      the source code
+     * @return a file object to pass to the compiler
+     */
+    public static JavaFileObject createSource(String className, String code) {
+        return new SourceCode(className, code);
+    }
+
+    @Override
+    public JavaFileObject getJavaFileForOutput(Location location, String className,
+                                               JavaFileObject.Kind kind, FileObject sibling) {
+        ClassBytes output = new ClassBytes(className, kind);
+        classes.put(className, output);
+        return output;
+    }
+
+    /**
+     * @return the bytes of all the classes generated since the last call to {@link #clear()},
+     * keyed by binary class name
+     */
+    public Map<String, byte[]> getCompiledClasses() {
+        Map<String, byte[]> result = new LinkedHashMap<>();
+        for (Map.Entry<String, ClassBytes> entry : classes.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getBytes());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Forget the classes generated so far
+     */
+    public void clear() {
+        classes.clear();
+    }
+
+    private static URI toURI(String className, JavaFileObject.Kind kind) {
+        return URI.create("string:///" + className.replace('.', '/') + kind.extension);
+    }
+
+    private static class SourceCode extends SimpleJavaFileObject {
+
+        private final String code;
+
+        SourceCode(String className, String code) {
+            super(toURI(className, Kind.SOURCE), Kind.SOURCE);
+            this.code = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+    }
+
+    private static class ClassBytes extends SimpleJavaFileObject {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        ClassBytes(String className, Kind kind) {
+            super(toURI(className, kind), kind);
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return bytes;
+        }
+
+        byte[] getBytes() {
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * Class loader defining classes from the bytes produced by an {@link InMemoryJavaFileManager}.
+     * Every other class is delegated to the parent loader.
+     */
+    public static class InMemoryClassLoader extends ClassLoader {
+
+        private final Map<String, byte[]> classes;
+
+        public InMemoryClassLoader(ClassLoader parent, Map<String, byte[]> classes) {
+            super(parent);
+            this.classes = classes;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classes.get(name);
+            if (bytes == null) {
+                return super.findClass(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
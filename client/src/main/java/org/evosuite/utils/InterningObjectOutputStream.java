@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Object output stream that replaces every string by the first equal string written to the
+ * stream. Serialized test cases repeat the same class names, method names and descriptors in
+ * every statement, as each statement holds its own copy of its
+ * {@link org.evosuite.utils.generic.GenericAccessibleObject}. With interning, each distinct name
+ * is written once and all further occurrences are back-references into the stream's handle
+ * table. The output can be read with a plain {@link java.io.ObjectInputStream}.
+ */
+public class InterningObjectOutputStream extends DebuggingObjectOutputStream {
+
+    private final Map<String, String> strings = new HashMap<>();
+
+    public InterningObjectOutputStream(OutputStream out) throws IOException {
+        super(out);
+    }
+
+    @Override
+    protected Object replaceObject(Object o) {
+        Object replacement = super.replaceObject(o);
+        if (replacement instanceof String) {
+            String string = (String) replacement;
+            String interned = strings.putIfAbsent(string, string);
+            return interned == null ? string : interned;
+        }
+        return replacement;
+    }
+}
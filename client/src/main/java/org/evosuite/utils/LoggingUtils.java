@@ -243,7 +243,7 @@ public class LoggingUtils {
     /**
      * Redirect current System.out and System.err to a buffer
      */
-    public static void muteCurrentOutAndErrStream() {
+    public static synchronized void muteCurrentOutAndErrStream() {
         if (alreadyMuted) {
             return;
         }
@@ -261,7 +261,7 @@ public class LoggingUtils {
     /**
      * Allow again printing to previous streams that were muted
      */
-    public static void restorePreviousOutAndErrStream() {
+    public static synchronized void restorePreviousOutAndErrStream() {
         if (!alreadyMuted) {
             return;
         }
@@ -20,17 +20,25 @@
 package org.evosuite.utils;
 
 import org.evosuite.Properties;
+import org.evosuite.runtime.util.Inputs;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Callable;
 
 /**
  * Unique random number accessor
+ * <p>
+ * All threads share the generator seeded with {@link Properties#RANDOM_SEED}, unless a task runs
+ * with its own stream, see {@link #split()} and {@link #runWith(Random, Runnable)}. Streams split
+ * in a fixed order are the same in every run with the same seed, whichever threads later use
+ * them, so parallel tasks stay reproducible and do not contend on the shared generator.
  *
  * @author Gordon Fraser
  */
@@ -44,6 +52,11 @@ public class Randomness implements Serializable {
 
     private static Random random = null;
 
+    /**
+     * Stream of the task running on the current thread, if any
+     */
+    private static final ThreadLocal<Random> taskRandom = new ThreadLocal<>();
+
     private static Randomness instance = new Randomness();
 
     private Randomness() {
@@ -72,6 +85,74 @@ public class Randomness implements Serializable {
         return instance;
     }
 
+    /**
+     * @return the stream of the task running on the current thread, or the shared generator
+     */
+    private static Random current() {
+        Random stream = taskRandom.get();
+        return stream != null ? stream : random;
+    }
+
+    /**
+     * Creates an independent stream for a task, seeded from the current stream
+     *
+     * @return a new generator
+     */
+    public static Random split() {
+        long bits = current().nextLong();
+        return new MersenneTwister(new int[]{(int) (bits >>> 32), (int) bits});
+    }
+
+    /**
+     * Runs the task with all methods of this class drawing from the given stream on the current
+     * thread
+     *
+     * @param stream a stream created with {@link #split()}
+     * @param task
+     */
+    public static void runWith(Random stream, Runnable task) {
+        Inputs.checkNull(stream, task);
+        Random previous = install(stream);
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Same as {@link #runWith(Random, Runnable)} for a task with a result
+     *
+     * @param stream a stream created with {@link #split()}
+     * @param task
+     * @param <V>    the type of the result
+     * @return the result of the task
+     * @throws Exception if the task fails
+     */
+    public static <V> V callWith(Random stream, Callable<V> task) throws Exception {
+        Inputs.checkNull(stream, task);
+        Random previous = install(stream);
+        try {
+            return task.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    private static Random install(Random stream) {
+        Random previous = taskRandom.get();
+        taskRandom.set(stream);
+        return previous;
+    }
+
+    private static void restore(Random previous) {
+        if (previous != null) {
+            taskRandom.set(previous);
+        } else {
+            taskRandom.remove();
+        }
+    }
+
     /**
      * <p>
      * nextBoolean
@@ -80,7 +161,7 @@ public class Randomness implements Serializable {
      * @return a boolean.
      */
     public static boolean nextBoolean() {
-        return random.nextBoolean();
+        return current().nextBoolean();
     }
 
     /**
@@ -92,11 +173,11 @@ public class Randomness implements Serializable {
      * @see Random#nextInt(int)
      */
     public static int nextInt(int max) {
-        return random.nextInt(max);
+        return current().nextInt(max);
     }
 
     public static double nextGaussian() {
-        return random.nextGaussian();
+        return current().nextGaussian();
     }
 
     /**
@@ -108,7 +189,7 @@ public class Randomness implements Serializable {
      * @return a random number between {@code min} and {@code max}
      */
     public static int nextInt(int min, int max) {
-        return random.nextInt(max - min) + min;
+        return current().nextInt(max - min) + min;
     }
 
     /**
@@ -119,7 +200,7 @@ public class Randomness implements Serializable {
      * @return a int.
      */
     public static int nextInt() {
-        return random.nextInt();
+        return current().nextInt();
     }
 
     /**
@@ -142,7 +223,7 @@ public class Randomness implements Serializable {
      * @return a short.
      */
     public static short nextShort() {
-        return (short) (random.nextInt(2 * 32767) - 32767);
+        return (short) (current().nextInt(2 * 32767) - 32767);
     }
 
     /**
@@ -153,7 +234,7 @@ public class Randomness implements Serializable {
      * @return a long.
      */
     public static long nextLong() {
-        return random.nextLong();
+        return current().nextLong();
     }
 
     /**
@@ -164,7 +245,7 @@ public class Randomness implements Serializable {
      * @return a byte.
      */
     public static byte nextByte() {
-        return (byte) (random.nextInt(256) - 128);
+        return (byte) (current().nextInt(256) - 128);
     }
 
     /**
@@ -175,7 +256,7 @@ public class Randomness implements Serializable {
      * @return a double between 0.0 and 1.0
      */
     public static double nextDouble() {
-        return random.nextDouble();
+        return current().nextDouble();
     }
 
     /**
@@ -188,7 +269,7 @@ public class Randomness implements Serializable {
      * @return a double.
      */
     public static double nextDouble(double min, double max) {
-        return min + (random.nextDouble() * (max - min));
+        return min + (current().nextDouble() * (max - min));
     }
 
     /**
@@ -199,7 +280,7 @@ public class Randomness implements Serializable {
      * @return a float.
      */
     public static float nextFloat() {
-        return random.nextFloat();
+        return current().nextFloat();
     }
 
     /**
@@ -238,7 +319,7 @@ public class Randomness implements Serializable {
         if (list.isEmpty())
             return null;
 
-        int position = random.nextInt(list.size());
+        int position = current().nextInt(list.size());
         return list.get(position);
     }
 
@@ -256,8 +337,16 @@ public class Randomness implements Serializable {
         if (set.isEmpty())
             return null;
 
-        int position = random.nextInt(set.size());
-        return (T) set.toArray()[position];
+        int position = current().nextInt(set.size());
+        if (set instanceof List) {
+            return ((List<T>) set).get(position);
+        }
+        // walk to the element instead of copying the whole collection with toArray()
+        Iterator<T> iterator = set.iterator();
+        for (int i = 0; i < position; i++) {
+            iterator.next();
+        }
+        return iterator.next();
     }
 
     /**
@@ -273,10 +362,23 @@ public class Randomness implements Serializable {
         if (elements.length == 0)
             return null;
 
-        int position = random.nextInt(elements.length);
+        int position = current().nextInt(elements.length);
         return elements[position];
     }
 
+    /**
+     * Returns a random element of a non-empty array
+     *
+     * @param elements
+     * @return
+     */
+    public static int choice(int[] elements) {
+        if (elements.length == 0)
+            throw new IllegalArgumentException("Cannot choose from an empty array");
+
+        return elements[current().nextInt(elements.length)];
+    }
+
     /**
      * <p>
      * shuffle
@@ -285,7 +387,37 @@ public class Randomness implements Serializable {
      * @param list a {@link java.util.List} object.
      */
     public static void shuffle(List<?> list) {
-        Collections.shuffle(list, random);
+        Collections.shuffle(list, current());
+    }
+
+    /**
+     * Shuffles the array in place
+     *
+     * @param elements
+     */
+    public static <T> void shuffle(T[] elements) {
+        Random stream = current();
+        for (int i = elements.length; i > 1; i--) {
+            int j = stream.nextInt(i);
+            T tmp = elements[i - 1];
+            elements[i - 1] = elements[j];
+            elements[j] = tmp;
+        }
+    }
+
+    /**
+     * Shuffles the array in place
+     *
+     * @param elements
+     */
+    public static void shuffle(int[] elements) {
+        Random stream = current();
+        for (int i = elements.length; i > 1; i--) {
+            int j = stream.nextInt(i);
+            int tmp = elements[i - 1];
+            elements[i - 1] = elements[j];
+            elements[j] = tmp;
+        }
     }
 
     /**
@@ -58,6 +58,10 @@ public class GenericClassImpl implements Serializable, GenericClass<GenericClass
                     Void.class));
 
     protected static Type addTypeParameters(Class<?> clazz) {
+        return GenericTypeCache.getInstance().getCanonicalType(clazz, GenericClassImpl::computeTypeParameters);
+    }
+
+    private static Type computeTypeParameters(Class<?> clazz) {
         if (clazz.isArray()) {
             return GenericArrayTypeImpl.createArrayType(addTypeParameters(clazz.getComponentType()));
         } else if (GenericClassUtils.isMissingTypeParameters(clazz)) {
@@ -833,9 +837,29 @@ public class GenericClassImpl implements Serializable, GenericClass<GenericClass
      * @return a {@link java.lang.String} object.
      */
     public String getTypeName() {
-        return GenericTypeReflector.getTypeName(type);
+        // equals and hashCode are based on the type name, so it is cached for the current type
+        TypeName typeName = cachedTypeName;
+        if (typeName == null || typeName.type != type) {
+            typeName = new TypeName(type, GenericTypeReflector.getTypeName(type));
+            cachedTypeName = typeName;
+        }
+        return typeName.name;
+    }
+
+    private static final class TypeName {
+
+        private final Type type;
+
+        private final String name;
+
+        TypeName(Type type, String name) {
+            this.type = type;
+            this.name = name;
+        }
     }
 
+    private transient volatile TypeName cachedTypeName = null;
+
     private Map<TypeVariable<?>, Type> typeVariableMap = null;
 
     public Map<TypeVariable<?>, Type> getTypeVariableMap() {
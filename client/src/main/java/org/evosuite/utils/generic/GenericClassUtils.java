@@ -49,6 +49,10 @@ public class GenericClassUtils {
     public static boolean isAssignable(Type lhsType, Type rhsType) {
         if (rhsType == null || lhsType == null) return false;
 
+        return GenericTypeCache.getInstance().isAssignable(lhsType, rhsType, GenericClassUtils::computeIsAssignable);
+    }
+
+    private static boolean computeIsAssignable(Type lhsType, Type rhsType) {
         try {
             return TypeUtils.isAssignable(rhsType, lhsType);
         } catch (Throwable e) {
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils.generic;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Thread-safe memoization of generic type resolution: the canonical (parameterized) type of each
+ * raw class, and whether one type is assignable to another. Both only depend on the types, which
+ * are immutable, so the cached results stay valid until the classes are reloaded. The cache is
+ * cleared when the test cluster is reset.
+ */
+public final class GenericTypeCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(GenericTypeCache.class);
+
+    /**
+     * Assignability results are dropped once there are that many of them
+     */
+    private static final int MAX_ASSIGNABILITY_ENTRIES = 1 << 16;
+
+    private static final GenericTypeCache instance = new GenericTypeCache();
+
+    private final Map<Class<?>, Type> canonicalTypes = new ConcurrentHashMap<>();
+
+    private final Map<TypePair, Boolean> assignability = new ConcurrentHashMap<>();
+
+    private GenericTypeCache() {
+    }
+
+    public static GenericTypeCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * @param clazz   the raw class
+     * @param compute computes the canonical type of a class that is not cached yet. It may call
+     *                back into this cache, e.g. for component or declaring classes
+     * @return the shared canonical type of {@code clazz}
+     */
+    Type getCanonicalType(Class<?> clazz, Function<Class<?>, Type> compute) {
+        Type type = canonicalTypes.get(clazz);
+        if (type == null) {
+            type = compute.apply(clazz);
+            Type previous = canonicalTypes.putIfAbsent(clazz, type);
+            if (previous != null) {
+                type = previous;
+            }
+        }
+        return type;
+    }
+
+    /**
+     * @param lhsType the type on the left-hand side of the assignment
+     * @param rhsType the type on the right-hand side of the assignment
+     * @param compute computes whether {@code rhsType} is assignable to {@code lhsType}, if not
+     *                cached yet
+     */
+    boolean isAssignable(Type lhsType, Type rhsType, BiPredicate<Type, Type> compute) {
+        TypePair key = new TypePair(lhsType, rhsType);
+        Boolean assignable = assignability.get(key);
+        if (assignable == null) {
+            assignable = compute.test(lhsType, rhsType);
+            if (assignability.size() >= MAX_ASSIGNABILITY_ENTRIES) {
+                logger.debug("Dropping {} cached assignability results", assignability.size());
+                assignability.clear();
+            }
+            assignability.put(key, assignable);
+        }
+        return assignable;
+    }
+
+    /**
+     * Forget all cached results, e.g. because the classes under test are reloaded
+     */
+    public void clear() {
+        canonicalTypes.clear();
+        assignability.clear();
+    }
+
+    private static final class TypePair {
+
+        private final Type lhsType;
+
+        private final Type rhsType;
+
+        private final int hashCode;
+
+        TypePair(Type lhsType, Type rhsType) {
+            this.lhsType = lhsType;
+            this.rhsType = rhsType;
+            this.hashCode = 31 * lhsType.hashCode() + rhsType.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof TypePair))
+                return false;
+            TypePair other = (TypePair) obj;
+            return hashCode == other.hashCode && lhsType.equals(other.lhsType) && rhsType.equals(other.rhsType);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.mutation;
+
+import org.evosuite.testcase.execution.ExecutionTrace;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MutantExecutionSchedulerTest {
+
+    private final MutantExecutionScheduler scheduler = MutantExecutionScheduler.getInstance();
+
+    @Before
+    public void setUp() {
+        scheduler.reset();
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.reset();
+    }
+
+    private static Mutation mutant(int id) {
+        Mutation mutation = mock(Mutation.class);
+        when(mutation.getId()).thenReturn(id);
+        return mutation;
+    }
+
+    private static ExecutionTrace infecting(Mutation... mutants) {
+        Map<Integer, Double> distances = new HashMap<>();
+        for (Mutation mutant : mutants) {
+            distances.put(mutant.getId(), 0.0);
+        }
+        ExecutionTrace trace = mock(ExecutionTrace.class);
+        when(trace.getMutationDistances()).thenReturn(distances);
+        return trace;
+    }
+
+    @Test
+    public void testKillRateOfUnexecutedMutant() {
+        assertEquals(0.5, scheduler.getKillRate(1), 0.0);
+    }
+
+    @Test
+    public void testKillRateIsLaplaceEstimate() {
+        Mutation m = mutant(1);
+        scheduler.recordOutcome(m, true);
+        scheduler.recordOutcome(m, true);
+        scheduler.recordOutcome(m, false);
+        assertEquals(3.0 / 5.0, scheduler.getKillRate(1), 1e-9);
+        assertEquals(0.5, scheduler.getKillRate(2), 0.0);
+    }
+
+    @Test
+    public void testOnlyInfectedMutantsAreScheduled() {
+        Mutation infected = mutant(1);
+        Mutation notInfected = mutant(2);
+        Mutation notReached = mutant(3);
+        ExecutionTrace trace = infecting(infected);
+        trace.getMutationDistances().put(2, 0.5);
+
+        List<Mutation> scheduled = scheduler.schedule(Arrays.asList(infected, notInfected, notReached), trace,
+                Collections.emptySet());
+        assertEquals(Collections.singletonList(infected), scheduled);
+    }
+
+    @Test
+    public void testMutantsAreOrderedByKillRate() {
+        Mutation survivor = mutant(1);
+        Mutation unknown = mutant(2);
+        Mutation weak = mutant(3);
+        scheduler.recordOutcome(survivor, false);
+        scheduler.recordOutcome(survivor, false);
+        scheduler.recordOutcome(weak, true);
+
+        List<Mutation> scheduled = scheduler.schedule(Arrays.asList(survivor, unknown, weak),
+                infecting(survivor, unknown, weak), Collections.emptySet());
+        assertEquals(Arrays.asList(weak, unknown, survivor), scheduled);
+    }
+
+    @Test
+    public void testKilledMutantsComeLast() {
+        Mutation killed = mutant(1);
+        Mutation alive = mutant(2);
+        scheduler.recordOutcome(killed, true);
+        scheduler.recordOutcome(alive, false);
+
+        List<Mutation> scheduled = scheduler.schedule(Arrays.asList(killed, alive), infecting(killed, alive),
+                Collections.singleton(1));
+        assertEquals(Arrays.asList(alive, killed), scheduled);
+    }
+
+    @Test
+    public void testTiesKeepInputOrder() {
+        Mutation first = mutant(1);
+        Mutation second = mutant(2);
+        List<Mutation> scheduled = scheduler.schedule(Arrays.asList(second, first), infecting(first, second),
+                Collections.emptySet());
+        assertEquals(Arrays.asList(second, first), scheduled);
+    }
+}
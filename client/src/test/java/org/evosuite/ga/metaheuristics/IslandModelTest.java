@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.metaheuristics;
+
+import org.evosuite.Properties;
+import org.evosuite.ga.DummyChromosome;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class IslandModelTest {
+
+    /**
+     * Runs a fixed number of iterations without evaluating anything
+     */
+    private static class FixedIterationsGA extends GeneticAlgorithm<DummyChromosome> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int iterations;
+
+        FixedIterationsGA(int iterations, DummyChromosome... individuals) {
+            super(null);
+            this.iterations = iterations;
+            population.addAll(Arrays.asList(individuals));
+        }
+
+        @Override
+        protected void evolve() {
+        }
+
+        @Override
+        public void initializePopulation() {
+        }
+
+        @Override
+        public void generateSolution() {
+            notifySearchStarted();
+            for (int i = 0; i < iterations; i++) {
+                currentIteration++;
+                notifyIteration();
+            }
+            notifySearchFinished();
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Properties.MIGRANTS_ITERATION_FREQUENCY = 1;
+        Properties.MIGRANTS_COMMUNICATION_RATE = 1;
+        Properties.EMIGRANT_SELECTION_FUNCTION = Properties.SelectionFunction.BESTK;
+    }
+
+    @After
+    public void tearDown() {
+        Properties.getInstance().resetToDefaults();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoIslands() {
+        new IslandModel<DummyChromosome>(Collections.emptyList());
+    }
+
+    @Test
+    public void testMigrantsReachNextIsland() {
+        DummyChromosome best0 = new DummyChromosome(1);
+        DummyChromosome best1 = new DummyChromosome(2);
+        FixedIterationsGA island0 = new FixedIterationsGA(2, best0, new DummyChromosome(10));
+        FixedIterationsGA island1 = new FixedIterationsGA(2, best1, new DummyChromosome(20));
+
+        IslandModel<DummyChromosome> model = new IslandModel<>(Arrays.asList(island0, island1));
+        model.generateSolution();
+
+        /*
+         * The islands take turns as they do not execute tests, so only the island evolved second
+         * receives migrants, in place of its worst individual
+         */
+        DummyChromosome last0 = island0.getPopulation().get(1);
+        DummyChromosome last1 = island1.getPopulation().get(1);
+        assertTrue(last0.equals(best1) || last1.equals(best0));
+        assertNotSame(best1, last0);
+        assertNotSame(best0, last1);
+        assertEquals(2, island0.getPopulation().size());
+        assertEquals(2, island1.getPopulation().size());
+    }
+
+    @Test
+    public void testNoMigrationIfDisabled() {
+        Properties.MIGRANTS_ITERATION_FREQUENCY = -1;
+        FixedIterationsGA island0 = new FixedIterationsGA(3, new DummyChromosome(1), new DummyChromosome(10));
+        FixedIterationsGA island1 = new FixedIterationsGA(3, new DummyChromosome(2), new DummyChromosome(20));
+
+        new IslandModel<>(Arrays.asList(island0, island1)).generateSolution();
+
+        assertEquals(new DummyChromosome(10), island0.getPopulation().get(1));
+        assertEquals(new DummyChromosome(20), island1.getPopulation().get(1));
+    }
+
+    @Test
+    public void testAllIslandsStopWithTheFirstOne() {
+        FixedIterationsGA island0 = new FixedIterationsGA(1, new DummyChromosome(1));
+        FixedIterationsGA island1 = new FixedIterationsGA(4, new DummyChromosome(2));
+
+        IslandModel<DummyChromosome> model = new IslandModel<>(Arrays.asList(island0, island1));
+        assertFalse(island0.isFinished());
+        model.generateSolution();
+
+        assertTrue(island0.isFinished());
+        assertTrue(island1.isFinished());
+        assertEquals(4, model.getAge());
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.operators.ranking;
+
+import org.evosuite.ga.DummyChromosome;
+import org.evosuite.ga.FitnessFunction;
+import org.evosuite.ga.comparators.DominanceComparator;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+
+public class DominanceRelationTest {
+
+    private static class Goal extends FitnessFunction<DummyChromosome> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public double getFitness(DummyChromosome individual) {
+            return 0;
+        }
+
+        @Override
+        public boolean isMaximizationFunction() {
+            return false;
+        }
+    }
+
+    private static Set<Goal> goals(int n) {
+        Set<Goal> goals = new LinkedHashSet<>();
+        for (int i = 0; i < n; i++) {
+            goals.add(new Goal());
+        }
+        return goals;
+    }
+
+    private static List<DummyChromosome> population(int n, Set<Goal> goals, Random random) {
+        List<DummyChromosome> population = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            DummyChromosome c = new DummyChromosome(i);
+            for (Goal goal : goals) {
+                c.setFitness(goal, random.nextInt(3));
+            }
+            population.add(c);
+        }
+        return population;
+    }
+
+    private static void assertSameAsComparator(DominanceRelation<DummyChromosome> relation,
+                                               List<DummyChromosome> population, Set<Goal> goals) {
+        DominanceComparator<DummyChromosome> comparator = new DominanceComparator<>(goals);
+        for (int p = 0; p < population.size(); p++) {
+            for (int q = 0; q < population.size(); q++) {
+                assertEquals(comparator.compare(population.get(p), population.get(q)), relation.compare(p, q));
+            }
+        }
+    }
+
+    @Test
+    public void testCompareOnDemand() {
+        Set<Goal> goals = goals(4);
+        List<DummyChromosome> population = population(30, goals, new Random(42));
+
+        DominanceRelation<DummyChromosome> relation = new DominanceRelation<>();
+        relation.update(population, goals);
+        assertSameAsComparator(relation, population, goals);
+    }
+
+    @Test
+    public void testComputeAll() {
+        Set<Goal> goals = goals(3);
+        List<DummyChromosome> population = population(30, goals, new Random(7));
+
+        DominanceRelation<DummyChromosome> relation = new DominanceRelation<>();
+        relation.update(population, goals);
+        relation.computeAll();
+        assertSameAsComparator(relation, population, goals);
+    }
+
+    @Test
+    public void testReuseAcrossUpdates() {
+        Set<Goal> goals = goals(3);
+        Random random = new Random(3);
+        List<DummyChromosome> parents = population(20, goals, random);
+
+        DominanceRelation<DummyChromosome> relation = new DominanceRelation<>();
+        relation.update(parents, goals);
+        relation.computeAll();
+
+        List<DummyChromosome> union = new ArrayList<>(population(20, goals, random));
+        union.addAll(parents);
+        // a parent whose fitness changed must not reuse its previous comparisons
+        parents.get(0).setFitness(goals.iterator().next(), 10);
+        relation.update(union, goals);
+        assertSameAsComparator(relation, union, goals);
+    }
+
+    @Test
+    public void testFitnessMatrix() {
+        Set<Goal> goals = goals(2);
+        List<DummyChromosome> population = population(5, goals, new Random(1));
+
+        DominanceRelation<DummyChromosome> relation = new DominanceRelation<>();
+        relation.update(population, goals);
+
+        assertEquals(5, relation.size());
+        Iterator<Goal> it = goals.iterator();
+        it.next();
+        Goal second = it.next();
+        assertEquals(population.get(3).getFitness(second), relation.getFitness(3, 1), 0.0);
+    }
+}
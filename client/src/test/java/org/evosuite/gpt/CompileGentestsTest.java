@@ -0,0 +1,101 @@
+package org.evosuite.gpt;
+
+import com.examples.with.different.packagename.FlagExample1;
+import org.evosuite.Properties;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.testcase.TestCase;
+import org.hamcrest.Matcher;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CompileGentestsTest {
+
+    private static final String SOURCE = "import org.junit.Test;\n" +
+            "import com.examples.with.different.packagename.FlagExample1;\n" +
+            "public class ClassTest {\n" +
+            "    @Test\n" +
+            "    public void test0() {\n" +
+            "        FlagExample1 flag = new FlagExample1();\n" +
+            "        flag.testMe(28241);\n" +
+            "    }\n" +
+            "    @Test\n" +
+            "    public void test1() {\n" +
+            "        FlagExample1 flag = new FlagExample1();\n" +
+            "        flag.testMe(0);\n" +
+            "        flag.testMe(1);\n" +
+            "    }\n" +
+            "}\n";
+
+    private static final String defaultTargetClass = Properties.TARGET_CLASS;
+    private static final String defaultSelectedJUnit = Properties.SELECTED_JUNIT;
+    private static final int defaultSeedMutations = Properties.SEED_MUTATIONS;
+    private static final double defaultSeedClone = Properties.SEED_CLONE;
+    private static final String defaultJUnitPath = CompileGentests.junit_path;
+    private static final String defaultHamcrestPath = CompileGentests.hamcrest_path;
+
+    @Before
+    public void setUp() throws Exception {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        Properties.TARGET_CLASS = FlagExample1.class.getCanonicalName();
+        CompileGentests.junit_path = getJar(Test.class);
+        CompileGentests.hamcrest_path = getJar(Matcher.class);
+    }
+
+    @After
+    public void tearDown() {
+        Properties.TARGET_CLASS = defaultTargetClass;
+        Properties.SELECTED_JUNIT = defaultSelectedJUnit;
+        Properties.SEED_MUTATIONS = defaultSeedMutations;
+        Properties.SEED_CLONE = defaultSeedClone;
+        CompileGentests.junit_path = defaultJUnitPath;
+        CompileGentests.hamcrest_path = defaultHamcrestPath;
+    }
+
+    private static String getJar(Class<?> clazz) throws Exception {
+        return new File(clazz.getProtectionDomain().getCodeSource().getLocation().toURI()).getAbsolutePath();
+    }
+
+    @Test
+    public void testCompileAndCarveInMemory() {
+        List<TestCase> carved = CompileGentests.compileAndCarveTests(SOURCE);
+        assertNotNull(carved);
+        assertEquals(2, carved.size());
+
+        List<String> code = new ArrayList<>();
+        carved.stream().sorted(Comparator.comparingInt(TestCase::size)).forEach(t -> code.add(t.toCode()));
+        assertTrue(code.get(0), code.get(0).contains("new FlagExample1()"));
+        assertTrue(code.get(0), code.get(0).contains("28241"));
+        assertEquals(code.get(0), 1, count(code.get(0), ".testMe("));
+        assertTrue(code.get(1), code.get(1).contains("new FlagExample1()"));
+        assertEquals(code.get(1), 2, count(code.get(1), ".testMe("));
+
+        // Nothing is compiled to the working directory
+        assertFalse(new File(System.getProperty("user.dir"), CompileGentests.GPT_TEST_CLASS + ".class").exists());
+        assertNull(CompileGentests.getCompiledClass(CompileGentests.GPT_TEST_CLASS));
+    }
+
+    @Test
+    public void testCompilationFailure() {
+        assertNull(CompileGentests.compileAndCarveTests(SOURCE.replace("flag.testMe(0);", "flag.testMe(0)")));
+    }
+
+    private static int count(String code, String part) {
+        int count = 0;
+        for (int i = code.indexOf(part); i >= 0; i = code.indexOf(part, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
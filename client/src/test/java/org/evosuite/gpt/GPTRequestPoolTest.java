@@ -0,0 +1,181 @@
+package org.evosuite.gpt;
+
+import org.evosuite.utils.Randomness;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class GPTRequestPoolTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private GPTRequestPool pool;
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    /**
+     * Answers every prompt with itself, once the test releases it
+     */
+    private String blockingSend(String prompt, String model, Object listener) {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            return "FAIL";
+        }
+        return prompt;
+    }
+
+    @Test
+    public void testTimeoutWhileInFlight() throws Exception {
+        pool = new GPTRequestPool(1, 1, this::blockingSend);
+        Future<GPTRequestPool.Response> response = pool.submit("a", "model", 1, 0);
+        assertNotNull(response);
+        try {
+            response.get(50, TimeUnit.MILLISECONDS);
+            fail("Expected a timeout");
+        } catch (TimeoutException e) {
+            // expected
+        }
+        release.countDown();
+        assertEquals("a", response.get(5, TimeUnit.SECONDS).getContent());
+    }
+
+    @Test
+    public void testQueueFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        pool = new GPTRequestPool(1, 1, (prompt, model, listener) -> {
+            started.countDown();
+            return blockingSend(prompt, model, listener);
+        });
+        Future<GPTRequestPool.Response> inFlight = pool.submit("a", "model", 1, 0);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<GPTRequestPool.Response> queued = pool.submit("b", "model", 1, 0);
+        assertNotNull(queued);
+        assertNull(pool.submit("c", "model", 1, 0));
+        assertEquals(2, pool.getPendingRequests());
+
+        release.countDown();
+        assertEquals("a", inFlight.get(5, TimeUnit.SECONDS).getContent());
+        assertEquals("b", queued.get(5, TimeUnit.SECONDS).getContent());
+    }
+
+    @Test
+    public void testCancelledRequestIsNotSent() throws Exception {
+        List<String> sent = new CopyOnWriteArrayList<>();
+        CountDownLatch started = new CountDownLatch(1);
+        pool = new GPTRequestPool(1, 2, (prompt, model, listener) -> {
+            sent.add(prompt);
+            started.countDown();
+            return blockingSend(prompt, model, listener);
+        });
+        Future<GPTRequestPool.Response> inFlight = pool.submit("a", "model", 1, 0);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<GPTRequestPool.Response> queued = pool.submit("b", "model", 1, 0);
+        queued.cancel(true);
+
+        release.countDown();
+        inFlight.get(5, TimeUnit.SECONDS);
+        // A new request can only start once the worker has skipped the cancelled one
+        assertEquals("c", pool.submit("c", "model", 1, 0).get(5, TimeUnit.SECONDS).getContent());
+        assertEquals(Arrays.asList("a", "c"), sent);
+    }
+
+    @Test
+    public void testRetryDoesNotBlockWorker() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        pool = new GPTRequestPool(1, 1, (prompt, model, listener) -> {
+            if (prompt.equals("retried") && calls.getAndIncrement() == 0) {
+                return "FAIL";
+            }
+            return prompt;
+        });
+        Future<GPTRequestPool.Response> retried = pool.submit("retried", "model", 2, 60000);
+        // Wait for the first, failed, attempt
+        long deadline = System.currentTimeMillis() + 5000;
+        while (calls.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        // The only worker is free while the first request waits for its retry
+        assertEquals("other", pool.submit("other", "model", 1, 0).get(5, TimeUnit.SECONDS).getContent());
+        assertFalse(retried.isDone());
+
+        pool.close();
+        GPTRequestPool.Response response = retried.get(5, TimeUnit.SECONDS);
+        assertTrue(response.isFailure());
+        assertEquals(1, response.getAttempts());
+    }
+
+    @Test
+    public void testRetriesUntilSuccess() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        pool = new GPTRequestPool(1, 1, (prompt, model, listener) ->
+                calls.incrementAndGet() < 3 ? "FAIL" : prompt);
+        GPTRequestPool.Response response = pool.submit("a", "model", 5, 1).get(5, TimeUnit.SECONDS);
+        assertEquals("a", response.getContent());
+        assertEquals(3, response.getAttempts());
+    }
+
+    @Test
+    public void testGivesUpAfterMaxAttempts() throws Exception {
+        pool = new GPTRequestPool(1, 1, (prompt, model, listener) -> "FAIL");
+        GPTRequestPool.Response response = pool.submit("a", "model", 2, 1).get(5, TimeUnit.SECONDS);
+        assertTrue(response.isFailure());
+        assertEquals(2, response.getAttempts());
+    }
+
+    /**
+     * Sends the prompts with a fixed seed, each answer being the first number drawn by the worker
+     */
+    private List<String> sendWithSeed(long seed, List<String> prompts) throws Exception {
+        Randomness.setSeed(seed);
+        GPTRequestPool pool = new GPTRequestPool(4, prompts.size(),
+                (prompt, model, listener) -> Integer.toString(Randomness.nextInt()));
+        try {
+            List<Future<GPTRequestPool.Response>> responses = new ArrayList<>();
+            for (String prompt : prompts) {
+                responses.add(pool.submit(prompt, "model", 1, 0));
+            }
+            List<String> answers = new ArrayList<>();
+            for (Future<GPTRequestPool.Response> response : responses) {
+                answers.add(response.get(5, TimeUnit.SECONDS).getContent());
+            }
+            // The draws of the workers did not touch the generator of this thread
+            answers.add(Integer.toString(Randomness.nextInt()));
+            return answers;
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testWorkersDrawFromSplitStreams() throws Exception {
+        List<String> prompts = Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h");
+        List<String> first = sendWithSeed(42, prompts);
+        List<String> second = sendWithSeed(42, prompts);
+        assertEquals(first, second);
+        assertEquals(prompts.size() + 1, new HashSet<>(first).size());
+    }
+}
@@ -0,0 +1,115 @@
+package org.evosuite.gpt;
+
+import org.evosuite.Properties;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class GPTResponseCacheTest {
+
+    private static final String MODEL = "model";
+
+    private File cacheDir;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheDir = Files.createTempDirectory("gpt-cache").toFile();
+        Properties.GPT_CACHE_DIR = cacheDir.getAbsolutePath();
+        GPTResponseCache.reset();
+    }
+
+    @After
+    public void tearDown() {
+        GPTResponseCache.reset();
+        Properties.GPT_CACHE_DIR = null;
+        Properties.GPT_CACHE_SIZE = 256;
+        Properties.GPT_CACHE_MEMORY_ENTRIES = 128;
+        File[] files = cacheDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        cacheDir.delete();
+    }
+
+    @Test
+    public void testHitAndMiss() {
+        GPTResponseCache cache = GPTResponseCache.getInstance();
+        assertNull(cache.get("prompt", MODEL));
+        cache.put("prompt", MODEL, "response");
+        assertEquals("response", cache.get("prompt", MODEL));
+        // Same prompt for a different model is a different entry
+        assertNull(cache.get("prompt", "other"));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testHitFromDiskAfterReset() {
+        GPTResponseCache.getInstance().put("prompt", MODEL, "response");
+        GPTResponseCache.reset();
+
+        GPTResponseCache cache = GPTResponseCache.getInstance();
+        assertEquals(0, cache.getHits());
+        assertEquals("response", cache.get("prompt", MODEL));
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void testMemoryEviction() {
+        Properties.GPT_CACHE_MEMORY_ENTRIES = 1;
+        // Nothing is written to disk
+        Properties.GPT_CACHE_SIZE = 0;
+        GPTResponseCache.reset();
+
+        GPTResponseCache cache = GPTResponseCache.getInstance();
+        cache.put("a", MODEL, "response a");
+        cache.put("b", MODEL, "response b");
+        assertNull(cache.get("a", MODEL));
+        assertEquals("response b", cache.get("b", MODEL));
+    }
+
+    @Test
+    public void testDiskEviction() {
+        Properties.GPT_CACHE_SIZE = 1;
+        GPTResponseCache.reset();
+        char[] large = new char[600 * 1024];
+        Arrays.fill(large, 'x');
+
+        GPTResponseCache cache = GPTResponseCache.getInstance();
+        cache.put("a", MODEL, "a" + new String(large));
+        File fileA = new File(cacheDir, GPTResponseCache.getKey("a", MODEL) + ".json");
+        assertTrue(fileA.exists());
+        // Make sure a is the least recently used file
+        fileA.setLastModified(System.currentTimeMillis() - 60_000);
+
+        cache.put("b", MODEL, "b" + new String(large));
+        assertFalse(fileA.exists());
+
+        GPTResponseCache.reset();
+        cache = GPTResponseCache.getInstance();
+        assertNull(cache.get("a", MODEL));
+        assertTrue(cache.get("b", MODEL).startsWith("b"));
+    }
+
+    @Test
+    public void testInvalidate() {
+        GPTResponseCache cache = GPTResponseCache.getInstance();
+        cache.put("prompt", MODEL, "response");
+        cache.invalidate("prompt", MODEL);
+        assertNull(cache.get("prompt", MODEL));
+        GPTResponseCache.reset();
+        assertNull(GPTResponseCache.getInstance().get("prompt", MODEL));
+    }
+}
@@ -0,0 +1,90 @@
+package org.evosuite.gpt;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+public class GPTStandInServerTest {
+
+    private static final String FIRST = "{\"choices\":[{\"message\":{\"content\":\"first\"}}]}";
+    private static final String SECOND = "{\"choices\":[{\"message\":{\"content\":\"second answer\"}}]}";
+
+    private File log;
+
+    private GPTStandInServer server;
+
+    @Before
+    public void startServer() throws IOException {
+        log = File.createTempFile("GPT_LOG", ".txt");
+        Files.write(log.toPath(), Arrays.asList(
+                "== REQUEST: 1 ==",
+                GPTStandInServer.RESPONSE_PREFIX + FIRST,
+                "== REQUEST: 2 ==",
+                GPTStandInServer.PROMPT_HASH_PREFIX + GPTResponseCache.getKey("known prompt", "gpt-4o"),
+                GPTStandInServer.RESPONSE_PREFIX + SECOND,
+                "GPT REQUEST FAILURE: timeout"), StandardCharsets.UTF_8);
+        server = new GPTStandInServer(0, log, 0);
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop();
+        log.delete();
+    }
+
+    private String post(String prompt, boolean stream) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(server.getEndpoint()).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        String body = "{\"model\":\"gpt-4o\",\"stream\":" + stream + ",\"messages\":[{\"role\":\"user\",\"content\":\"" + prompt + "\"}]}";
+        try (OutputStream os = connection.getOutputStream()) {
+            os.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        StringBuilder response = new StringBuilder();
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                response.append(line).append("\n");
+            }
+        }
+        return response.toString().trim();
+    }
+
+    @Test
+    public void testUnknownPromptIsAnsweredDeterministically() throws IOException {
+        Assert.assertEquals(2, server.getNumberOfResponses());
+        for (String prompt : Arrays.asList("a", "b", "c")) {
+            int index = Math.floorMod(GPTResponseCache.getKey(prompt, "gpt-4o").hashCode(), 2);
+            String expected = index == 0 ? FIRST : SECOND;
+            Assert.assertEquals(expected, post(prompt, false));
+            Assert.assertEquals(expected, post(prompt, false));
+        }
+    }
+
+    @Test
+    public void testResponseIsMatchedByPromptHash() throws IOException {
+        Assert.assertEquals(SECOND, post("known prompt", false));
+        Assert.assertEquals(SECOND, post("known prompt", false));
+    }
+
+    @Test
+    public void testStreamedResponse() throws IOException {
+        String events = post("known prompt", true);
+        Assert.assertTrue(events.startsWith("data: "));
+        Assert.assertTrue(events.endsWith("data: [DONE]"));
+        Assert.assertTrue(events.contains("\"delta\":{\"content\":\"second answer\"}"));
+    }
+}
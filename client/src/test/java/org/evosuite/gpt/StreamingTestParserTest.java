@@ -0,0 +1,143 @@
+package org.evosuite.gpt;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class StreamingTestParserTest {
+
+    private static final String RESPONSE = "Here are the tests:\n" +
+            "```java\n" +
+            "import org.junit.Test;\n" +
+            "public class ClassTest {\n" +
+            "    private int x = 1;\n" +
+            "    @Test\n" +
+            "    public void test0() { String s = \"}{\\\"\"; char c = '}'; if (x > 0) { x++; } }\n" +
+            "    /* } */\n" +
+            "    @Test(expected = Exception.class)\n" +
+            "    public void test1() { new Object() { }; }\n" +
+            "}\n" +
+            "```\n" +
+            "These tests cover the goals.";
+
+    private static List<String> parse(String response, int chunkSize) {
+        List<String> tests = new ArrayList<>();
+        StreamingTestParser parser = new StreamingTestParser(tests::add);
+        for (int i = 0; i < response.length(); i += chunkSize) {
+            parser.accept(response.substring(i, Math.min(response.length(), i + chunkSize)));
+        }
+        parser.finish();
+        Assert.assertEquals(tests.size(), parser.getEmittedTests());
+        return tests;
+    }
+
+    @Test
+    public void testOneClassPerTest() {
+        List<String> tests = parse(RESPONSE, RESPONSE.length());
+        Assert.assertEquals(2, tests.size());
+        Assert.assertTrue(tests.get(0).contains("test0"));
+        Assert.assertFalse(tests.get(0).contains("test1"));
+        Assert.assertTrue(tests.get(1).contains("test1"));
+        Assert.assertFalse(tests.get(1).contains("test0"));
+        for (String test : tests) {
+            Assert.assertTrue(test.startsWith("import org.junit.Test;"));
+            Assert.assertTrue(test.contains("private int x = 1;"));
+            Assert.assertTrue(test.trim().endsWith("}"));
+            Assert.assertFalse(test.contains("```"));
+        }
+    }
+
+    @Test
+    public void testChunkBoundaries() {
+        List<String> expected = parse(RESPONSE, RESPONSE.length());
+        for (int chunkSize = 1; chunkSize < 8; chunkSize++) {
+            Assert.assertEquals(expected, parse(RESPONSE, chunkSize));
+        }
+    }
+
+    @Test
+    public void testTestIsEmittedOnceItsMethodIsComplete() {
+        List<String> tests = new ArrayList<>();
+        StreamingTestParser parser = new StreamingTestParser(tests::add);
+        int test0End = RESPONSE.indexOf("/* } */");
+        parser.accept(RESPONSE.substring(0, test0End - 6));
+        Assert.assertTrue(tests.isEmpty());
+        parser.accept(RESPONSE.substring(test0End - 6, test0End));
+        Assert.assertEquals(1, tests.size());
+        Assert.assertTrue(tests.get(0).contains("test0"));
+        parser.accept(RESPONSE.substring(test0End));
+        Assert.assertEquals(2, tests.size());
+    }
+
+    @Test
+    public void testTestIsEmittedAgainWithHelperDeclaredAfterIt() {
+        String response = "```java\n" +
+                "public class ClassTest {\n" +
+                "    @Test\n" +
+                "    public void test0() { helper(); }\n" +
+                "    private void helper() { }\n" +
+                "}\n" +
+                "```\n";
+        List<String> tests = parse(response, 3);
+        Assert.assertEquals(2, tests.size());
+        Assert.assertFalse(tests.get(0).contains("private void helper()"));
+        Assert.assertTrue(tests.get(1).contains("private void helper()"));
+    }
+
+    @Test
+    public void testTestIsEmittedAgainWithSetUpDeclaredAfterIt() {
+        String response = "```java\n" +
+                "public class ClassTest {\n" +
+                "    private Object o;\n" +
+                "    @Test\n" +
+                "    public void test0() { o.toString(); }\n" +
+                "    @Before\n" +
+                "    public void init() { o = new Object(); }\n" +
+                "}\n" +
+                "```\n";
+        List<String> tests = parse(response, 4);
+        Assert.assertEquals(2, tests.size());
+        Assert.assertTrue(tests.get(1).contains("public void init()"));
+    }
+
+    @Test
+    public void testTestIsNotEmittedAgainForUnusedHelper() {
+        String response = "```java\n" +
+                "public class ClassTest {\n" +
+                "    @Test\n" +
+                "    public void test0() { /* not helper() */ new Object(); }\n" +
+                "    @Test\n" +
+                "    public void test1() { helper(); }\n" +
+                "    private int helper() { return 0; }\n" +
+                "    private int unused = 1;\n" +
+                "}\n" +
+                "```\n";
+        List<String> tests = parse(response, 5);
+        Assert.assertEquals(3, tests.size());
+        Assert.assertTrue(tests.get(2).contains("test1"));
+        Assert.assertTrue(tests.get(2).contains("private int helper()"));
+    }
+
+    @Test
+    public void testDeclaredName() {
+        Assert.assertEquals("helper", StreamingTestParser.getDeclaredName("\n    private void helper(int x) { }"));
+        Assert.assertEquals("x", StreamingTestParser.getDeclaredName("\n    private int x = compute(1);"));
+        Assert.assertEquals("list", StreamingTestParser.getDeclaredName("\n    private List<String> list;"));
+        Assert.assertEquals("Inner", StreamingTestParser.getDeclaredName("\n    /* a(b) */ static class Inner { void f() { } }"));
+        Assert.assertEquals("rule", StreamingTestParser.getDeclaredName("\n    @Rule(x = 1) public Timeout rule = Timeout.seconds(1);"));
+    }
+
+    @Test
+    public void testCompleteTestsOfIncompleteClassAreEmitted() {
+        List<String> tests = parse(RESPONSE.substring(0, RESPONSE.indexOf("@Test(expected")), 5);
+        Assert.assertEquals(1, tests.size());
+        Assert.assertTrue(tests.get(0).contains("test0"));
+    }
+
+    @Test
+    public void testNoCodeBlock() {
+        Assert.assertTrue(parse("I cannot generate tests for this class.", 4).isEmpty());
+    }
+}
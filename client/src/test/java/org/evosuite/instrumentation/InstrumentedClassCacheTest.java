@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import org.apache.commons.io.IOUtils;
+import org.evosuite.Properties;
+import org.evosuite.seeding.ConstantPoolManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Type;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class InstrumentedClassCacheTest {
+
+    private static final byte[] INSTRUMENTED_BYTES = {1, 2, 3};
+
+    /**
+     * Adds constants to the pools, and returns {@link #INSTRUMENTED_BYTES}
+     */
+    private static class CountingInstrumentation extends BytecodeInstrumentation {
+
+        private int transformations = 0;
+
+        private final boolean cacheable;
+
+        CountingInstrumentation(boolean cacheable) {
+            this.cacheable = cacheable;
+        }
+
+        @Override
+        public boolean isTransformationCacheable(String className) {
+            return cacheable;
+        }
+
+        @Override
+        public byte[] transformBytes(ClassLoader classLoader, String className, ClassReader reader) {
+            transformations++;
+            ConstantPoolManager.getInstance().addSUTConstant("sut");
+            ConstantPoolManager.getInstance().addSUTConstant(Type.getType(String.class));
+            ConstantPoolManager.getInstance().addNonSUTConstant(42);
+            return INSTRUMENTED_BYTES.clone();
+        }
+    }
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String cacheDir;
+
+    private byte[] originalBytes;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheDir = Properties.INSTRUMENTATION_CACHE_DIR;
+        Properties.INSTRUMENTATION_CACHE_DIR = folder.getRoot().getAbsolutePath();
+        try (InputStream is = getClass().getResourceAsStream(getClass().getSimpleName() + ".class")) {
+            originalBytes = IOUtils.toByteArray(is);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        Properties.INSTRUMENTATION_CACHE_DIR = cacheDir;
+    }
+
+    private static ConstantPoolManager.Recording transform(CountingInstrumentation instrumentation,
+                                                           byte[] originalBytes) {
+        ConstantPoolManager.getInstance().startRecording();
+        byte[] bytes;
+        ConstantPoolManager.Recording recording;
+        try {
+            bytes = InstrumentedClassCache.getInstance().transformBytes(instrumentation,
+                    InstrumentedClassCacheTest.class.getClassLoader(), "com/example/Foo", originalBytes);
+        } finally {
+            recording = ConstantPoolManager.getInstance().stopRecording();
+        }
+        assertArrayEquals(INSTRUMENTED_BYTES, bytes);
+        return recording;
+    }
+
+    @Test
+    public void testCachedBytecodeIsReusedWithItsConstants() {
+        CountingInstrumentation instrumentation = new CountingInstrumentation(true);
+        int hits = InstrumentedClassCache.getInstance().getNumberOfHits();
+
+        ConstantPoolManager.Recording first = transform(instrumentation, originalBytes);
+        ConstantPoolManager.Recording second = transform(instrumentation, originalBytes);
+
+        assertEquals(1, instrumentation.transformations);
+        assertEquals(hits + 1, InstrumentedClassCache.getInstance().getNumberOfHits());
+        assertEquals(Arrays.asList("sut", Type.getType(String.class)), second.getSUTConstants());
+        assertEquals(first.getSUTConstants(), second.getSUTConstants());
+        assertEquals(first.getNonSUTConstants(), second.getNonSUTConstants());
+    }
+
+    @Test
+    public void testDifferentBytecodeIsNotReused() {
+        CountingInstrumentation instrumentation = new CountingInstrumentation(true);
+        byte[] otherBytes = originalBytes.clone();
+        otherBytes[otherBytes.length - 1]++;
+
+        transform(instrumentation, originalBytes);
+        transform(instrumentation, otherBytes);
+
+        assertEquals(2, instrumentation.transformations);
+    }
+
+    @Test
+    public void testClassesThatCannotBeCachedAreAlwaysTransformed() {
+        CountingInstrumentation instrumentation = new CountingInstrumentation(false);
+
+        transform(instrumentation, originalBytes);
+        transform(instrumentation, originalBytes);
+
+        assertEquals(2, instrumentation.transformations);
+    }
+}
@@ -19,14 +19,21 @@
  */
 package org.evosuite.junit;
 
+import com.examples.with.different.packagename.FlagExample1;
 import com.examples.with.different.packagename.sandbox.OpenStream;
+import com.examples.with.different.packagename.setup.X;
 import org.apache.commons.io.FileUtils;
 import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
 import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.runtime.sandbox.Sandbox;
+import org.evosuite.testcase.DefaultTestCase;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.factories.JUnitTestCarvedChromosomeFactory;
+import org.evosuite.testcase.statements.ConstructorStatement;
+import org.evosuite.utils.generic.GenericClassFactory;
+import org.evosuite.utils.generic.GenericConstructor;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -36,7 +43,10 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 public class JUnitAnalyzerTest {
 
@@ -161,5 +171,39 @@ public class JUnitAnalyzerTest {
         Assert.assertFalse(dir.exists());
     }
 
+    /**
+     * @return a test calling the no-argument constructor of the given class
+     */
+    private static TestCase newInstanceTest(Class<?> clazz) throws Exception {
+        Class<?> sut = TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(clazz.getName());
+        GenericConstructor constructor = new GenericConstructor(sut.getDeclaredConstructor(),
+                GenericClassFactory.get(sut));
+        DefaultTestCase test = new DefaultTestCase();
+        test.addStatement(new ConstructorStatement(test, constructor, Collections.emptyList()));
+        return test;
+    }
 
+    @Test
+    public void testCompilationErrorIsTracedBackToItsTest() throws Exception {
+        Properties.TARGET_CLASS = FlagExample1.class.getCanonicalName();
+
+        TestCase first = newInstanceTest(FlagExample1.class);
+        // the constructor of X is private, so the JUnit code of this test does not compile
+        TestCase doesNotCompile = newInstanceTest(X.class);
+        TestCase last = newInstanceTest(FlagExample1.class);
+
+        JUnitAnalyzer.CompiledTests compiled = JUnitAnalyzer.compileTestsInMemory(
+                Arrays.asList(first, doesNotCompile, last));
+        Assert.assertNotNull(compiled);
+        Assert.assertFalse(compiled.isSuccessful());
+        Set<TestCase> withErrors = compiled.getTestsWithErrors();
+        Assert.assertEquals(1, withErrors.size());
+        Assert.assertSame(doesNotCompile, withErrors.iterator().next());
+
+        List<TestCase> list = new ArrayList<>(Arrays.asList(first, doesNotCompile, last));
+        JUnitAnalyzer.removeTestsThatDoNotCompile(list);
+        Assert.assertEquals(2, list.size());
+        Assert.assertSame(first, list.get(0));
+        Assert.assertSame(last, list.get(1));
+    }
 }
@@ -0,0 +1,78 @@
+package org.evosuite.junit.writer;
+
+import com.examples.with.different.packagename.FlagExample1;
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.statements.ConstructorStatement;
+import org.evosuite.utils.generic.GenericClassFactory;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class TestSuiteSourcesTest {
+
+    @Test
+    public void testLinesAreMappedToTests() {
+        TestSuiteSources sources = new TestSuiteSources();
+        sources.addSource("Foo_ESTest", "class Foo_ESTest {}");
+        sources.addTest("Foo_ESTest", 10, 20);
+        sources.addTest("Foo_ESTest", 22, 30);
+
+        Assert.assertEquals(2, sources.getNumberOfTests());
+        Assert.assertEquals("Foo_ESTest", sources.getClassOfTest(1));
+        Assert.assertEquals(0, sources.getTestAt("Foo_ESTest", 10));
+        Assert.assertEquals(1, sources.getTestAt("Foo_ESTest", 30));
+        Assert.assertEquals(-1, sources.getTestAt("Foo_ESTest", 21));
+        Assert.assertEquals(-1, sources.getTestAt("Foo_ESTest_scaffolding", 10));
+    }
+
+    @Test
+    public void testCountLines() {
+        Assert.assertEquals(0, TestSuiteSources.countLines(""));
+        Assert.assertEquals(2, TestSuiteSources.countLines("a\nb\n"));
+    }
+
+    @Test
+    public void testLinesOfWrittenTestsAreExact() throws Exception {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        String targetClass = Properties.TARGET_CLASS;
+        Properties.TARGET_CLASS = FlagExample1.class.getCanonicalName();
+        try {
+            Class<?> sut = TestGenerationContext.getInstance().getClassLoaderForSUT()
+                    .loadClass(Properties.TARGET_CLASS);
+            List<TestCase> tests = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                DefaultTestCase test = new DefaultTestCase();
+                GenericConstructor constructor = new GenericConstructor(sut.getConstructor(), GenericClassFactory.get(sut));
+                test.addStatement(new ConstructorStatement(test, constructor, Collections.emptyList()));
+                tests.add(test);
+            }
+            TestSuiteWriter writer = new TestSuiteWriter();
+            writer.insertAllTests(tests);
+
+            TestSuiteSources sources = writer.generateTestSuiteSources("FlagExample1_ESTest", Collections.emptyList());
+            Assert.assertEquals(2, sources.getNumberOfTests());
+            String[] lines = sources.getSources().get("FlagExample1_ESTest").split("\n");
+            for (int i = 0; i < lines.length; i++) {
+                if (lines[i].contains("public void test0()")) {
+                    Assert.assertEquals(0, sources.getTestAt("FlagExample1_ESTest", i + 1));
+                } else if (lines[i].contains("public void test1()")) {
+                    Assert.assertEquals(1, sources.getTestAt("FlagExample1_ESTest", i + 1));
+                }
+            }
+            // the closing brace of the class is not part of the last test
+            Assert.assertEquals("}", lines[lines.length - 1]);
+            Assert.assertEquals(-1, sources.getTestAt("FlagExample1_ESTest", lines.length));
+            Assert.assertEquals(1, sources.getTestAt("FlagExample1_ESTest", lines.length - 1));
+        } finally {
+            Properties.TARGET_CLASS = targetClass;
+        }
+    }
+}
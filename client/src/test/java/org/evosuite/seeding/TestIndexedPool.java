@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.seeding;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TestIndexedPool {
+
+    @Test
+    public void testDeduplicatesOnInsert() {
+        IndexedPool<String> pool = new IndexedPool<>();
+        assertNull(pool.getRandomValue());
+        assertTrue(pool.add("Foo"));
+        assertFalse(pool.add("Foo"));
+        assertTrue(pool.add("Bar"));
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    public void testSamplesAllValues() {
+        IndexedPool<Integer> pool = new IndexedPool<>();
+        for (int i = 0; i < 100; i++) {
+            pool.add(i);
+        }
+        Set<Integer> sampled = new HashSet<>();
+        for (int i = 0; i < 10000; i++) {
+            sampled.add(pool.getRandomValue());
+        }
+        assertEquals(100, sampled.size());
+    }
+
+    @Test
+    public void testPrimitivePool() {
+        PrimitivePool ints = new PrimitivePool();
+        ints.add(-1);
+        ints.add(-1);
+        assertEquals(1, ints.size());
+        assertEquals(-1, ints.getRandomInt());
+
+        PrimitivePool floats = new PrimitivePool();
+        floats.add(0.0f);
+        floats.add(-0.0f);
+        floats.add(Float.NaN);
+        floats.add(Float.NaN);
+        assertEquals(3, floats.size());
+
+        PrimitivePool doubles = new PrimitivePool();
+        doubles.add(-2.5);
+        assertEquals(-2.5, doubles.getRandomDouble(), 0.0);
+
+        PrimitivePool longs = new PrimitivePool();
+        longs.add(Long.MIN_VALUE);
+        assertEquals(Long.MIN_VALUE, longs.getRandomLong());
+    }
+
+    @Test
+    public void testFrequencyBasedPoolRemove() {
+        FrequencyBasedPool<String> pool = new FrequencyBasedPool<>();
+        pool.addConstant("Foo");
+        pool.addConstant("Bar");
+        pool.addConstant("Foo");
+        pool.addConstant("Baz");
+
+        pool.removeConstant("Foo");
+        assertTrue(pool.hasConstant("Foo"));
+        pool.removeConstant("Foo");
+        assertFalse(pool.hasConstant("Foo"));
+        pool.removeConstant("Bar");
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals("Baz", pool.getRandomConstant());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.seeding;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TestIndexedSet {
+
+    @Test
+    public void testDeduplicatesOnInsert() {
+        IndexedSet<String> set = new IndexedSet<>();
+        assertNull(set.getRandomElement());
+        assertTrue(set.add("Foo"));
+        assertFalse(set.add("Foo"));
+        assertTrue(set.add("Bar"));
+        assertEquals(new HashSet<>(Arrays.asList("Foo", "Bar")), set);
+    }
+
+    @Test
+    public void testRemoveKeepsAllOtherElements() {
+        IndexedSet<Integer> set = new IndexedSet<>(Arrays.asList(0, 1, 2, 3));
+        assertTrue(set.remove(1));
+        assertFalse(set.remove(1));
+        assertFalse(set.contains(1));
+        assertEquals(new HashSet<>(Arrays.asList(0, 2, 3)), set);
+        assertTrue(set.remove(3));
+        assertEquals(new HashSet<>(Arrays.asList(0, 2)), set);
+    }
+
+    @Test
+    public void testIteratorRemoveVisitsEveryElement() {
+        IndexedSet<Integer> set = new IndexedSet<>(Arrays.asList(0, 1, 2, 3, 4, 5));
+        Set<Integer> visited = new HashSet<>();
+        Iterator<Integer> iterator = set.iterator();
+        while (iterator.hasNext()) {
+            Integer value = iterator.next();
+            visited.add(value);
+            if (value % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        assertEquals(6, visited.size());
+        assertEquals(new HashSet<>(Arrays.asList(1, 3, 5)), set);
+    }
+
+    @Test
+    public void testSamplesAllElements() {
+        IndexedSet<Integer> set = new IndexedSet<>();
+        for (int i = 0; i < 100; i++) {
+            set.add(i);
+        }
+        set.remove(50);
+        Set<Integer> sampled = new HashSet<>();
+        for (int i = 0; i < 10000; i++) {
+            sampled.add(set.getRandomElement());
+        }
+        assertEquals(99, sampled.size());
+        assertFalse(sampled.contains(50));
+    }
+}
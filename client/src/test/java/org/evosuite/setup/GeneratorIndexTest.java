@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.setup;
+
+import org.evosuite.utils.Randomness;
+import org.evosuite.utils.generic.GenericAccessibleObject;
+import org.evosuite.utils.generic.GenericClassFactory;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.evosuite.utils.generic.GenericMethod;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class GeneratorIndexTest {
+
+    private GenericAccessibleObject<?> constructor;
+    private GenericAccessibleObject<?> staticMethod;
+    private GenericAccessibleObject<?> builderMethod;
+    private GenericAccessibleObject<?> objectMethod;
+
+    private GeneratorIndex index;
+
+    @Before
+    public void setUp() throws NoSuchMethodException {
+        Randomness.setSeed(42);
+        constructor = new GenericConstructor(String.class.getConstructor(), String.class);
+        staticMethod = new GenericMethod(String.class.getMethod("valueOf", int.class), String.class);
+        builderMethod = new GenericMethod(StringBuilder.class.getMethod("toString"), StringBuilder.class);
+        objectMethod = new GenericMethod(Object.class.getMethod("toString"), Object.class);
+        index = new GeneratorIndex(Arrays.asList(constructor, staticMethod, builderMethod, objectMethod));
+    }
+
+    @Test
+    public void testKeepsInsertionOrder() {
+        assertEquals(4, index.size());
+        assertEquals(Arrays.asList(constructor, staticMethod, builderMethod, objectMethod),
+                Arrays.asList(index.asSet().toArray()));
+    }
+
+    @Test
+    public void testExcludedGeneratorsAreNeverChosen() {
+        Set<GenericAccessibleObject<?>> excluded = new HashSet<>(Arrays.asList(constructor, objectMethod));
+        Set<GenericAccessibleObject<?>> chosen = new LinkedHashSet<>();
+        for (int i = 0; i < 100; i++) {
+            chosen.add(index.choice(excluded, null, false));
+        }
+        assertEquals(new HashSet<>(Arrays.asList(staticMethod, builderMethod)), chosen);
+    }
+
+    @Test
+    public void testGeneratorsOfAssignableOwnersAreNeverChosen() {
+        for (int i = 0; i < 100; i++) {
+            GenericAccessibleObject<?> generator = index.choice(Collections.emptySet(),
+                    GenericClassFactory.get(StringBuilder.class), false);
+            assertNotEquals(builderMethod, generator);
+            assertNotEquals(objectMethod, generator);
+        }
+    }
+
+    @Test
+    public void testPreferStaticOrConstructor() {
+        for (int i = 0; i < 100; i++) {
+            GenericAccessibleObject<?> generator = index.choice(Collections.emptySet(), null, true);
+            assertTrue(generator.isStatic() || generator.isConstructor());
+        }
+        Set<GenericAccessibleObject<?>> excluded = new HashSet<>(Arrays.asList(constructor, staticMethod));
+        assertTrue(index.choice(excluded, null, true).isMethod());
+    }
+
+    @Test
+    public void testNoCandidates() {
+        assertNull(index.choice(index.asSet(), null, false));
+        assertNull(new GeneratorIndex(Collections.emptyList()).choice());
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.symbolic.expr.Comparator;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.expr.constraint.IntegerConstraint;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class PortfolioSolverTest {
+
+    /**
+     * Never answers, until it is interrupted.
+     */
+    private static class BlockingSolver extends Solver {
+
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+
+        BlockingSolver() {
+            super(false, null);
+        }
+
+        @Override
+        public SolverResult executeSolver(Collection<Constraint<?>> constraints) throws SolverTimeoutException {
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            throw new SolverTimeoutException();
+        }
+    }
+
+    private static class FixedSolver extends Solver {
+
+        private final SolverResult result;
+
+        private Collection<Constraint<?>> lastQuery;
+
+        FixedSolver(SolverResult result) {
+            super(false, null);
+            this.result = result;
+        }
+
+        @Override
+        public SolverResult executeSolver(Collection<Constraint<?>> constraints) {
+            lastQuery = constraints;
+            return result;
+        }
+    }
+
+    private static List<Constraint<?>> query() {
+        return Collections.singletonList(new IntegerConstraint(new IntegerVariable("x", 0, -1000, 1000),
+                Comparator.GT, new IntegerConstant(10)));
+    }
+
+    @Test(timeout = 10000)
+    public void testFirstDefinitiveAnswerInterruptsTheOtherSolvers() throws Exception {
+        BlockingSolver blocking = new BlockingSolver();
+        FixedSolver unsat = new FixedSolver(SolverResult.newUNSAT());
+        PortfolioSolver portfolio = new PortfolioSolver(Arrays.asList(blocking, unsat));
+
+        SolverResult result = portfolio.executeSolver(query());
+
+        assertTrue(result.isUNSAT());
+        assertTrue(blocking.interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test(timeout = 10000)
+    public void testUnknownWhenNoSolverIsDefinitive() throws Exception {
+        FixedSolver first = new FixedSolver(SolverResult.newUnknown());
+        FixedSolver second = new FixedSolver(SolverResult.newUnknown());
+        PortfolioSolver portfolio = new PortfolioSolver(Arrays.asList(first, second));
+
+        SolverResult result = portfolio.executeSolver(query());
+
+        assertTrue(result.isUnknown());
+    }
+
+    @Test(timeout = 10000)
+    public void testEachSolverWorksOnItsOwnCopy() throws Exception {
+        FixedSolver first = new FixedSolver(SolverResult.newUnknown());
+        FixedSolver second = new FixedSolver(SolverResult.newUnknown());
+        PortfolioSolver portfolio = new PortfolioSolver(Arrays.asList(first, second));
+        List<Constraint<?>> query = query();
+
+        portfolio.executeSolver(query);
+
+        assertNotSame(query.get(0), first.lastQuery.iterator().next());
+        assertNotSame(first.lastQuery.iterator().next(), second.lastQuery.iterator().next());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyPortfolio() {
+        new PortfolioSolver(Collections.emptyList());
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.symbolic.solver.smt.SmtAssertion;
+import org.evosuite.symbolic.solver.smt.SmtIntVariable;
+import org.evosuite.symbolic.solver.smt.SmtQuery;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SmtSolverSessionTest {
+
+    private static SmtQuery buildQuery(int numberOfAssertions) {
+        SmtQuery query = new SmtQuery();
+        SmtIntVariable x = SmtExprBuilder.mkIntVariable("x");
+        SmtIntVariable y = SmtExprBuilder.mkIntVariable("y");
+        query.addConstantDeclaration(SmtExprBuilder.mkIntConstantDeclaration("y"));
+        query.addConstantDeclaration(SmtExprBuilder.mkIntConstantDeclaration("x"));
+        query.addAssertion(new SmtAssertion(SmtExprBuilder.mkGt(x, SmtExprBuilder.ZERO_INT)));
+        if (numberOfAssertions > 1) {
+            query.addAssertion(new SmtAssertion(SmtExprBuilder.mkLt(x, y)));
+        }
+        if (numberOfAssertions > 2) {
+            query.addAssertion(new SmtAssertion(SmtExprBuilder.mkEq(y, SmtExprBuilder.NINE_INT)));
+        }
+        return query;
+    }
+
+    @Test
+    public void testSymbolsAreDeclaredInTheFrameOfTheirFirstUse() {
+        List<String> frames = SmtSolverSession.buildFrames(buildQuery(3));
+        assertEquals(3, frames.size());
+        assertTrue(frames.get(0).startsWith("(declare-const x Int)\n(assert "));
+        assertTrue(frames.get(1).startsWith("(declare-const y Int)\n(assert "));
+        assertFalse(frames.get(2).contains("declare"));
+    }
+
+    @Test
+    public void testQueriesWithTheSamePrefixShareFrames() {
+        List<String> shorter = SmtSolverSession.buildFrames(buildQuery(1));
+        List<String> longer = SmtSolverSession.buildFrames(buildQuery(3));
+        assertEquals(shorter, longer.subList(0, 1));
+    }
+
+    @Test
+    public void testReleasedSessionIsReused() {
+        SmtSolverSession session = SmtSolverSession.acquire("reused");
+        session.release();
+        SmtSolverSession reused = SmtSolverSession.acquire("reused");
+        assertSame(session, reused);
+        reused.release();
+    }
+
+    @Test
+    public void testSessionInUseIsNotShared() {
+        SmtSolverSession first = SmtSolverSession.acquire("shared");
+        SmtSolverSession second = SmtSolverSession.acquire("shared");
+        assertNotSame(first, second);
+        assertNotSame(first, SmtSolverSession.acquire("other"));
+        first.release();
+        second.release();
+    }
+
+    @Test
+    public void testIdleSessionsAreDroppedByCloseAll() {
+        SmtSolverSession session = SmtSolverSession.acquire("closed");
+        session.release();
+        SmtSolverSession.closeAll();
+        assertNotSame(session, SmtSolverSession.acquire("closed"));
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.Properties;
+import org.evosuite.symbolic.expr.Comparator;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.expr.constraint.IntegerConstraint;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SolverCacheTest {
+
+    private static Constraint<?> gt(String name, long value) {
+        return new IntegerConstraint(new IntegerVariable(name, 0, -1000, 1000), Comparator.GT,
+                new IntegerConstant(value));
+    }
+
+    private static Constraint<?> lt(String name, long value) {
+        return new IntegerConstraint(new IntegerVariable(name, 0, -1000, 1000), Comparator.LT,
+                new IntegerConstant(value));
+    }
+
+    private static SolverResult sat(String name, long value) {
+        Map<String, Object> model = new HashMap<>();
+        model.put(name, value);
+        return SolverResult.newSAT(model);
+    }
+
+    @Test
+    public void testRenamedAndReorderedSystemsShareResults() {
+        SolverCache cache = new SolverCache(Long.MAX_VALUE);
+        cache.saveSolverResult(Arrays.asList(gt("x", 5), lt("x", 10)), sat("x", 7));
+
+        // trivially true constraints are ignored
+        Constraint<?> trivial = new IntegerConstraint(new IntegerConstant(1), Comparator.LT, new IntegerConstant(2));
+        assertTrue(cache.hasCachedResult(Arrays.asList(lt("y", 10), trivial, gt("y", 5))));
+        SolverResult result = cache.getCachedResult();
+        assertTrue(result.isSAT());
+        assertEquals(7L, result.getValue("y"));
+
+        assertFalse(cache.hasCachedResult(Arrays.asList(gt("y", 6), lt("y", 10))));
+    }
+
+    @Test
+    public void testSupersetOfUnsatSystemIsUnsat() {
+        SolverCache cache = new SolverCache(Long.MAX_VALUE);
+        cache.saveSolverResult(Arrays.asList(gt("x", 5), lt("x", 3)), SolverResult.newUNSAT());
+
+        assertTrue(cache.hasCachedResult(Arrays.asList(lt("z", 0), lt("x", 3), gt("x", 5))));
+        assertTrue(cache.getCachedResult().isUNSAT());
+        assertFalse(cache.hasCachedResult(Collections.singletonList(gt("x", 5))));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedResultsAreEvicted() {
+        SolverCache cache = new SolverCache(1);
+        List<Constraint<?>> first = new ArrayList<>(Collections.singletonList(gt("x", 1)));
+        cache.saveSolverResult(first, sat("x", 2));
+        cache.saveSolverResult(Collections.singletonList(gt("x", 10)), sat("x", 11));
+
+        assertEquals(1, cache.getNumberOfEvictions());
+        assertFalse(cache.hasCachedResult(first));
+        assertTrue(cache.hasCachedResult(Collections.singletonList(gt("x", 10))));
+        cache.getCachedResult();
+    }
+
+    @Test
+    public void testResultsAreKeptPerClassUnderTest() throws IOException {
+        String cacheDir = Properties.DSE_SOLVER_CACHE_DIR;
+        String targetClass = Properties.TARGET_CLASS;
+        File dir = Files.createTempDirectory("solvercache").toFile();
+        try {
+            Properties.DSE_SOLVER_CACHE_DIR = dir.getAbsolutePath();
+            List<Constraint<?>> first = Collections.singletonList(gt("x", 1));
+            List<Constraint<?>> second = Collections.singletonList(gt("x", 2));
+
+            Properties.TARGET_CLASS = "org.example.First";
+            SolverCache cache = new SolverCache(Long.MAX_VALUE);
+            cache.saveSolverResult(first, sat("x", 2));
+
+            // switching class saves the results of the previous one, and does not reuse them
+            Properties.TARGET_CLASS = "org.example.Second";
+            assertFalse(cache.hasCachedResult(first));
+            cache.saveSolverResult(second, sat("x", 3));
+            cache.save();
+
+            Properties.TARGET_CLASS = "org.example.First";
+            SolverCache reloaded = new SolverCache(Long.MAX_VALUE);
+            assertTrue(reloaded.hasCachedResult(first));
+            reloaded.getCachedResult();
+            assertFalse(reloaded.hasCachedResult(second));
+
+            Properties.TARGET_CLASS = "org.example.Second";
+            assertTrue(reloaded.hasCachedResult(second));
+            reloaded.getCachedResult();
+            assertFalse(reloaded.hasCachedResult(first));
+        } finally {
+            Properties.DSE_SOLVER_CACHE_DIR = cacheDir;
+            Properties.TARGET_CLASS = targetClass;
+            File[] files = dir.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+            dir.delete();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.evosuite.testcase.execution;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+public class BranchDistanceTableTest {
+
+    private static final double DELTA = 0.0;
+
+    @Test
+    public void testDistancesAndCounts() {
+        BranchDistanceTable table = new BranchDistanceTable();
+        table.branchPassed(3, 2.0, 0.0, true);
+        table.branchPassed(3, 1.0, 0.0, true);
+        table.branchPassed(100, 0.0, 1.0, false);
+
+        Assert.assertTrue(table.isPassed(3));
+        Assert.assertTrue(table.isPassed(100));
+        Assert.assertFalse(table.isPassed(4));
+        Assert.assertFalse(table.isPassed(1000));
+        Assert.assertEquals(1.0, table.getTrueDistance(3), DELTA);
+        Assert.assertEquals(0.0, table.getFalseDistance(3), DELTA);
+        Assert.assertEquals(3.0, table.getTrueDistancesSum().get(3), DELTA);
+
+        Assert.assertFalse(table.isCoveredTrue(3));
+        Assert.assertTrue(table.isCoveredFalse(3));
+        // Coverage is not traced for branch 100, but its distances are
+        Assert.assertFalse(table.isCoveredTrue(100));
+        Assert.assertEquals(Collections.singleton(100), table.getCoveredTrueBranches());
+        Assert.assertEquals(Collections.singletonMap(3, 2), table.getPredicateExecutionCount());
+        Assert.assertEquals(2, table.getTrueDistances().size());
+    }
+
+    @Test
+    public void testViewsAreUpdated() {
+        BranchDistanceTable table = new BranchDistanceTable();
+        table.branchPassed(1, 1.0, 0.0, true);
+        Map<Integer, Double> before = table.getTrueDistances();
+        Assert.assertSame(before, table.getTrueDistances());
+
+        table.branchPassed(1, 0.0, 1.0, true);
+        Assert.assertEquals(1.0, before.get(1), DELTA);
+        Assert.assertEquals(0.0, table.getTrueDistances().get(1), DELTA);
+    }
+
+    @Test
+    public void testClearAndCopy() {
+        BranchDistanceTable table = new BranchDistanceTable();
+        table.branchPassed(5, 0.0, 1.0, true);
+        BranchDistanceTable copy = table.copy();
+
+        table.clear();
+        Assert.assertFalse(table.isPassed(5));
+        Assert.assertTrue(table.getTrueDistances().isEmpty());
+        Assert.assertTrue(table.getPredicateExecutionCount().isEmpty());
+
+        table.branchPassed(5, 2.0, 2.0, true);
+        Assert.assertEquals(2.0, table.getTrueDistance(5), DELTA);
+        Assert.assertEquals(2.0, table.getTrueDistancesSum().get(5), DELTA);
+
+        Assert.assertTrue(copy.isCoveredTrue(5));
+        Assert.assertEquals(0.0, copy.getTrueDistance(5), DELTA);
+    }
+
+    @Test
+    public void testSumsBelongToTheCurrentExecution() {
+        BranchDistanceTable table = new BranchDistanceTable();
+        table.branchPassed(2, 1.0, 0.0, true);
+        table.branchPassed(2, 2.0, 0.0, true);
+        BranchDistanceTable copy = table.copy();
+        Assert.assertEquals(3.0, copy.getTrueDistancesSum().get(2), DELTA);
+        Assert.assertEquals(0.0, copy.getFalseDistancesSum().get(2), DELTA);
+
+        table.clear();
+        Assert.assertTrue(table.getTrueDistancesSum().isEmpty());
+        Assert.assertTrue(table.getFalseDistancesSum().isEmpty());
+        table.branchPassed(2, 4.0, 0.0, true);
+        Assert.assertEquals(4.0, table.getTrueDistancesSum().get(2), DELTA);
+        Assert.assertEquals(3.0, copy.getTrueDistancesSum().get(2), DELTA);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testDistanceViewsAreReadOnly() {
+        BranchDistanceTable table = new BranchDistanceTable();
+        table.branchPassed(1, 1.0, 0.0, true);
+        table.getTrueDistances().put(1, 0.0);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testPredicateCountViewIsReadOnly() {
+        BranchDistanceTable table = new BranchDistanceTable();
+        table.branchPassed(1, 1.0, 0.0, true);
+        table.getPredicateExecutionCount().remove(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDistanceOfBranchNotPassed() {
+        new BranchDistanceTable().getTrueDistance(1);
+    }
+}
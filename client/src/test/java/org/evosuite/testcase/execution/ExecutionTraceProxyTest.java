@@ -0,0 +1,57 @@
+package org.evosuite.testcase.execution;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+public class ExecutionTraceProxyTest {
+
+    @Test
+    public void testLazyCloneCopiesOnFirstWrite() {
+        ExecutionTraceImpl impl = new ExecutionTraceImpl();
+        impl.mutationPassed(1, 0.5);
+
+        ExecutionTrace copy = impl.lazyClone();
+        Assert.assertSame(impl.getTouchedMutants(), copy.getTouchedMutants());
+
+        copy.mutationPassed(2, 0.0);
+        Assert.assertEquals(Collections.singleton(1), impl.getTouchedMutants());
+        Assert.assertEquals(new HashSet<>(Arrays.asList(1, 2)), copy.getTouchedMutants());
+    }
+
+    @Test
+    public void testReleasedTraceIsReused() {
+        ExecutionTracer tracer = ExecutionTracer.createWorkerTracer();
+        ExecutionTrace first = tracer.getTrace();
+        first.mutationPassed(1, 0.0);
+        Set<Integer> storage = first.getTouchedMutants();
+        tracer.clear();
+        ((ExecutionTraceProxy) first).release();
+
+        tracer.getTrace();
+        tracer.clear();
+        ExecutionTrace third = tracer.getTrace();
+        Assert.assertSame(storage, third.getTouchedMutants());
+        Assert.assertTrue(third.getTouchedMutants().isEmpty());
+    }
+
+    @Test
+    public void testSharedTraceIsNotReused() {
+        ExecutionTracer tracer = ExecutionTracer.createWorkerTracer();
+        ExecutionTrace first = tracer.getTrace();
+        first.mutationPassed(1, 0.0);
+        ExecutionTrace shared = first.lazyClone();
+        tracer.clear();
+        ((ExecutionTraceProxy) first).release();
+
+        tracer.getTrace();
+        tracer.clear();
+        ExecutionTrace third = tracer.getTrace();
+        Assert.assertNotSame(shared.getTouchedMutants(), third.getTouchedMutants());
+        Assert.assertEquals(Collections.singleton(1), shared.getTouchedMutants());
+    }
+}
@@ -0,0 +1,92 @@
+package org.evosuite.testcase.execution;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ExecutionTracerWorkerTest {
+
+    @Test
+    public void testWorkerTracerIsBoundToThreadAndChildren() throws InterruptedException {
+        ExecutionTracer global = ExecutionTracer.getExecutionTracer();
+        ExecutionTracer worker = ExecutionTracer.createWorkerTracer();
+        AtomicReference<ExecutionTracer> seenByWorker = new AtomicReference<>();
+        AtomicReference<ExecutionTracer> seenByChild = new AtomicReference<>();
+
+        Thread thread = new Thread(() -> {
+            ExecutionTracer.bindWorkerTracer(worker);
+            try {
+                seenByWorker.set(ExecutionTracer.getExecutionTracer());
+                Thread child = new Thread(() -> seenByChild.set(ExecutionTracer.getExecutionTracer()));
+                child.start();
+                try {
+                    child.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            } finally {
+                ExecutionTracer.unbindWorkerTracer();
+            }
+        });
+        thread.start();
+        thread.join();
+
+        Assert.assertSame(worker, seenByWorker.get());
+        Assert.assertSame(worker, seenByChild.get());
+        Assert.assertSame(global, ExecutionTracer.getExecutionTracer());
+    }
+
+    @Test
+    public void testThreadsOfOtherWorkersAreIgnored() throws InterruptedException {
+        ExecutionTracer.setCheckCallerThread(true);
+        AtomicReference<Boolean> ignored = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            ExecutionTracer.bindWorkerTracer(ExecutionTracer.createWorkerTracer());
+            try {
+                ExecutionTracer.setThread(Thread.currentThread());
+                ignored.set(ExecutionTracer.isThreadNeqCurrentThread());
+            } finally {
+                ExecutionTracer.unbindWorkerTracer();
+            }
+        });
+        ExecutionTracer.setThread(Thread.currentThread());
+        thread.start();
+        thread.join();
+
+        Assert.assertFalse(ignored.get());
+        Assert.assertFalse(ExecutionTracer.isThreadNeqCurrentThread());
+    }
+
+    @Test
+    public void testGlobalTracerIsUsedOnceNoWorkerIsBound() throws InterruptedException {
+        ExecutionTracer global = ExecutionTracer.getExecutionTracer();
+        CountDownLatch unbound = new CountDownLatch(1);
+        AtomicReference<ExecutionTracer> seenByChild = new AtomicReference<>();
+        AtomicReference<Thread> child = new AtomicReference<>();
+
+        Thread thread = new Thread(() -> {
+            ExecutionTracer.bindWorkerTracer(ExecutionTracer.createWorkerTracer());
+            try {
+                child.set(new Thread(() -> {
+                    try {
+                        unbound.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    seenByChild.set(ExecutionTracer.getExecutionTracer());
+                }));
+                child.get().start();
+            } finally {
+                ExecutionTracer.unbindWorkerTracer();
+            }
+        });
+        thread.start();
+        thread.join();
+        unbound.countDown();
+        child.get().join();
+
+        Assert.assertSame(global, seenByChild.get());
+    }
+}
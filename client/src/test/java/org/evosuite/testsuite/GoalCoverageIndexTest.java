@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testsuite;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class GoalCoverageIndexTest {
+
+    @Test
+    public void testSingleTestIsResponsibleForAllGoals() {
+        GoalCoverageIndex index = new GoalCoverageIndex(3);
+        index.addTest(new double[]{0.0, 0.5, 1.0});
+        assertEquals(Arrays.asList(0, 1, 2), index.getResponsibleGoals(0));
+    }
+
+    @Test
+    public void testSharedGoalsAreNotRequired() {
+        GoalCoverageIndex index = new GoalCoverageIndex(3);
+        index.addTest(new double[]{0.0, 0.0, 0.7});
+        index.addTest(new double[]{0.0, 0.3, 0.7});
+
+        assertEquals(Collections.singletonList(1), index.getResponsibleGoals(0));
+        assertEquals(Collections.emptyList(), index.getResponsibleGoals(1));
+    }
+
+    @Test
+    public void testSetFitnessUpdatesResponsibility() {
+        GoalCoverageIndex index = new GoalCoverageIndex(2);
+        index.addTest(new double[]{0.0, 0.0});
+        index.addTest(new double[]{0.0, 1.0});
+
+        // The first test loses the shared goal, so the second one has to keep it
+        index.setFitness(0, new double[]{0.5, 0.0});
+        assertEquals(Collections.singletonList(1), index.getResponsibleGoals(0));
+        assertEquals(Collections.singletonList(0), index.getResponsibleGoals(1));
+        assertEquals(0.5, index.getFitness(0, 0), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongNumberOfValues() {
+        GoalCoverageIndex index = new GoalCoverageIndex(2);
+        index.addTest(new double[]{0.0});
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import org.junit.Test;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class InterningObjectOutputStreamTest {
+
+    private static List<String> equalStrings(int n) {
+        List<String> strings = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            strings.add(new String("org.evosuite.utils.InterningObjectOutputStreamTest"));
+        }
+        return strings;
+    }
+
+    private static byte[] write(ObjectOutputStream out, ByteArrayOutputStream bytes, List<String> strings)
+            throws IOException {
+        for (String s : strings) {
+            out.writeObject(s);
+        }
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    @Test
+    public void testEqualStringsAreWrittenOnce() throws IOException {
+        List<String> strings = equalStrings(100);
+
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        byte[] plainBytes = write(new ObjectOutputStream(plain), plain, strings);
+
+        ByteArrayOutputStream interned = new ByteArrayOutputStream();
+        byte[] internedBytes = write(new InterningObjectOutputStream(interned), interned, strings);
+
+        assertTrue(internedBytes.length * 5 < plainBytes.length);
+    }
+
+    @Test
+    public void testReadableByPlainStream() throws IOException, ClassNotFoundException {
+        List<String> strings = equalStrings(3);
+        strings.add("other");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] written = write(new InterningObjectOutputStream(bytes), bytes, strings);
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(written))) {
+            for (String s : strings) {
+                assertEquals(s, in.readObject());
+            }
+        }
+    }
+}
@@ -21,7 +21,9 @@ package org.evosuite.utils;
 
 import org.junit.Test;
 
-import static org.junit.Assert.assertTrue;
+import java.util.Random;
+
+import static org.junit.Assert.*;
 
 /**
  * @author José Campos
@@ -40,4 +42,52 @@ public class RandomnessTest {
                     (Double.compare(r, min) >= 0) && (Double.compare(r, max) <= 0));
         }
     }
+
+    @Test
+    public void testSplitIsDeterministic() {
+        Randomness.setSeed(42);
+        long first = Randomness.split().nextLong();
+        long second = Randomness.split().nextLong();
+
+        Randomness.setSeed(42);
+        assertEquals(first, Randomness.split().nextLong());
+        assertEquals(second, Randomness.split().nextLong());
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    public void testRunWithUsesTaskStream() throws InterruptedException {
+        Randomness.setSeed(42);
+        Random stream = Randomness.split();
+        Randomness.setSeed(42);
+        int expected = Randomness.split().nextInt();
+
+        int[] drawn = new int[1];
+        Thread worker = new Thread(() -> Randomness.runWith(stream, () -> drawn[0] = Randomness.nextInt()));
+        worker.start();
+        worker.join();
+        assertEquals(expected, drawn[0]);
+    }
+
+    @Test
+    public void testRunWithDoesNotUseSharedGenerator() {
+        Randomness.setSeed(42);
+        int expected = Randomness.nextInt();
+
+        Randomness.setSeed(42);
+        Randomness.runWith(new Random(0), () -> Randomness.nextInt());
+        assertEquals(expected, Randomness.nextInt());
+    }
+
+    @Test
+    public void testShuffleArray() {
+        int[] elements = {0, 1, 2, 3, 4, 5, 6, 7};
+        Randomness.shuffle(elements);
+        int sum = 0;
+        for (int element : elements) {
+            sum += element;
+        }
+        assertEquals(28, sum);
+        assertTrue(Randomness.choice(elements) < 8);
+    }
 }
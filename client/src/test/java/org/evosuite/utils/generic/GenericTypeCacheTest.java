@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils.generic;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GenericTypeCacheTest {
+
+    @After
+    public void tearDown() {
+        GenericTypeCache.getInstance().clear();
+    }
+
+    @Test
+    public void testCanonicalTypeIsComputedOnce() {
+        AtomicInteger computations = new AtomicInteger();
+        Type first = GenericTypeCache.getInstance().getCanonicalType(List.class, clazz -> {
+            computations.incrementAndGet();
+            return GenericClassImpl.addTypeParameters(clazz);
+        });
+        Type second = GenericTypeCache.getInstance().getCanonicalType(List.class, clazz -> {
+            computations.incrementAndGet();
+            return clazz;
+        });
+        assertSame(first, second);
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    public void testAssignabilityIsComputedOncePerPair() {
+        AtomicInteger computations = new AtomicInteger();
+        GenericTypeCache cache = GenericTypeCache.getInstance();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(cache.isAssignable(Number.class, Integer.class, (lhs, rhs) -> {
+                computations.incrementAndGet();
+                return true;
+            }));
+            assertFalse(cache.isAssignable(Integer.class, Number.class, (lhs, rhs) -> {
+                computations.incrementAndGet();
+                return false;
+            }));
+        }
+        assertEquals(2, computations.get());
+    }
+
+    @Test
+    public void testClear() {
+        AtomicInteger computations = new AtomicInteger();
+        GenericTypeCache cache = GenericTypeCache.getInstance();
+        cache.isAssignable(Object.class, String.class, (lhs, rhs) -> computations.incrementAndGet() > 0);
+        cache.clear();
+        cache.isAssignable(Object.class, String.class, (lhs, rhs) -> computations.incrementAndGet() > 0);
+        assertEquals(2, computations.get());
+    }
+
+    @Test
+    public void testCachedResultsMatchTheUncachedOnes() {
+        GenericClass<?> list = GenericClassFactory.get(List.class);
+        assertSame(list.getType(), GenericClassFactory.get(List.class).getType());
+        assertTrue(GenericClassUtils.isAssignable(Number.class, Integer.class));
+        assertTrue(GenericClassUtils.isAssignable(Number.class, Integer.class));
+        assertFalse(GenericClassUtils.isAssignable(Integer.class, Number.class));
+        assertFalse(GenericClassUtils.isAssignable(Integer.class, Number.class));
+    }
+}
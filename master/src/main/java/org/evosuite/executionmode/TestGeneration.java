@@ -214,6 +214,28 @@ public class TestGeneration {
 
     private static List<List<TestGenerationResult>> generateTests(Properties.Strategy strategy, String target,
                                                                   List<String> args) {
+        if (Properties.NUM_PARALLEL_CLIENTS <= 1 || !Properties.IN_PROCESS_ISLANDS) {
+            return startClients(strategy, target, args);
+        }
+
+        /*
+         * Instead of one client process per island, a single client evolves all islands
+         * on separate threads and exchanges migrants in memory
+         */
+        int islands = Properties.NUM_PARALLEL_CLIENTS;
+        List<String> islandArgs = new ArrayList<>(args);
+        islandArgs.add("-Dnum_islands=" + islands);
+        islandArgs.add("-Dnum_parallel_clients=1");
+        Properties.NUM_PARALLEL_CLIENTS = 1;
+        try {
+            return startClients(strategy, target, islandArgs);
+        } finally {
+            Properties.NUM_PARALLEL_CLIENTS = islands;
+        }
+    }
+
+    private static List<List<TestGenerationResult>> startClients(Properties.Strategy strategy, String target,
+                                                                 List<String> args) {
 
         LoggingUtils.getEvoLogger().info("* Going to generate test cases for class: " + target);
 
@@ -26,11 +26,13 @@ import org.evosuite.ga.Chromosome;
 import org.evosuite.result.TestGenerationResult;
 import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.statistics.SearchStatistics;
+import org.evosuite.utils.ChromosomeWireFormat;
 import org.evosuite.utils.Listener;
 import org.evosuite.utils.LoggingUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.rmi.RemoteException;
 import java.rmi.registry.Registry;
 import java.util.*;
@@ -159,8 +161,13 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
     }
 
     @Override
-    public void evosuite_collectStatistics(String clientRmiIdentifier, Chromosome<?> individual) {
-        SearchStatistics.getInstance(clientRmiIdentifier).currentIndividual(individual);
+    public void evosuite_collectStatistics(String clientRmiIdentifier, byte[] individual) {
+        try {
+            List<Chromosome<?>> decoded = ChromosomeWireFormat.decode(individual);
+            SearchStatistics.getInstance(clientRmiIdentifier).currentIndividual(decoded.get(0));
+        } catch (IOException e) {
+            logger.error("Cannot decode individual sent by " + clientRmiIdentifier, e);
+        }
     }
 
     @Override
@@ -189,7 +196,7 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
     }
 
     @Override
-    public void evosuite_migrate(String clientRmiIdentifier, Set<? extends Chromosome<?>> migrants)
+    public void evosuite_migrate(String clientRmiIdentifier, byte[] migrants)
             throws RemoteException {
         //implements ring topology
         int idSender = Integer.parseInt(clientRmiIdentifier.replaceAll("[^0-9]", ""));
@@ -206,7 +213,7 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
     }
 
     @Override
-    public void evosuite_collectBestSolutions(String clientRmiIdentifier, Set<? extends Chromosome<?>> solutions) {
+    public void evosuite_collectBestSolutions(String clientRmiIdentifier, byte[] solutions) {
         try {
             ClientNodeRemote node = clients.get(ClientProcess.DEFAULT_CLIENT_NAME);
             node.collectBestSolutions(solutions);
@@ -22,8 +22,11 @@ package org.evosuite.runtime.classhandling;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
 
 /**
  * This class represents the singleton containing those static fields whose
@@ -56,6 +59,12 @@ public class ModifiedTargetStaticFields {
 
     private static ModifiedTargetStaticFields instance;
 
+    /**
+     * Fields added by the current thread since each {@link #startRecording()}, innermost first.
+     * Static, as the singleton might be reset while recording
+     */
+    private static final ThreadLocal<Deque<List<String>>> recording = ThreadLocal.withInitial(ArrayDeque::new);
+
     private ModifiedTargetStaticFields() {
 
     }
@@ -69,6 +78,10 @@ public class ModifiedTargetStaticFields {
      * @param newFinalFields
      */
     public void addFinalFields(Collection<String> newFinalFields) {
+        List<String> recorded = recording.get().peek();
+        if (recorded != null) {
+            recorded.addAll(newFinalFields);
+        }
         for (String finalField : newFinalFields) {
             if (!finalFields.contains(finalField)) {
                 // logger.debug("Adding new field to ModifiedTargetStaticFields:" + newFinalFields);
@@ -88,4 +101,24 @@ public class ModifiedTargetStaticFields {
         return finalFields.contains(name);
     }
 
+    /**
+     * Start recording the fields added by the current thread, e.g. to be able to add them again
+     * without instrumenting the same class again. Recordings can be nested, fields are only
+     * recorded by the innermost one
+     */
+    public void startRecording() {
+        recording.get().push(new ArrayList<>());
+    }
+
+    /**
+     * @return the fields added by the current thread since the matching {@link #startRecording()}
+     */
+    public List<String> stopRecording() {
+        List<String> recorded = recording.get().poll();
+        if (recorded == null) {
+            throw new IllegalStateException("Final fields are not being recorded");
+        }
+        return recorded;
+    }
+
 }
@@ -135,24 +135,27 @@ public class EvoFileChannel extends FileChannel{  //FIXME mock FileChannel
 		synchronized(readWriteMonitor){
 			for(int j=offset; j<length; j++){
 				ByteBuffer dst = dsts[j];
-				int r = dst.remaining();
-				for(int i=0; i<r; i++){
-					int b = NativeMockedIO.read(path, posToUpdate);
-					if(b < 0){ //end of stream
-						return -1;
-					}
-
-					if(closed){
-						throw new AsynchronousCloseException();
-					}
-
-					if(Thread.currentThread().isInterrupted()){
-						close();
-						throw new ClosedByInterruptException();
-					}
-
-					dst.put((byte)b);
-					counter++;
+				if(!dst.hasRemaining()){
+					continue;
+				}
+				//bytes are copied straight from the virtual file into the buffer
+				int n = NativeMockedIO.read(path, posToUpdate, dst);
+				if(n < 0){ //end of stream
+					return -1;
+				}
+
+				if(closed){
+					throw new AsynchronousCloseException();
+				}
+
+				if(Thread.currentThread().isInterrupted()){
+					close();
+					throw new ClosedByInterruptException();
+				}
+
+				counter += n;
+				if(dst.hasRemaining()){ //end of stream reached before filling the buffer
+					return -1;
 				}
 			}
 		}
@@ -203,26 +206,23 @@ public class EvoFileChannel extends FileChannel{  //FIXME mock FileChannel
 
 		int counter = 0;
 
-		byte[] buffer = new byte[1];
-
 		synchronized(readWriteMonitor){
 			for(int j=offset; j<length; j++){
 				ByteBuffer src = srcs[j];
 				int r = src.remaining();
-				for(int i=0; i<r; i++){
-					byte b = src.get();
-					buffer[0] = b;
-					NativeMockedIO.writeBytes(path, posToUpdate, buffer, 0, 1);
-					counter++;
-
-					if(closed){
-						throw new AsynchronousCloseException();
-					}
-
-					if(Thread.currentThread().isInterrupted()){
-						close();
-						throw new ClosedByInterruptException();
-					}
+				if(r == 0){
+					continue;
+				}
+				NativeMockedIO.writeBytes(path, posToUpdate, src);
+				counter += r;
+
+				if(closed){
+					throw new AsynchronousCloseException();
+				}
+
+				if(Thread.currentThread().isInterrupted()){
+					close();
+					throw new ClosedByInterruptException();
 				}
 			}
 		}
@@ -19,8 +19,8 @@
  */
 package org.evosuite.runtime.vfs;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 /**
  * Representation of a virtual file
@@ -29,45 +29,49 @@ import java.util.List;
  */
 public class VFile extends FSObject {
 
+    private static final int INITIAL_CAPACITY = 1024;
+
     /**
-     * the actual data contained in file as a list of bytes
+     * the actual data contained in file, in the first {@code size} bytes of the array
      */
-    private final List<Byte> data;
+    private byte[] data;
+
+    private int size;
 
     public VFile(String path, VFolder parent) {
         super(path, parent);
-
-        //TODO might need a better type of data structure supporting multi-threading
-        data = new ArrayList<>(1024);
+        data = new byte[0];
+        size = 0;
     }
 
-    public void eraseData() {
-        data.clear();
+    public synchronized void eraseData() {
+        data = new byte[0];
+        size = 0;
     }
 
     public synchronized int getDataSize() {
-        return data.size();
+        return size;
     }
 
 
     public synchronized void setLength(int newLength) {
-
-        /*
-         * Note: this implementation is not particularly efficient...
-         * but setLength is rarely called
-         */
-
-        while (newLength > data.size()) {
-            data.add((byte) 0);
+        if (newLength < 0) {
+            throw new IllegalArgumentException("Length of the file cannot be negative");
         }
-
-        if (newLength == 0) {
-            data.clear();
-            return;
+        if (newLength > size) {
+            ensureCapacity(newLength);
+        } else {
+            //bytes after the end need to be 0 if the file grows again
+            Arrays.fill(data, newLength, size, (byte) 0);
         }
+        size = newLength;
+    }
 
-        while (data.size() > newLength) {
-            data.remove(data.size() - 1);
+    private void ensureCapacity(int capacity) {
+        if (capacity > data.length) {
+            //on overflow of the doubled length, the requested capacity is used
+            int newCapacity = Math.max(capacity, Math.max(INITIAL_CAPACITY, 2 * data.length));
+            data = Arrays.copyOf(data, newCapacity);
         }
     }
 
@@ -80,15 +84,60 @@ public class VFile extends FSObject {
             throw new IllegalArgumentException("Position in the file cannot be negative");
         }
 
-        if (position >= data.size()) {
+        if (position >= size) {
             return -1; //this represent the end of the stream
         }
 
-        return data.get(position) & 0xFF;
+        return data[position] & 0xFF;
+    }
+
+    /**
+     * Copy up to {@code len} bytes starting from {@code position} into {@code b}
+     *
+     * @return the number of copied bytes, or -1 if {@code position} is at the end of the file
+     */
+    public synchronized int read(int position, byte[] b, int off, int len) throws IllegalArgumentException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Position in the file cannot be negative");
+        }
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (position >= size) {
+            return -1;
+        }
+
+        int n = Math.min(len, size - position);
+        System.arraycopy(data, position, b, off, n);
+        return n;
+    }
+
+    /**
+     * Copy bytes starting from {@code position} directly into the remaining space of {@code dst}
+     *
+     * @return the number of copied bytes, or -1 if {@code position} is at the end of the file
+     */
+    public synchronized int read(int position, ByteBuffer dst) throws IllegalArgumentException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Position in the file cannot be negative");
+        }
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+        if (position >= size) {
+            return -1;
+        }
+
+        int n = Math.min(dst.remaining(), size - position);
+        dst.put(data, position, n);
+        return n;
     }
 
     public synchronized int writeBytes(byte[] b, int off, int len) {
-        return writeBytes(data.size(), b, off, len);
+        return writeBytes(size, b, off, len);
     }
 
 
@@ -102,26 +151,56 @@ public class VFile extends FSObject {
             return 0;
         }
 
-        if (position >= data.size()) {
-            setLength(position);
+        if (off < 0) {
+            throw new ArrayIndexOutOfBoundsException(off);
         }
+        //bytes requested beyond the end of the array are ignored
+        int written = Math.max(0, Math.min(len, b.length - off));
+
+        prepareWrite(position, written);
+        System.arraycopy(b, off, data, position, written);
 
-        int written = 0;
-        for (int i = off; i < b.length & (i - off) < len; i++) {
-            if (position < data.size()) {
-                data.set(position, (b[i]));
-            } else {
-                data.add(b[i]);
-            }
-            position++;
-            written++;
+        setLastModified(getCurrentTimeMillis());
+
+        return written;
+    }
+
+    /**
+     * Write all the remaining bytes of {@code src} starting from {@code position}
+     *
+     * @return the number of written bytes
+     */
+    public synchronized int writeBytes(int position, ByteBuffer src) throws IllegalArgumentException {
+
+        if (position < 0) {
+            throw new IllegalArgumentException("Position in the file cannot be negative");
+        }
+
+        if (deleted || !isWritePermission()) {
+            return 0;
         }
 
+        int written = src.remaining();
+        prepareWrite(position, written);
+        src.get(data, position, written);
+
         setLastModified(getCurrentTimeMillis());
 
         return written;
     }
 
+    private void prepareWrite(int position, int len) {
+        if (position > Integer.MAX_VALUE - len) {
+            throw new IllegalArgumentException("Virtual file system does not handle files larger than "
+                    + Integer.MAX_VALUE + " bytes");
+        }
+        int end = position + len;
+        if (end > size) {
+            //any gap between the current end and position is filled with 0
+            setLength(end);
+        }
+    }
+
 
     @Override
     public synchronized boolean delete() {
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.classhandling;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ModifiedTargetStaticFieldsTest {
+
+    @After
+    public void tearDown() {
+        ModifiedTargetStaticFields.resetSingleton();
+    }
+
+    @Test
+    public void testRecordingIsNested() {
+        ModifiedTargetStaticFields fields = ModifiedTargetStaticFields.getInstance();
+        fields.startRecording();
+        fields.addFinalFields(Collections.singletonList("outer"));
+        fields.startRecording();
+        fields.addFinalFields(Arrays.asList("inner", "outer"));
+        assertEquals(Arrays.asList("inner", "outer"), fields.stopRecording());
+        fields.addFinalFields(Collections.singletonList("last"));
+        assertEquals(Arrays.asList("outer", "last"), fields.stopRecording());
+
+        assertTrue(fields.containsField("inner"));
+        assertTrue(fields.containsField("last"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testStopWithoutStart() {
+        ModifiedTargetStaticFields.getInstance().stopRecording();
+    }
+}
@@ -0,0 +1,71 @@
+package org.evosuite.runtime.vfs;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+public class VFileTest {
+
+    private static VFile createFile() {
+        return new VFile("/tmp/foo.txt", null);
+    }
+
+    @Test
+    public void testWriteAndRead() {
+        VFile file = createFile();
+        byte[] data = new byte[]{1, 2, 3, -1};
+        Assert.assertEquals(4, file.writeBytes(data, 0, data.length));
+        Assert.assertEquals(2, file.writeBytes(1, new byte[]{7, 8, 9}, 1, 2));
+
+        Assert.assertEquals(4, file.getDataSize());
+        Assert.assertEquals(1, file.read(0));
+        Assert.assertEquals(8, file.read(1));
+        Assert.assertEquals(9, file.read(2));
+        Assert.assertEquals(255, file.read(3));
+        Assert.assertEquals(-1, file.read(4));
+
+        byte[] buffer = new byte[10];
+        Assert.assertEquals(3, file.read(1, buffer, 5, 10 - 5));
+        Assert.assertEquals(9, buffer[6]);
+        Assert.assertEquals(-1, file.read(4, buffer, 0, 1));
+        Assert.assertEquals(0, file.read(4, buffer, 0, 0));
+    }
+
+    @Test
+    public void testWriteAfterEndFillsWithZeros() {
+        VFile file = createFile();
+        Assert.assertEquals(1, file.writeBytes(3000, new byte[]{5}, 0, 1));
+        Assert.assertEquals(3001, file.getDataSize());
+        Assert.assertEquals(0, file.read(2999));
+        Assert.assertEquals(5, file.read(3000));
+    }
+
+    @Test
+    public void testSetLength() {
+        VFile file = createFile();
+        file.writeBytes(new byte[]{1, 2, 3}, 0, 3);
+        file.setLength(1);
+        Assert.assertEquals(1, file.getDataSize());
+        file.setLength(3);
+        Assert.assertEquals(0, file.read(2));
+
+        file.eraseData();
+        Assert.assertEquals(0, file.getDataSize());
+    }
+
+    @Test
+    public void testByteBuffers() {
+        VFile file = createFile();
+        ByteBuffer src = ByteBuffer.wrap(new byte[]{4, 5, 6});
+        Assert.assertEquals(3, file.writeBytes(0, src));
+        Assert.assertFalse(src.hasRemaining());
+
+        ByteBuffer dst = ByteBuffer.allocate(2);
+        Assert.assertEquals(2, file.read(1, dst));
+        Assert.assertEquals(5, dst.get(0));
+        Assert.assertEquals(6, dst.get(1));
+        Assert.assertEquals(0, file.read(1, dst));
+        Assert.assertEquals(-1, file.read(3, ByteBuffer.allocate(1)));
+    }
+}